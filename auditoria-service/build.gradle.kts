@@ -55,6 +55,7 @@ dependencies {
     implementation("org.apache.commons:commons-lang3:3.18.0")
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.14")
+    implementation("com.ecoledger:event-contracts:1.0.0")
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
 
     runtimeOnly("org.postgresql:postgresql")
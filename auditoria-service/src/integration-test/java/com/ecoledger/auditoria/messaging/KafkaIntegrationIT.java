@@ -3,12 +3,19 @@ package com.ecoledger.auditoria.messaging;
 import com.ecoledger.auditoria.domain.model.RegistroAuditoria;
 import com.ecoledger.auditoria.domain.model.ResultadoAuditoria;
 import com.ecoledger.auditoria.domain.repository.AuditoriaRepository;
+import com.ecoledger.auditoria.messaging.event.AuditoriaConcluidaEvent;
 import com.ecoledger.auditoria.messaging.event.MovimentacaoCriadaEvent;
+import com.ecoledger.events.BinaryEventCodec;
+import com.ecoledger.events.EventSubjects;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.AfterEach;
@@ -29,6 +36,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -60,6 +68,9 @@ class KafkaIntegrationIT {
     @Autowired
     private AuditoriaRepository auditoriaRepository;
 
+    @Autowired
+    private BinaryEventCodec binaryEventCodec;
+
     private Producer<String, Object> producer;
     private Consumer<String, Object> consumer;
 
@@ -81,6 +92,7 @@ class KafkaIntegrationIT {
         consumerProps.put("key.deserializer", StringDeserializer.class);
         consumerProps.put("value.deserializer", JsonDeserializer.class);
         consumerProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        consumerProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, AuditoriaConcluidaEvent.class.getName());
 
         consumer = new DefaultKafkaConsumerFactory<String, Object>(consumerProps).createConsumer();
         consumer.subscribe(List.of("auditoria.concluida"));
@@ -207,4 +219,41 @@ class KafkaIntegrationIT {
             assertThat(auditorias.get(0).getEvidencias()).isNotEmpty();
         });
     }
+
+    @Test
+    @DisplayName("should consume binary movimentacao.criada in dual read mode")
+    void shouldConsumeBinaryEvent() throws Exception {
+        // given
+        UUID movimentacaoId = UUID.randomUUID();
+        Schema schema = binaryEventCodec.schema(EventSubjects.MOVIMENTACAO_CRIADA);
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("movimentacaoId", movimentacaoId);
+        record.put("producerId", "producer-binary");
+        record.put("commodityId", "commodity-1");
+        record.put("tipo", "ENTRADA");
+        record.put("quantidade", new BigDecimal("100.0000"));
+        record.put("unidade", "KG");
+        record.put("timestamp", Instant.now());
+        record.put("latitude", -23.5505);
+        record.put("longitude", -46.6333);
+        record.put("anexos", List.of());
+        byte[] payload = binaryEventCodec.encode(EventSubjects.MOVIMENTACAO_CRIADA, record);
+
+        Map<String, Object> producerProps = new HashMap<>(KafkaTestUtils.producerProps(embeddedKafkaBroker));
+        producerProps.put("key.serializer", StringSerializer.class);
+        producerProps.put("value.serializer", ByteArraySerializer.class);
+        try (Producer<String, byte[]> binaryProducer =
+                     new DefaultKafkaProducerFactory<String, byte[]>(producerProps).createProducer()) {
+            // when
+            binaryProducer.send(new ProducerRecord<>("movimentacao.criada", movimentacaoId.toString(), payload)).get();
+        }
+
+        // then
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            List<RegistroAuditoria> auditorias = auditoriaRepository
+                    .findByMovimentacaoIdOrderByProcessadoEmDesc(movimentacaoId);
+            assertThat(auditorias).hasSize(1);
+            assertThat(auditorias.get(0).getProducerId()).isEqualTo("producer-binary");
+        });
+    }
 }
@@ -2,10 +2,15 @@ package com.ecoledger.auditoria.config;
 
 import com.ecoledger.auditoria.application.service.AuditoriaEventPublisher;
 import com.ecoledger.auditoria.application.service.impl.NoOpAuditoriaEventPublisher;
+import com.ecoledger.auditoria.messaging.AuditoriaEventSerializer;
 import com.ecoledger.auditoria.messaging.KafkaAuditoriaEventPublisher;
-import com.ecoledger.auditoria.messaging.event.MovimentacaoCriadaEvent;
+import com.ecoledger.auditoria.messaging.MovimentacaoCriadaEventDeserializer;
+import com.ecoledger.events.BinaryEventCodec;
+import com.ecoledger.events.FileSchemaRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.slf4j.Logger;
@@ -17,8 +22,7 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DefaultErrorHandler;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
@@ -50,15 +54,23 @@ public class AppConfig {
 
     @Bean
     @ConditionalOnProperty(name = "auditoria.kafka.enabled", havingValue = "true")
-    public ProducerFactory<String, Object> producerFactory(KafkaProperties kafkaProperties) {
+    public BinaryEventCodec binaryEventCodec(KafkaProperties kafkaProperties) {
+        return new BinaryEventCodec(FileSchemaRegistry.load(kafkaProperties.events().schemaRegistryDir()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "auditoria.kafka.enabled", havingValue = "true")
+    public ProducerFactory<String, Object> producerFactory(KafkaProperties kafkaProperties,
+                                                           BinaryEventCodec binaryEventCodec,
+                                                           ObjectMapper objectMapper) {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.bootstrapServers());
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        log.info("Publishing auditoria.concluida as {}", kafkaProperties.events().format());
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(),
+                new AuditoriaEventSerializer(kafkaProperties.events().format(), binaryEventCodec, objectMapper));
     }
 
     @Bean
@@ -69,18 +81,20 @@ public class AppConfig {
 
     @Bean
     @ConditionalOnProperty(name = "auditoria.kafka.enabled", havingValue = "true")
-    public ConsumerFactory<String, Object> consumerFactory(KafkaProperties kafkaProperties) {
+    public ConsumerFactory<String, Object> consumerFactory(KafkaProperties kafkaProperties,
+                                                           BinaryEventCodec binaryEventCodec,
+                                                           ObjectMapper objectMapper) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.bootstrapServers());
         props.put(ConsumerConfig.GROUP_ID_CONFIG, kafkaProperties.consumer().groupId());
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, MovimentacaoCriadaEvent.class.getName());
-        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
-        return new DefaultKafkaConsumerFactory<>(props);
+        log.info("Reading movimentacao.criada in {} mode", kafkaProperties.events().readMode());
+        // records that cannot be decoded reach the error handler as DeserializationException and are skipped
+        // instead of being redelivered forever
+        Deserializer<Object> valueDeserializer = new ErrorHandlingDeserializer<>(new MovimentacaoCriadaEventDeserializer(
+                kafkaProperties.events().readMode(), binaryEventCodec, objectMapper));
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), valueDeserializer);
     }
 
     @Bean
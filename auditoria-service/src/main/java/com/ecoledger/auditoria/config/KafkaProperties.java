@@ -1,5 +1,7 @@
 package com.ecoledger.auditoria.config;
 
+import com.ecoledger.events.EventFormat;
+import com.ecoledger.events.EventReadMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,8 +12,13 @@ public record KafkaProperties(
     boolean enabled,
     String bootstrapServers,
     Topics topics,
-    Consumer consumer
+    Consumer consumer,
+    Events events
 ) {
+    public Events events() {
+        return events == null ? new Events(null, null, null) : events;
+    }
+
     public record Topics(
         String movimentacaoCriada,
         String auditoriaConcluida
@@ -27,4 +34,19 @@ public record KafkaProperties(
             if (retryBackoffMs <= 0) retryBackoffMs = 1000L;
         }
     }
+
+    /**
+     * Event encodings. {@code read-mode} DUAL accepts both JSON and binary movimentacao.criada records while
+     * producers migrate; {@code format} is the encoding used for auditoria.concluida.
+     */
+    public record Events(
+        EventReadMode readMode,
+        EventFormat format,
+        String schemaRegistryDir
+    ) {
+        public Events {
+            if (readMode == null) readMode = EventReadMode.DUAL;
+            if (format == null) format = EventFormat.JSON;
+        }
+    }
 }
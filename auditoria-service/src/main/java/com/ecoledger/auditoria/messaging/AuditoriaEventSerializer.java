@@ -0,0 +1,71 @@
+package com.ecoledger.auditoria.messaging;
+
+import com.ecoledger.auditoria.messaging.event.AuditoriaConcluidaEvent;
+import com.ecoledger.events.BinaryEventCodec;
+import com.ecoledger.events.EventFormat;
+import com.ecoledger.events.EventSubjects;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes auditoria.concluida in the configured {@link EventFormat}; other payloads are always JSON.
+ * Switch to BINARY only once certificacao-service reads in DUAL or BINARY mode.
+ */
+public class AuditoriaEventSerializer implements Serializer<Object> {
+
+    private final EventFormat format;
+    private final BinaryEventCodec codec;
+    private final ObjectMapper objectMapper;
+
+    public AuditoriaEventSerializer(EventFormat format, BinaryEventCodec codec, ObjectMapper objectMapper) {
+        this.format = format;
+        this.codec = codec;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (format == EventFormat.BINARY && data instanceof AuditoriaConcluidaEvent event) {
+            return codec.encode(EventSubjects.AUDITORIA_CONCLUIDA, toRecord(event));
+        }
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Unable to serialize " + data.getClass().getSimpleName() + " for " + topic, e);
+        }
+    }
+
+    GenericRecord toRecord(AuditoriaConcluidaEvent event) {
+        Schema schema = codec.schema(EventSubjects.AUDITORIA_CONCLUIDA);
+        Schema detalheSchema = schema.getField("detalhes").schema().getElementType();
+        List<GenericRecord> detalhes = new ArrayList<>();
+        if (event.detalhes() != null) {
+            for (AuditoriaConcluidaEvent.DetalheEvidencia detalhe : event.detalhes()) {
+                GenericRecord item = new GenericData.Record(detalheSchema);
+                item.put("tipo", detalhe.tipo());
+                item.put("detalhe", detalhe.detalhe());
+                detalhes.add(item);
+            }
+        }
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("auditoriaId", event.auditoriaId());
+        record.put("movimentacaoId", event.movimentacaoId());
+        record.put("producerId", event.producerId());
+        record.put("resultado", new GenericData.EnumSymbol(schema.getField("resultado").schema(), event.resultado().name()));
+        record.put("versaoRegra", event.versaoRegra());
+        record.put("detalhes", detalhes);
+        record.put("timestamp", event.timestamp());
+        return record;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecoledger.auditoria.messaging;
+
+import com.ecoledger.auditoria.messaging.event.MovimentacaoCriadaEvent;
+import com.ecoledger.events.BinaryEventCodec;
+import com.ecoledger.events.EventReadMode;
+import com.ecoledger.events.EventSubjects;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads movimentacao.criada records in either encoding. Binary records are recognised by their magic byte and
+ * decoded with the shared event-contracts schema; anything else is treated as the legacy JSON payload. The
+ * {@link EventReadMode} decides which of the two are accepted.
+ */
+public class MovimentacaoCriadaEventDeserializer implements Deserializer<Object> {
+
+    private final EventReadMode readMode;
+    private final BinaryEventCodec codec;
+    private final ObjectMapper objectMapper;
+
+    public MovimentacaoCriadaEventDeserializer(EventReadMode readMode, BinaryEventCodec codec, ObjectMapper objectMapper) {
+        this.readMode = readMode;
+        this.codec = codec;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public MovimentacaoCriadaEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        boolean binary = BinaryEventCodec.isBinary(data);
+        if (!readMode.accepts(binary)) {
+            throw new SerializationException("Received " + (binary ? "binary" : "JSON") + " record on " + topic
+                    + " but read mode is " + readMode);
+        }
+        if (binary) {
+            return fromRecord(codec.decode(EventSubjects.MOVIMENTACAO_CRIADA, data));
+        }
+        try {
+            return objectMapper.readValue(data, MovimentacaoCriadaEvent.class);
+        } catch (IOException ex) {
+            throw new SerializationException("Unable to read JSON movimentacao.criada from " + topic, ex);
+        }
+    }
+
+    static MovimentacaoCriadaEvent fromRecord(GenericRecord record) {
+        List<?> items = (List<?>) record.get("anexos");
+        List<MovimentacaoCriadaEvent.Anexo> anexos = new ArrayList<>(items.size());
+        for (Object item : items) {
+            GenericRecord anexo = (GenericRecord) item;
+            anexos.add(new MovimentacaoCriadaEvent.Anexo(
+                    string(anexo.get("tipo")),
+                    string(anexo.get("url")),
+                    string(anexo.get("hash"))));
+        }
+        return new MovimentacaoCriadaEvent(
+                (UUID) record.get("movimentacaoId"),
+                string(record.get("producerId")),
+                string(record.get("commodityId")),
+                string(record.get("tipo")),
+                (BigDecimal) record.get("quantidade"),
+                string(record.get("unidade")),
+                utc(record.get("timestamp")),
+                (Double) record.get("latitude"),
+                (Double) record.get("longitude"),
+                utc(record.get("criadoEm")),
+                anexos);
+    }
+
+    private static String string(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    // the binary contract stores instants; offsets are not part of it
+    private static OffsetDateTime utc(Object value) {
+        return value == null ? null : ((Instant) value).atOffset(ZoneOffset.UTC);
+    }
+}
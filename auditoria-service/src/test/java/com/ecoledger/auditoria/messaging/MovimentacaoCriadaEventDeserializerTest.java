@@ -0,0 +1,101 @@
+package com.ecoledger.auditoria.messaging;
+
+import com.ecoledger.auditoria.messaging.event.MovimentacaoCriadaEvent;
+import com.ecoledger.events.BinaryEventCodec;
+import com.ecoledger.events.EventReadMode;
+import com.ecoledger.events.EventSubjects;
+import com.ecoledger.events.FileSchemaRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MovimentacaoCriadaEventDeserializerTest {
+
+    private final BinaryEventCodec codec = new BinaryEventCodec(FileSchemaRegistry.fromClasspath());
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    @DisplayName("should read binary and JSON records in dual mode")
+    void shouldReadBothFormatsInDualMode() {
+        UUID id = UUID.randomUUID();
+        Instant timestamp = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        MovimentacaoCriadaEventDeserializer deserializer = deserializer(EventReadMode.DUAL);
+
+        MovimentacaoCriadaEvent fromBinary = deserializer.deserialize("movimentacao.criada", binaryPayload(id, timestamp));
+        MovimentacaoCriadaEvent fromJson = deserializer.deserialize("movimentacao.criada", jsonPayload(id));
+
+        assertThat(fromBinary.movimentacaoId()).isEqualTo(id);
+        assertThat(fromBinary.quantidade()).isEqualByComparingTo("100");
+        assertThat(fromBinary.timestamp()).isEqualTo(timestamp.atOffset(ZoneOffset.UTC));
+        assertThat(fromBinary.getLocalizacao()).isNotNull();
+        assertThat(fromBinary.anexos()).extracting(MovimentacaoCriadaEvent.Anexo::url).containsExactly("s3://bucket/nf.pdf");
+        assertThat(fromJson.movimentacaoId()).isEqualTo(id);
+        assertThat(fromJson.quantidade()).isEqualByComparingTo("100");
+    }
+
+    @Test
+    @DisplayName("should reject JSON records when reading binary only")
+    void shouldRejectJsonInBinaryMode() {
+        MovimentacaoCriadaEventDeserializer deserializer = deserializer(EventReadMode.BINARY);
+
+        assertThatThrownBy(() -> deserializer.deserialize("movimentacao.criada", jsonPayload(UUID.randomUUID())))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("BINARY");
+    }
+
+    @Test
+    @DisplayName("should reject binary records when reading JSON only")
+    void shouldRejectBinaryInJsonMode() {
+        MovimentacaoCriadaEventDeserializer deserializer = deserializer(EventReadMode.JSON);
+
+        assertThatThrownBy(() -> deserializer.deserialize("movimentacao.criada", binaryPayload(UUID.randomUUID(), Instant.now())))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private MovimentacaoCriadaEventDeserializer deserializer(EventReadMode mode) {
+        return new MovimentacaoCriadaEventDeserializer(mode, codec, objectMapper);
+    }
+
+    private byte[] binaryPayload(UUID id, Instant timestamp) {
+        Schema schema = codec.schema(EventSubjects.MOVIMENTACAO_CRIADA);
+        GenericRecord anexo = new GenericData.Record(schema.getField("anexos").schema().getElementType());
+        anexo.put("tipo", "application/pdf");
+        anexo.put("url", "s3://bucket/nf.pdf");
+        anexo.put("hash", "abc");
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("movimentacaoId", id);
+        record.put("producerId", "producer-1");
+        record.put("commodityId", "commodity-1");
+        record.put("tipo", "ENTRADA");
+        record.put("quantidade", new BigDecimal("100.0000"));
+        record.put("unidade", "KG");
+        record.put("timestamp", timestamp);
+        record.put("latitude", -23.5505);
+        record.put("longitude", -46.6333);
+        record.put("criadoEm", timestamp);
+        record.put("anexos", List.of(anexo));
+        return codec.encode(EventSubjects.MOVIMENTACAO_CRIADA, record);
+    }
+
+    private static byte[] jsonPayload(UUID id) {
+        return ("{\"movimentacaoId\":\"" + id + "\",\"producerId\":\"producer-1\",\"commodityId\":\"commodity-1\","
+                + "\"tipo\":\"ENTRADA\",\"quantidade\":100,\"unidade\":\"KG\",\"timestamp\":\"2025-03-10T12:30:00-03:00\","
+                + "\"latitude\":null,\"longitude\":null,\"criadoEm\":null,\"anexos\":[]}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,12 +1,15 @@
 package com.ecoledger.certificacao.config;
 
-import com.ecoledger.certificacao.messaging.AuditoriaConcluidaConsumer;
+import com.ecoledger.certificacao.messaging.AuditoriaConcluidaEventDeserializer;
 import com.ecoledger.certificacao.messaging.KafkaCertificacaoEventPublisher;
-import com.ecoledger.certificacao.messaging.event.AuditoriaConcluidaEvent;
 import com.ecoledger.certificacao.service.CertificacaoEventPublisher;
 import com.ecoledger.certificacao.service.impl.NoOpCertificacaoEventPublisher;
+import com.ecoledger.events.BinaryEventCodec;
+import com.ecoledger.events.FileSchemaRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.slf4j.Logger;
@@ -22,7 +25,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DefaultErrorHandler;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.util.backoff.FixedBackOff;
 
@@ -71,18 +74,25 @@ public class AppConfig {
 
     @Bean
     @ConditionalOnProperty(name = "certificacao.kafka.enabled", havingValue = "true")
-    public ConsumerFactory<String, Object> consumerFactory(KafkaProperties kafkaProperties) {
+    public BinaryEventCodec binaryEventCodec(KafkaProperties kafkaProperties) {
+        return new BinaryEventCodec(FileSchemaRegistry.load(kafkaProperties.events().schemaRegistryDir()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "certificacao.kafka.enabled", havingValue = "true")
+    public ConsumerFactory<String, Object> consumerFactory(KafkaProperties kafkaProperties,
+                                                           BinaryEventCodec binaryEventCodec,
+                                                           ObjectMapper objectMapper) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.bootstrapServers());
         props.put(ConsumerConfig.GROUP_ID_CONFIG, kafkaProperties.consumer().groupId());
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, AuditoriaConcluidaEvent.class.getName());
-        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
-        return new DefaultKafkaConsumerFactory<>(props);
+        log.info("Reading auditoria.concluida in {} mode", kafkaProperties.events().readMode());
+        // undecodable records reach the error handler as DeserializationException and are not redelivered
+        Deserializer<Object> valueDeserializer = new ErrorHandlingDeserializer<>(new AuditoriaConcluidaEventDeserializer(
+                kafkaProperties.events().readMode(), binaryEventCodec, objectMapper));
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), valueDeserializer);
     }
 
     @Bean
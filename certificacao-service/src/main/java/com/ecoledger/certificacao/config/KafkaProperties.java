@@ -1,5 +1,6 @@
 package com.ecoledger.certificacao.config;
 
+import com.ecoledger.events.EventReadMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "certificacao.kafka")
@@ -7,9 +8,23 @@ public record KafkaProperties(
         boolean enabled,
         String bootstrapServers,
         Topics topics,
-        Consumer consumer
+        Consumer consumer,
+        Events events
 ) {
+    public Events events() {
+        return events == null ? new Events(null, null) : events;
+    }
+
     public record Topics(String auditoriaConcluida, String seloAtualizado) {}
 
     public record Consumer(String groupId, int maxRetries, long retryBackoffMs) {}
+
+    /**
+     * DUAL accepts JSON and binary auditoria.concluida records while auditoria-service migrates.
+     */
+    public record Events(EventReadMode readMode, String schemaRegistryDir) {
+        public Events {
+            if (readMode == null) readMode = EventReadMode.DUAL;
+        }
+    }
 }
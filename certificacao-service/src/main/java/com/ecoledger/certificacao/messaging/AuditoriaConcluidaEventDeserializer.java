@@ -0,0 +1,76 @@
+package com.ecoledger.certificacao.messaging;
+
+import com.ecoledger.certificacao.messaging.event.AuditoriaConcluidaEvent;
+import com.ecoledger.certificacao.messaging.event.AuditoriaConcluidaEvent.DetalheEvidencia;
+import com.ecoledger.certificacao.messaging.event.ResultadoAuditoria;
+import com.ecoledger.events.BinaryEventCodec;
+import com.ecoledger.events.EventReadMode;
+import com.ecoledger.events.EventSubjects;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads auditoria.concluida records in either encoding: binary records (magic byte) with the shared
+ * event-contracts schema, everything else as the legacy JSON payload, as allowed by the {@link EventReadMode}.
+ */
+public class AuditoriaConcluidaEventDeserializer implements Deserializer<Object> {
+
+    private final EventReadMode readMode;
+    private final BinaryEventCodec codec;
+    private final ObjectMapper objectMapper;
+
+    public AuditoriaConcluidaEventDeserializer(EventReadMode readMode, BinaryEventCodec codec, ObjectMapper objectMapper) {
+        this.readMode = readMode;
+        this.codec = codec;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public AuditoriaConcluidaEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        boolean binary = BinaryEventCodec.isBinary(data);
+        if (!readMode.accepts(binary)) {
+            throw new SerializationException("Received " + (binary ? "binary" : "JSON") + " record on " + topic
+                    + " but read mode is " + readMode);
+        }
+        if (binary) {
+            return fromRecord(codec.decode(EventSubjects.AUDITORIA_CONCLUIDA, data));
+        }
+        try {
+            return objectMapper.readValue(data, AuditoriaConcluidaEvent.class);
+        } catch (IOException e) {
+            throw new SerializationException("Unable to read JSON auditoria.concluida from " + topic, e);
+        }
+    }
+
+    static AuditoriaConcluidaEvent fromRecord(GenericRecord record) {
+        List<?> items = (List<?>) record.get("detalhes");
+        List<DetalheEvidencia> detalhes = new ArrayList<>(items.size());
+        for (Object item : items) {
+            GenericRecord detalhe = (GenericRecord) item;
+            detalhes.add(new DetalheEvidencia(string(detalhe.get("tipo")), string(detalhe.get("detalhe"))));
+        }
+        return new AuditoriaConcluidaEvent(
+                (UUID) record.get("auditoriaId"),
+                (UUID) record.get("movimentacaoId"),
+                string(record.get("producerId")),
+                ResultadoAuditoria.valueOf(record.get("resultado").toString()),
+                string(record.get("versaoRegra")),
+                detalhes,
+                (Instant) record.get("timestamp"));
+    }
+
+    private static String string(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecoledger.certificacao.messaging;
+
+import com.ecoledger.certificacao.messaging.event.AuditoriaConcluidaEvent;
+import com.ecoledger.certificacao.messaging.event.ResultadoAuditoria;
+import com.ecoledger.events.BinaryEventCodec;
+import com.ecoledger.events.EventReadMode;
+import com.ecoledger.events.EventSubjects;
+import com.ecoledger.events.FileSchemaRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditoriaConcluidaEventDeserializerTest {
+
+    private final BinaryEventCodec codec = new BinaryEventCodec(FileSchemaRegistry.fromClasspath());
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldReadBinaryRecordInDualMode() {
+        UUID auditoriaId = UUID.randomUUID();
+        Instant timestamp = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        AuditoriaConcluidaEvent event = deserializer(EventReadMode.DUAL)
+                .deserialize("auditoria.concluida", binaryPayload(auditoriaId, timestamp));
+
+        assertThat(event.auditoriaId()).isEqualTo(auditoriaId);
+        assertThat(event.resultado()).isEqualTo(ResultadoAuditoria.REPROVADO);
+        assertThat(event.timestamp()).isEqualTo(timestamp);
+        assertThat(event.detalhes()).singleElement()
+                .satisfies(d -> assertThat(d.detalhe()).isEqualTo("quantidade abaixo do minimo"));
+    }
+
+    @Test
+    void shouldReadJsonRecordInDualMode() {
+        UUID auditoriaId = UUID.randomUUID();
+
+        AuditoriaConcluidaEvent event = deserializer(EventReadMode.DUAL)
+                .deserialize("auditoria.concluida", jsonPayload(auditoriaId));
+
+        assertThat(event.auditoriaId()).isEqualTo(auditoriaId);
+        assertThat(event.resultado()).isEqualTo(ResultadoAuditoria.APROVADO);
+    }
+
+    @Test
+    void shouldRejectJsonInBinaryMode() {
+        assertThatThrownBy(() -> deserializer(EventReadMode.BINARY)
+                .deserialize("auditoria.concluida", jsonPayload(UUID.randomUUID())))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private AuditoriaConcluidaEventDeserializer deserializer(EventReadMode mode) {
+        return new AuditoriaConcluidaEventDeserializer(mode, codec, objectMapper);
+    }
+
+    private byte[] binaryPayload(UUID auditoriaId, Instant timestamp) {
+        Schema schema = codec.schema(EventSubjects.AUDITORIA_CONCLUIDA);
+        GenericRecord detalhe = new GenericData.Record(schema.getField("detalhes").schema().getElementType());
+        detalhe.put("tipo", "QUANTIDADE");
+        detalhe.put("detalhe", "quantidade abaixo do minimo");
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("auditoriaId", auditoriaId);
+        record.put("movimentacaoId", UUID.randomUUID());
+        record.put("producerId", "producer-1");
+        record.put("resultado", new GenericData.EnumSymbol(schema.getField("resultado").schema(), "REPROVADO"));
+        record.put("versaoRegra", "1.0.0");
+        record.put("detalhes", List.of(detalhe));
+        record.put("timestamp", timestamp);
+        return codec.encode(EventSubjects.AUDITORIA_CONCLUIDA, record);
+    }
+
+    private static byte[] jsonPayload(UUID auditoriaId) {
+        return ("{\"auditoriaId\":\"" + auditoriaId + "\",\"movimentacaoId\":\"" + UUID.randomUUID() + "\","
+                + "\"producerId\":\"producer-1\",\"resultado\":\"APROVADO\",\"versaoRegra\":\"1.0.0\","
+                + "\"detalhes\":[],\"timestamp\":\"2025-03-10T15:30:00Z\"}").getBytes(StandardCharsets.UTF_8);
+    }
+}
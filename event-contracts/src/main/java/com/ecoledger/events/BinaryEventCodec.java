@@ -0,0 +1,106 @@
+package com.ecoledger.events;
+
+import org.apache.avro.Conversions;
+import org.apache.avro.Schema;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Avro binary encoding of the shared events. Each payload is a magic byte, the 4 byte id of the writer schema
+ * and the Avro body, the same framing Confluent serializers use, so a consumer can tell a binary record from a
+ * JSON one by its first byte and resolve it against its own (latest) schema version.
+ * <p>
+ * Records carry {@link java.util.UUID}, {@link java.math.BigDecimal} and {@link java.time.Instant} values
+ * directly; the logical type conversions take care of their wire representation. Instances are thread safe.
+ */
+public final class BinaryEventCodec {
+
+    public static final byte MAGIC_BYTE = 0x0;
+    static final int HEADER_SIZE = 5;
+
+    private static final GenericData MODEL = new GenericData();
+
+    static {
+        MODEL.addLogicalTypeConversion(new Conversions.UUIDConversion());
+        MODEL.addLogicalTypeConversion(new Conversions.DecimalConversion());
+        MODEL.addLogicalTypeConversion(new TimeConversions.TimestampMicrosConversion());
+    }
+
+    private static final ThreadLocal<BinaryDecoder> DECODER = new ThreadLocal<>();
+
+    private final FileSchemaRegistry registry;
+    private final Map<Integer, GenericDatumWriter<GenericRecord>> writers = new ConcurrentHashMap<>();
+    private final Map<Long, DatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+
+    public BinaryEventCodec(FileSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Whether {@code payload} uses the binary framing. JSON payloads always start with '{' or whitespace.
+     */
+    public static boolean isBinary(byte[] payload) {
+        return payload != null && payload.length > HEADER_SIZE && payload[0] == MAGIC_BYTE;
+    }
+
+    /**
+     * The schema records of {@code subject} must be built with when encoding.
+     */
+    public Schema schema(String subject) {
+        return registry.latest(subject).schema();
+    }
+
+    public byte[] encode(String subject, GenericRecord record) {
+        RegisteredSchema target = registry.latest(subject);
+        if (!target.schema().equals(record.getSchema())) {
+            throw new EventCodecException("Record for " + subject + " was not built with schema v" + target.version());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(target.id()).array());
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+        try {
+            writers.computeIfAbsent(target.id(), id -> new GenericDatumWriter<>(target.schema(), MODEL))
+                    .write(record, encoder);
+            encoder.flush();
+        } catch (IOException | RuntimeException ex) {
+            throw new EventCodecException("Unable to encode " + subject, ex);
+        }
+        return out.toByteArray();
+    }
+
+    public GenericRecord decode(String subject, byte[] payload) {
+        if (!isBinary(payload)) {
+            throw new EventCodecException("Payload for " + subject + " is not in the binary event format");
+        }
+        RegisteredSchema writer = registry.byId(ByteBuffer.wrap(payload, 1, 4).getInt());
+        if (!writer.subject().equals(subject)) {
+            throw new EventCodecException("Expected " + subject + " but payload was written with " + writer.subject());
+        }
+        RegisteredSchema reader = registry.latest(subject);
+        BinaryDecoder decoder = DecoderFactory.get()
+                .binaryDecoder(payload, HEADER_SIZE, payload.length - HEADER_SIZE, DECODER.get());
+        DECODER.set(decoder);
+        try {
+            return readers.computeIfAbsent(((long) writer.id() << 32) | reader.id(),
+                            key -> new GenericDatumReader<>(writer.schema(), reader.schema(), MODEL))
+                    .read(null, decoder);
+        } catch (IOException | RuntimeException ex) {
+            throw new EventCodecException("Unable to decode " + subject + " written with schema id " + writer.id(), ex);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecoledger.events;
+
+/**
+ * Raised when an event cannot be encoded or decoded, or when its schema is unknown to the registry.
+ */
+public class EventCodecException extends RuntimeException {
+
+    public EventCodecException(String message) {
+        super(message);
+    }
+
+    public EventCodecException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
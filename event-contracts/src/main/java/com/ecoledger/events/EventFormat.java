@@ -0,0 +1,9 @@
+package com.ecoledger.events;
+
+/**
+ * Encoding used when publishing an event.
+ */
+public enum EventFormat {
+    JSON,
+    BINARY
+}
@@ -0,0 +1,19 @@
+package com.ecoledger.events;
+
+/**
+ * Encodings a consumer accepts. {@link #DUAL} is the migration mode: producers can switch to binary one at a time
+ * while consumers keep reading the JSON records still in the topic.
+ */
+public enum EventReadMode {
+    JSON,
+    DUAL,
+    BINARY;
+
+    public boolean accepts(boolean binaryPayload) {
+        return switch (this) {
+            case JSON -> !binaryPayload;
+            case BINARY -> binaryPayload;
+            case DUAL -> true;
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecoledger.events;
+
+/**
+ * Subjects of the events shared between services. A subject names one event contract; its schema versions are
+ * kept in the {@link FileSchemaRegistry}.
+ */
+public final class EventSubjects {
+
+    public static final String MOVIMENTACAO_CRIADA = "movimentacao.criada";
+    public static final String AUDITORIA_CONCLUIDA = "auditoria.concluida";
+
+    /**
+     * Scale of {@code quantidade}, matching the NUMERIC(19,4) column it comes from. Avro decimals must be written
+     * with exactly the scale declared in the schema.
+     */
+    public static final int QUANTIDADE_SCALE = 4;
+
+    private EventSubjects() {
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecoledger.events;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * File based stand-in for a schema registry. {@code registry.properties} maps each global schema id to
+ * {@code subject/version}, and the schema text is read from {@code <subject>/v<version>.avsc}.
+ * <p>
+ * The registry is loaded from the classpath ({@value #CLASSPATH_ROOT}) or from a directory with the same layout,
+ * which lets a new version be rolled out to consumers before the producers are updated. On load every older
+ * version of a subject is checked to be readable with the latest one, so an incompatible change fails at startup
+ * instead of on the first record.
+ */
+public final class FileSchemaRegistry {
+
+    public static final String CLASSPATH_ROOT = "ecoledger/schemas/";
+    private static final String INDEX = "registry.properties";
+
+    private final Map<Integer, RegisteredSchema> byId;
+    private final Map<String, RegisteredSchema> latestBySubject;
+
+    private FileSchemaRegistry(Map<Integer, RegisteredSchema> byId) {
+        this.byId = Map.copyOf(byId);
+        this.latestBySubject = byId.values().stream()
+                .collect(Collectors.toUnmodifiableMap(RegisteredSchema::subject, s -> s,
+                        (a, b) -> a.version() >= b.version() ? a : b));
+        latestBySubject.values().forEach(this::checkBackwardCompatible);
+    }
+
+    public static FileSchemaRegistry fromClasspath() {
+        ClassLoader loader = FileSchemaRegistry.class.getClassLoader();
+        return load(name -> loader.getResourceAsStream(CLASSPATH_ROOT + name), "classpath:" + CLASSPATH_ROOT);
+    }
+
+    public static FileSchemaRegistry fromDirectory(Path directory) {
+        return load(name -> {
+            Path file = directory.resolve(name);
+            try {
+                return Files.exists(file) ? Files.newInputStream(file) : null;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, directory.toString());
+    }
+
+    /**
+     * Loads from {@code directory} when one is configured, from the classpath otherwise.
+     */
+    public static FileSchemaRegistry load(String directory) {
+        return directory == null || directory.isBlank() ? fromClasspath() : fromDirectory(Path.of(directory));
+    }
+
+    public RegisteredSchema byId(int id) {
+        RegisteredSchema schema = byId.get(id);
+        if (schema == null) {
+            throw new EventCodecException("Unknown schema id " + id);
+        }
+        return schema;
+    }
+
+    public RegisteredSchema latest(String subject) {
+        RegisteredSchema schema = latestBySubject.get(subject);
+        if (schema == null) {
+            throw new EventCodecException("No schema registered for subject " + subject);
+        }
+        return schema;
+    }
+
+    private void checkBackwardCompatible(RegisteredSchema latest) {
+        List<RegisteredSchema> older = byId.values().stream()
+                .filter(s -> s.subject().equals(latest.subject()) && s.version() < latest.version())
+                .sorted(Comparator.comparingInt(RegisteredSchema::version))
+                .toList();
+        for (RegisteredSchema writer : older) {
+            var result = SchemaCompatibility.checkReaderWriterCompatibility(latest.schema(), writer.schema());
+            if (result.getType() != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
+                throw new EventCodecException("Schema " + latest.subject() + " v" + latest.version()
+                        + " cannot read v" + writer.version() + ": " + result.getDescription());
+            }
+        }
+    }
+
+    private static FileSchemaRegistry load(ResourceOpener opener, String location) {
+        Properties index = new Properties();
+        try (InputStream in = opener.open(INDEX)) {
+            if (in == null) {
+                throw new EventCodecException("Schema registry index not found in " + location);
+            }
+            index.load(in);
+        } catch (IOException ex) {
+            throw new EventCodecException("Unable to read schema registry index from " + location, ex);
+        }
+        Map<Integer, RegisteredSchema> schemas = new HashMap<>();
+        for (String key : index.stringPropertyNames()) {
+            int id = Integer.parseInt(key.trim());
+            String entry = index.getProperty(key).trim();
+            int slash = entry.lastIndexOf('/');
+            if (slash <= 0) {
+                throw new EventCodecException("Invalid registry entry " + key + "=" + entry + ", expected subject/version");
+            }
+            String subject = entry.substring(0, slash);
+            int version = Integer.parseInt(entry.substring(slash + 1));
+            String file = subject + "/v" + version + ".avsc";
+            try (InputStream in = opener.open(file)) {
+                if (in == null) {
+                    throw new EventCodecException("Schema file " + file + " not found in " + location);
+                }
+                // one parser per file: versions of the same subject reuse record names
+                schemas.put(id, new RegisteredSchema(id, subject, version, new Schema.Parser().parse(in)));
+            } catch (IOException ex) {
+                throw new EventCodecException("Unable to read schema file " + file + " from " + location, ex);
+            }
+        }
+        return new FileSchemaRegistry(schemas);
+    }
+
+    @FunctionalInterface
+    private interface ResourceOpener {
+        InputStream open(String name) throws IOException;
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecoledger.events;
+
+import org.apache.avro.Schema;
+
+/**
+ * A schema version as known to the registry. {@code id} is global and is what binary payloads carry.
+ */
+public record RegisteredSchema(int id, String subject, int version, Schema schema) {
+}
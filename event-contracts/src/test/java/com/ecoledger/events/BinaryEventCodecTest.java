@@ -0,0 +1,120 @@
+package com.ecoledger.events;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryEventCodecTest {
+
+    private final BinaryEventCodec codec = new BinaryEventCodec(FileSchemaRegistry.fromClasspath());
+
+    @Test
+    void shouldRoundTripMovimentacaoCriada() {
+        UUID id = UUID.randomUUID();
+        Instant timestamp = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        GenericRecord record = movimentacaoCriada(codec.schema(EventSubjects.MOVIMENTACAO_CRIADA), id, timestamp);
+
+        byte[] payload = codec.encode(EventSubjects.MOVIMENTACAO_CRIADA, record);
+        GenericRecord decoded = codec.decode(EventSubjects.MOVIMENTACAO_CRIADA, payload);
+
+        assertThat(BinaryEventCodec.isBinary(payload)).isTrue();
+        assertThat(decoded.get("movimentacaoId")).isEqualTo(id);
+        assertThat(decoded.get("quantidade")).isEqualTo(new BigDecimal("12.5000"));
+        assertThat(decoded.get("timestamp")).isEqualTo(timestamp);
+        assertThat(decoded.get("latitude")).isNull();
+        assertThat(decoded.get("producerId").toString()).isEqualTo("prod-1");
+        List<?> anexos = (List<?>) decoded.get("anexos");
+        assertThat(anexos).hasSize(1);
+        assertThat(((GenericRecord) anexos.get(0)).get("hash")).isNull();
+    }
+
+    @Test
+    void shouldNotMistakeJsonForBinary() {
+        assertThat(BinaryEventCodec.isBinary("{\"movimentacaoId\":\"x\"}".getBytes())).isFalse();
+        assertThat(BinaryEventCodec.isBinary(null)).isFalse();
+    }
+
+    @Test
+    void shouldRejectPayloadWrittenForAnotherSubject() {
+        byte[] payload = codec.encode(EventSubjects.MOVIMENTACAO_CRIADA,
+                movimentacaoCriada(codec.schema(EventSubjects.MOVIMENTACAO_CRIADA), UUID.randomUUID(), Instant.now()));
+
+        assertThatThrownBy(() -> codec.decode(EventSubjects.AUDITORIA_CONCLUIDA, payload))
+                .isInstanceOf(EventCodecException.class);
+    }
+
+    @Test
+    void shouldReadOlderVersionWithLatestSchema(@TempDir Path dir) throws IOException {
+        copySchema(dir, "movimentacao.criada/v1.avsc");
+        copySchema(dir, "auditoria.concluida/v1.avsc");
+        String v2 = Files.readString(dir.resolve("movimentacao.criada/v1.avsc"))
+                .replaceFirst("\"fields\": \\[", "\"fields\": [\n    {\"name\": \"safra\", \"type\": [\"null\", \"string\"], \"default\": null},");
+        Files.writeString(dir.resolve("movimentacao.criada/v2.avsc"), v2);
+        Files.writeString(dir.resolve("registry.properties"),
+                "1=movimentacao.criada/1\n2=auditoria.concluida/1\n3=movimentacao.criada/2\n");
+
+        UUID id = UUID.randomUUID();
+        byte[] writtenWithV1 = codec.encode(EventSubjects.MOVIMENTACAO_CRIADA,
+                movimentacaoCriada(codec.schema(EventSubjects.MOVIMENTACAO_CRIADA), id, Instant.now()));
+        GenericRecord decoded = new BinaryEventCodec(FileSchemaRegistry.fromDirectory(dir))
+                .decode(EventSubjects.MOVIMENTACAO_CRIADA, writtenWithV1);
+
+        assertThat(decoded.get("movimentacaoId")).isEqualTo(id);
+        assertThat(decoded.get("safra")).isNull();
+    }
+
+    @Test
+    void shouldFailOnLoadWhenNewVersionCannotReadOldOne(@TempDir Path dir) throws IOException {
+        copySchema(dir, "movimentacao.criada/v1.avsc");
+        String v2 = Files.readString(dir.resolve("movimentacao.criada/v1.avsc"))
+                .replaceFirst("\"fields\": \\[", "\"fields\": [\n    {\"name\": \"safra\", \"type\": \"string\"},");
+        Files.writeString(dir.resolve("movimentacao.criada/v2.avsc"), v2);
+        Files.writeString(dir.resolve("registry.properties"), "1=movimentacao.criada/1\n3=movimentacao.criada/2\n");
+
+        assertThatThrownBy(() -> FileSchemaRegistry.fromDirectory(dir))
+                .isInstanceOf(EventCodecException.class)
+                .hasMessageContaining("cannot read v1");
+    }
+
+    private static GenericRecord movimentacaoCriada(Schema schema, UUID id, Instant timestamp) {
+        Schema anexoSchema = schema.getField("anexos").schema().getElementType();
+        GenericRecord anexo = new GenericData.Record(anexoSchema);
+        anexo.put("tipo", "NF");
+        anexo.put("url", "s3://bucket/nf.pdf");
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("movimentacaoId", id);
+        record.put("producerId", "prod-1");
+        record.put("commodityId", "cmd-1");
+        record.put("tipo", "COLHEITA");
+        record.put("quantidade", new BigDecimal("12.5000"));
+        record.put("unidade", "KG");
+        record.put("timestamp", timestamp);
+        record.put("criadoEm", timestamp);
+        record.put("anexos", List.of(anexo));
+        return record;
+    }
+
+    private static void copySchema(Path dir, String name) throws IOException {
+        Path target = dir.resolve(name);
+        Files.createDirectories(target.getParent());
+        try (InputStream in = BinaryEventCodecTest.class.getClassLoader()
+                .getResourceAsStream(FileSchemaRegistry.CLASSPATH_ROOT + name)) {
+            Files.copy(in, target);
+        }
+    }
+}
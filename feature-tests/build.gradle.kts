@@ -51,3 +51,31 @@ tasks.test {
     }
     outputs.dir(cucumberReportsPath)
 }
+
+// Open-model load suite over the full stack; reuses the Cucumber support code (user provisioning) from the test output.
+val loadTest: SourceSet by sourceSets.creating {
+    java.srcDir("src/load-test/java")
+    resources.srcDir("src/load-test/resources")
+    compileClasspath += sourceSets.test.get().output + sourceSets.test.get().compileClasspath
+    runtimeClasspath += output + compileClasspath + sourceSets.test.get().runtimeClasspath
+}
+
+dependencies {
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+    "loadTestImplementation"("com.google.code.gson:gson:2.10.1")
+}
+
+val loadTestReportsPath = "build/reports/load"
+
+tasks.register<JavaExec>("loadTest") {
+    description = "Runs the open-model load suite against docker-compose-ecoledger.yml and fails on SLO breaches."
+    group = "verification"
+    classpath = loadTest.runtimeClasspath
+    mainClass.set("load.LoadTestRunner")
+    // -Pload.rate=5 / -Pslo.end-to-end.p99=PT20S and USERS_* settings reach the runner as system properties
+    val forwarded = project.properties.filterKeys { it.startsWith("load.") || it.startsWith("slo.") || it.startsWith("USERS_") }
+    forwarded.forEach { (key, value) -> systemProperty(key, value.toString()) }
+    systemProperty("load.report-dir", file(loadTestReportsPath).absolutePath)
+    outputs.dir(loadTestReportsPath)
+    outputs.upToDateWhen { false }
+}
@@ -0,0 +1,133 @@
+package load;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a run: per-step percentiles and error rates, the SLO verdicts, one HdrHistogram percentile distribution
+ * per step ({@code <step>.hgrm}, in milliseconds, loadable in the HdrHistogram plotter) and a {@code summary.json}.
+ */
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final LoadTestConfig config;
+    private final Map<Step, StepMetrics> metrics;
+    private final long scheduled;
+    private final long dropped;
+    private final List<SloThreshold.Result> results;
+
+    public LoadReport(LoadTestConfig config, Map<Step, StepMetrics> metrics, long scheduled, long dropped) {
+        this.config = config;
+        this.metrics = metrics;
+        this.scheduled = scheduled;
+        this.dropped = dropped;
+        this.results = config.slos().stream()
+                .map(slo -> slo.evaluate(metrics.get(slo.step())))
+                .toList();
+    }
+
+    public boolean passed() {
+        return results.stream().allMatch(SloThreshold.Result::passed);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nIteracoes agendadas: %d, descartadas por limite de concorrencia: %d%n", scheduled, dropped);
+        out.printf("%-20s %8s %8s %10s %10s %10s %10s %10s%n",
+                "etapa", "ok", "erros", "p50", "p90", "p99", "p99.9", "max");
+        for (StepMetrics step : metrics.values()) {
+            Histogram h = step.histogram();
+            out.printf("%-20s %8d %8d", step.step().metricName(), h.getTotalCount(), step.errors());
+            for (double percentile : PERCENTILES) {
+                out.printf(" %10s", h.getTotalCount() == 0 ? "-" : StepMetrics.formatMicros(h.getValueAtPercentile(percentile)));
+            }
+            out.printf(" %10s%n", h.getTotalCount() == 0 ? "-" : StepMetrics.formatMicros(h.getMaxValue()));
+        }
+        if (results.isEmpty()) {
+            out.println("\nNenhum SLO configurado.");
+            return;
+        }
+        out.println("\nSLOs:");
+        for (SloThreshold.Result result : results) {
+            out.printf("  [%s] %-32s observado=%-10s limite=%s%n", result.passed() ? "OK" : "FALHA",
+                    result.slo().key(), result.observed(), result.slo().limit());
+        }
+        out.println(passed() ? "Todos os SLOs atendidos." : "SLOs violados.");
+    }
+
+    public void write() {
+        Path dir = config.reportDir();
+        try {
+            Files.createDirectories(dir);
+            for (StepMetrics step : metrics.values()) {
+                try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(step.step().metricName() + ".hgrm")),
+                        false, StandardCharsets.UTF_8)) {
+                    step.histogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+                }
+            }
+            Files.writeString(dir.resolve("summary.json"),
+                    new GsonBuilder().setPrettyPrinting().create().toJson(summary()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar relatorio em " + dir, e);
+        }
+        System.out.println("Relatorio gravado em " + dir.toAbsolutePath());
+    }
+
+    private JsonObject summary() {
+        JsonObject json = new JsonObject();
+        json.addProperty("rate", config.rate());
+        json.addProperty("duration", config.duration().toString());
+        json.addProperty("warmup", config.warmup().toString());
+        json.addProperty("scheduled", scheduled);
+        json.addProperty("dropped", dropped);
+        json.addProperty("passed", passed());
+
+        JsonObject steps = new JsonObject();
+        for (StepMetrics step : metrics.values()) {
+            Histogram h = step.histogram();
+            JsonObject entry = new JsonObject();
+            entry.addProperty("count", h.getTotalCount());
+            entry.addProperty("errors", step.errors());
+            entry.addProperty("errorRate", step.errorRate());
+            if (h.getTotalCount() > 0) {
+                JsonObject latencies = new JsonObject();
+                for (double percentile : PERCENTILES) {
+                    latencies.addProperty("p" + formatPercentile(percentile), h.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+                }
+                latencies.addProperty("max", h.getMaxValue() / MICROS_PER_MILLI);
+                latencies.addProperty("mean", h.getMean() / MICROS_PER_MILLI);
+                entry.add("latencyMs", latencies);
+            }
+            steps.add(step.step().metricName(), entry);
+        }
+        json.add("steps", steps);
+
+        JsonArray slos = new JsonArray();
+        for (SloThreshold.Result result : results) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("key", result.slo().key());
+            entry.addProperty("limit", result.slo().limit());
+            entry.addProperty("observed", result.observed());
+            entry.addProperty("passed", result.passed());
+            slos.add(entry);
+        }
+        json.add("slos", slos);
+        return json;
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,104 @@
+package load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Settings of a load run. Defaults come from {@code load-test.properties}; each key can be overridden by a system
+ * property of the same name or by an environment variable with the key upper-cased and dots/dashes as underscores
+ * ({@code load.rate} -> {@code LOAD_RATE}). The users-service URL is shared with {@code UserProvisioner} through
+ * {@code USERS_SERVICE_BASE_URL}.
+ */
+public record LoadTestConfig(
+        double rate,
+        Duration duration,
+        Duration warmup,
+        int producers,
+        int maxInFlight,
+        Duration requestTimeout,
+        Duration pollInterval,
+        Duration pollTimeout,
+        String usersBaseUrl,
+        String movimentacaoBaseUrl,
+        String auditoriaBaseUrl,
+        String certificacaoBaseUrl,
+        Path reportDir,
+        List<SloThreshold> slos
+) {
+
+    private static final String RESOURCE = "/load-test.properties";
+
+    public static LoadTestConfig load() {
+        Properties defaults = new Properties();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                defaults.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao ler " + RESOURCE + ": " + e.getMessage(), e);
+        }
+        Properties merged = new Properties();
+        for (String key : defaults.stringPropertyNames()) {
+            merged.setProperty(key, resolveConfig(key, defaults.getProperty(key)));
+        }
+        // SLOs can also be added from the command line without a default in the file
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(SloThreshold.PREFIX)) {
+                merged.setProperty(key, System.getProperty(key));
+            }
+        }
+
+        double rate = Double.parseDouble(merged.getProperty("load.rate"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("load.rate deve ser positivo: " + rate);
+        }
+        List<SloThreshold> slos = new ArrayList<>();
+        for (String key : merged.stringPropertyNames()) {
+            if (key.startsWith(SloThreshold.PREFIX)) {
+                slos.add(SloThreshold.parse(key, merged.getProperty(key)));
+            }
+        }
+        slos.sort(null);
+
+        return new LoadTestConfig(
+                rate,
+                Duration.parse(merged.getProperty("load.duration")),
+                Duration.parse(merged.getProperty("load.warmup")),
+                Integer.parseInt(merged.getProperty("load.producers")),
+                Integer.parseInt(merged.getProperty("load.max-in-flight")),
+                Duration.parse(merged.getProperty("load.request-timeout")),
+                Duration.parse(merged.getProperty("load.poll-interval")),
+                Duration.parse(merged.getProperty("load.poll-timeout")),
+                normalize(resolveConfig("USERS_SERVICE_BASE_URL", "http://localhost:8084")),
+                normalize(merged.getProperty("load.movimentacao.base-url")),
+                normalize(merged.getProperty("load.auditoria.base-url")),
+                normalize(merged.getProperty("load.certificacao.base-url")),
+                Path.of(merged.getProperty("load.report-dir")),
+                List.copyOf(slos));
+    }
+
+    private static String resolveConfig(String key, String defaultValue) {
+        String sys = System.getProperty(key);
+        if (sys != null && !sys.isBlank()) {
+            return sys;
+        }
+        String env = System.getenv(key.toUpperCase(Locale.ROOT).replaceAll("[.-]", "_"));
+        if (env != null && !env.isBlank()) {
+            return env;
+        }
+        return defaultValue;
+    }
+
+    private static String normalize(String url) {
+        if (url == null || url.isBlank()) {
+            return "";
+        }
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,187 @@
+package load;
+
+import support.ProvisionedUser;
+import support.UserProvisioner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator for the movimentação pipeline. Iterations arrive at a fixed rate regardless of how fast
+ * the system answers: iteration {@code i} is scheduled at {@code start + i / rate} and runs on its own virtual thread,
+ * so a slow system builds up concurrency instead of silently lowering the offered load. End-to-end latency is measured
+ * from the scheduled start, and arrivals that find {@code load.max-in-flight} iterations still running are counted as
+ * failed rather than delayed. Iterations scheduled during the warm-up run but are not recorded.
+ *
+ * <p>Exits with status 1 when any SLO is breached, so the Gradle {@code loadTest} task fails.
+ */
+public final class LoadTestRunner {
+
+    private static final int MAX_LOGGED_FAILURES = 20;
+
+    private final LoadTestConfig config;
+    private final PipelineClient client;
+    private final Map<Step, StepMetrics> metrics = newMetrics();
+    private final Map<Step, StepMetrics> warmupMetrics = newMetrics();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong loggedFailures = new AtomicLong();
+
+    public LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        this.client = new PipelineClient(config);
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean passed = new LoadTestRunner(LoadTestConfig.load()).run();
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * @return whether every SLO passed
+     */
+    public boolean run() throws Exception {
+        UserProvisioner provisioner = new UserProvisioner();
+        long scheduled;
+        try {
+            List<ProvisionedUser> producers = new ArrayList<>();
+            for (int i = 0; i < config.producers(); i++) {
+                producers.add(provisioner.ensureProducer("load-" + i));
+            }
+            System.out.printf("Carga: %.2f iteracoes/s por %s (aquecimento %s), %d produtores%n",
+                    config.rate(), config.duration(), config.warmup(), producers.size());
+            scheduled = generate(producers);
+        } finally {
+            provisioner.cleanup();
+        }
+        LoadReport report = new LoadReport(config, metrics, scheduled, dropped.get());
+        report.print(System.out);
+        report.write();
+        return report.passed();
+    }
+
+    /**
+     * @return the number of iterations scheduled after the warm-up
+     */
+    private long generate(List<ProvisionedUser> producers) {
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long measured = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + Math.round(i * intervalNanos);
+                if (intended >= end) {
+                    break;
+                }
+                for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                boolean measuring = intended >= measureFrom;
+                Map<Step, StepMetrics> target = measuring ? metrics : warmupMetrics;
+                if (measuring) {
+                    measured++;
+                }
+                if (!inFlight.tryAcquire()) {
+                    if (measuring) {
+                        dropped.incrementAndGet();
+                        target.get(Step.END_TO_END).recordError();
+                    }
+                    continue;
+                }
+                ProvisionedUser producer = producers.get((int) (i % producers.size()));
+                executor.submit(() -> {
+                    try {
+                        iterate(producer, intended, target);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return measured;
+    }
+
+    private void iterate(ProvisionedUser producer, long intended, Map<Step, StepMetrics> target) {
+        target.get(Step.SCHEDULE_LAG).recordNanos(System.nanoTime() - intended);
+        try {
+            String token = timed(target, Step.LOGIN,
+                    () -> client.login(producer.email(), UserProvisioner.PRODUCER_PASSWORD));
+            String objectKey = timed(target, Step.UPLOAD_URL, () -> client.requestUploadUrl(token));
+            byte[] content = ("Anexo de carga " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+            timed(target, Step.UPLOAD_PROXY, () -> {
+                client.uploadProxy(token, objectKey, content);
+                return null;
+            });
+            PipelineClient.Attachment attachment = timed(target, Step.UPLOAD_CONFIRM,
+                    () -> client.confirmUpload(token, objectKey));
+
+            String movimentacaoId = timed(target, Step.CRIAR_MOVIMENTACAO,
+                    () -> client.criarMovimentacao(token, producer.usuarioId(), attachment));
+            long accepted = System.nanoTime();
+
+            PipelineClient.Auditoria auditoria = await(target, Step.AUDITORIA, accepted,
+                    () -> client.auditoria(producer.usuarioId(), movimentacaoId));
+            await(target, Step.SELO, accepted,
+                    () -> client.seloAtualizado(producer.usuarioId(), auditoria) ? auditoria : null);
+            target.get(Step.END_TO_END).recordNanos(System.nanoTime() - intended);
+        } catch (StepFailedException e) {
+            target.get(e.step()).recordError();
+            target.get(Step.END_TO_END).recordError();
+            if (target == metrics && loggedFailures.incrementAndGet() <= MAX_LOGGED_FAILURES) {
+                System.err.println("Falha na iteracao: " + e.getMessage());
+            }
+        }
+    }
+
+    private static <T> T timed(Map<Step, StepMetrics> target, Step step, Supplier<T> call) {
+        long started = System.nanoTime();
+        T result = call.get();
+        target.get(step).recordNanos(System.nanoTime() - started);
+        return result;
+    }
+
+    /**
+     * Polls until {@code poll} returns a value and records the time since {@code since}; resolution is the poll
+     * interval.
+     */
+    private <T> T await(Map<Step, StepMetrics> target, Step step, long since, Supplier<T> poll) {
+        long deadline = since + config.pollTimeout().toNanos();
+        T value;
+        while ((value = poll.get()) == null) {
+            if (System.nanoTime() + config.pollInterval().toNanos() > deadline) {
+                throw new StepFailedException(step, "nao concluido em " + config.pollTimeout());
+            }
+            try {
+                Thread.sleep(config.pollInterval());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StepFailedException(step, "interrompido");
+            }
+        }
+        target.get(step).recordNanos(System.nanoTime() - since);
+        return value;
+    }
+
+    private static Map<Step, StepMetrics> newMetrics() {
+        Map<Step, StepMetrics> map = new EnumMap<>(Step.class);
+        for (Step step : Step.values()) {
+            map.put(step, new StepMetrics(step));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
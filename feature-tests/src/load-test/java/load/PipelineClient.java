@@ -0,0 +1,197 @@
+package load;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP calls of the pipeline under load, against the same endpoints the Cucumber scenarios use. Every call checks the
+ * status and the fields the next step needs and throws {@link StepFailedException} otherwise.
+ */
+public class PipelineClient {
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final Gson gson = new Gson();
+
+    public PipelineClient(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.requestTimeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public String login(String email, String password) {
+        JsonObject body = new JsonObject();
+        body.addProperty("email", email);
+        body.addProperty("password", password);
+        JsonObject response = postJson(Step.LOGIN, config.usersBaseUrl() + "/usuarios/auth/login", body, null, 200);
+        return requireString(Step.LOGIN, response, "accessToken");
+    }
+
+    public String requestUploadUrl(String token) {
+        JsonObject body = new JsonObject();
+        body.addProperty("contentType", "image/png");
+        JsonObject response = postJson(Step.UPLOAD_URL, config.movimentacaoBaseUrl() + "/anexos/upload-url", body, token, 200);
+        return requireString(Step.UPLOAD_URL, response, "objectKey");
+    }
+
+    public void uploadProxy(String token, String objectKey, byte[] content) {
+        HttpRequest.Builder request = request(config.movimentacaoBaseUrl() + "/anexos/upload-proxy?objectKey=" + objectKey, token)
+                .header("Content-Type", "image/png")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(content));
+        send(Step.UPLOAD_PROXY, request.build(), 200);
+    }
+
+    public Attachment confirmUpload(String token, String objectKey) {
+        JsonObject body = new JsonObject();
+        body.addProperty("objectKey", objectKey);
+        JsonObject response = postJson(Step.UPLOAD_CONFIRM, config.movimentacaoBaseUrl() + "/anexos/confirm", body, token, 200);
+        return new Attachment(requireString(Step.UPLOAD_CONFIRM, response, "url"),
+                requireString(Step.UPLOAD_CONFIRM, response, "hash"));
+    }
+
+    public String criarMovimentacao(String token, String producerId, Attachment attachment) {
+        JsonObject local = new JsonObject();
+        local.addProperty("lat", -23.55052);
+        local.addProperty("lon", -46.633308);
+
+        JsonObject anexo = new JsonObject();
+        anexo.addProperty("tipo", "image/png");
+        anexo.addProperty("url", attachment.url());
+        anexo.addProperty("hash", attachment.hash());
+        JsonArray anexos = new JsonArray();
+        anexos.add(anexo);
+
+        JsonObject body = new JsonObject();
+        body.addProperty("producerId", producerId);
+        body.addProperty("commodityId", "commodity-load");
+        body.addProperty("tipo", "PRODUCAO");
+        body.addProperty("quantidade", 10.0);
+        body.addProperty("unidade", "KG");
+        body.addProperty("timestamp", OffsetDateTime.now().toString());
+        body.add("localizacao", local);
+        body.add("anexos", anexos);
+
+        JsonObject response = postJson(Step.CRIAR_MOVIMENTACAO, config.movimentacaoBaseUrl() + "/movimentacoes", body, token, 201);
+        return requireString(Step.CRIAR_MOVIMENTACAO, response, "movimentacaoId");
+    }
+
+    /**
+     * @return the producer's audit entry for the movimentação, or {@code null} while it has not been recorded
+     */
+    public Auditoria auditoria(String producerId, String movimentacaoId) {
+        JsonObject response = getJson(Step.AUDITORIA,
+                config.auditoriaBaseUrl() + "/produtores/" + producerId + "/historico-auditorias");
+        if (response == null || !response.has("items") || !response.get("items").isJsonArray()) {
+            return null;
+        }
+        for (JsonElement item : response.getAsJsonArray("items")) {
+            JsonObject auditoria = item.getAsJsonObject();
+            if (auditoria.has("movimentacaoId") && movimentacaoId.equals(auditoria.get("movimentacaoId").getAsString())) {
+                return new Auditoria(requireString(Step.AUDITORIA, auditoria, "id"),
+                        Instant.parse(requireString(Step.AUDITORIA, auditoria, "processadoEm")));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return whether the producer's selo was checked after {@code auditoria} was processed. Both instants are
+     * stamped by the services, so the harness clock plays no part, and an update left over from an earlier iteration
+     * of the same producer, which predates this audit, does not count.
+     */
+    public boolean seloAtualizado(String producerId, Auditoria auditoria) {
+        JsonObject response = getJson(Step.SELO, config.certificacaoBaseUrl() + "/selos/" + producerId);
+        if (response == null || !response.has("ultimoCheck") || response.get("ultimoCheck").isJsonNull()) {
+            return false;
+        }
+        return !Instant.parse(response.get("ultimoCheck").getAsString()).isBefore(auditoria.processadoEm());
+    }
+
+    private JsonObject postJson(Step step, String url, JsonObject body, String token, int expectedStatus) {
+        HttpRequest.Builder request = request(url, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(body), StandardCharsets.UTF_8));
+        return parse(step, send(step, request.build(), expectedStatus));
+    }
+
+    /**
+     * @return the body, or {@code null} while the resource does not exist yet
+     */
+    private JsonObject getJson(Step step, String url) {
+        HttpResponse<String> response = sendRaw(step, request(url, null).GET().build());
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            throw new StepFailedException(step, "status=" + response.statusCode() + " body=" + response.body());
+        }
+        return parse(step, response.body());
+    }
+
+    private HttpRequest.Builder request(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(config.requestTimeout());
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private String send(Step step, HttpRequest request, int expectedStatus) {
+        HttpResponse<String> response = sendRaw(step, request);
+        if (response.statusCode() != expectedStatus) {
+            throw new StepFailedException(step, "status=" + response.statusCode() + " body=" + response.body());
+        }
+        return response.body();
+    }
+
+    private HttpResponse<String> sendRaw(Step step, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StepFailedException(step, "interrompido");
+        } catch (Exception e) {
+            throw new StepFailedException(step, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private JsonObject parse(Step step, String body) {
+        if (body == null || body.isBlank()) {
+            return new JsonObject();
+        }
+        try {
+            return gson.fromJson(body, JsonObject.class);
+        } catch (RuntimeException e) {
+            throw new StepFailedException(step, "resposta invalida: " + body);
+        }
+    }
+
+    private static String requireString(Step step, JsonObject object, String key) {
+        if (object == null || !object.has(key) || object.get(key).isJsonNull()) {
+            throw new StepFailedException(step, key + " ausente na resposta: " + object);
+        }
+        return object.get(key).getAsString();
+    }
+
+    public record Attachment(String url, String hash) {
+    }
+
+    public record Auditoria(String id, Instant processadoEm) {
+    }
+}
@@ -0,0 +1,66 @@
+package load;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One pass/fail objective of a run, declared as {@code slo.<step>.p<percentile>=<ISO-8601 duration>} for latency or
+ * {@code slo.<step>.error-rate=<fraction>} for failures, where {@code <step>} is a {@link Step#metricName()}.
+ */
+public record SloThreshold(String key, Step step, double percentile, Duration maxLatency, double maxErrorRate)
+        implements Comparable<SloThreshold> {
+
+    static final String PREFIX = "slo.";
+
+    private static final Pattern LATENCY = Pattern.compile("^slo\\.(.+)\\.p(\\d+(?:\\.\\d+)?)$");
+    private static final Pattern ERROR_RATE = Pattern.compile("^slo\\.(.+)\\.error-rate$");
+
+    public static SloThreshold parse(String key, String value) {
+        Matcher latency = LATENCY.matcher(key);
+        if (latency.matches()) {
+            double percentile = Double.parseDouble(latency.group(2));
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentil invalido em " + key);
+            }
+            return new SloThreshold(key, Step.byName(latency.group(1)), percentile,
+                    Duration.parse(value.strip()), Double.NaN);
+        }
+        Matcher errorRate = ERROR_RATE.matcher(key);
+        if (errorRate.matches()) {
+            return new SloThreshold(key, Step.byName(errorRate.group(1)), Double.NaN, null,
+                    Double.parseDouble(value.strip()));
+        }
+        throw new IllegalArgumentException("SLO nao reconhecido: " + key
+                + " (use slo.<etapa>.p<percentil> ou slo.<etapa>.error-rate)");
+    }
+
+    public boolean isLatency() {
+        return maxLatency != null;
+    }
+
+    public Result evaluate(StepMetrics metrics) {
+        if (isLatency()) {
+            if (metrics.histogram().getTotalCount() == 0) {
+                return new Result(this, "sem amostras", false);
+            }
+            long observedMicros = metrics.histogram().getValueAtPercentile(percentile);
+            return new Result(this, StepMetrics.formatMicros(observedMicros),
+                    observedMicros <= maxLatency.toNanos() / 1_000);
+        }
+        double observed = metrics.errorRate();
+        return new Result(this, String.format("%.4f", observed), observed <= maxErrorRate);
+    }
+
+    public String limit() {
+        return isLatency() ? StepMetrics.formatMicros(maxLatency.toNanos() / 1_000) : String.format("%.4f", maxErrorRate);
+    }
+
+    @Override
+    public int compareTo(SloThreshold other) {
+        return key.compareTo(other.key);
+    }
+
+    public record Result(SloThreshold slo, String observed, boolean passed) {
+    }
+}
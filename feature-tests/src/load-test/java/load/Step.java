@@ -0,0 +1,37 @@
+package load;
+
+/**
+ * Measured stages of one pipeline iteration, in execution order. Request steps time a single HTTP call; the polling
+ * steps time from the movimentação being accepted until the downstream service reflects it, and end-to-end times from
+ * the iteration's scheduled start so queueing in the generator is not hidden.
+ */
+public enum Step {
+    SCHEDULE_LAG("scheduler.lag"),
+    LOGIN("login"),
+    UPLOAD_URL("anexo.upload-url"),
+    UPLOAD_PROXY("anexo.upload-proxy"),
+    UPLOAD_CONFIRM("anexo.confirm"),
+    CRIAR_MOVIMENTACAO("movimentacao.criar"),
+    AUDITORIA("auditoria"),
+    SELO("selo"),
+    END_TO_END("end-to-end");
+
+    private final String metricName;
+
+    Step(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+
+    public static Step byName(String name) {
+        for (Step step : values()) {
+            if (step.metricName.equals(name)) {
+                return step;
+            }
+        }
+        throw new IllegalArgumentException("Etapa desconhecida: " + name);
+    }
+}
@@ -0,0 +1,15 @@
+package load;
+
+public class StepFailedException extends RuntimeException {
+
+    private final Step step;
+
+    public StepFailedException(Step step, String message) {
+        super(step.metricName() + ": " + message);
+        this.step = step;
+    }
+
+    public Step step() {
+        return step;
+    }
+}
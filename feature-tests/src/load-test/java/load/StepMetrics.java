@@ -0,0 +1,61 @@
+package load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency histogram (microseconds) and failure count of one {@link Step}. Only successful executions are recorded in
+ * the histogram; failures count towards the error rate.
+ */
+public final class StepMetrics {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Step step;
+    private final Histogram histogram = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final AtomicLong errors = new AtomicLong();
+
+    public StepMetrics(Step step) {
+        this.step = step;
+    }
+
+    public void recordNanos(long nanos) {
+        histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, nanos / 1_000)));
+    }
+
+    public void recordError() {
+        errors.incrementAndGet();
+    }
+
+    public Step step() {
+        return step;
+    }
+
+    public Histogram histogram() {
+        return histogram;
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    public long total() {
+        return histogram.getTotalCount() + errors.get();
+    }
+
+    public double errorRate() {
+        long total = total();
+        return total == 0 ? 0 : (double) errors.get() / total;
+    }
+
+    static String formatMicros(long micros) {
+        if (micros >= 1_000_000) {
+            return String.format("%.2fs", micros / 1_000_000.0);
+        }
+        return String.format("%.1fms", micros / 1_000.0);
+    }
+}
@@ -30,6 +30,7 @@ public class E2ESteps {
     public static int movimentacaoResponseStatus;
     private String lastProducerId;
     private String attachmentUrl;
+    private String attachmentHash;
 
     @Dado("os serviços de movimentação e auditoria estão disponíveis em localhost")
     public void services_available() {
@@ -116,6 +117,8 @@ public class E2ESteps {
             JsonObject json = gson.fromJson(confirmResp.body(), JsonObject.class);
             if (json.has("url")) {
                 attachmentUrl = json.get("url").getAsString();
+                // the service hashes proxied uploads itself and enforces that digest on registration
+                attachmentHash = json.has("hash") && !json.get("hash").isJsonNull() ? json.get("hash").getAsString() : "h1";
                 return;
             }
         }
@@ -149,7 +152,7 @@ public class E2ESteps {
             JsonObject a = new JsonObject();
             a.addProperty("tipo", "image/png");
             a.addProperty("url", attachmentUrl);
-            a.addProperty("hash", "h1");
+            a.addProperty("hash", attachmentHash);
             anexos.add(a);
             body.add("anexos", anexos);
             // clear attachment for next scenarios
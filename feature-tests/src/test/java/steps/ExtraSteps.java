@@ -35,6 +35,7 @@ public class ExtraSteps {
         String resolvedProducerId = resolveProducerId(producerId);
         // create attachment via direct flow
         String attachmentUrl = null;
+        String attachmentHash = "h1";
         try {
             JsonObject reqBody = new JsonObject();
             reqBody.addProperty("contentType", "image/png");
@@ -70,6 +71,7 @@ public class ExtraSteps {
                         if (confirmResp.statusCode() == 200) {
                             JsonObject c = gson.fromJson(confirmResp.body(), JsonObject.class);
                             if (c.has("url")) attachmentUrl = c.get("url").getAsString();
+                            if (c.has("hash") && !c.get("hash").isJsonNull()) attachmentHash = c.get("hash").getAsString();
                         }
                     }
                 }
@@ -96,7 +98,7 @@ public class ExtraSteps {
             JsonObject a = new JsonObject();
             a.addProperty("tipo", "image/png");
             a.addProperty("url", attachmentUrl);
-            a.addProperty("hash", "h1");
+            a.addProperty("hash", attachmentHash);
             anexos.add(a);
             body.add("anexos", anexos);
         }
@@ -25,6 +25,8 @@ import java.util.UUID;
 
 public class UserProvisioner {
 
+    public static final String PRODUCER_PASSWORD = "Senha@123";
+
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
 
     private final HttpClient client = HttpClient.newHttpClient();
@@ -87,7 +89,7 @@ public class UserProvisioner {
             payload.addProperty("nome", "FT Produtor " + alias);
             payload.addProperty("email", "ft+" + uniqueSuffix + "@example.com");
             payload.addProperty("documento", generateDocumento());
-            payload.addProperty("senha", "Senha@123");
+            payload.addProperty("senha", PRODUCER_PASSWORD);
             payload.addProperty("role", "produtor");
 
             JsonObject fazenda = new JsonObject();
@@ -23,7 +23,7 @@ Funcionalidade: Cenários adicionais de movimentacao
   Cenário: Listagem paginada de movimentacoes por produtor
     Dado o banco está limpo para produtor "prod-list"
     Quando eu crio 3 movimentacoes validas para o produtor "prod-list"
-    E eu solicito GET /produtores/prod-list/movimentacoes?page=0&size=2
+    E eu solicito GET /produtores/prod-list/movimentacoes?page=0&size=2&includeTotal=true
     Então a resposta contém no máximo 2 itens e total >= 3
 
   Cenário: Histórico por commodity retorna movimentacoes recentes
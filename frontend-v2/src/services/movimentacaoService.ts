@@ -48,18 +48,35 @@ export interface MovimentacaoListResponse {
 }
 
 export interface UploadUrlResponse {
-  uploadUrl: string;
-  attachmentKey: string;
+  objectKey: string;
+  uploadUrl: string | null;
+  method: string | null;
+  headers: Record<string, string>;
+  expiresAt: string | null;
+  alreadyStored: boolean;
 }
 
 export interface ConfirmUploadRequest {
-  attachmentKey: string;
+  objectKey: string;
+}
+
+// hash is the SHA-256 computed by the service; send it unchanged in MovimentacaoRequest.anexos
+export interface ConfirmUploadResponse {
+  objectKey: string;
+  url: string;
+  tipo: string;
+  hash: string | null;
+  size: number;
 }
 
 export interface HistoricoMovimentacaoResponse {
-  items: MovimentacaoDetailResponse[];
+  movimentacoes: MovimentacaoDetailResponse[];
+  nextCursor?: string | null;
 }
 
+// maximum page size accepted by GET /commodities/{id}/historico
+const HISTORICO_PAGE_SIZE = 100;
+
 export const movimentacaoService = {
   criar: async (dados: MovimentacaoRequest, idempotencyKey?: string): Promise<MovimentacaoResponse> => {
     const headers: Record<string, string> = {};
@@ -83,7 +100,8 @@ export const movimentacaoService = {
     fromDate?: string,
     toDate?: string
   ): Promise<MovimentacaoListResponse> => {
-    const params: any = { page, size };
+    // the total is only counted on request; the page uses it for its counters
+    const params: any = { page, size, includeTotal: true };
     if (commodityId) params.commodityId = commodityId;
     if (fromDate) params.fromDate = fromDate;
     if (toDate) params.toDate = toDate;
@@ -92,9 +110,18 @@ export const movimentacaoService = {
     return response.data;
   },
 
+  // the endpoint is paged by cursor; follows nextCursor until the last page and returns the whole history
   historicoPorCommodity: async (commodityId: string): Promise<HistoricoMovimentacaoResponse> => {
-    const response = await api.get<HistoricoMovimentacaoResponse>(`/commodities/${commodityId}/historico`);
-    return response.data;
+    const movimentacoes: MovimentacaoDetailResponse[] = [];
+    let cursor: string | null | undefined;
+    do {
+      const params: Record<string, string | number> = { size: HISTORICO_PAGE_SIZE };
+      if (cursor) params.cursor = cursor;
+      const response = await api.get<HistoricoMovimentacaoResponse>(`/commodities/${commodityId}/historico`, { params });
+      movimentacoes.push(...response.data.movimentacoes);
+      cursor = response.data.nextCursor;
+    } while (cursor);
+    return { movimentacoes, nextCursor: null };
   },
 
   getUploadUrl: async (fileName: string, contentType: string): Promise<UploadUrlResponse> => {
@@ -102,7 +129,8 @@ export const movimentacaoService = {
     return response.data;
   },
 
-  confirmUpload: async (attachmentKey: string): Promise<void> => {
-    await api.post('/anexos/confirm', { attachmentKey });
+  confirmUpload: async (objectKey: string): Promise<ConfirmUploadResponse> => {
+    const response = await api.post<ConfirmUploadResponse>('/anexos/confirm', { objectKey } as ConfirmUploadRequest);
+    return response.data;
   },
 };
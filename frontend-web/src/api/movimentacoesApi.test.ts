@@ -102,6 +102,7 @@ describe('movimentacoesApi', () => {
           size: 20,
           fromDate: '2024-01-01',
           toDate: '2024-12-31',
+          includeTotal: true,
         },
       });
       expect(result).toEqual(mockResponse);
@@ -118,7 +119,7 @@ describe('movimentacoesApi', () => {
       const result = await movimentacoesApi.listarPorProdutor('prod-1');
 
       expect(movimentacoesApiInstance.get).toHaveBeenCalledWith('/produtores/prod-1/movimentacoes', {
-        params: undefined,
+        params: { includeTotal: true },
       });
       expect(result).toEqual(mockResponse);
     });
@@ -134,9 +135,26 @@ describe('movimentacoesApi', () => {
 
       const result = await movimentacoesApi.historicoCommodity('comm-1');
 
-      expect(movimentacoesApiInstance.get).toHaveBeenCalledWith('/commodities/comm-1/historico');
+      expect(movimentacoesApiInstance.get).toHaveBeenCalledWith('/commodities/comm-1/historico', {
+        params: { size: 100 },
+      });
       expect(result).toEqual(mockResponse);
     });
+
+    it('should follow nextCursor until the last page', async () => {
+      const first = { id: '1' } as Movimentacao;
+      const second = { id: '2' } as Movimentacao;
+      (movimentacoesApiInstance.get as ReturnType<typeof vi.fn>)
+        .mockResolvedValueOnce({ data: { movimentacoes: [first], nextCursor: 'c1' } })
+        .mockResolvedValueOnce({ data: { movimentacoes: [second], nextCursor: null } });
+
+      const result = await movimentacoesApi.historicoCommodity('comm-1');
+
+      expect(movimentacoesApiInstance.get).toHaveBeenNthCalledWith(2, '/commodities/comm-1/historico', {
+        params: { size: 100, cursor: 'c1' },
+      });
+      expect(result).toEqual({ movimentacoes: [first, second] });
+    });
   });
 
   describe('gerarUploadUrl', () => {
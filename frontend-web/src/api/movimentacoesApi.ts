@@ -9,6 +9,9 @@ export interface MovimentacaoFilters {
   commodityId?: string;
 }
 
+// maximum page size accepted by GET /commodities/{id}/historico
+const HISTORICO_PAGE_SIZE = 100;
+
 export const movimentacoesApi = {
   criar: async (data: MovimentacaoCriacao, idempotencyKey?: string): Promise<{ movimentacaoId: string }> => {
     const headers = idempotencyKey ? { 'X-Idempotency-Key': idempotencyKey } : {};
@@ -26,16 +29,25 @@ export const movimentacoesApi = {
   listarPorProdutor: async (producerId: string, filters?: MovimentacaoFilters): Promise<MovimentacaoLista> => {
     const response = await movimentacoesApiInstance.get<MovimentacaoLista>(
       `/produtores/${producerId}/movimentacoes`,
-      { params: filters }
+      // the total is only counted on request; the list page uses it for its pagination
+      { params: { ...filters, includeTotal: true } }
     );
     return response.data;
   },
 
+  // the endpoint is paged by cursor; follows nextCursor until the last page and returns the whole history
   historicoCommodity: async (commodityId: string): Promise<{ movimentacoes: Movimentacao[] }> => {
-    const response = await movimentacoesApiInstance.get<{ movimentacoes: Movimentacao[] }>(
-      `/commodities/${commodityId}/historico`
-    );
-    return response.data;
+    const movimentacoes: Movimentacao[] = [];
+    let cursor: string | null | undefined;
+    do {
+      const response = await movimentacoesApiInstance.get<{ movimentacoes: Movimentacao[]; nextCursor?: string | null }>(
+        `/commodities/${commodityId}/historico`,
+        { params: cursor ? { size: HISTORICO_PAGE_SIZE, cursor } : { size: HISTORICO_PAGE_SIZE } }
+      );
+      movimentacoes.push(...response.data.movimentacoes);
+      cursor = response.data.nextCursor;
+    } while (cursor);
+    return { movimentacoes };
   },
 
   gerarUploadUrl: async (contentType: string): Promise<{ objectKey: string; uploadUrl: string }> => {
@@ -50,7 +62,7 @@ export const movimentacoesApi = {
     objectKey: string;
     url: string;
     tipo: string;
-    hash: string;
+    hash: string | null;
     size: number;
   }> => {
     const response = await movimentacoesApiInstance.post('/anexos/confirm', { objectKey });
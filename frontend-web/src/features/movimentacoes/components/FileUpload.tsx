@@ -91,10 +91,18 @@ const FileUpload = ({
             throw new Error('Erro ao fazer upload do arquivo');
           }
 
-          const confirmed = await movimentacoesApi.confirmarUpload(objectKey);
+          // the service computes the SHA-256 itself; retry while it is still verifying a large upload
+          let confirmed = await movimentacoesApi.confirmarUpload(objectKey);
+          for (let attempt = 0; !confirmed.hash && attempt < 3; attempt++) {
+            confirmed = await movimentacoesApi.confirmarUpload(objectKey);
+          }
+          if (!confirmed.hash) {
+            throw new Error('Não foi possível verificar a integridade do arquivo');
+          }
 
           const uploadedFile: UploadedFile = {
             ...confirmed,
+            hash: confirmed.hash,
             file,
           };
 
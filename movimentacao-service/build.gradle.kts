@@ -41,6 +41,12 @@ sourceSets {
         compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output
         runtimeClasspath += output + compileClasspath
     }
+    val jmh by creating {
+        java.srcDir("src/jmh/java")
+        resources.srcDir("src/jmh/resources")
+        compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+        runtimeClasspath += output + compileClasspath
+    }
 }
 
 val integrationTestImplementation by configurations.getting {
@@ -55,6 +61,13 @@ val featureTestImplementation by configurations.getting {
 val featureTestRuntimeOnly by configurations.getting {
     extendsFrom(configurations.testRuntimeOnly.get())
 }
+val jmhImplementation by configurations.getting {
+    extendsFrom(configurations.testImplementation.get())
+}
+val jmhRuntimeOnly by configurations.getting {
+    extendsFrom(configurations.testRuntimeOnly.get())
+}
+val jmhAnnotationProcessor by configurations.getting
 
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
@@ -67,7 +80,13 @@ dependencies {
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-database-postgresql")
     implementation("org.apache.commons:commons-lang3:3.18.0")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.apache.httpcomponents.client5:httpclient5")
+    implementation("io.github.resilience4j:resilience4j-circuitbreaker:2.2.0")
+    implementation("io.github.resilience4j:resilience4j-bulkhead:2.2.0")
+    implementation("io.github.resilience4j:resilience4j-micrometer:2.2.0")
     implementation("org.springframework.security:spring-security-oauth2-jose")
+    implementation("com.ecoledger:event-contracts:1.0.0")
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
 
     runtimeOnly("org.postgresql:postgresql")
@@ -80,6 +99,10 @@ dependencies {
     integrationTestImplementation("com.adobe.testing:s3mock:4.11.0")
     integrationTestImplementation("com.adobe.testing:s3mock-testcontainers:4.11.0")
     integrationTestImplementation("org.testcontainers:testcontainers-junit-jupiter:2.0.2")
+    integrationTestImplementation("org.testcontainers:testcontainers-postgresql:2.0.2")
+    jmhImplementation("org.openjdk.jmh:jmh-core:1.37")
+    jmhAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    jmhRuntimeOnly("com.h2database:h2")
 }
 
 tasks.test {
@@ -107,6 +130,17 @@ val featureTest = tasks.register<Test>("featureTest") {
     useJUnitPlatform()
 }
 
+tasks.register<JavaExec>("jmh") {
+    description = "Runs JMH microbenchmarks (-Pjmh.includes=<regex> to select, gc profiler enabled); results in build/reports/jmh"
+    group = "benchmark"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    args = listOfNotNull(project.findProperty("jmh.includes")?.toString(), "-prof", "gc",
+        "-rf", "json", "-rff", results.get().asFile.path)
+    doFirst { results.get().asFile.parentFile.mkdirs() }
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test, integrationTest)
     reports {
@@ -1 +1,4 @@
 rootProject.name = "movimentacao-service"
+
+// shared event schemas and codec, built from source alongside the service
+includeBuild("../event-contracts")
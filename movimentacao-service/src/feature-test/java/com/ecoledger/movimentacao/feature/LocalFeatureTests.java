@@ -130,6 +130,7 @@ public class LocalFeatureTests {
         Assumptions.assumeTrue(confirmResp.statusCode() == 200, "Confirm upload failed - skip");
         JsonNode c = objectMapper.readTree(confirmResp.body());
         String url = c.get("url").asText();
+        String hash = c.hasNonNull("hash") ? c.get("hash").asText() : "h1";
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("producerId", "prod-local");
@@ -139,7 +140,7 @@ public class LocalFeatureTests {
         payload.put("unidade", "KG");
         payload.put("timestamp", OffsetDateTime.now().toString());
         // include attachment so service can validate and persist
-        Map<String, String> anexo = Map.of("tipo", "image/png", "url", url, "hash", "h1");
+        Map<String, String> anexo = Map.of("tipo", "image/png", "url", url, "hash", hash);
         payload.put("anexos", java.util.List.of(anexo));
 
         String json = objectMapper.writeValueAsString(payload);
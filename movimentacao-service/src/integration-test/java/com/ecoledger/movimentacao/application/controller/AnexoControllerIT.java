@@ -45,7 +45,7 @@ class AnexoControllerIT {
 
     @Test
     void shouldReturnSignedUrl() throws Exception {
-        var req = new AnexoController.SignedUploadRequest("image/png");
+        var req = new AnexoController.SignedUploadRequest("image/png", null, null);
 
         var mvc = mockMvc.perform(post("/anexos/upload-url")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -57,6 +57,8 @@ class AnexoControllerIT {
         AnexoController.SignedUploadResponse resp = objectMapper.readValue(content, AnexoController.SignedUploadResponse.class);
 
         assertThat(resp.objectKey()).isNotBlank();
-        assertThat(resp.uploadUrl()).contains("signature=simulated");
+        assertThat(resp.uploadUrl()).contains("/" + resp.objectKey() + "?").contains("X-Amz-Signature=");
+        assertThat(resp.method()).isEqualTo("PUT");
+        assertThat(resp.headers().values()).contains("image/png");
     }
 }
@@ -129,4 +129,34 @@ class MovimentacaoCommodityHistoryIT {
         // Ensure commodityId matches
         assertThat(items.get(0).commodityId()).isEqualTo("cmd-A");
     }
+
+    @Test
+    void shouldPageHistoryWithCursorAndLoadAttachments() throws Exception {
+        var anexo = new com.ecoledger.movimentacao.domain.model.MovimentacaoAnexo();
+        anexo.setTipo("image/png");
+        anexo.setUrl("https://files.ecoledger.com/anexos/a.png");
+        anexo.setHash("abc123");
+        repository.save(new Movimentacao("prod-1", "cmd-A", "COLHEITA", new BigDecimal("7"), "KG",
+                OffsetDateTime.now().minusDays(1), null, null, List.of(anexo)));
+
+        var first = objectMapper.readValue(mockMvc.perform(get("/commodities/cmd-A/historico")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), HistoricoMovimentacaoResponse.class);
+
+        assertThat(first.movimentacoes()).hasSize(2);
+        assertThat(first.nextCursor()).isNotNull();
+
+        var second = objectMapper.readValue(mockMvc.perform(get("/commodities/cmd-A/historico")
+                        .param("size", "2")
+                        .param("cursor", first.nextCursor())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), HistoricoMovimentacaoResponse.class);
+
+        assertThat(second.movimentacoes()).hasSize(1);
+        assertThat(second.nextCursor()).isNull();
+        assertThat(second.movimentacoes().get(0).anexos()).extracting("hash").containsExactly("abc123");
+    }
 }
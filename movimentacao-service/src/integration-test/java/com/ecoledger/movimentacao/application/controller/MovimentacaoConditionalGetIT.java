@@ -0,0 +1,92 @@
+package com.ecoledger.movimentacao.application.controller;
+
+import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MovimentacaoConditionalGetIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovimentacaoRepository repository;
+
+    private String producerId;
+    private UUID id;
+
+    @BeforeEach
+    void setup() {
+        producerId = UUID.randomUUID().toString();
+        id = repository.save(new Movimentacao(producerId, "cmd-1", "COLHEITA", new BigDecimal("10.5"), "KG",
+                OffsetDateTime.parse("2025-03-10T12:00:00Z"), -3.1, -60.0, List.of())).getId();
+    }
+
+    @Test
+    void shouldServeDetailWithStrongETagAndImmutableCaching() throws Exception {
+        var response = mockMvc.perform(get("/movimentacoes/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+                        allOf(containsString("max-age=31536000"), containsString("private"), containsString("immutable"))))
+                .andReturn()
+                .getResponse();
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"");
+
+        mockMvc.perform(get("/movimentacoes/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void shouldStillReturnNotFoundForUnknownDetail() throws Exception {
+        mockMvc.perform(get("/movimentacoes/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldAnswerUnchangedListingWithNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/produtores/{producerId}/movimentacoes", producerId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/\"");
+
+        mockMvc.perform(get("/produtores/{producerId}/movimentacoes", producerId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        repository.save(new Movimentacao(producerId, "cmd-1", "COLHEITA", BigDecimal.ONE, "KG",
+                OffsetDateTime.parse("2025-03-11T12:00:00Z"), null, null, List.of()));
+
+        mockMvc.perform(get("/produtores/{producerId}/movimentacoes", producerId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2));
+    }
+}
@@ -77,6 +77,38 @@ class MovimentacaoControllerIT {
         assertThat(response).contains("movimentacaoId");
     }
 
+    @Test
+    void shouldCreateMovimentacoesInBatch() throws Exception {
+        var valid = new TestRequest("prod-1", "cmd-1", "COLHEITA", new BigDecimal("1.5"), "KG", OffsetDateTime.now());
+        var invalid = new TestRequest("prod-1", "cmd-1", "COLHEITA", null, "KG", OffsetDateTime.now());
+
+        var response = mockMvc.perform(post("/movimentacoes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(java.util.Map.of("itens", java.util.List.of(valid, invalid, valid)))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var body = objectMapper.readTree(response);
+        assertThat(body.get("criados").asInt()).isEqualTo(2);
+        assertThat(body.get("rejeitados").asInt()).isEqualTo(1);
+        assertThat(body.get("resultados").get(1).get("status").asText()).isEqualTo("REJEITADO");
+        wireMock.verify(1, getRequestedFor(urlEqualTo("/usuarios/prod-1")));
+    }
+
+    @Test
+    void shouldReturnServiceUnavailableWhenUsersServiceFails() throws Exception {
+        wireMock.stubFor(get(urlEqualTo("/usuarios/prod-down"))
+                .willReturn(aResponse().withStatus(503)));
+        var payload = new TestRequest("prod-down", "cmd-1", "COLHEITA", new BigDecimal("1.5"), "KG", OffsetDateTime.now());
+
+        mockMvc.perform(post("/movimentacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     record TestRequest(String producerId,
                        String commodityId,
                        String tipo,
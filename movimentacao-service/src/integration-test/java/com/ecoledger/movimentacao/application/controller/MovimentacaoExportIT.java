@@ -0,0 +1,113 @@
+package com.ecoledger.movimentacao.application.controller;
+
+import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import com.ecoledger.movimentacao.domain.model.MovimentacaoAnexo;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MovimentacaoExportIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovimentacaoRepository repository;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAll();
+        var anexo = new MovimentacaoAnexo();
+        anexo.setTipo("image/png");
+        anexo.setUrl("https://files.ecoledger.com/anexos/a.png");
+        anexo.setHash("abc123");
+        repository.save(new Movimentacao("prod-1", "cmd-1", "COLHEITA", new BigDecimal("1"), "KG",
+                OffsetDateTime.now().minusDays(2), -23.5, -46.6, List.of(anexo)));
+        repository.save(new Movimentacao("prod-1", "cmd-2", "COLHEITA", new BigDecimal("2"), "KG",
+                OffsetDateTime.now().minusDays(1), null, null, List.of()));
+        repository.save(new Movimentacao("prod-2", "cmd-3", "COLHEITA", new BigDecimal("3"), "KG",
+                OffsetDateTime.now(), null, null, List.of()));
+    }
+
+    @Test
+    void shouldStreamProducerHistoryAsNdjson() throws Exception {
+        var started = mockMvc.perform(get("/produtores/prod-1/movimentacoes/export")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var content = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", org.hamcrest.Matchers.startsWith("application/x-ndjson")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(content).endsWith("}\n");
+        var lines = content.strip().split("\n");
+        assertThat(lines).hasSize(2);
+        var first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("commodityId").asText()).isEqualTo("cmd-1");
+        assertThat(first.get("anexos").get(0).get("hash").asText()).isEqualTo("abc123");
+        assertThat(objectMapper.readTree(lines[1]).get("commodityId").asText()).isEqualTo("cmd-2");
+    }
+
+    @Test
+    void shouldStreamEmptyNdjsonForProducerWithoutMovimentacoes() throws Exception {
+        var started = mockMvc.perform(get("/produtores/prod-9/movimentacoes/export")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var content = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(content).isEmpty();
+    }
+
+    @Test
+    void shouldStreamProducerHistoryAsCsv() throws Exception {
+        var started = mockMvc.perform(get("/produtores/prod-1/movimentacoes/export")
+                        .accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var content = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var lines = content.strip().split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,producerId,commodityId");
+        assertThat(lines[1]).contains(",cmd-1,").endsWith("https://files.ecoledger.com/anexos/a.png");
+        assertThat(lines[2]).contains(",cmd-2,");
+    }
+}
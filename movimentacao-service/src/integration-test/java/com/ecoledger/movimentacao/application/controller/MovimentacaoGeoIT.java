@@ -0,0 +1,129 @@
+package com.ecoledger.movimentacao.application.controller;
+
+import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MovimentacaoGeoIT {
+
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2025-03-10T12:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovimentacaoRepository repository;
+
+    private String commodityId;
+    private UUID center;
+    private UUID nearby;
+    private UUID farther;
+
+    @BeforeEach
+    void setup() {
+        commodityId = UUID.randomUUID().toString();
+        center = save(commodityId, -3.10, -60.02, TIMESTAMP);
+        // about 3 km from the center
+        nearby = save(commodityId, -3.12, -60.00, TIMESTAMP.plusDays(5));
+        // about 70 km from the center
+        farther = save(commodityId, -3.50, -60.50, TIMESTAMP);
+        save("other-commodity", -3.10, -60.02, TIMESTAMP);
+    }
+
+    @Test
+    void shouldStreamMovimentacoesInsideBoundingBox() throws Exception {
+        List<String> ids = ids(get("/movimentacoes/area")
+                .param("minLat", "-3.2").param("minLon", "-60.1")
+                .param("maxLat", "-3.0").param("maxLon", "-59.9")
+                .param("commodityId", commodityId));
+
+        assertThat(ids).containsExactlyInAnyOrder(center.toString(), nearby.toString());
+    }
+
+    @Test
+    void shouldStreamMovimentacoesWithinRadius() throws Exception {
+        List<String> withinFiveKm = ids(get("/movimentacoes/proximidades")
+                .param("lat", "-3.10").param("lon", "-60.02").param("raioKm", "5")
+                .param("commodityId", commodityId));
+        List<String> withinOneKm = ids(get("/movimentacoes/proximidades")
+                .param("lat", "-3.10").param("lon", "-60.02").param("raioKm", "1")
+                .param("commodityId", commodityId));
+        List<String> withinHundredKm = ids(get("/movimentacoes/proximidades")
+                .param("lat", "-3.10").param("lon", "-60.02").param("raioKm", "100")
+                .param("commodityId", commodityId));
+
+        assertThat(withinFiveKm).containsExactlyInAnyOrder(center.toString(), nearby.toString());
+        assertThat(withinOneKm).containsExactly(center.toString());
+        assertThat(withinHundredKm).containsExactlyInAnyOrder(center.toString(), nearby.toString(), farther.toString());
+    }
+
+    @Test
+    void shouldCombineAreaWithDateFilter() throws Exception {
+        List<String> ids = ids(get("/movimentacoes/proximidades")
+                .param("lat", "-3.10").param("lon", "-60.02").param("raioKm", "5")
+                .param("commodityId", commodityId)
+                .param("fromDate", TIMESTAMP.plusDays(1).toString()));
+
+        assertThat(ids).containsExactly(nearby.toString());
+    }
+
+    @Test
+    void shouldRejectInvalidArea() throws Exception {
+        mockMvc.perform(get("/movimentacoes/area")
+                        .param("minLat", "-3.0").param("minLon", "-60.1")
+                        .param("maxLat", "-3.2").param("maxLon", "-59.9"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/movimentacoes/proximidades")
+                        .param("lat", "-3.10").param("lon", "-60.02").param("raioKm", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<String> ids(MockHttpServletRequestBuilder builder) throws Exception {
+        var started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var content = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<String> ids = new ArrayList<>();
+        for (String line : content.strip().split("\n")) {
+            if (!line.isBlank()) {
+                ids.add(objectMapper.readTree(line).get("id").asText());
+            }
+        }
+        return ids;
+    }
+
+    private UUID save(String commodity, double lat, double lon, OffsetDateTime timestamp) {
+        return repository.save(new Movimentacao("prod-geo", commodity, "COLHEITA", new BigDecimal("1"), "KG",
+                timestamp, lat, lon, List.of())).getId();
+    }
+}
@@ -112,6 +112,32 @@ class MovimentacaoIdempotencyIT {
         assertThat(all.get(0).getId()).isEqualTo(r1.movimentacaoId());
     }
 
+    @Test
+    void shouldRejectSameIdempotencyKeyWithDifferentBody() throws Exception {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("producerId", "prod-1");
+        payload.put("commodityId", "cmd-1");
+        payload.put("tipo", "COLHEITA");
+        payload.put("quantidade", new BigDecimal("1.5"));
+        payload.put("unidade", "KG");
+        payload.put("timestamp", OffsetDateTime.now());
+
+        mockMvc.perform(post("/movimentacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Idempotency-Key", "idemp-2")
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isCreated());
+
+        payload.put("quantidade", new BigDecimal("3"));
+        mockMvc.perform(post("/movimentacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Idempotency-Key", "idemp-2")
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isConflict());
+
+        assertThat(repository.findAll()).hasSize(1);
+    }
+
     @Test
     void shouldReturnSameIdWhenNoIdempotencyKeyUsesPayloadHash() throws Exception {
         Map<String, Object> payload = new HashMap<>();
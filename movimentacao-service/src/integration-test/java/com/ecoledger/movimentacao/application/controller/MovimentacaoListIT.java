@@ -112,6 +112,7 @@ class MovimentacaoListIT {
         var mvcResult = mockMvc.perform(get("/produtores/prod-1/movimentacoes")
                         .param("page", "1")
                         .param("size", "2")
+                        .param("includeTotal", "true")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andReturn();
@@ -137,7 +138,7 @@ class MovimentacaoListIT {
                 objectMapper.readValue(content, MovimentacaoListResponse.class);
 
         assertThat(resp.items()).hasSize(1);
-        assertThat(resp.total()).isEqualTo(1L);
+        assertThat(resp.total()).isNull();
     }
 
     @Test
@@ -154,6 +155,52 @@ class MovimentacaoListIT {
                 objectMapper.readValue(content, com.ecoledger.movimentacao.application.dto.MovimentacaoListResponse.class);
 
         assertThat(resp.items()).hasSize(1);
-        assertThat(resp.total()).isEqualTo(3L);
+        assertThat(resp.total()).isNull();
+        assertThat(resp.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldNotOfferNextPageAfterLastFullOffsetPage() throws Exception {
+        var resp = objectMapper.readValue(mockMvc.perform(get("/produtores/prod-1/movimentacoes")
+                        .param("page", "3")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), MovimentacaoListResponse.class);
+
+        assertThat(resp.items()).extracting("commodityId").containsExactly("cmd-1");
+        assertThat(resp.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldWalkAllPagesWithCursorWithoutCounting() throws Exception {
+        var first = objectMapper.readValue(mockMvc.perform(get("/produtores/prod-1/movimentacoes")
+                        .param("size", "2")
+                        .param("includeTotal", "false")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), MovimentacaoListResponse.class);
+
+        assertThat(first.items()).extracting("commodityId").containsExactly("cmd-3", "cmd-2");
+        assertThat(first.total()).isNull();
+        assertThat(first.nextCursor()).isNotNull();
+
+        var second = objectMapper.readValue(mockMvc.perform(get("/produtores/prod-1/movimentacoes")
+                        .param("size", "2")
+                        .param("cursor", first.nextCursor())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), MovimentacaoListResponse.class);
+
+        assertThat(second.items()).extracting("commodityId").containsExactly("cmd-1");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get("/produtores/prod-1/movimentacoes")
+                        .param("cursor", "%%%")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
     }
 }
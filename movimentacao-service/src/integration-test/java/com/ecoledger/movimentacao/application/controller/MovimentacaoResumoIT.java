@@ -0,0 +1,140 @@
+package com.ecoledger.movimentacao.application.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MovimentacaoResumoIT {
+
+    private static final WireMockServer wireMock = new WireMockServer(options().dynamicPort());
+
+    @BeforeAll
+    static void startWireMock() {
+        wireMock.start();
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        wireMock.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("movimentacao.producer-approval.base-url", wireMock::baseUrl);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String producerId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        wireMock.resetAll();
+        wireMock.stubFor(com.github.tomakehurst.wiremock.client.WireMock.get(urlMatching("/usuarios/.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"role\":\"produtor\",\"status\":\"APROVADO\"}")));
+        producerId = UUID.randomUUID().toString();
+
+        registrar(request("10", OffsetDateTime.parse("2025-03-03T10:00:00Z")));
+        // 23:30 in Brasilia is already the next UTC day
+        registrar(request("5", OffsetDateTime.parse("2025-03-04T23:30:00-03:00")));
+        mockMvc.perform(post("/movimentacoes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("itens", List.of(
+                                request("1.5", OffsetDateTime.parse("2025-03-10T08:00:00Z")),
+                                request("2.5", OffsetDateTime.parse("2025-03-10T09:00:00Z")))))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldSummarizeByDay() throws Exception {
+        JsonNode periodos = resumo("DIA").get("periodos");
+
+        assertThat(periodos).hasSize(3);
+        assertThat(periodos.get(0).get("inicio").asText()).isEqualTo("2025-03-03");
+        assertThat(periodos.get(1).get("inicio").asText()).isEqualTo("2025-03-05");
+        assertThat(periodos.get(2).get("inicio").asText()).isEqualTo("2025-03-10");
+        assertThat(periodos.get(2).get("quantidadeTotal").decimalValue()).isEqualByComparingTo("4");
+        assertThat(periodos.get(2).get("totalMovimentacoes").asLong()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSummarizeByWeekAndMonth() throws Exception {
+        JsonNode semanas = resumo("SEMANA").get("periodos");
+        JsonNode meses = resumo("MES").get("periodos");
+
+        assertThat(semanas).hasSize(2);
+        assertThat(semanas.get(0).get("inicio").asText()).isEqualTo("2025-03-03");
+        assertThat(semanas.get(0).get("quantidadeTotal").decimalValue()).isEqualByComparingTo("15");
+        assertThat(meses).hasSize(1);
+        assertThat(meses.get(0).get("inicio").asText()).isEqualTo("2025-03-01");
+        assertThat(meses.get(0).get("quantidadeTotal").decimalValue()).isEqualByComparingTo("19");
+        assertThat(meses.get(0).get("totalMovimentacoes").asLong()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRejectInvertedPeriod() throws Exception {
+        mockMvc.perform(get("/produtores/{producerId}/movimentacoes/resumo", producerId)
+                        .param("fromDate", "2025-03-31")
+                        .param("toDate", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode resumo(String granularidade) throws Exception {
+        String body = mockMvc.perform(get("/produtores/{producerId}/movimentacoes/resumo", producerId)
+                        .param("fromDate", "2025-03-01")
+                        .param("toDate", "2025-03-31")
+                        .param("granularidade", granularidade))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void registrar(MovimentacaoControllerIT.TestRequest payload) throws Exception {
+        mockMvc.perform(post("/movimentacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isCreated());
+    }
+
+    private MovimentacaoControllerIT.TestRequest request(String quantidade, OffsetDateTime timestamp) {
+        return new MovimentacaoControllerIT.TestRequest(producerId, "cmd-1", "COLHEITA", new BigDecimal(quantidade), "KG", timestamp);
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.adobe.testing.s3mock.testcontainers.S3MockContainer;
+import com.ecoledger.movimentacao.config.AttachmentPresignProperties;
+import com.ecoledger.movimentacao.config.S3Properties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+class S3PresignedUrlServiceIT {
+
+    private static final String BUCKET = "movimentacoes";
+
+    @Container
+    private final S3MockContainer s3MockContainer = new S3MockContainer("latest")
+            .withInitialBuckets(BUCKET);
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private S3PresignedUrlService service;
+    private S3Presigner presigner;
+    private S3Client client;
+
+    @BeforeEach
+    void setup() {
+        String endpoint = s3MockContainer.getHttpEndpoint();
+        var credentials = StaticCredentialsProvider.create(AwsBasicCredentials.create("minioadmin", "minioadmin"));
+        var serviceConfig = S3Configuration.builder().pathStyleAccessEnabled(true).build();
+        client = S3Client.builder()
+                .endpointOverride(URI.create(endpoint))
+                .region(Region.SA_EAST_1)
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfig)
+                .build();
+        presigner = S3Presigner.builder()
+                .endpointOverride(URI.create(endpoint))
+                .region(Region.SA_EAST_1)
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfig)
+                .build();
+        S3Properties props = new S3Properties(endpoint, BUCKET, "sa-east-1", "minioadmin", "minioadmin", 5,
+                List.of("application/pdf"), endpoint + "/" + BUCKET, true);
+        service = new S3PresignedUrlService(props, new AttachmentPresignProperties(null, Duration.ofMinutes(1), null), presigner);
+    }
+
+    @AfterEach
+    void tearDown() {
+        presigner.close();
+        client.close();
+    }
+
+    @Test
+    void presignedUrls_shouldMoveBytesDirectlyBetweenClientAndStorage() throws Exception {
+        byte[] content = "%PDF-1.4 presigned".getBytes();
+        var upload = service.presignUpload("doc.pdf", "application/pdf", (long) content.length);
+
+        HttpRequest.Builder put = HttpRequest.newBuilder(URI.create(upload.url()))
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(content));
+        // Content-Length is set by the client from the body
+        upload.headers().forEach((name, value) -> {
+            if (!"content-length".equalsIgnoreCase(name)) {
+                put.header(name, value);
+            }
+        });
+        HttpResponse<Void> putResponse = httpClient.send(put.build(), HttpResponse.BodyHandlers.discarding());
+        assertThat(putResponse.statusCode()).isEqualTo(200);
+
+        HeadObjectResponse head = client.headObject(HeadObjectRequest.builder().bucket(BUCKET).key("doc.pdf").build());
+        assertThat(head.contentType()).isEqualTo("application/pdf");
+        assertThat(head.contentLength()).isEqualTo(content.length);
+
+        var download = service.presignDownload("doc.pdf");
+        HttpResponse<byte[]> getResponse = httpClient.send(HttpRequest.newBuilder(URI.create(download.url())).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(getResponse.statusCode()).isEqualTo(200);
+        assertThat(getResponse.body()).isEqualTo(content);
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecoledger.movimentacao.config;
+
+import com.ecoledger.movimentacao.application.service.MovimentacaoNotFoundException;
+import com.ecoledger.movimentacao.application.service.MovimentacaoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Wires the read-replica data sources against PostgreSQL, with the "replica" being the same database reached under
+ * another {@code application_name}, and checks that transactions started by the JPA transaction manager are routed by
+ * their read-only flag through the {@code LazyConnectionDataSourceProxy}. On a primary the lag query reports zero, so
+ * the replica passes its lag check.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+class ReadReplicaRoutingIT {
+
+    private static final String REPLICA_APPLICATION_NAME = "movimentacao-replica";
+
+    @Container
+    private static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("movimentacao.datasource.read-replicas.enabled", () -> "true");
+        registry.add("movimentacao.datasource.read-replicas.replicas[0].name", () -> "r1");
+        registry.add("movimentacao.datasource.read-replicas.replicas[0].url",
+                () -> POSTGRES.getJdbcUrl() + (POSTGRES.getJdbcUrl().contains("?") ? "&" : "?")
+                        + "ApplicationName=" + REPLICA_APPLICATION_NAME);
+    }
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MovimentacaoService movimentacaoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void replicaHealthy() {
+        replicaRoutingDataSource.checkLag();
+        assertThat(meterRegistry.get("movimentacao.datasource.replica.lag").tag("replica", "r1").gauge().value()).isZero();
+    }
+
+    @Test
+    void readOnlyTransactionShouldRunOnTheReplica() {
+        assertThat(applicationName(true)).isEqualTo(REPLICA_APPLICATION_NAME);
+    }
+
+    @Test
+    void readWriteTransactionShouldRunOnThePrimary() {
+        assertThat(applicationName(false)).isNotEqualTo(REPLICA_APPLICATION_NAME);
+    }
+
+    @Test
+    void readOnlyServiceMethodShouldBorrowAReplicaConnection() {
+        double before = replicaReads();
+
+        assertThatThrownBy(() -> movimentacaoService.buscarPorIdDto(UUID.randomUUID()))
+                .isInstanceOf(MovimentacaoNotFoundException.class);
+
+        assertThat(replicaReads()).isEqualTo(before + 1);
+    }
+
+    private String applicationName(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> (String) entityManager
+                .createNativeQuery("SELECT current_setting('application_name')")
+                .getSingleResult());
+    }
+
+    private double replicaReads() {
+        return meterRegistry.get("movimentacao.datasource.reads").tag("route", "r1").tag("reason", "replica").counter().count();
+    }
+}
@@ -0,0 +1,227 @@
+package com.ecoledger.movimentacao.domain.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL and checks the partition layout of {@code movimentacoes}. The
+ * listing queries are the SQL Hibernate generates for {@link MovimentacaoRepository}, captured on execution and then
+ * explained with the same values, so they only touch the partitions of their period with both custom and generic
+ * plans. The maintenance functions are called through the repository as well.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+class MovimentacaoPartitioningIT {
+
+    private static final OffsetDateTime FEB_1 = OffsetDateTime.parse("2024-02-01T00:00:00Z");
+    private static final OffsetDateTime FEB_20 = OffsetDateTime.parse("2024-02-20T00:00:00Z");
+
+    @Container
+    private static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    private static boolean seeded;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector", SqlCapture.class::getName);
+    }
+
+    @Autowired
+    private MovimentacaoRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void seed() throws SQLException {
+        if (seeded) {
+            return;
+        }
+        repository.ensurePartition(LocalDate.parse("2024-01-01"));
+        repository.ensurePartition(LocalDate.parse("2024-02-01"));
+        repository.ensurePartition(LocalDate.parse("2024-03-01"));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            insertMovimentacao(statement, UUID.randomUUID(), "producer-1", "2024-01-15T10:00:00Z");
+            insertMovimentacao(statement, UUID.randomUUID(), "producer-1", "2024-02-15T10:00:00Z");
+            insertMovimentacao(statement, UUID.randomUUID(), "producer-1", "2024-03-15T10:00:00Z");
+            statement.execute("ANALYZE movimentacoes");
+        }
+        seeded = true;
+    }
+
+    @Test
+    void keysetFirstPageShouldOnlyScanPartitionsOfThePeriod() throws SQLException {
+        String sql = SqlCapture.capture(() -> repository.findKeysetFirstPage("producer-1", FEB_1, FEB_20, PageRequest.of(0, 21)));
+
+        assertPrunedToFebruary(sql, "'producer-1'", literal(FEB_1), literal(FEB_20), "21");
+    }
+
+    @Test
+    void keysetPageAfterShouldOnlyScanPartitionsOfThePeriod() throws SQLException {
+        OffsetDateTime cursor = OffsetDateTime.parse("2024-02-16T00:00:00Z");
+        UUID cursorId = UUID.randomUUID();
+        String sql = SqlCapture.capture(() -> repository.findKeysetPageAfter("producer-1", FEB_1, FEB_20, cursor, cursorId,
+                PageRequest.of(0, 21)));
+
+        assertPrunedToFebruary(sql, "'producer-1'", literal(FEB_1), literal(FEB_20), literal(cursor), literal(cursor),
+                literal(cursor), "'" + cursorId + "'", "21");
+    }
+
+    @Test
+    void ensurePartitionShouldMoveRowsOutOfTheDefaultPartition() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            insertMovimentacao(statement, UUID.randomUUID(), "producer-2", "2031-06-15T10:00:00Z");
+            assertThat(count(statement, "movimentacoes_default WHERE producer_id = 'producer-2'")).isEqualTo(1);
+
+            assertThat(repository.ensurePartition(LocalDate.parse("2031-06-20"))).isEqualTo("movimentacoes_p2031_06");
+            assertThat(repository.ensurePartition(LocalDate.parse("2031-06-01"))).isNull();
+
+            assertThat(count(statement, "movimentacoes_default WHERE producer_id = 'producer-2'")).isZero();
+            assertThat(count(statement, "movimentacoes_p2031_06 WHERE producer_id = 'producer-2'")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void archiveShouldDetachOldPartitionsWithTheirAnexos() throws SQLException {
+        UUID id = UUID.randomUUID();
+        repository.ensurePartition(LocalDate.parse("2020-01-01"));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            insertMovimentacao(statement, id, "producer-3", "2020-01-10T10:00:00Z");
+            statement.execute("INSERT INTO movimentacao_anexos (movimentacao_id, tipo, url, hash) VALUES ('" + id
+                    + "', 'application/pdf', 's3://movimentacoes/nf.pdf', 'abc')");
+
+            assertThat(repository.archivePartitionsBefore(LocalDate.parse("2020-02-01")))
+                    .containsExactly("movimentacoes_p2020_01");
+
+            assertThat(repository.findRowById(id)).isEmpty();
+            assertThat(repository.findAnexoRowsByMovimentacaoIds(List.of(id))).isEmpty();
+            assertThat(count(statement, "movimentacoes_archive.movimentacoes_p2020_01")).isEqualTo(1);
+            assertThat(count(statement, "movimentacoes_archive.movimentacao_anexos_p2020_01")).isEqualTo(1);
+        }
+    }
+
+    /**
+     * Explains the captured query with {@code values} bound in placeholder order, once as a custom and once as a
+     * generic plan; generic plans prune at executor startup instead of at planning time.
+     */
+    private void assertPrunedToFebruary(String sql, String... values) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DEALLOCATE ALL");
+            statement.execute("PREPARE repository_query AS " + numberPlaceholders(sql, values.length));
+
+            String custom = explain(statement, "force_custom_plan", values);
+            String generic = explain(statement, "force_generic_plan", values);
+
+            assertThat(custom).contains("movimentacoes_p2024_02")
+                    .doesNotContain("movimentacoes_p2024_01", "movimentacoes_p2024_03", "movimentacoes_default");
+            assertThat(generic).contains("movimentacoes_p2024_02", "Subplans Removed")
+                    .doesNotContain("movimentacoes_p2024_01", "movimentacoes_p2024_03", "movimentacoes_default");
+            statement.execute("RESET plan_cache_mode");
+        }
+    }
+
+    private static String explain(Statement statement, String planCacheMode, String... values) throws SQLException {
+        statement.execute("SET plan_cache_mode = " + planCacheMode);
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rs = statement.executeQuery("EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) EXECUTE repository_query("
+                + String.join(", ", values) + ")")) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    /** Rewrites the JDBC {@code ?} placeholders as {@code $1..$n}, checking there is one per bound value. */
+    private static String numberPlaceholders(String sql, int expected) {
+        StringBuilder numbered = new StringBuilder();
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++index);
+            } else {
+                numbered.append(c);
+            }
+        }
+        assertThat(index).as("placeholders in %s", sql).isEqualTo(expected);
+        return numbered.toString();
+    }
+
+    private static String literal(OffsetDateTime timestamp) {
+        return "'" + timestamp + "'";
+    }
+
+    private static void insertMovimentacao(Statement statement, UUID id, String producerId, String timestamp) throws SQLException {
+        statement.execute("INSERT INTO movimentacoes (id, producer_id, commodity_id, tipo, quantidade, unidade, registro_timestamp)"
+                + " VALUES ('" + id + "', '" + producerId + "', 'commodity-1', 'COLHEITA', 10, 'KG', '" + timestamp + "')");
+    }
+
+    private static long count(Statement statement, String from) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT count(*) FROM " + from)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Records the SQL Hibernate sends while {@link #capture} runs.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+        private static volatile boolean capturing;
+
+        @Override
+        public String inspect(String sql) {
+            if (capturing) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+
+        /**
+         * @return the only statement {@code call} issued
+         */
+        static String capture(Runnable call) {
+            STATEMENTS.clear();
+            capturing = true;
+            try {
+                call.run();
+            } finally {
+                capturing = false;
+            }
+            assertThat(STATEMENTS).hasSize(1);
+            return STATEMENTS.get(0);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @EmbeddedKafka(partitions = 1, topics = {KafkaMovimentacaoEventPublisherIT.TEST_TOPIC})
 @TestPropertySource(properties = {
         "movimentacao.kafka.enabled=true",
+        "movimentacao.outbox.enabled=false",
         "movimentacao.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
         "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
         "movimentacao.kafka.topics.movimentacao-criada=" + KafkaMovimentacaoEventPublisherIT.TEST_TOPIC
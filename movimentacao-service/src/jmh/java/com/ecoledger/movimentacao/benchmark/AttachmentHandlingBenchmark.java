@@ -0,0 +1,91 @@
+package com.ecoledger.movimentacao.benchmark;
+
+import com.ecoledger.movimentacao.application.dto.MovimentacaoRequest;
+import com.ecoledger.movimentacao.application.service.ConcurrentValidationExecutor;
+import com.ecoledger.movimentacao.application.service.MovimentacaoRollupService;
+import com.ecoledger.movimentacao.application.service.MovimentacaoService;
+import com.ecoledger.movimentacao.application.service.impl.NoOpAttachmentStorageService;
+import com.ecoledger.movimentacao.application.service.impl.NoOpMovimentacaoEventPublisher;
+import com.ecoledger.movimentacao.config.AttachmentPolicyProperties;
+import com.ecoledger.movimentacao.config.ValidationProperties;
+import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoDailyRollupRepository;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code MovimentacaoService.registrar} called through its public API with in-memory stand-ins for everything behind
+ * it: repositories that only assign an id or report one updated rollup row, an approval client that always approves,
+ * the no-op attachment storage and event publisher. What is left is the service's own per-request work (attachment
+ * policy check, concurrent validations, mapping to entities, rollup deltas), so the {@code anexos} parameter shows
+ * how it grows with the attachment count. Run with {@code ./gradlew jmh -Pjmh.includes=AttachmentHandling}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttachmentHandlingBenchmark {
+
+    @Param({"0", "3", "10"})
+    public int anexos;
+
+    private MovimentacaoService service;
+    private MovimentacaoRequest request;
+
+    @Setup
+    public void setup() {
+        var policy = new AttachmentPolicyProperties(10, List.of("application/pdf", BenchmarkPayloads.ATTACHMENT_TYPE));
+        MovimentacaoRepository repository = stub(MovimentacaoRepository.class, (method, args) -> {
+            if (method.equals("save")) {
+                Movimentacao movimentacao = (Movimentacao) args[0];
+                movimentacao.setId(UUID.randomUUID());
+                return movimentacao;
+            }
+            return null;
+        });
+        MovimentacaoDailyRollupRepository rollups = stub(MovimentacaoDailyRollupRepository.class,
+                (method, args) -> method.equals("increment") ? 1 : null);
+        // registrar does not use the bean validator, only registrarLote does
+        service = new MovimentacaoService(repository, producerId -> true, policy, new NoOpAttachmentStorageService(),
+                new NoOpMovimentacaoEventPublisher(), null, new ConcurrentValidationExecutor(new ValidationProperties(null)),
+                new MovimentacaoRollupService(rollups));
+        request = BenchmarkPayloads.movimentacaoRequest(anexos);
+    }
+
+    @Benchmark
+    public UUID registrar() {
+        return service.registrar(request);
+    }
+
+    private interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result = answer.answer(method.getName(), args);
+            if (result == null && method.getReturnType() != void.class && method.getReturnType().isPrimitive()) {
+                throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecoledger.movimentacao.benchmark;
+
+import com.ecoledger.movimentacao.application.dto.MovimentacaoRequest;
+import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import com.ecoledger.movimentacao.domain.model.MovimentacaoAnexo;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Representative requests and entities shared by the benchmarks.
+ */
+public final class BenchmarkPayloads {
+
+    public static final String ATTACHMENT_TYPE = "image/png";
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    private BenchmarkPayloads() {
+    }
+
+    public static MovimentacaoRequest movimentacaoRequest(int anexos) {
+        List<MovimentacaoRequest.MovimentacaoRequestAttachment> attachments = new ArrayList<>();
+        for (int i = 0; i < anexos; i++) {
+            attachments.add(new MovimentacaoRequest.MovimentacaoRequestAttachment(ATTACHMENT_TYPE, url(i), HASH));
+        }
+        return new MovimentacaoRequest("producer-123", "commodity-1", "PRODUCAO", new BigDecimal("10.5"), "KG",
+                OffsetDateTime.parse("2024-01-01T12:00:00Z"), new MovimentacaoRequest.Localizacao(-23.55052, -46.633308),
+                attachments);
+    }
+
+    /**
+     * A movimentacao as it looks right after it was saved: id and creation time assigned, anexos attached.
+     */
+    public static Movimentacao savedMovimentacao(int anexos) {
+        List<MovimentacaoAnexo> attachments = new ArrayList<>();
+        for (int i = 0; i < anexos; i++) {
+            MovimentacaoAnexo anexo = new MovimentacaoAnexo();
+            anexo.setTipo(ATTACHMENT_TYPE);
+            anexo.setUrl(url(i));
+            anexo.setHash(HASH);
+            attachments.add(anexo);
+        }
+        Movimentacao movimentacao = new Movimentacao("producer-123", "commodity-1", "PRODUCAO", new BigDecimal("10.5"), "KG",
+                OffsetDateTime.parse("2024-01-01T12:00:00Z"), -23.55052, -46.633308, attachments);
+        movimentacao.setId(UUID.fromString("9b9dd2d3-7e24-4baf-9ab0-5f53319f0c10"));
+        return movimentacao;
+    }
+
+    private static String url(int i) {
+        return "https://files.ecoledger.com/anexos/a" + i + ".png";
+    }
+
+    public static String movimentacaoRequestJson(int anexos) {
+        StringBuilder json = new StringBuilder()
+                .append("{\"producerId\":\"producer-123\",\"commodityId\":\"commodity-1\",\"tipo\":\"PRODUCAO\",")
+                .append("\"quantidade\":10.5,\"unidade\":\"KG\",\"timestamp\":\"2024-01-01T12:00:00Z\",")
+                .append("\"localizacao\":{\"lat\":-23.55052,\"lon\":-46.633308},\"anexos\":[");
+        for (int i = 0; i < anexos; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"tipo\":\"").append(ATTACHMENT_TYPE)
+                    .append("\",\"url\":\"").append(url(i))
+                    .append("\",\"hash\":\"").append(HASH).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+}
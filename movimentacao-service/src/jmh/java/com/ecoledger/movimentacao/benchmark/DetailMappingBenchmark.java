@@ -0,0 +1,46 @@
+package com.ecoledger.movimentacao.benchmark;
+
+import com.ecoledger.movimentacao.application.dto.MovimentacaoDetailResponse;
+import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to detail response mapping with {@code MovimentacaoDetailResponse.fromEntity}, without the persistence
+ * context; {@link MovimentacaoReadPathBenchmark} measures the whole read. Run with
+ * {@code ./gradlew jmh -Pjmh.includes=DetailMapping}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DetailMappingBenchmark {
+
+    @Param({"0", "3"})
+    public int anexos;
+
+    private Movimentacao movimentacao;
+
+    @Setup
+    public void setup() {
+        movimentacao = BenchmarkPayloads.savedMovimentacao(anexos);
+    }
+
+    @Benchmark
+    public MovimentacaoDetailResponse fromEntity() {
+        return MovimentacaoDetailResponse.fromEntity(movimentacao);
+    }
+}
@@ -0,0 +1,181 @@
+package com.ecoledger.movimentacao.benchmark;
+
+import com.ecoledger.movimentacao.application.dto.MovimentacaoDetailResponse;
+import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import com.ecoledger.movimentacao.domain.model.MovimentacaoAnexo;
+import com.ecoledger.movimentacao.domain.repository.AnexoRow;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRow;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Detail and listing reads through managed entities mapped with {@code fromEntity} versus row projections plus one
+ * batched attachment query mapped with {@code fromRows}, against an in-memory H2 database. Entity reads run in a
+ * read-only session, as under {@code @Transactional(readOnly = true)}. Run with
+ * {@code ./gradlew jmh -Pjmh.includes=MovimentacaoReadPath} and compare the average time and
+ * {@code gc.alloc.rate.norm} (bytes per read) of each pair.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovimentacaoReadPathBenchmark {
+
+    private static final String PRODUCER_ID = "producer-123";
+    private static final String ROW = """
+            select new com.ecoledger.movimentacao.domain.repository.MovimentacaoRow(
+                m.id, m.producerId, m.commodityId, m.tipo, m.quantidade, m.unidade, m.timestamp, m.latitude, m.longitude, m.criadoEm)
+            from Movimentacao m
+            """;
+    private static final String PAGE_FILTER = " where m.producerId = :producerId order by m.timestamp desc, m.id desc";
+
+    @Param({"50"})
+    public int pageSize;
+
+    @Param({"2"})
+    public int anexosPerMovimentacao;
+
+    private HikariDataSource dataSource;
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private UUID detailId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:read-path;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.ecoledger.movimentacao.domain.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // same batch fetch size as application.yml, so the entity path loads anexos of a page in one IN query too
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.default_batch_fetch_size", "100"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        inTransaction(em -> {
+            OffsetDateTime start = OffsetDateTime.parse("2025-03-01T00:00:00Z");
+            for (int i = 0; i < pageSize * 4; i++) {
+                List<MovimentacaoAnexo> anexos = new ArrayList<>();
+                for (int a = 0; a < anexosPerMovimentacao; a++) {
+                    MovimentacaoAnexo anexo = new MovimentacaoAnexo();
+                    anexo.setTipo("image/png");
+                    anexo.setUrl("https://files.ecoledger.com/anexos/" + i + "-" + a + ".png");
+                    anexo.setHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+                    anexos.add(anexo);
+                }
+                Movimentacao m = new Movimentacao(PRODUCER_ID, "commodity-1", "PRODUCAO", new BigDecimal("10.5"), "KG",
+                        start.plusMinutes(i), -23.55052, -46.633308, anexos);
+                em.persist(m);
+                detailId = m.getId();
+            }
+            return null;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factoryBean.destroy();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public MovimentacaoDetailResponse detailViaEntity() {
+        return readOnly(em -> MovimentacaoDetailResponse.fromEntity(em.find(Movimentacao.class, detailId)));
+    }
+
+    @Benchmark
+    public MovimentacaoDetailResponse detailViaProjection() {
+        return readOnly(em -> {
+            MovimentacaoRow row = em.createQuery(ROW + " where m.id = :id", MovimentacaoRow.class)
+                    .setParameter("id", detailId)
+                    .getSingleResult();
+            return MovimentacaoDetailResponse.fromRows(List.of(row), anexos(em, List.of(row.id()))).get(0);
+        });
+    }
+
+    @Benchmark
+    public List<MovimentacaoDetailResponse> pageViaEntity() {
+        return readOnly(em -> em.createQuery("select m from Movimentacao m" + PAGE_FILTER, Movimentacao.class)
+                .setParameter("producerId", PRODUCER_ID)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(MovimentacaoDetailResponse::fromEntity)
+                .toList());
+    }
+
+    @Benchmark
+    public List<MovimentacaoDetailResponse> pageViaProjection() {
+        return readOnly(em -> {
+            List<MovimentacaoRow> rows = em.createQuery(ROW + PAGE_FILTER, MovimentacaoRow.class)
+                    .setParameter("producerId", PRODUCER_ID)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+            return MovimentacaoDetailResponse.fromRows(rows, anexos(em, rows.stream().map(MovimentacaoRow::id).toList()));
+        });
+    }
+
+    private static List<AnexoRow> anexos(EntityManager em, List<UUID> ids) {
+        return em.createQuery("""
+                        select new com.ecoledger.movimentacao.domain.repository.AnexoRow(a.movimentacao.id, a.tipo, a.url, a.hash)
+                        from MovimentacaoAnexo a
+                        where a.movimentacao.id in :ids
+                        """, AnexoRow.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private <T> T readOnly(Function<EntityManager, T> work) {
+        return inTransaction(em -> {
+            Session session = em.unwrap(Session.class);
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            return work.apply(em);
+        });
+    }
+
+    private <T> T inTransaction(Function<EntityManager, T> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            T result = work.apply(em);
+            em.getTransaction().commit();
+            return result;
+        } finally {
+            em.close();
+        }
+    }
+}
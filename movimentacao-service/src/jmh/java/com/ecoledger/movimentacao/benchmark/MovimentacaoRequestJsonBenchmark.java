@@ -0,0 +1,65 @@
+package com.ecoledger.movimentacao.benchmark;
+
+import com.ecoledger.movimentacao.application.dto.MovimentacaoRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson reading and writing of {@code MovimentacaoRequest} with the settings Spring Boot applies to the
+ * application's mapper (ISO dates instead of timestamps). Run with
+ * {@code ./gradlew jmh -Pjmh.includes=MovimentacaoRequestJson}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovimentacaoRequestJsonBenchmark {
+
+    @Param({"0", "3"})
+    public int anexos;
+
+    private ObjectMapper objectMapper;
+    private byte[] body;
+    private MovimentacaoRequest request;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        body = BenchmarkPayloads.movimentacaoRequestJson(anexos).getBytes(StandardCharsets.UTF_8);
+        request = BenchmarkPayloads.movimentacaoRequest(anexos);
+    }
+
+    @Benchmark
+    public MovimentacaoRequest read() throws Exception {
+        return objectMapper.readValue(body, MovimentacaoRequest.class);
+    }
+
+    @Benchmark
+    public byte[] write() throws Exception {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public MovimentacaoRequest roundTrip() throws Exception {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(request), MovimentacaoRequest.class);
+    }
+}
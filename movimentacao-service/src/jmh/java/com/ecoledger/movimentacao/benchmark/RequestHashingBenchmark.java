@@ -0,0 +1,61 @@
+package com.ecoledger.movimentacao.benchmark;
+
+import com.ecoledger.movimentacao.application.dto.MovimentacaoRequest;
+import com.ecoledger.movimentacao.application.service.RequestBodyDigest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.DelegatingServletInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request hash of {@code POST /movimentacoes}: re-serializing the parsed DTO and hashing the JSON string
+ * versus digesting the raw body while Jackson parses it. Run with {@code ./gradlew jmh -Pjmh.includes=RequestHashing}
+ * and compare {@code gc.alloc.rate.norm} (bytes per request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestHashingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        body = BenchmarkPayloads.movimentacaoRequestJson(3).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String reserializeAndHash() throws Exception {
+        MovimentacaoRequest request = objectMapper.readValue(new ByteArrayInputStream(body), MovimentacaoRequest.class);
+        String json = objectMapper.writeValueAsString(request);
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    @Benchmark
+    public String digestWhileParsing() throws Exception {
+        var stream = new RequestBodyDigest(new DelegatingServletInputStream(new ByteArrayInputStream(body)));
+        objectMapper.readValue(stream, MovimentacaoRequest.class);
+        return stream.hex();
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecoledger.movimentacao.messaging;
+
+import com.ecoledger.movimentacao.benchmark.BenchmarkPayloads;
+import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import com.ecoledger.movimentacao.messaging.event.MovimentacaoCriadaEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a saved movimentacao to its {@code movimentacao.criada} event, done once per created row. Lives in the
+ * messaging package to reach the package-private {@code toEvent}. Run with
+ * {@code ./gradlew jmh -Pjmh.includes=EventMapping}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    @Param({"0", "3"})
+    public int anexos;
+
+    private Movimentacao movimentacao;
+
+    @Setup
+    public void setup() {
+        movimentacao = BenchmarkPayloads.savedMovimentacao(anexos);
+    }
+
+    @Benchmark
+    public MovimentacaoCriadaEvent toEvent() {
+        return KafkaMovimentacaoEventPublisher.toEvent(movimentacao);
+    }
+}
@@ -1,15 +1,31 @@
 package com.ecoledger.movimentacao;
 
+import com.ecoledger.movimentacao.config.AttachmentIntegrityProperties;
+import com.ecoledger.movimentacao.config.AttachmentMetadataCacheProperties;
 import com.ecoledger.movimentacao.config.AttachmentPolicyProperties;
+import com.ecoledger.movimentacao.config.AttachmentPresignProperties;
+import com.ecoledger.movimentacao.config.AttachmentUploadProperties;
+import com.ecoledger.movimentacao.config.DetailCacheProperties;
+import com.ecoledger.movimentacao.config.IdempotencyProperties;
 import com.ecoledger.movimentacao.config.KafkaProperties;
+import com.ecoledger.movimentacao.config.OutboxProperties;
+import com.ecoledger.movimentacao.config.PartitionProperties;
 import com.ecoledger.movimentacao.config.ProducerApprovalProperties;
+import com.ecoledger.movimentacao.config.ReadReplicaProperties;
 import com.ecoledger.movimentacao.config.S3Properties;
+import com.ecoledger.movimentacao.config.ValidationProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties({AttachmentPolicyProperties.class, S3Properties.class, KafkaProperties.class, ProducerApprovalProperties.class})
+@EnableScheduling
+@EnableConfigurationProperties({AttachmentPolicyProperties.class, S3Properties.class, KafkaProperties.class, ProducerApprovalProperties.class,
+        OutboxProperties.class, ValidationProperties.class, IdempotencyProperties.class, AttachmentUploadProperties.class,
+        AttachmentPresignProperties.class, AttachmentMetadataCacheProperties.class,
+        AttachmentIntegrityProperties.class, PartitionProperties.class,
+        ReadReplicaProperties.class, DetailCacheProperties.class})
 public class MovimentacaoServiceApplication {
 
     public static void main(String[] args) {
@@ -1,8 +1,17 @@
 package com.ecoledger.movimentacao.application.controller;
 
+import com.ecoledger.movimentacao.application.service.AttachmentDeduplicationService;
 import com.ecoledger.movimentacao.application.service.AttachmentStorageService;
 import com.ecoledger.movimentacao.application.service.AttachmentStorageService.AttachmentConfirmation;
+import com.ecoledger.movimentacao.application.service.AttachmentTooLargeException;
+import com.ecoledger.movimentacao.application.service.AttachmentUploadUnavailableException;
+import com.ecoledger.movimentacao.application.service.InvalidAttachmentException;
+import com.ecoledger.movimentacao.application.service.impl.S3MultipartUploader;
+import com.ecoledger.movimentacao.application.service.impl.S3PresignedUrlService;
+import com.ecoledger.movimentacao.application.service.impl.S3PresignedUrlService.PresignedDownload;
+import com.ecoledger.movimentacao.application.service.impl.S3PresignedUrlService.PresignedUpload;
 import com.ecoledger.movimentacao.config.S3Properties;
+import com.ecoledger.movimentacao.domain.model.AttachmentBlob;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,18 +19,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.util.UUID;
-
-import static software.amazon.awssdk.core.sync.RequestBody.fromBytes;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping
@@ -33,27 +40,49 @@ public class AnexoController {
 
     private final S3Properties s3Properties;
     private final AttachmentStorageService attachmentStorageService;
-    private final S3Client s3Client;
+    private final S3MultipartUploader uploader;
+    private final S3PresignedUrlService presignedUrlService;
+    private final AttachmentDeduplicationService deduplicationService;
 
     public AnexoController(S3Properties s3Properties,
                            AttachmentStorageService attachmentStorageService,
-                           S3Client s3Client) {
+                           S3MultipartUploader uploader,
+                           S3PresignedUrlService presignedUrlService,
+                           AttachmentDeduplicationService deduplicationService) {
         this.s3Properties = s3Properties;
         this.attachmentStorageService = attachmentStorageService;
-        this.s3Client = s3Client;
+        this.uploader = uploader;
+        this.presignedUrlService = presignedUrlService;
+        this.deduplicationService = deduplicationService;
     }
 
     @Schema(description = "Dados necessários para solicitar uma URL de upload")
     public record SignedUploadRequest(
             @Schema(description = "Tipo de conteúdo esperado para o anexo", example = "image/png")
-            String contentType
+            String contentType,
+            @Schema(description = "Tamanho do anexo em bytes; quando informado, passa a fazer parte da assinatura", example = "204800")
+            Long contentLength,
+            @Schema(description = "SHA-256 (hex) do conteúdo; quando informado, um anexo idêntico já armazenado é reutilizado sem novo envio")
+            String sha256
     ) {
     }
 
     @Schema(description = "Resposta contendo a URL assinada para upload")
     public record SignedUploadResponse(
             @Schema(description = "Chave gerada para o objeto") String objectKey,
-            @Schema(description = "URL simulada de upload") String uploadUrl
+            @Schema(description = "URL pré-assinada para envio direto ao armazenamento") String uploadUrl,
+            @Schema(description = "Método HTTP a ser usado no envio", example = "PUT") String method,
+            @Schema(description = "Cabeçalhos que devem acompanhar o envio, exatamente como assinados") Map<String, String> headers,
+            @Schema(description = "Instante em que a URL expira") Instant expiresAt,
+            @Schema(description = "Conteúdo já armazenado: não há URL de envio, basta confirmar objectKey") boolean alreadyStored
+    ) {
+    }
+
+    @Schema(description = "Resposta contendo a URL assinada para download")
+    public record SignedDownloadResponse(
+            @Schema(description = "Chave do objeto") String objectKey,
+            @Schema(description = "URL pré-assinada para leitura direta do armazenamento") String downloadUrl,
+            @Schema(description = "Instante em que a URL expira") Instant expiresAt
     ) {
     }
 
@@ -64,45 +93,59 @@ public class AnexoController {
     }
 
     @PostMapping("/anexos/upload-url")
-    @Operation(summary = "Gerar URL de upload de anexo", description = "Gera uma URL simulada para upload direto do anexo.")
+    @Operation(summary = "Gerar URL de upload de anexo",
+            description = "Gera uma URL pré-assinada para envio direto do anexo ao armazenamento, sem passar pelo serviço. "
+                    + "Se o sha256 informado já estiver armazenado, nenhuma URL é gerada e o anexo existente é reutilizado.")
     @ApiResponse(responseCode = "200", description = "URL gerada",
             content = @Content(schema = @Schema(implementation = SignedUploadResponse.class)))
     public ResponseEntity<SignedUploadResponse> createUploadUrl(@RequestBody SignedUploadRequest request) {
-        String key = UUID.randomUUID().toString();
-        String base = s3Properties.publicBaseUrl();
-        if (base == null || base.isBlank()) {
-            base = s3Properties.endpoint();
-        }
-        // normalize base to avoid duplicating bucket path when publicBaseUrl already contains it
-        if (base.endsWith("/")) {
-            base = base.substring(0, base.length() - 1);
+        if (request.sha256() == null || request.sha256().isBlank()) {
+            String key = AttachmentDeduplicationService.uploadKey();
+            PresignedUpload upload = presignedUrlService.presignUpload(key, request.contentType(), request.contentLength());
+            return ResponseEntity.ok(new SignedUploadResponse(key, upload.url(), "PUT", upload.headers(), upload.expiresAt(), false));
         }
-        String bucket = s3Properties.bucket();
-        String encodedType = URLEncoder.encode(request.contentType() == null ? "" : request.contentType(), StandardCharsets.UTF_8);
-        String uploadUrl;
-        if (base.endsWith("/" + bucket) || base.endsWith(bucket)) {
-            uploadUrl = String.format("%s/%s?contentType=%s&signature=simulated", base, key, encodedType);
-        } else {
-            uploadUrl = String.format("%s/%s/%s?contentType=%s&signature=simulated", base, bucket, key, encodedType);
+        String sha256 = AttachmentDeduplicationService.normalize(request.sha256());
+        Optional<AttachmentBlob> existing = deduplicationService.findExisting(sha256);
+        if (existing.isPresent()) {
+            return ResponseEntity.ok(new SignedUploadResponse(existing.get().getObjectKey(), null, null, Map.of(), null, true));
         }
-        return ResponseEntity.ok(new SignedUploadResponse(key, uploadUrl));
+        String key = AttachmentDeduplicationService.contentKey(sha256);
+        PresignedUpload upload = presignedUrlService.presignUpload(key, request.contentType(), request.contentLength(), sha256);
+        return ResponseEntity.ok(new SignedUploadResponse(key, upload.url(), "PUT", upload.headers(), upload.expiresAt(), false));
+    }
+
+    @GetMapping("/anexos/download-url")
+    @Operation(summary = "Gerar URL de download de anexo", description = "Gera uma URL pré-assinada de curta duração para leitura do anexo.")
+    @ApiResponse(responseCode = "200", description = "URL gerada",
+            content = @Content(schema = @Schema(implementation = SignedDownloadResponse.class)))
+    public ResponseEntity<SignedDownloadResponse> createDownloadUrl(@RequestParam String objectKey) {
+        PresignedDownload download = presignedUrlService.presignDownload(objectKey);
+        return ResponseEntity.ok(new SignedDownloadResponse(objectKey, download.url(), download.expiresAt()));
     }
 
     @PostMapping("/anexos/upload-proxy")
     @Hidden
     public ResponseEntity<Void> uploadProxy(@RequestParam String objectKey,
-                                            @RequestBody byte[] body,
+                                            HttpServletRequest request,
                                             @RequestHeader(name = "Content-Type", required = false) String contentType) {
+        if (AttachmentDeduplicationService.isContentKey(objectKey)) {
+            // content keys back every attachment with that hash; a proxied body could replace the shared blob
+            throw new InvalidAttachmentException("Object key is reserved for content-addressed attachments");
+        }
+        // the body is streamed to S3 as it arrives instead of being bound to a byte[]
+        if (request.getContentLengthLong() > s3Properties.maxAttachmentSizeBytes()) {
+            throw new AttachmentTooLargeException(s3Properties.maxAttachmentSizeBytes());
+        }
         try {
-            var put = PutObjectRequest.builder()
-                    .bucket(s3Properties.bucket())
-                    .key(objectKey)
-                    .contentType(contentType)
-                    .build();
-            var rb = fromBytes(body == null ? new byte[0] : body);
-            s3Client.putObject(put, rb);
-            LOGGER.info("Uploaded object to S3 bucket={} key={} contentType={}", s3Properties.bucket(), objectKey, contentType);
+            S3MultipartUploader.StoredObject stored = uploader.upload(objectKey, contentType, request.getInputStream());
+            LOGGER.info("Uploaded object to S3 bucket={} key={} contentType={} size={} sha256={}",
+                    s3Properties.bucket(), objectKey, contentType, stored.size(), stored.sha256());
             return ResponseEntity.ok().build();
+        } catch (AttachmentTooLargeException | AttachmentUploadUnavailableException ex) {
+            throw ex;
+        } catch (IOException ex) {
+            LOGGER.warn("Upload proxy aborted key={}, request body could not be read: {}", objectKey, ex.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception ex) {
             LOGGER.error("Failed to upload proxy object key={} error={}", objectKey, ex.getMessage(), ex);
             return ResponseEntity.status(500).build();
@@ -114,7 +157,7 @@ public class AnexoController {
     @ApiResponse(responseCode = "200", description = "Upload confirmado",
             content = @Content(schema = @Schema(implementation = AttachmentConfirmation.class)))
     public ResponseEntity<AttachmentConfirmation> confirmUpload(@RequestBody ConfirmUploadRequest request) {
-        AttachmentConfirmation info = attachmentStorageService.confirmUpload(request.objectKey());
+        AttachmentConfirmation info = deduplicationService.deduplicate(attachmentStorageService.confirmUpload(request.objectKey()));
         return ResponseEntity.ok(info);
     }
 }
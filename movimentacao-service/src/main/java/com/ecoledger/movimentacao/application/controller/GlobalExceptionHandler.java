@@ -1,8 +1,17 @@
 package com.ecoledger.movimentacao.application.controller;
 
+import com.ecoledger.movimentacao.application.service.IdempotencyConflictException;
+import com.ecoledger.movimentacao.application.service.AttachmentTooLargeException;
+import com.ecoledger.movimentacao.application.service.AttachmentUploadUnavailableException;
+import com.ecoledger.movimentacao.application.service.EventPublishUnavailableException;
 import com.ecoledger.movimentacao.application.service.InvalidAttachmentException;
+import com.ecoledger.movimentacao.application.service.InvalidCursorException;
+import com.ecoledger.movimentacao.application.service.InvalidGeoQueryException;
+import com.ecoledger.movimentacao.application.service.InvalidPeriodException;
 import com.ecoledger.movimentacao.application.service.MovimentacaoNotFoundException;
+import com.ecoledger.movimentacao.application.service.ProducerApprovalUnavailableException;
 import com.ecoledger.movimentacao.application.service.ProducerNotApprovedException;
+import com.ecoledger.movimentacao.application.service.ValidationTimeoutException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -80,6 +89,132 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(p);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetails> handleInvalidCursor(InvalidCursorException ex, HttpServletRequest request) {
+        ProblemDetails p = new ProblemDetails(
+                "https://example.com/probs/invalid-cursor",
+                "Invalid Cursor",
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                OffsetDateTime.now(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(p);
+    }
+
+    @ExceptionHandler(InvalidPeriodException.class)
+    public ResponseEntity<ProblemDetails> handleInvalidPeriod(InvalidPeriodException ex, HttpServletRequest request) {
+        ProblemDetails p = new ProblemDetails(
+                "https://example.com/probs/invalid-period",
+                "Invalid Period",
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                OffsetDateTime.now(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(p);
+    }
+
+    @ExceptionHandler(InvalidGeoQueryException.class)
+    public ResponseEntity<ProblemDetails> handleInvalidGeoQuery(InvalidGeoQueryException ex, HttpServletRequest request) {
+        ProblemDetails p = new ProblemDetails(
+                "https://example.com/probs/invalid-geo-query",
+                "Invalid Geo Query",
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                OffsetDateTime.now(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(p);
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ProblemDetails> handleIdempotencyConflict(IdempotencyConflictException ex, HttpServletRequest request) {
+        ProblemDetails p = new ProblemDetails(
+                "https://example.com/probs/idempotency-conflict",
+                "Idempotency Conflict",
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                OffsetDateTime.now(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(p);
+    }
+
+    @ExceptionHandler(ProducerApprovalUnavailableException.class)
+    public ResponseEntity<ProblemDetails> handleProducerApprovalUnavailable(ProducerApprovalUnavailableException ex, HttpServletRequest request) {
+        ProblemDetails p = new ProblemDetails(
+                "https://example.com/probs/producer-approval-unavailable",
+                "Producer Approval Unavailable",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                OffsetDateTime.now(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(p);
+    }
+
+    @ExceptionHandler(ValidationTimeoutException.class)
+    public ResponseEntity<ProblemDetails> handleValidationTimeout(ValidationTimeoutException ex, HttpServletRequest request) {
+        ProblemDetails p = new ProblemDetails(
+                "https://example.com/probs/validation-timeout",
+                "Validation Timeout",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                OffsetDateTime.now(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(p);
+    }
+
+    @ExceptionHandler(EventPublishUnavailableException.class)
+    public ResponseEntity<ProblemDetails> handleEventPublishUnavailable(EventPublishUnavailableException ex, HttpServletRequest request) {
+        ProblemDetails p = new ProblemDetails(
+                "https://example.com/probs/event-publish-unavailable",
+                "Event Publish Unavailable",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                OffsetDateTime.now(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(p);
+    }
+
+    @ExceptionHandler(AttachmentTooLargeException.class)
+    public ResponseEntity<ProblemDetails> handleAttachmentTooLarge(AttachmentTooLargeException ex, HttpServletRequest request) {
+        ProblemDetails p = new ProblemDetails(
+                "https://example.com/probs/attachment-too-large",
+                "Attachment Too Large",
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                OffsetDateTime.now(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(p);
+    }
+
+    @ExceptionHandler(AttachmentUploadUnavailableException.class)
+    public ResponseEntity<ProblemDetails> handleAttachmentUploadUnavailable(AttachmentUploadUnavailableException ex, HttpServletRequest request) {
+        ProblemDetails p = new ProblemDetails(
+                "https://example.com/probs/attachment-upload-unavailable",
+                "Attachment Upload Unavailable",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                OffsetDateTime.now(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(p);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ProblemDetails> handleGeneric(Exception ex, HttpServletRequest request) {
         ProblemDetails p = new ProblemDetails(
@@ -3,8 +3,11 @@ package com.ecoledger.movimentacao.application.controller;
 import com.ecoledger.movimentacao.application.dto.HistoricoMovimentacaoResponse;
 import com.ecoledger.movimentacao.application.dto.MovimentacaoDetailResponse;
 import com.ecoledger.movimentacao.application.dto.MovimentacaoListResponse;
+import com.ecoledger.movimentacao.application.dto.MovimentacaoLoteRequest;
+import com.ecoledger.movimentacao.application.dto.MovimentacaoLoteResponse;
 import com.ecoledger.movimentacao.application.dto.MovimentacaoRequest;
 import com.ecoledger.movimentacao.application.dto.MovimentacaoResponse;
+import com.ecoledger.movimentacao.application.dto.MovimentacaoResumoResponse;
 import com.ecoledger.movimentacao.application.service.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,12 +19,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @RestController
@@ -33,13 +44,22 @@ public class MovimentacaoController {
     private final MovimentacaoService service;
     private final ObjectMapper objectMapper;
     private final IdempotencyService idempotencyService;
+    private final MovimentacaoExportService exportService;
+    private final MovimentacaoRollupService rollupService;
+    private final MovimentacaoDetailCache detailCache;
 
     public MovimentacaoController(MovimentacaoService service,
                                   ObjectMapper objectMapper,
-                                  IdempotencyService idempotencyService) {
+                                  IdempotencyService idempotencyService,
+                                  MovimentacaoExportService exportService,
+                                  MovimentacaoRollupService rollupService,
+                                  MovimentacaoDetailCache detailCache) {
         this.service = service;
         this.objectMapper = objectMapper;
         this.idempotencyService = idempotencyService;
+        this.exportService = exportService;
+        this.rollupService = rollupService;
+        this.detailCache = detailCache;
     }
 
     private static String sha256(String value) {
@@ -63,17 +83,21 @@ public class MovimentacaoController {
             @ApiResponse(responseCode = "400", description = "Requisição inválida",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Produtor não aprovado",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Requisição com a mesma chave de idempotência em andamento",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<MovimentacaoResponse> criar(
             @Valid @RequestBody MovimentacaoRequest request,
-            @Parameter(name = "X-Idempotency-Key", description = "Chave para garantir idempotência da criação", required = false)
-            @RequestHeader(value = "X-Idempotency-Key", required = false) String idempotencyKey
+            @Parameter(name = "X-Idempotency-Key", description = "Chave para garantir idempotência da criação. O corpo é comparado byte a byte: uma nova tentativa com a mesma chave deve reenviar exatamente o mesmo JSON (espaços e ordem dos campos incluídos), caso contrário é rejeitada com 409", required = false)
+            @RequestHeader(value = "X-Idempotency-Key", required = false) String idempotencyKey,
+            @Parameter(hidden = true)
+            @RequestAttribute(name = RequestBodyDigestFilter.REQUEST_DIGEST_ATTRIBUTE, required = false) RequestBodyDigest bodyDigest
     ) {
         org.slf4j.Logger LOG = org.slf4j.LoggerFactory.getLogger(MovimentacaoController.class);
         try {
-            String payloadJson = this.objectMapper.writeValueAsString(request);
-            String requestHash = sha256(payloadJson);
+            // the filter hashes the raw body as it is parsed; re-serializing is only a fallback when it did not run
+            String requestHash = bodyDigest != null ? bodyDigest.hex() : sha256(this.objectMapper.writeValueAsString(request));
             LOG.info("Received create movimentacao request producerId={} commodityId={} idempotencyKey={} traceId={}", request.producerId(), request.commodityId(), idempotencyKey, org.slf4j.MDC.get("traceId"));
             var maybe = this.idempotencyService.handle(idempotencyKey, requestHash, () -> service.registrar(request));
             if (maybe.isPresent()) {
@@ -91,28 +115,69 @@ public class MovimentacaoController {
         } catch (InvalidAttachmentException ex) {
             LOG.warn("Invalid attachment: {} traceId={}", ex.getMessage(), org.slf4j.MDC.get("traceId"));
             throw ex;
+        } catch (ValidationTimeoutException ex) {
+            LOG.warn("Validation timed out: {} traceId={}", ex.getMessage(), org.slf4j.MDC.get("traceId"));
+            throw ex;
+        } catch (ProducerApprovalUnavailableException ex) {
+            LOG.warn("Producer approval unavailable: {} traceId={}", ex.getMessage(), org.slf4j.MDC.get("traceId"));
+            throw ex;
+        } catch (IdempotencyConflictException ex) {
+            LOG.warn("Idempotency conflict: {} traceId={}", ex.getMessage(), org.slf4j.MDC.get("traceId"));
+            throw ex;
         } catch (Exception ex) {
             LOG.error("Unhandled error while creating movimentacao: {} traceId={}", ex.getMessage(), org.slf4j.MDC.get("traceId"), ex);
             throw new RuntimeException(ex);
         }
     }
 
+    @PostMapping("/movimentacoes/lote")
+    @Operation(
+            summary = "Criar movimentações em lote",
+            description = "Registra várias movimentações em uma única requisição. Cada item é validado individualmente e o resultado é retornado na mesma ordem do lote."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lote processado",
+                    content = @Content(schema = @Schema(implementation = MovimentacaoLoteResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do tamanho máximo",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<MovimentacaoLoteResponse> criarLote(@Valid @RequestBody MovimentacaoLoteRequest request) {
+        org.slf4j.Logger LOG = org.slf4j.LoggerFactory.getLogger(MovimentacaoController.class);
+        LOG.info("Received create movimentacao batch size={} traceId={}", request.itens().size(), org.slf4j.MDC.get("traceId"));
+        var resultados = service.registrarLote(request.itens());
+        var response = MovimentacaoLoteResponse.of(resultados);
+        LOG.info("Processed movimentacao batch criados={} rejeitados={} traceId={}", response.criados(), response.rejeitados(), org.slf4j.MDC.get("traceId"));
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/movimentacoes/{id}")
-    @Operation(summary = "Obter movimentação por id", description = "Retorna os detalhes completos de uma movimentação.")
+    @Operation(summary = "Obter movimentação por id",
+            description = "Retorna os detalhes completos de uma movimentação. Movimentações não mudam após o registro: "
+                    + "a resposta traz ETag forte e Cache-Control immutable, com max-age limitado ao arquivamento da partição.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Movimentação encontrada",
-                    content = @Content(schema = @Schema(implementation = MovimentacaoDetailResponse.class))),
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = MovimentacaoDetailResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Movimentação não modificada desde o ETag informado em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Movimentação não encontrada",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<MovimentacaoDetailResponse> buscarPorId(@PathVariable UUID id) {
-        var dto = service.buscarPorIdDto(id);
-        return ResponseEntity.ok(dto);
+    public ResponseEntity<byte[]> buscarPorId(@PathVariable UUID id) {
+        // the strong ETag lets Spring answer If-None-Match with 304 before the body is written
+        var detail = detailCache.get(id);
+        // private: responses are per authenticated caller and must not be stored by shared caches
+        var cacheControl = CacheControl.maxAge(detailCache.clientMaxAge(detail, Instant.now())).cachePrivate().immutable();
+        return ResponseEntity.ok()
+                .eTag(detail.eTag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(detail.body());
     }
 
     @GetMapping("/produtores/{producerId}/movimentacoes")
     @Operation(summary = "Listar movimentações de um produtor",
-            description = "Retorna paginação de movimentações filtrando por produtor, período e commodity.")
+            description = "Retorna paginação de movimentações filtrando por produtor, período e commodity, da mais recente para a mais antiga. "
+                    + "Use nextCursor para navegar páginas sem custo crescente.")
     @ApiResponse(responseCode = "200", description = "Lista paginada",
             content = @Content(schema = @Schema(implementation = MovimentacaoListResponse.class)))
     public ResponseEntity<MovimentacaoListResponse> listarPorProducer(
@@ -120,22 +185,128 @@ public class MovimentacaoController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) String commodityId,
-            @RequestParam(required = false) java.time.OffsetDateTime fromDate,
-            @RequestParam(required = false) java.time.OffsetDateTime toDate
+            @RequestParam(required = false) OffsetDateTime fromDate,
+            @RequestParam(required = false) OffsetDateTime toDate,
+            @Parameter(description = "Cursor retornado em nextCursor; quando informado, page é ignorado")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calcula o total de registros com uma consulta de contagem adicional; padrão false")
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ResponseEntity.ok(service.listarPorProducer(producerId, commodityId, fromDate, toDate, page, size, cursor, includeTotal));
+    }
+
+    @GetMapping(value = "/produtores/{producerId}/movimentacoes/export", produces = {"application/x-ndjson", "text/csv"})
+    @Operation(summary = "Exportar movimentações de um produtor",
+            description = "Transmite todo o histórico do produtor em NDJSON (padrão) ou CSV, conforme o cabeçalho Accept.")
+    @ApiResponse(responseCode = "200", description = "Exportação transmitida")
+    public ResponseEntity<StreamingResponseBody> exportarPorProducer(
+            @PathVariable String producerId,
+            @RequestParam(required = false) OffsetDateTime fromDate,
+            @RequestParam(required = false) OffsetDateTime toDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        var formato = accept != null && accept.contains(MovimentacaoExportService.Formato.CSV.mediaType())
+                ? MovimentacaoExportService.Formato.CSV
+                : MovimentacaoExportService.Formato.NDJSON;
+        StreamingResponseBody body = out -> exportService.exportar(producerId, fromDate, toDate, formato, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("movimentacoes-" + producerId + "." + formato.extensao())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @GetMapping("/produtores/{producerId}/movimentacoes/resumo")
+    @Operation(summary = "Resumo de movimentações de um produtor",
+            description = "Soma quantidades e conta movimentações por commodity, tipo e unidade em períodos de dia, semana ou mês (UTC). "
+                    + "Lido de totais diários mantidos a cada registro, sem percorrer as movimentações.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resumo calculado",
+                    content = @Content(schema = @Schema(implementation = MovimentacaoResumoResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Período inválido")
+    })
+    public ResponseEntity<MovimentacaoResumoResponse> resumoPorProducer(
+            @PathVariable String producerId,
+            @RequestParam(required = false) String commodityId,
+            @Parameter(description = "Primeiro dia (UTC); padrão 29 dias antes de toDate")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "Último dia (UTC), inclusive; padrão hoje")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @Parameter(description = "DIA (padrão), SEMANA ou MES")
+            @RequestParam(required = false) MovimentacaoResumoResponse.Granularidade granularidade
+    ) {
+        return ResponseEntity.ok(rollupService.resumir(producerId, commodityId, fromDate, toDate, granularidade));
+    }
+
+    @GetMapping(value = "/movimentacoes/area", produces = {"application/x-ndjson", "text/csv"})
+    @Operation(summary = "Buscar movimentações em uma área",
+            description = "Transmite as movimentações localizadas no retângulo informado, em NDJSON (padrão) ou CSV, "
+                    + "opcionalmente filtradas por commodity e período. A ordem não é garantida.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Movimentações transmitidas"),
+            @ApiResponse(responseCode = "400", description = "Coordenadas inválidas")
+    })
+    public ResponseEntity<StreamingResponseBody> buscarNaArea(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(required = false) String commodityId,
+            @RequestParam(required = false) OffsetDateTime fromDate,
+            @RequestParam(required = false) OffsetDateTime toDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
     ) {
-        int pageIndex = Math.max(1, page) - 1;
-        var p = service.buscarPorProducerDto(producerId, PageRequest.of(pageIndex, size), commodityId, fromDate, toDate);
-        var items = p.getContent();
-        return ResponseEntity.ok(new MovimentacaoListResponse(items, p.getTotalElements()));
+        return streamArea(AreaGeografica.retangulo(minLat, minLon, maxLat, maxLon), commodityId, fromDate, toDate, accept);
+    }
+
+    @GetMapping(value = "/movimentacoes/proximidades", produces = {"application/x-ndjson", "text/csv"})
+    @Operation(summary = "Buscar movimentações próximas a um ponto",
+            description = "Transmite as movimentações a até raioKm do ponto informado, em NDJSON (padrão) ou CSV, "
+                    + "opcionalmente filtradas por commodity e período. A ordem não é garantida.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Movimentações transmitidas"),
+            @ApiResponse(responseCode = "400", description = "Coordenadas ou raio inválidos")
+    })
+    public ResponseEntity<StreamingResponseBody> buscarProximidades(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @Parameter(description = "Raio em quilômetros (máximo 500)")
+            @RequestParam double raioKm,
+            @RequestParam(required = false) String commodityId,
+            @RequestParam(required = false) OffsetDateTime fromDate,
+            @RequestParam(required = false) OffsetDateTime toDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        return streamArea(AreaGeografica.raio(lat, lon, raioKm), commodityId, fromDate, toDate, accept);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamArea(AreaGeografica area, String commodityId,
+                                                             OffsetDateTime fromDate, OffsetDateTime toDate,
+                                                             String accept) {
+        var formato = accept != null && accept.contains(MovimentacaoExportService.Formato.CSV.mediaType())
+                ? MovimentacaoExportService.Formato.CSV
+                : MovimentacaoExportService.Formato.NDJSON;
+        StreamingResponseBody body = out -> exportService.exportarNaArea(area, commodityId, fromDate, toDate, formato, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.mediaType()))
+                .body(body);
     }
 
     @GetMapping("/commodities/{commodityId}/historico")
-    @Operation(summary = "Histórico por commodity", description = "Lista as movimentações associadas a uma commodity.")
+    @Operation(summary = "Histórico por commodity",
+            description = "Lista as movimentações associadas a uma commodity, da mais recente para a mais antiga, paginadas por cursor.")
     @ApiResponse(responseCode = "200", description = "Histórico encontrado",
             content = @Content(schema = @Schema(implementation = HistoricoMovimentacaoResponse.class)))
-    public ResponseEntity<HistoricoMovimentacaoResponse> historicoPorCommodity(@PathVariable String commodityId) {
-        var items = service.buscarHistoricoPorCommodity(commodityId);
-        return ResponseEntity.ok(new HistoricoMovimentacaoResponse(items));
+    public ResponseEntity<HistoricoMovimentacaoResponse> historicoPorCommodity(
+            @PathVariable String commodityId,
+            @Parameter(description = "Itens por página (máximo 500)")
+            @RequestParam(defaultValue = "100") int size,
+            @Parameter(description = "Cursor retornado em nextCursor")
+            @RequestParam(required = false) String cursor
+    ) {
+        return ResponseEntity.ok(service.buscarHistoricoPorCommodity(commodityId, size, cursor));
     }
 
     @ExceptionHandler(ProducerNotApprovedException.class)
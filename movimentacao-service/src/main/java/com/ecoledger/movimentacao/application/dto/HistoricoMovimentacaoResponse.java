@@ -7,6 +7,7 @@ import java.util.List;
 @Schema(description = "Histórico de movimentações por commodity")
 public record HistoricoMovimentacaoResponse(
         @Schema(description = "Lista de movimentações ordenadas por data mais recente")
-        List<MovimentacaoDetailResponse> movimentacoes
+        List<MovimentacaoDetailResponse> movimentacoes,
+        @Schema(description = "Cursor opaco para a próxima página; nulo na última página") String nextCursor
 ) {}
 
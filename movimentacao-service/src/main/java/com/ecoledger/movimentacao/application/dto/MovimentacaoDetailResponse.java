@@ -33,6 +33,41 @@ public record MovimentacaoDetailResponse(
             @Schema(description = "Longitude", example = "-46.633308") Double lon
     ) {}
 
+    /**
+     * Maps a page of rows plus the attachments loaded for all of them in one query, preserving the row order.
+     */
+    public static List<MovimentacaoDetailResponse> fromRows(List<com.ecoledger.movimentacao.domain.repository.MovimentacaoRow> rows,
+                                                            List<com.ecoledger.movimentacao.domain.repository.AnexoRow> anexos) {
+        java.util.Map<UUID, List<MovimentacaoAttachmentResponse>> porMovimentacao = new java.util.HashMap<>();
+        for (var a : anexos) {
+            porMovimentacao.computeIfAbsent(a.movimentacaoId(), id -> new java.util.ArrayList<>())
+                    .add(new MovimentacaoAttachmentResponse(a.tipo(), a.url(), a.hash()));
+        }
+        return rows.stream()
+                .map(row -> fromRow(row, porMovimentacao.getOrDefault(row.id(), List.of())))
+                .toList();
+    }
+
+    public static MovimentacaoDetailResponse fromRow(com.ecoledger.movimentacao.domain.repository.MovimentacaoRow m,
+                                                     List<MovimentacaoAttachmentResponse> anexos) {
+        Localizacao loc = null;
+        if (m.latitude() != null || m.longitude() != null) {
+            loc = new Localizacao(m.latitude(), m.longitude());
+        }
+        return new MovimentacaoDetailResponse(
+            m.id(),
+            m.producerId(),
+            m.commodityId(),
+            m.tipo(),
+            m.quantidade(),
+            m.unidade(),
+            m.timestamp(),
+            loc,
+            m.criadoEm(),
+            anexos
+        );
+    }
+
     public static MovimentacaoDetailResponse fromEntity(com.ecoledger.movimentacao.domain.model.Movimentacao m) {
         List<MovimentacaoAttachmentResponse> anexos = m.getAnexos().stream()
             .map(a -> new MovimentacaoAttachmentResponse(a.getTipo(), a.getUrl(), a.getHash()))
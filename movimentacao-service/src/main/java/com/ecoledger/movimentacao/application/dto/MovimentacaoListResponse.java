@@ -8,5 +8,6 @@ import java.util.List;
 public record MovimentacaoListResponse(
         @Schema(description = "Itens retornados na página atual")
         List<MovimentacaoDetailResponse> items,
-        @Schema(description = "Quantidade total de movimentações") long total
+        @Schema(description = "Quantidade total de movimentações; presente apenas com includeTotal=true") Long total,
+        @Schema(description = "Cursor opaco para a próxima página; nulo na última página") String nextCursor
 ) {}
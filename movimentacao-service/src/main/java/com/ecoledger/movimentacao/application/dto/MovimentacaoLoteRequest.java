@@ -0,0 +1,13 @@
+package com.ecoledger.movimentacao.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(name = "MovimentacaoLoteCriacao", description = "Payload para criação de movimentações em lote")
+public record MovimentacaoLoteRequest(
+        @Schema(description = "Movimentações a serem registradas; cada item é validado individualmente")
+        @NotEmpty @Size(max = 1000) List<MovimentacaoRequest> itens
+) {}
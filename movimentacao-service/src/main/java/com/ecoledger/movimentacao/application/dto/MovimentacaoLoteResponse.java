@@ -0,0 +1,41 @@
+package com.ecoledger.movimentacao.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(name = "RespostaMovimentacaoLote", description = "Resultado do registro de movimentações em lote")
+public record MovimentacaoLoteResponse(
+        @Schema(description = "Quantidade de itens criados", example = "998") int criados,
+        @Schema(description = "Quantidade de itens rejeitados", example = "2") int rejeitados,
+        @Schema(description = "Resultado de cada item, na mesma ordem do lote enviado") List<ItemResultado> resultados
+) {
+    public static MovimentacaoLoteResponse of(List<ItemResultado> resultados) {
+        int criados = (int) resultados.stream().filter(ItemResultado::foiCriado).count();
+        return new MovimentacaoLoteResponse(criados, resultados.size() - criados, resultados);
+    }
+
+    @Schema(description = "Resultado do processamento de um item do lote")
+    public record ItemResultado(
+            @Schema(description = "Posição do item no lote", example = "0") int indice,
+            @Schema(description = "Situação do item", example = "CRIADO") String status,
+            @Schema(description = "Identificador da movimentação criada", example = "9b9dd2d3-7e24-4baf-9ab0-5f53319f0c10") UUID movimentacaoId,
+            @Schema(description = "Motivo da rejeição", example = "Producer prod-1 is not approved") String erro
+    ) {
+        public static final String CRIADO = "CRIADO";
+        public static final String REJEITADO = "REJEITADO";
+
+        public static ItemResultado criado(int indice, UUID movimentacaoId) {
+            return new ItemResultado(indice, CRIADO, movimentacaoId, null);
+        }
+
+        public static ItemResultado rejeitado(int indice, String erro) {
+            return new ItemResultado(indice, REJEITADO, null, erro);
+        }
+
+        boolean foiCriado() {
+            return CRIADO.equals(status);
+        }
+    }
+}
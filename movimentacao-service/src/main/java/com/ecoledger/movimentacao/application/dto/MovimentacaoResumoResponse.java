@@ -0,0 +1,46 @@
+package com.ecoledger.movimentacao.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+@Schema(description = "Totais de movimentações de um produtor agrupados por período")
+public record MovimentacaoResumoResponse(
+        @Schema(description = "Identificador do produtor") String producerId,
+        @Schema(description = "Primeiro dia do período (UTC)") LocalDate fromDate,
+        @Schema(description = "Último dia do período (UTC), inclusive") LocalDate toDate,
+        @Schema(description = "Tamanho de cada período agregado") Granularidade granularidade,
+        @Schema(description = "Totais por período, commodity, tipo e unidade; períodos sem movimentações são omitidos")
+        List<Periodo> periodos
+) {
+
+    public enum Granularidade {
+        DIA, SEMANA, MES;
+
+        /**
+         * First day of the bucket containing {@code dia}; weeks start on Monday.
+         */
+        public LocalDate inicio(LocalDate dia) {
+            return switch (this) {
+                case DIA -> dia;
+                case SEMANA -> dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MES -> dia.withDayOfMonth(1);
+            };
+        }
+    }
+
+    @Schema(name = "MovimentacaoResumoPeriodo")
+    public record Periodo(
+            @Schema(description = "Primeiro dia do período") LocalDate inicio,
+            @Schema(description = "Identificador da commodity") String commodityId,
+            @Schema(description = "Tipo da movimentação") String tipo,
+            @Schema(description = "Unidade de medida") String unidade,
+            @Schema(description = "Soma das quantidades") BigDecimal quantidadeTotal,
+            @Schema(description = "Número de movimentações") long totalMovimentacoes
+    ) {
+    }
+}
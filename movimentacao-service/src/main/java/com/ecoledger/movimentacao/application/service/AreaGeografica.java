@@ -0,0 +1,54 @@
+package com.ecoledger.movimentacao.application.service;
+
+import com.ecoledger.movimentacao.domain.model.Geohash;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRow;
+
+/**
+ * Area of a location query: the bounding box searched through the geohash index and, for radius queries, the circle
+ * the rows must also fall in. Built before streaming starts, so invalid input is still answered with 400.
+ */
+public record AreaGeografica(Geohash.Box box, Double centroLat, Double centroLon, Double raioMetros) {
+
+    public static final int MAX_RAIO_KM = 500;
+
+    /**
+     * @throws InvalidGeoQueryException when a corner is out of range or the box is inverted
+     */
+    public static AreaGeografica retangulo(double minLat, double minLon, double maxLat, double maxLon) {
+        validate(minLat, minLon);
+        validate(maxLat, maxLon);
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new InvalidGeoQueryException("The min corner must be south-west of the max corner; "
+                    + "boxes crossing the antimeridian are not supported");
+        }
+        return new AreaGeografica(new Geohash.Box(minLat, minLon, maxLat, maxLon), null, null, null);
+    }
+
+    /**
+     * Circle around a point; its bounding box is clamped at the antimeridian.
+     *
+     * @throws InvalidGeoQueryException when the point is out of range or the radius is not in (0, {@value #MAX_RAIO_KM}]
+     */
+    public static AreaGeografica raio(double lat, double lon, double raioKm) {
+        validate(lat, lon);
+        if (!(raioKm > 0) || raioKm > MAX_RAIO_KM) {
+            throw new InvalidGeoQueryException("raioKm must be greater than 0 and at most " + MAX_RAIO_KM);
+        }
+        double raioMetros = raioKm * 1000;
+        return new AreaGeografica(Geohash.Box.around(lat, lon, raioMetros), lat, lon, raioMetros);
+    }
+
+    public boolean contains(MovimentacaoRow row) {
+        if (row.latitude() == null || row.longitude() == null || !box.contains(row.latitude(), row.longitude())) {
+            return false;
+        }
+        return raioMetros == null
+                || Geohash.distanceMeters(centroLat, centroLon, row.latitude(), row.longitude()) <= raioMetros;
+    }
+
+    private static void validate(double lat, double lon) {
+        if (!(lat >= -90 && lat <= 90) || !(lon >= -180 && lon <= 180)) {
+            throw new InvalidGeoQueryException("Coordinates out of range: lat=" + lat + " lon=" + lon);
+        }
+    }
+}
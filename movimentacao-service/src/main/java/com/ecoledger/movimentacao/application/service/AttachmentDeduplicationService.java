@@ -0,0 +1,161 @@
+package com.ecoledger.movimentacao.application.service;
+
+import com.ecoledger.movimentacao.application.service.AttachmentStorageService.AttachmentConfirmation;
+import com.ecoledger.movimentacao.config.S3Properties;
+import com.ecoledger.movimentacao.domain.model.AttachmentBlob;
+import com.ecoledger.movimentacao.domain.repository.AttachmentBlobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed attachment storage. Each distinct SHA-256 is stored once: clients that declare the hash up front
+ * upload to {@code sha256/<hash>} or skip the upload entirely when the blob already exists, and a confirmed upload
+ * whose server-computed hash is already registered under another key is collapsed onto the existing object.
+ * The duplicate is only deleted when it is an upload key issued by {@link #uploadKey} that no attachment references;
+ * any other key (objects stored before deduplication, keys chosen through the upload proxy) is left in place, since
+ * {@code /anexos/confirm} accepts any key and such an object may still back a movimentação. Attachments reference
+ * blobs through {@code movimentacao_anexos.hash}; blobs are never collected, since attachments of archived partitions
+ * keep referencing them from the archive schema.
+ *
+ * <p>The lookup is by hash alone and is not scoped to the uploader: whoever presents a SHA-256 is treated as holding
+ * the content and gets the key of the stored object, including one uploaded by another producer. This only discloses
+ * that a file with that exact digest exists, which requires already having the file, but it does mean attachments are
+ * shared across producers once stored.
+ */
+@Service
+public class AttachmentDeduplicationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AttachmentDeduplicationService.class);
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    static final String CONTENT_KEY_PREFIX = "sha256/";
+    static final String UPLOAD_KEY_PREFIX = "uploads/";
+
+    private final AttachmentBlobRepository repository;
+    private final S3Properties s3Properties;
+    private final S3Client s3Client;
+    private final Counter reusedUploads;
+    private final Counter bytesSaved;
+
+    public AttachmentDeduplicationService(AttachmentBlobRepository repository,
+                                          S3Properties s3Properties,
+                                          S3Client s3Client,
+                                          MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.s3Properties = s3Properties;
+        this.s3Client = s3Client;
+        this.reusedUploads = Counter.builder("movimentacao.attachments.dedup.hits")
+                .description("Confirmed uploads that reuse an attachment already stored with the same SHA-256")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("movimentacao.attachments.dedup.bytes")
+                .description("Attachment bytes not stored or not uploaded thanks to deduplication")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the lower-case hash
+     * @throws InvalidAttachmentException when the value is not a hex SHA-256
+     */
+    public static String normalize(String sha256) {
+        String normalized = sha256 == null ? "" : sha256.trim().toLowerCase(Locale.ROOT);
+        if (!SHA256_HEX.matcher(normalized).matches()) {
+            throw new InvalidAttachmentException("Attachment sha256 must be 64 hex characters");
+        }
+        return normalized;
+    }
+
+    public static String contentKey(String sha256) {
+        return CONTENT_KEY_PREFIX + sha256;
+    }
+
+    /**
+     * Fresh key for an upload whose hash is not declared up front.
+     */
+    public static String uploadKey() {
+        return UPLOAD_KEY_PREFIX + UUID.randomUUID();
+    }
+
+    /**
+     * Content keys are shared by every attachment with that hash and only written through presigned uploads signed
+     * for the hash, so callers must not pick them.
+     */
+    public static boolean isContentKey(String objectKey) {
+        return objectKey != null && objectKey.startsWith(CONTENT_KEY_PREFIX);
+    }
+
+    /**
+     * Looks up a stored body for a hash the client declared before uploading; a hit means the upload can be skipped.
+     * The reuse is only counted once the client confirms the returned key, see {@link #deduplicate}.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AttachmentBlob> findExisting(String sha256) {
+        Optional<AttachmentBlob> blob = repository.findById(sha256);
+        blob.ifPresent(b -> LOGGER.debug("Upload can be skipped, attachment already stored sha256={} key={} traceId={}",
+                sha256, b.getObjectKey(), MDC.get("traceId")));
+        return blob;
+    }
+
+    /**
+     * Registers a confirmed upload as the blob for its hash, or redirects it to the blob already registered.
+     * Uploads whose hash is not known yet (presigned uploads still being verified) are returned unchanged.
+     */
+    @Transactional
+    public AttachmentConfirmation deduplicate(AttachmentConfirmation confirmation) {
+        String hash = confirmation.hash();
+        if (hash == null || !SHA256_HEX.matcher(hash).matches()) {
+            return confirmation;
+        }
+        if (repository.register(hash, confirmation.objectKey(), confirmation.tipo(), confirmation.size(), OffsetDateTime.now()) == 1) {
+            return confirmation;
+        }
+        AttachmentBlob blob = repository.findById(hash).orElseThrow();
+        reusedUploads.increment();
+        if (blob.getObjectKey().equals(confirmation.objectKey())) {
+            // the client skipped the upload and confirmed the key returned by findExisting
+            bytesSaved.increment(blob.getSizeBytes());
+            LOGGER.info("Upload skipped, attachment already stored sha256={} key={} traceId={}", hash, blob.getObjectKey(), MDC.get("traceId"));
+            return confirmation;
+        }
+        if (isDisposable(confirmation)) {
+            deleteDuplicate(confirmation.objectKey());
+            bytesSaved.increment(blob.getSizeBytes());
+        } else {
+            LOGGER.info("Duplicate key={} kept, it was not issued as an upload key or is referenced sha256={} traceId={}",
+                    confirmation.objectKey(), hash, MDC.get("traceId"));
+        }
+        LOGGER.info("Duplicate upload key={} collapsed onto key={} sha256={} traceId={}",
+                confirmation.objectKey(), blob.getObjectKey(), hash, MDC.get("traceId"));
+        return new AttachmentConfirmation(blob.getObjectKey(), s3Properties.objectUrl(blob.getObjectKey()),
+                blob.getContentType(), hash, blob.getSizeBytes());
+    }
+
+    private boolean isDisposable(AttachmentConfirmation confirmation) {
+        return confirmation.objectKey().startsWith(UPLOAD_KEY_PREFIX) && !repository.isReferenced(confirmation.url());
+    }
+
+    private void deleteDuplicate(String objectKey) {
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder()
+                    .bucket(s3Properties.bucket())
+                    .key(objectKey)
+                    .build());
+        } catch (SdkException ex) {
+            // the duplicate is unreferenced either way; a bucket lifecycle rule can still remove it
+            LOGGER.warn("Unable to delete duplicate attachment key={} error={}", objectKey, ex.getMessage());
+        }
+    }
+}
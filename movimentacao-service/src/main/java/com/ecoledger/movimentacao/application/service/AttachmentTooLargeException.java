@@ -0,0 +1,7 @@
+package com.ecoledger.movimentacao.application.service;
+
+public class AttachmentTooLargeException extends RuntimeException {
+    public AttachmentTooLargeException(long maxBytes) {
+        super("Attachment exceeds max allowed size of " + maxBytes + " bytes");
+    }
+}
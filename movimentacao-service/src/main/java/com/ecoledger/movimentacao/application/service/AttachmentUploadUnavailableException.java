@@ -0,0 +1,7 @@
+package com.ecoledger.movimentacao.application.service;
+
+public class AttachmentUploadUnavailableException extends RuntimeException {
+    public AttachmentUploadUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecoledger.movimentacao.application.service;
+
+import com.ecoledger.movimentacao.config.ValidationProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs independent remote validations (producer approval, attachment metadata) concurrently on virtual threads
+ * under a single deadline. The first failure is rethrown as is and every validation still running is cancelled,
+ * so the caller waits for roughly the slowest single call instead of the sum of all of them. A lone validation is
+ * submitted the same way, so it is bounded by the deadline too.
+ */
+@Component
+public class ConcurrentValidationExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration timeout;
+
+    public ConcurrentValidationExecutor(ValidationProperties properties) {
+        this.timeout = properties.timeout();
+    }
+
+    public void runAll(List<Runnable> validations) {
+        if (validations.isEmpty()) {
+            return;
+        }
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Void>> futures = new ArrayList<>(validations.size());
+        for (Runnable validation : validations) {
+            futures.add(completion.submit(() -> {
+                runWithMdc(mdc, validation);
+                return null;
+            }));
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (int i = 0; i < validations.size(); i++) {
+                long remaining = deadline - System.nanoTime();
+                Future<Void> done = remaining > 0 ? completion.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (done == null) {
+                    throw new ValidationTimeoutException(timeout);
+                }
+                done.get();
+            }
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for validations", ex);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static void runWithMdc(Map<String, String> mdc, Runnable validation) {
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            validation.run();
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
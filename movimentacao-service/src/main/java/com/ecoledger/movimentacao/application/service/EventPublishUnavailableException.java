@@ -0,0 +1,15 @@
+package com.ecoledger.movimentacao.application.service;
+
+/**
+ * The movimentacao.criada event could not be handed to the broker client; thrown inside the registrar transaction
+ * so the movimentacao is rolled back instead of being stored without its event.
+ */
+public class EventPublishUnavailableException extends RuntimeException {
+    public EventPublishUnavailableException(String message) {
+        super(message);
+    }
+
+    public EventPublishUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
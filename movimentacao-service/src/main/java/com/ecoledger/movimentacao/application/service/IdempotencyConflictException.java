@@ -0,0 +1,11 @@
+package com.ecoledger.movimentacao.application.service;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String idempotencyKey) {
+        this(idempotencyKey, "is still being processed");
+    }
+
+    public IdempotencyConflictException(String idempotencyKey, String reason) {
+        super("Request with idempotency key " + idempotencyKey + " " + reason);
+    }
+}
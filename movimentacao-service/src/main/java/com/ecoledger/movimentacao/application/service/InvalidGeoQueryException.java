@@ -0,0 +1,7 @@
+package com.ecoledger.movimentacao.application.service;
+
+public class InvalidGeoQueryException extends RuntimeException {
+    public InvalidGeoQueryException(String message) {
+        super(message);
+    }
+}
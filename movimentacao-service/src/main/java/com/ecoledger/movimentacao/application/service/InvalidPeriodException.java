@@ -0,0 +1,9 @@
+package com.ecoledger.movimentacao.application.service;
+
+import java.time.LocalDate;
+
+public class InvalidPeriodException extends RuntimeException {
+    public InvalidPeriodException(LocalDate fromDate, LocalDate toDate) {
+        super("Invalid period: fromDate " + fromDate + " is after toDate " + toDate);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecoledger.movimentacao.application.service;
+
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a producer listing: the {@code (registro_timestamp, id)} of the last row returned.
+ * Clients only see it as an opaque URL-safe token.
+ */
+public record MovimentacaoCursor(OffsetDateTime timestamp, UUID id) {
+
+    public static MovimentacaoCursor after(MovimentacaoRow last) {
+        return new MovimentacaoCursor(last.timestamp(), last.id());
+    }
+
+    public String encode() {
+        String raw = timestamp.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MovimentacaoCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new InvalidCursorException(token);
+            }
+            return new MovimentacaoCursor(
+                    OffsetDateTime.ofInstant(Instant.parse(raw.substring(0, sep)), ZoneOffset.UTC),
+                    UUID.fromString(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException ex) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
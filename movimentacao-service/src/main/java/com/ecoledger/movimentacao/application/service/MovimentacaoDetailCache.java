@@ -0,0 +1,99 @@
+package com.ecoledger.movimentacao.application.service;
+
+import com.ecoledger.movimentacao.application.dto.MovimentacaoDetailResponse;
+import com.ecoledger.movimentacao.config.DetailCacheProperties;
+import com.ecoledger.movimentacao.config.PartitionProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Serialized detail responses with their strong ETag. Movimentações are immutable once created, so a hit is served
+ * from memory without a transaction or a query; misses and unknown ids go to {@link MovimentacaoService#buscarPorIdDto}
+ * and a {@link MovimentacaoNotFoundException} is never cached.
+ * <p>
+ * A movimentação stops being served once partition maintenance archives it, so an entry expires when its partition
+ * becomes archivable and the client {@code max-age} never reaches past that instant. Each instance computes this from
+ * the movimentação timestamp, without waiting for the run that archives it.
+ */
+@Service
+public class MovimentacaoDetailCache {
+
+    static final String CACHE_NAME = "movimentacaoDetail";
+
+    private final MovimentacaoService service;
+    private final ObjectMapper objectMapper;
+    private final PartitionProperties partitionProperties;
+    private final Duration clientMaxAge;
+    private final Cache<UUID, Detail> cache;
+
+    public MovimentacaoDetailCache(MovimentacaoService service, ObjectMapper objectMapper, DetailCacheProperties properties,
+                                   PartitionProperties partitionProperties, MeterRegistry meterRegistry) {
+        this.service = service;
+        this.objectMapper = objectMapper;
+        this.partitionProperties = partitionProperties;
+        this.clientMaxAge = properties.clientMaxAge();
+        if (properties.enabled()) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.maxSize())
+                    .expireAfter(Expiry.creating((UUID id, Detail detail) -> untilArchivable(detail, Instant.now())))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * JSON body of the detail response, its strong ETag (the quoted SHA-256 of the body) and when its partition can
+     * be archived, {@code null} when archival is disabled.
+     */
+    public record Detail(byte[] body, String eTag, OffsetDateTime archivableAt) {
+    }
+
+    public Detail get(UUID id) {
+        return cache == null ? load(id) : cache.get(id, this::load);
+    }
+
+    /**
+     * The configured client {@code max-age}, shortened so a client copy does not outlive the archival of
+     * {@code detail}.
+     */
+    public Duration clientMaxAge(Detail detail, Instant now) {
+        Duration untilArchivable = untilArchivable(detail, now);
+        return untilArchivable.compareTo(clientMaxAge) < 0 ? untilArchivable : clientMaxAge;
+    }
+
+    private static Duration untilArchivable(Detail detail, Instant now) {
+        if (detail.archivableAt() == null) {
+            return Duration.ofNanos(Long.MAX_VALUE);
+        }
+        Duration remaining = Duration.between(now, detail.archivableAt().toInstant());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private Detail load(UUID id) {
+        try {
+            MovimentacaoDetailResponse response = service.buscarPorIdDto(id);
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            return new Detail(body, "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body)) + "\"",
+                    partitionProperties.archivableAt(response.timestamp()));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not serialize movimentacao " + id, e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.ecoledger.movimentacao.application.service;
+
+import com.ecoledger.movimentacao.application.dto.MovimentacaoDetailResponse;
+import com.ecoledger.movimentacao.application.dto.MovimentacaoDetailResponse.MovimentacaoAttachmentResponse;
+import com.ecoledger.movimentacao.domain.repository.AnexoRow;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRepository;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams the full history of a producer, or every movimentacao inside an area, as NDJSON or CSV.
+ * Rows come from a server-side cursor, attachments are loaded once per chunk of rows, and each chunk is written
+ * before the next one is read, so memory stays constant regardless of how many rows the producer has.
+ */
+@Service
+public class MovimentacaoExportService {
+
+    static final int CHUNK_SIZE = Integer.parseInt(MovimentacaoRepository.EXPORT_FETCH_SIZE);
+
+    public enum Formato {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extensao;
+
+        Formato(String mediaType, String extensao) {
+            this.mediaType = mediaType;
+            this.extensao = extensao;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String extensao() {
+            return extensao;
+        }
+    }
+
+    private final MovimentacaoRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public MovimentacaoExportService(MovimentacaoRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every movimentacao of the producer in the period to {@code out}, oldest first.
+     * The stream is flushed but not closed. Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportar(String producerId, OffsetDateTime fromDate, OffsetDateTime toDate, Formato formato, OutputStream out) throws IOException {
+        org.slf4j.Logger LOG = org.slf4j.LoggerFactory.getLogger(MovimentacaoExportService.class);
+        LOG.info("Starting export producerId={} formato={} traceId={}", producerId, formato, org.slf4j.MDC.get("traceId"));
+        long total;
+        try (Stream<MovimentacaoRow> rows = repository.streamRowsByProducerId(producerId,
+                fromDate != null ? fromDate : MovimentacaoRepository.UNBOUNDED_FROM,
+                toDate != null ? toDate : MovimentacaoRepository.UNBOUNDED_TO)) {
+            total = write(rows, formato, out);
+        }
+        LOG.info("Finished export producerId={} rows={} traceId={}", producerId, total, org.slf4j.MDC.get("traceId"));
+        return total;
+    }
+
+    /**
+     * Writes every movimentacao inside the area, in no particular order. Same contract as {@link #exportar}.
+     */
+    @Transactional(readOnly = true)
+    public long exportarNaArea(AreaGeografica area, String commodityId, OffsetDateTime fromDate, OffsetDateTime toDate,
+                               Formato formato, OutputStream out) throws IOException {
+        org.slf4j.Logger LOG = org.slf4j.LoggerFactory.getLogger(MovimentacaoExportService.class);
+        String commodity = commodityId == null || commodityId.isBlank() ? null : commodityId;
+        long total;
+        try (Stream<MovimentacaoRow> rows = repository.streamRowsWithin(area.box(), commodity,
+                fromDate != null ? fromDate : MovimentacaoRepository.UNBOUNDED_FROM,
+                toDate != null ? toDate : MovimentacaoRepository.UNBOUNDED_TO)) {
+            total = write(rows.filter(area::contains), formato, out);
+        }
+        LOG.info("Finished area export area={} commodityId={} rows={} traceId={}", area, commodity, total, org.slf4j.MDC.get("traceId"));
+        return total;
+    }
+
+    private long write(Stream<MovimentacaoRow> rows, Formato formato, OutputStream out) throws IOException {
+        long total = 0;
+        RowWriter writer = formato == Formato.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(objectMapper, out);
+        List<MovimentacaoRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        Iterator<MovimentacaoRow> it = rows.iterator();
+        while (it.hasNext()) {
+            chunk.add(it.next());
+            if (chunk.size() == CHUNK_SIZE) {
+                total += writeChunk(chunk, writer);
+                chunk.clear();
+            }
+        }
+        total += writeChunk(chunk, writer);
+        writer.finish();
+        return total;
+    }
+
+    private int writeChunk(List<MovimentacaoRow> chunk, RowWriter writer) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<AnexoRow> anexos = repository.findAnexoRowsByMovimentacaoIds(chunk.stream().map(MovimentacaoRow::id).toList());
+        for (MovimentacaoDetailResponse row : MovimentacaoDetailResponse.fromRows(chunk, anexos)) {
+            writer.write(row);
+        }
+        return chunk.size();
+    }
+
+    private interface RowWriter {
+        void write(MovimentacaoDetailResponse row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final OutputStream out;
+        private final SequenceWriter sequence;
+        private boolean written;
+
+        NdjsonRowWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.out = out;
+            this.sequence = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out);
+        }
+
+        @Override
+        public void write(MovimentacaoDetailResponse row) throws IOException {
+            sequence.write(row);
+            written = true;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            sequence.close();
+            if (written) {
+                out.write('\n');
+            }
+            out.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private static final String HEADER =
+                "id,producerId,commodityId,tipo,quantidade,unidade,timestamp,latitude,longitude,criadoEm,anexos";
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            writer.write(HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(MovimentacaoDetailResponse row) throws IOException {
+            writer.write(row.id().toString());
+            writer.write(',');
+            writer.write(escape(row.producerId()));
+            writer.write(',');
+            writer.write(escape(row.commodityId()));
+            writer.write(',');
+            writer.write(escape(row.tipo()));
+            writer.write(',');
+            writer.write(row.quantidade().toPlainString());
+            writer.write(',');
+            writer.write(escape(row.unidade()));
+            writer.write(',');
+            writer.write(row.timestamp().toString());
+            writer.write(',');
+            writer.write(row.localizacao() != null && row.localizacao().lat() != null ? row.localizacao().lat().toString() : "");
+            writer.write(',');
+            writer.write(row.localizacao() != null && row.localizacao().lon() != null ? row.localizacao().lon().toString() : "");
+            writer.write(',');
+            writer.write(row.criadoEm().toString());
+            writer.write(',');
+            writer.write(escape(row.anexos().stream().map(MovimentacaoAttachmentResponse::url).collect(Collectors.joining(" "))));
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
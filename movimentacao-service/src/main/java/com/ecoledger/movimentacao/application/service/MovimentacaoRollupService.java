@@ -0,0 +1,133 @@
+package com.ecoledger.movimentacao.application.service;
+
+import com.ecoledger.movimentacao.application.dto.MovimentacaoResumoResponse;
+import com.ecoledger.movimentacao.application.dto.MovimentacaoResumoResponse.Granularidade;
+import com.ecoledger.movimentacao.application.dto.MovimentacaoResumoResponse.Periodo;
+import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import com.ecoledger.movimentacao.domain.model.MovimentacaoDailyRollup;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoDailyRollupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Daily per-producer rollups of movimentações. Rows are incremented in the same transaction that inserts the
+ * movimentações, so the summary is never ahead of or behind the table, and summaries read one row per day and
+ * (commodity, tipo, unidade) instead of every movimentação of the period.
+ * <p>
+ * The price of that consistency is the row lock the increment takes: concurrent registrations of one producer for
+ * the same day, commodity, tipo and unidade queue on the rollup row until the holder commits. Other producers and
+ * other keys are unaffected. Callers increment as the last write of their transaction so the lock is only held
+ * through the commit; updating the rollups asynchronously (e.g. from the outbox) would remove the queueing but let
+ * summaries lag behind the table.
+ */
+@Service
+public class MovimentacaoRollupService {
+
+    static final int DEFAULT_PERIOD_DAYS = 30;
+
+    private static final Comparator<MovimentacaoDailyRollup.Key> KEY_ORDER = Comparator
+            .comparing(MovimentacaoDailyRollup.Key::producerId)
+            .thenComparing(MovimentacaoDailyRollup.Key::bucketDate)
+            .thenComparing(MovimentacaoDailyRollup.Key::commodityId)
+            .thenComparing(MovimentacaoDailyRollup.Key::tipo)
+            .thenComparing(MovimentacaoDailyRollup.Key::unidade);
+
+    private final MovimentacaoDailyRollupRepository repository;
+
+    public MovimentacaoRollupService(MovimentacaoDailyRollupRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Adds the movimentações to their daily rollups, one statement pair per distinct row. Rows are touched in key
+     * order so two concurrent batches never lock the same rollups in opposite orders.
+     */
+    @Transactional
+    public void registrar(Collection<Movimentacao> movimentacoes) {
+        Map<MovimentacaoDailyRollup.Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (Movimentacao m : movimentacoes) {
+            deltas.computeIfAbsent(keyOf(m), k -> new Delta()).add(m.getQuantidade());
+        }
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Totals of a producer between two UTC days, inclusive, grouped by {@code granularidade}. Defaults to the last
+     * {@value #DEFAULT_PERIOD_DAYS} days up to today.
+     *
+     * @throws InvalidPeriodException when {@code fromDate} is after {@code toDate}
+     */
+    @Transactional(readOnly = true)
+    public MovimentacaoResumoResponse resumir(String producerId, String commodityId, LocalDate fromDate, LocalDate toDate,
+                                              Granularidade granularidade) {
+        LocalDate to = toDate != null ? toDate : LocalDate.now(ZoneOffset.UTC);
+        LocalDate from = fromDate != null ? fromDate : to.minusDays(DEFAULT_PERIOD_DAYS - 1);
+        if (from.isAfter(to)) {
+            throw new InvalidPeriodException(from, to);
+        }
+        Granularidade bucket = granularidade != null ? granularidade : Granularidade.DIA;
+        String commodity = commodityId == null || commodityId.isBlank() ? null : commodityId;
+        // rows arrive ordered by day, so buckets come out in chronological order
+        Map<PeriodoKey, Delta> periodos = new LinkedHashMap<>();
+        var rows = commodity == null
+                ? repository.findForProducer(producerId, from, to)
+                : repository.findForProducerAndCommodity(producerId, commodity, from, to);
+        for (MovimentacaoDailyRollup row : rows) {
+            var key = row.getKey();
+            periodos.computeIfAbsent(new PeriodoKey(bucket.inicio(key.bucketDate()), key.commodityId(), key.tipo(), key.unidade()),
+                            k -> new Delta())
+                    .add(row.getQuantidadeTotal(), row.getMovimentacoesCount());
+        }
+        var result = periodos.entrySet().stream()
+                .map(e -> new Periodo(e.getKey().inicio(), e.getKey().commodityId(), e.getKey().tipo(), e.getKey().unidade(),
+                        e.getValue().quantidade, e.getValue().count))
+                .toList();
+        return new MovimentacaoResumoResponse(producerId, from, to, bucket, result);
+    }
+
+    private void apply(MovimentacaoDailyRollup.Key key, Delta delta) {
+        if (repository.increment(key.producerId(), key.bucketDate(), key.commodityId(), key.tipo(), key.unidade(),
+                delta.quantidade, delta.count) > 0) {
+            return;
+        }
+        if (repository.insertIfAbsent(key.producerId(), key.bucketDate(), key.commodityId(), key.tipo(), key.unidade(),
+                delta.quantidade, delta.count) > 0) {
+            return;
+        }
+        // another transaction created the row between our update and insert
+        repository.increment(key.producerId(), key.bucketDate(), key.commodityId(), key.tipo(), key.unidade(),
+                delta.quantidade, delta.count);
+    }
+
+    static MovimentacaoDailyRollup.Key keyOf(Movimentacao m) {
+        return new MovimentacaoDailyRollup.Key(m.getProducerId(),
+                m.getTimestamp().atZoneSameInstant(ZoneOffset.UTC).toLocalDate(),
+                m.getCommodityId(), m.getTipo(), m.getUnidade());
+    }
+
+    private record PeriodoKey(LocalDate inicio, String commodityId, String tipo, String unidade) {
+    }
+
+    private static final class Delta {
+        private BigDecimal quantidade = BigDecimal.ZERO;
+        private long count;
+
+        void add(BigDecimal value) {
+            add(value, 1);
+        }
+
+        void add(BigDecimal value, long n) {
+            quantidade = quantidade.add(value);
+            count += n;
+        }
+    }
+}
@@ -1,58 +1,163 @@
 package com.ecoledger.movimentacao.application.service;
 
+import com.ecoledger.movimentacao.application.dto.HistoricoMovimentacaoResponse;
 import com.ecoledger.movimentacao.application.dto.MovimentacaoDetailResponse;
+import com.ecoledger.movimentacao.application.dto.MovimentacaoListResponse;
+import com.ecoledger.movimentacao.application.dto.MovimentacaoLoteResponse.ItemResultado;
 import com.ecoledger.movimentacao.application.dto.MovimentacaoRequest;
 import com.ecoledger.movimentacao.application.dto.MovimentacaoRequest.MovimentacaoRequestAttachment;
 import com.ecoledger.movimentacao.config.AttachmentPolicyProperties;
 import com.ecoledger.movimentacao.domain.model.Movimentacao;
 import com.ecoledger.movimentacao.domain.model.MovimentacaoAnexo;
+import com.ecoledger.movimentacao.domain.repository.AnexoRow;
 import com.ecoledger.movimentacao.domain.repository.MovimentacaoRepository;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRow;
+import com.ecoledger.movimentacao.domain.repository.OffsetLimit;
+import jakarta.validation.Validator;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class MovimentacaoService {
 
+    static final int MAX_HISTORICO_PAGE_SIZE = 500;
+
     private final MovimentacaoRepository repository;
     private final ProducerApprovalClient approvalClient;
     private final AttachmentPolicyProperties attachmentPolicyProperties;
     private final AttachmentStorageService attachmentStorageService;
     private final MovimentacaoEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ConcurrentValidationExecutor validationExecutor;
+    private final MovimentacaoRollupService rollupService;
 
     public MovimentacaoService(MovimentacaoRepository repository,
                                ProducerApprovalClient approvalClient,
                                AttachmentPolicyProperties attachmentPolicyProperties,
                                AttachmentStorageService attachmentStorageService,
-                               MovimentacaoEventPublisher eventPublisher) {
+                               MovimentacaoEventPublisher eventPublisher,
+                               Validator validator,
+                               ConcurrentValidationExecutor validationExecutor,
+                               MovimentacaoRollupService rollupService) {
         this.repository = repository;
         this.approvalClient = approvalClient;
         this.attachmentPolicyProperties = attachmentPolicyProperties;
         this.attachmentStorageService = attachmentStorageService;
         this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.validationExecutor = validationExecutor;
+        this.rollupService = rollupService;
     }
 
     @Transactional
     public UUID registrar(MovimentacaoRequest request) {
         org.slf4j.Logger LOG = org.slf4j.LoggerFactory.getLogger(MovimentacaoService.class);
         LOG.info("Starting registrar for producerId={} commodityId={} tipo={} timestamp={} traceId={}", request.producerId(), request.commodityId(), request.tipo(), request.timestamp(), org.slf4j.MDC.get("traceId"));
-        validateProducer(request.producerId());
-        LOG.debug("Producer validated for producerId={} traceId={}", request.producerId(), org.slf4j.MDC.get("traceId"));
-        validateAnexos(request.anexos());
-        LOG.debug("Attachments validated count={} traceId={}", request.anexos() == null ? 0 : request.anexos().size(), org.slf4j.MDC.get("traceId"));
+        validateAttachmentPolicy(request.anexos());
+        List<Runnable> remoteValidations = new ArrayList<>();
+        remoteValidations.add(() -> validateProducer(request.producerId()));
+        remoteValidations.addAll(attachmentValidations(request.anexos()));
+        validationExecutor.runAll(remoteValidations);
+        LOG.debug("Producer and attachments validated producerId={} count={} traceId={}", request.producerId(), request.anexos() == null ? 0 : request.anexos().size(), org.slf4j.MDC.get("traceId"));
+        Movimentacao saved = repository.save(toEntity(request));
+        LOG.info("Saved movimentacao id={} producerId={} traceId={}", saved.getId(), saved.getProducerId(), org.slf4j.MDC.get("traceId"));
+        publishCreated(saved);
+        // last write of the transaction: the rollup row lock is only held until the commit
+        rollupService.registrar(List.of(saved));
+        return saved.getId();
+    }
+
+    /**
+     * Registers a batch of movimentações in a single transaction.
+     * Each item is validated on its own and rejected items do not prevent the others from being created.
+     * Producer approval is checked once per distinct producer and the accepted rows are written with
+     * a single flush so Hibernate can group the inserts into JDBC batches.
+     */
+    @Transactional
+    public List<ItemResultado> registrarLote(List<MovimentacaoRequest> requests) {
+        org.slf4j.Logger LOG = org.slf4j.LoggerFactory.getLogger(MovimentacaoService.class);
+        LOG.info("Starting registrarLote size={} traceId={}", requests.size(), org.slf4j.MDC.get("traceId"));
+        ItemResultado[] resultados = new ItemResultado[requests.size()];
+        Map<String, Boolean> aprovacoes = new HashMap<>();
+        List<Movimentacao> aceitas = new ArrayList<>();
+        List<Integer> indicesAceitos = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            MovimentacaoRequest request = requests.get(i);
+            String violacoes = validateRequest(request);
+            if (violacoes != null) {
+                resultados[i] = ItemResultado.rejeitado(i, violacoes);
+                continue;
+            }
+            try {
+                if (!aprovacoes.computeIfAbsent(request.producerId(), approvalClient::isApproved)) {
+                    throw new ProducerNotApprovedException(request.producerId());
+                }
+                validateAttachmentPolicy(request.anexos());
+                validationExecutor.runAll(attachmentValidations(request.anexos()));
+            } catch (ProducerNotApprovedException | ProducerApprovalUnavailableException | InvalidAttachmentException
+                     | ValidationTimeoutException ex) {
+                resultados[i] = ItemResultado.rejeitado(i, ex.getMessage());
+                continue;
+            }
+            aceitas.add(toEntity(request));
+            indicesAceitos.add(i);
+        }
+        List<Movimentacao> saved = repository.saveAll(aceitas);
+        repository.flush();
+        for (int j = 0; j < saved.size(); j++) {
+            Movimentacao movimentacao = saved.get(j);
+            resultados[indicesAceitos.get(j)] = ItemResultado.criado(indicesAceitos.get(j), movimentacao.getId());
+            publishCreated(movimentacao);
+        }
+        if (!saved.isEmpty()) {
+            // last write of the transaction: the rollup row locks are only held until the commit
+            rollupService.registrar(saved);
+        }
+        LOG.info("Finished registrarLote size={} criados={} produtores={} traceId={}", requests.size(), saved.size(), aprovacoes.size(), org.slf4j.MDC.get("traceId"));
+        return Arrays.asList(resultados);
+    }
+
+    private void publishCreated(Movimentacao saved) {
+        org.slf4j.Logger LOG = org.slf4j.LoggerFactory.getLogger(MovimentacaoService.class);
+        // runs inside the registrar transaction: with the outbox publisher a failure here rolls the movimentacao back
+        eventPublisher.publishCreated(saved);
+        LOG.info("Published movimentacao.criada for id={} traceId={}", saved.getId(), org.slf4j.MDC.get("traceId"));
+    }
+
+    private String validateRequest(MovimentacaoRequest request) {
+        if (request == null) {
+            return "Item must not be null";
+        }
+        var violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Movimentacao toEntity(MovimentacaoRequest request) {
         Double lat = null;
         Double lon = null;
         if (request.localizacao() != null) {
             lat = request.localizacao().lat();
             lon = request.localizacao().lon();
         }
-        Movimentacao movimentacao = new Movimentacao(
+        return new Movimentacao(
                 request.producerId(),
                 request.commodityId(),
                 request.tipo(),
@@ -63,15 +168,6 @@ public class MovimentacaoService {
                 lon,
                 buildAnexos(request.anexos())
         );
-        Movimentacao saved = repository.save(movimentacao);
-        LOG.info("Saved movimentacao id={} producerId={} traceId={}", saved.getId(), saved.getProducerId(), org.slf4j.MDC.get("traceId"));
-        try {
-            eventPublisher.publishCreated(saved);
-            LOG.info("Published movimentacao.criada for id={} traceId={}", saved.getId(), org.slf4j.MDC.get("traceId"));
-        } catch (Exception ex) {
-            LOG.error("Failed to publish event for movimentacao id={} traceId={} error={}", saved.getId(), org.slf4j.MDC.get("traceId"), ex.getMessage());
-        }
-        return saved.getId();
     }
 
     private void validateProducer(String producerId) {
@@ -80,7 +176,7 @@ public class MovimentacaoService {
         }
     }
 
-    private void validateAnexos(List<MovimentacaoRequestAttachment> anexos) {
+    private void validateAttachmentPolicy(List<MovimentacaoRequestAttachment> anexos) {
         if (anexos == null || anexos.isEmpty()) {
             return;
         }
@@ -92,10 +188,18 @@ public class MovimentacaoService {
             if (!allowed.contains(anexo.tipo())) {
                 throw new InvalidAttachmentException("Attachment type not allowed: " + anexo.tipo());
             }
-            attachmentStorageService.validateAttachment(anexo);
         }
     }
 
+    private List<Runnable> attachmentValidations(List<MovimentacaoRequestAttachment> anexos) {
+        if (anexos == null) {
+            return List.of();
+        }
+        return anexos.stream()
+                .map(anexo -> (Runnable) () -> attachmentStorageService.validateAttachment(anexo))
+                .toList();
+    }
+
     private List<MovimentacaoAnexo> buildAnexos(List<MovimentacaoRequestAttachment> anexos) {
         if (anexos == null) {
             return List.of();
@@ -115,10 +219,13 @@ public class MovimentacaoService {
         return repository.findById(id).orElseThrow(() -> new MovimentacaoNotFoundException(id));
     }
 
+    /**
+     * Detail read built from projections: one query for the row and one for its attachments, no entity hydration.
+     */
     @Transactional(readOnly = true)
     public MovimentacaoDetailResponse buscarPorIdDto(UUID id) {
-        var m = repository.findById(id).orElseThrow(() -> new MovimentacaoNotFoundException(id));
-        return MovimentacaoDetailResponse.fromEntity(m);
+        var row = repository.findRowById(id).orElseThrow(() -> new MovimentacaoNotFoundException(id));
+        return comAnexos(List.of(row)).get(0);
     }
 
     public Page<Movimentacao> buscarPorProducer(String producerId, Pageable pageable) {
@@ -147,11 +254,78 @@ public class MovimentacaoService {
         return page.map(MovimentacaoDetailResponse::fromEntity);
     }
 
+    /**
+     * Producer listing, newest first. Without a cursor page 1 is read with the keyset query and deeper {@code page}
+     * values fall back to offset paging; with a cursor the page is read from the index position it encodes. Each read
+     * asks for one row more than the page to tell whether a next page exists, so no count is needed for that; the
+     * total is counted only when {@code includeTotal} is true.
+     */
     @Transactional(readOnly = true)
-    public List<MovimentacaoDetailResponse> buscarHistoricoPorCommodity(String commodityId) {
-        var list = repository.findByCommodityIdOrderByTimestampDesc(commodityId);
-        return list.stream()
-                .map(MovimentacaoDetailResponse::fromEntity)
-                .toList();
+    public MovimentacaoListResponse listarPorProducer(String producerId, String commodityId, OffsetDateTime fromDate, OffsetDateTime toDate,
+                                                      int page, int size, String cursor, boolean includeTotal) {
+        int pageSize = Math.max(1, size);
+        String commodity = commodityId == null || commodityId.isBlank() ? null : commodityId;
+        OffsetDateTime from = fromDate != null ? fromDate : MovimentacaoRepository.UNBOUNDED_FROM;
+        OffsetDateTime to = toDate != null ? toDate : MovimentacaoRepository.UNBOUNDED_TO;
+        List<MovimentacaoRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            // page > 1 is legacy offset paging, kept for existing clients; the returned cursor lets them switch to keyset paging
+            long offset = (long) (Math.max(page, 1) - 1) * pageSize;
+            rows = keysetFirstPage(producerId, commodity, from, to, new OffsetLimit(offset, pageSize + 1));
+        } else {
+            var after = MovimentacaoCursor.decode(cursor);
+            var limit = PageRequest.of(0, pageSize + 1);
+            rows = commodity == null
+                    ? repository.findKeysetPageAfter(producerId, from, to, after.timestamp(), after.id(), limit)
+                    : repository.findKeysetPageAfterByCommodity(producerId, commodity, from, to, after.timestamp(), after.id(), limit);
+        }
+        boolean hasNext = rows.size() > pageSize;
+        List<MovimentacaoRow> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? MovimentacaoCursor.after(pageRows.get(pageRows.size() - 1)).encode() : null;
+        Long total = null;
+        if (includeTotal) {
+            total = commodity == null
+                    ? repository.countForListing(producerId, from, to)
+                    : repository.countForListingByCommodity(producerId, commodity, from, to);
+        }
+        return new MovimentacaoListResponse(comAnexos(pageRows), total, nextCursor);
+    }
+
+    private List<MovimentacaoRow> keysetFirstPage(String producerId, String commodity, OffsetDateTime from, OffsetDateTime to,
+                                                  Pageable limit) {
+        return commodity == null
+                ? repository.findKeysetFirstPage(producerId, from, to, limit)
+                : repository.findKeysetFirstPageByCommodity(producerId, commodity, from, to, limit);
+    }
+
+    /**
+     * One page of a commodity's history, newest first: one query for the rows and one for all their attachments.
+     */
+    @Transactional(readOnly = true)
+    public HistoricoMovimentacaoResponse buscarHistoricoPorCommodity(String commodityId, int size, String cursor) {
+        int pageSize = Math.min(Math.max(1, size), MAX_HISTORICO_PAGE_SIZE);
+        var limit = PageRequest.of(0, pageSize + 1);
+        List<MovimentacaoRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = repository.findHistoricoFirstPage(commodityId, limit);
+        } else {
+            var after = MovimentacaoCursor.decode(cursor);
+            rows = repository.findHistoricoPageAfter(commodityId, after.timestamp(), after.id(), limit);
+        }
+        boolean hasNext = rows.size() > pageSize;
+        List<MovimentacaoRow> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? MovimentacaoCursor.after(pageRows.get(pageRows.size() - 1)).encode() : null;
+        return new HistoricoMovimentacaoResponse(comAnexos(pageRows), nextCursor);
+    }
+
+    /**
+     * Maps rows to responses with the attachments of all of them loaded in a single query.
+     */
+    private List<MovimentacaoDetailResponse> comAnexos(List<MovimentacaoRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<AnexoRow> anexos = repository.findAnexoRowsByMovimentacaoIds(rows.stream().map(MovimentacaoRow::id).toList());
+        return MovimentacaoDetailResponse.fromRows(rows, anexos);
     }
 }
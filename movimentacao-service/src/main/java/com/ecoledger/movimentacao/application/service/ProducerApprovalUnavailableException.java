@@ -0,0 +1,7 @@
+package com.ecoledger.movimentacao.application.service;
+
+public class ProducerApprovalUnavailableException extends RuntimeException {
+    public ProducerApprovalUnavailableException(String producerId, Throwable cause) {
+        super("Unable to check approval for producer " + producerId + ": users-service unavailable", cause);
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecoledger.movimentacao.application.service;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Request body stream that feeds every byte it hands out into a SHA-256 digest.
+ * The body is hashed while the message converter reads it, without buffering or re-serializing it.
+ */
+public final class RequestBodyDigest extends ServletInputStream {
+
+    private final ServletInputStream delegate;
+    private final MessageDigest digest;
+    private String hex;
+
+    public RequestBodyDigest(ServletInputStream delegate) {
+        this.delegate = delegate;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = delegate.read();
+        if (b >= 0) {
+            digest.update((byte) b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = delegate.read(b, off, len);
+        if (n > 0) {
+            digest.update(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return delegate.isFinished();
+    }
+
+    @Override
+    public boolean isReady() {
+        return delegate.isReady();
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+        delegate.setReadListener(readListener);
+    }
+
+    /**
+     * Hex SHA-256 of the whole body. Bytes the parser left unread (e.g. trailing whitespace) are drained first,
+     * so the value does not depend on how far the converter read.
+     */
+    public String hex() {
+        if (hex == null) {
+            try {
+                byte[] buffer = new byte[256];
+                while (read(buffer, 0, buffer.length) != -1) {
+                    // drain
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            hex = HexFormat.of().formatHex(digest.digest());
+        }
+        return hex;
+    }
+}
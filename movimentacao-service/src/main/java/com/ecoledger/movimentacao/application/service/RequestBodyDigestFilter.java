@@ -0,0 +1,68 @@
+package com.ecoledger.movimentacao.application.service;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hashes the raw body of {@code POST /movimentacoes} while it is read and exposes the digest as the
+ * {@value #REQUEST_DIGEST_ATTRIBUTE} request attribute, used as the idempotency request hash.
+ * <p>
+ * The hash covers the bytes as sent, not a canonical form of the JSON: a retry under the same idempotency key must
+ * resend the identical body, since a change in whitespace or field order yields another hash and is rejected as an
+ * idempotency conflict. Records stored before this filter existed hold the hash of the re-serialized request and stop
+ * matching once deployed; they expire with the idempotency TTL.
+ */
+@Component
+public class RequestBodyDigestFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_DIGEST_ATTRIBUTE = "movimentacao.requestBodyDigest";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !(request.getContextPath() + "/movimentacoes").equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        var wrapped = new DigestingRequest(request);
+        filterChain.doFilter(wrapped, response);
+    }
+
+    private static final class DigestingRequest extends HttpServletRequestWrapper {
+
+        private RequestBodyDigest body;
+
+        DigestingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (body == null) {
+                body = new RequestBodyDigest(super.getInputStream());
+                setAttribute(REQUEST_DIGEST_ATTRIBUTE, body);
+            }
+            return body;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecoledger.movimentacao.application.service;
+
+import java.time.Duration;
+
+public class ValidationTimeoutException extends RuntimeException {
+    public ValidationTimeoutException(Duration timeout) {
+        super("Validation did not complete within " + timeout.toMillis() + " ms");
+    }
+}
@@ -0,0 +1,176 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.config.AttachmentIntegrityProperties;
+import com.ecoledger.movimentacao.config.S3Properties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes the SHA-256 of objects that reached the bucket without passing through the service (presigned PUTs) and
+ * stores it as the {@code hash} metadata, so later validations can enforce it. Objects are read in fixed-size
+ * ranges through one small chunk buffer per worker, pinned to the ETag seen at the start so a concurrent overwrite
+ * fails the job instead of producing a digest of mixed content. Runs off the request path on a bounded pool.
+ */
+public class AttachmentHashVerifier implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AttachmentHashVerifier.class);
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    private final S3Properties s3Properties;
+    private final S3Client s3Client;
+    private final long rangeSize;
+    private final long shutdownTimeoutMillis;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Timer verificationTimer;
+    private final Counter failures;
+    private final Counter rejected;
+
+    public AttachmentHashVerifier(S3Properties s3Properties,
+                                  S3Client s3Client,
+                                  AttachmentIntegrityProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.s3Properties = s3Properties;
+        this.s3Client = s3Client;
+        this.rangeSize = properties.rangeSize().toBytes();
+        this.shutdownTimeoutMillis = properties.shutdownTimeout().toMillis();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.workers(), properties.workers(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, "attachment-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.verificationTimer = Timer.builder("movimentacao.attachments.hash.verification")
+                .description("Background SHA-256 verification of attachments uploaded by presigned URL")
+                .register(meterRegistry);
+        this.failures = Counter.builder("movimentacao.attachments.hash.verification.failures")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("movimentacao.attachments.hash.verification.rejected")
+                .description("Verifications dropped because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the object for hashing; a key already queued or running is not queued twice.
+     *
+     * @return the hex digest once stored, or a future completed exceptionally when the job fails or the queue is full
+     */
+    public CompletableFuture<String> submit(String objectKey) {
+        if (!inFlight.add(objectKey)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Verification already in progress for " + objectKey));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> verificationTimer.record(() -> verify(objectKey)), executor)
+                    .whenComplete((hash, ex) -> {
+                        inFlight.remove(objectKey);
+                        if (ex != null) {
+                            failures.increment();
+                            LOGGER.warn("Hash verification failed key={} error={}", objectKey, ex.getMessage());
+                        }
+                    });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(objectKey);
+            rejected.increment();
+            LOGGER.warn("Hash verification queue full, skipping key={}", objectKey);
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    String verify(String objectKey) {
+        HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
+                .bucket(s3Properties.bucket())
+                .key(objectKey)
+                .build());
+        String existing = head.metadata() == null ? null : head.metadata().get(S3AttachmentStorageService.HASH_METADATA_KEY);
+        if (existing != null) {
+            return existing;
+        }
+        String hash = digest(objectKey, head.eTag(), head.contentLength() == null ? 0L : head.contentLength());
+        Map<String, String> metadata = new HashMap<>(head.metadata() == null ? Map.of() : head.metadata());
+        metadata.put(S3AttachmentStorageService.HASH_METADATA_KEY, hash);
+        // server-side self copy: user metadata can only be changed by rewriting the object
+        s3Client.copyObject(CopyObjectRequest.builder()
+                .sourceBucket(s3Properties.bucket())
+                .sourceKey(objectKey)
+                .destinationBucket(s3Properties.bucket())
+                .destinationKey(objectKey)
+                .copySourceIfMatch(head.eTag())
+                .metadataDirective(MetadataDirective.REPLACE)
+                .contentType(head.contentType())
+                .metadata(metadata)
+                .build());
+        LOGGER.info("Stored verified hash key={} size={} sha256={}", objectKey, head.contentLength(), hash);
+        return hash;
+    }
+
+    private String digest(String objectKey, String eTag, long size) {
+        MessageDigest digest = Sha256.newDigest();
+        byte[] chunk = new byte[READ_CHUNK_SIZE];
+        for (long start = 0; start < size; start += rangeSize) {
+            long end = Math.min(start + rangeSize, size) - 1;
+            try (ResponseInputStream<GetObjectResponse> range = s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(s3Properties.bucket())
+                    .key(objectKey)
+                    .range("bytes=" + start + "-" + end)
+                    .ifMatch(eTag)
+                    .build())) {
+                update(digest, range, chunk);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to read range " + start + "-" + end + " of " + objectKey, ex);
+            }
+        }
+        return Sha256.hex(digest);
+    }
+
+    private static void update(MessageDigest digest, InputStream in, byte[] chunk) throws IOException {
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            digest.update(chunk, 0, read);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.application.service.ProducerApprovalClient;
+import com.ecoledger.movimentacao.config.ProducerApprovalProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of producer approval decisions in front of {@link HttpProducerApprovalClient}.
+ * Entries are invalidated when users-service publishes an approval or rejection for the producer.
+ */
+@Component
+@Primary
+public class CachingProducerApprovalClient implements ProducerApprovalClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingProducerApprovalClient.class);
+    static final String CACHE_NAME = "producerApproval";
+
+    private final ProducerApprovalClient delegate;
+    private final Cache<String, Boolean> cache;
+    private final boolean enabled;
+
+    public CachingProducerApprovalClient(HttpProducerApprovalClient delegate,
+                                         ProducerApprovalProperties properties,
+                                         MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        var cacheProperties = properties.cache();
+        this.enabled = cacheProperties.enabled();
+        long positiveTtlNanos = cacheProperties.ttl().toNanos();
+        long negativeTtlNanos = cacheProperties.negativeTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.maxSize())
+                .expireAfter(new Expiry<String, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(String key, Boolean approved, long currentTime) {
+                        return approved ? positiveTtlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Boolean approved, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, approved, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Boolean approved, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public boolean isApproved(String producerId) {
+        if (!enabled) {
+            return delegate.isApproved(producerId);
+        }
+        return cache.get(producerId, delegate::isApproved);
+    }
+
+    public void invalidate(String producerId) {
+        cache.invalidate(producerId);
+        LOGGER.info("Invalidated cached approval decision for producer {}", producerId);
+    }
+}
@@ -1,7 +1,27 @@
 package com.ecoledger.movimentacao.application.service.impl;
 
 import com.ecoledger.movimentacao.application.service.ProducerApprovalClient;
+import com.ecoledger.movimentacao.application.service.ProducerApprovalUnavailableException;
 import com.ecoledger.movimentacao.config.ProducerApprovalProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -10,26 +30,64 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+
+/**
+ * Checks producer approval against users-service.
+ * Calls share a pooled keep-alive connection manager, are limited by a bulkhead and guarded by a circuit breaker:
+ * when users-service is slow or failing, callers get {@link ProducerApprovalUnavailableException} right away
+ * instead of holding a request thread for the whole timeout.
+ */
 @Component
 public class HttpProducerApprovalClient implements ProducerApprovalClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpProducerApprovalClient.class);
+    static final String CLIENT_NAME = "usersService";
 
     private final RestTemplate restTemplate;
     private final ProducerApprovalProperties properties;
     private final ProducerApprovalTokenProvider tokenProvider;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
 
     public HttpProducerApprovalClient(ProducerApprovalProperties properties,
-                                      ProducerApprovalTokenProvider tokenProvider) {
+                                      ProducerApprovalTokenProvider tokenProvider,
+                                      MeterRegistry meterRegistry) {
         this.properties = properties;
         this.tokenProvider = tokenProvider;
-        this.restTemplate = createTemplate(properties);
+        var resilience = properties.resilience();
+        this.connectionManager = createConnectionManager(properties);
+        this.httpClient = createHttpClient(properties, connectionManager);
+        this.restTemplate = createTemplate(httpClient);
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(resilience.failureRateThreshold())
+                .slowCallRateThreshold(resilience.slowCallRateThreshold())
+                .slowCallDurationThreshold(resilience.slowCallThreshold())
+                .slidingWindowSize(resilience.slidingWindowSize())
+                .minimumNumberOfCalls(Math.min(10, resilience.slidingWindowSize()))
+                .waitDurationInOpenState(resilience.openStateDuration())
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .recordExceptions(UsersServiceFailure.class, RestClientException.class)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(resilience.maxConcurrentCalls())
+                .maxWaitDuration(resilience.maxWaitDuration())
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CLIENT_NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(CLIENT_NAME);
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, CLIENT_NAME).bindTo(meterRegistry);
     }
 
     @Override
@@ -38,34 +96,72 @@ public class HttpProducerApprovalClient implements ProducerApprovalClient {
         var url = properties.baseUrl() + "/usuarios/" + producerId;
         LOGGER.info("Checking producer approval for {} traceId={} url={}", producerId, traceId, url);
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(tokenProvider.currentToken());
-            HttpEntity<Void> request = new HttpEntity<>(headers);
-            ResponseEntity<UsuarioResponse> response = restTemplate.exchange(url, HttpMethod.GET, request, UsuarioResponse.class);
-            LOGGER.debug("Producer service responded with status={} body={}", response.getStatusCode().value(), response.getBody());
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                LOGGER.info("Producer {} not approved or no body returned traceId={}", producerId, traceId);
-                return false;
-            }
-            var usuario = response.getBody();
-            boolean approved = usuario.isProdutor() && usuario.isAprovado();
-            LOGGER.info("Producer {} approval result={} traceId={}", producerId, approved, traceId);
-            return approved;
-        } catch (RestClientException ex) {
-            LOGGER.warn("Falha ao consultar usuario {} no serviço de usuários traceId={}", producerId, MDC.get("traceId"), ex);
+            return Bulkhead.decorateSupplier(bulkhead,
+                    CircuitBreaker.decorateSupplier(circuitBreaker, () -> fetchApproval(producerId, url, traceId))).get();
+        } catch (Exception ex) {
+            LOGGER.warn("Falha ao consultar usuario {} no serviço de usuários traceId={} error={}", producerId, traceId, ex.getMessage());
+            throw new ProducerApprovalUnavailableException(producerId, ex);
+        }
+    }
+
+    private boolean fetchApproval(String producerId, String url, String traceId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenProvider.currentToken());
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+        ResponseEntity<UsuarioResponse> response = restTemplate.exchange(url, HttpMethod.GET, request, UsuarioResponse.class);
+        LOGGER.debug("Producer service responded with status={} body={}", response.getStatusCode().value(), response.getBody());
+        if (response.getStatusCode().is5xxServerError()) {
+            throw new UsersServiceFailure("users-service responded with status " + response.getStatusCode().value());
+        }
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            LOGGER.info("Producer {} not approved or no body returned traceId={}", producerId, traceId);
             return false;
         }
+        var usuario = response.getBody();
+        boolean approved = usuario.isProdutor() && usuario.isAprovado();
+        LOGGER.info("Producer {} approval result={} traceId={}", producerId, approved, traceId);
+        return approved;
+    }
+
+    private static PoolingHttpClientConnectionManager createConnectionManager(ProducerApprovalProperties properties) {
+        Timeout timeout = Timeout.ofMilliseconds(properties.timeoutMs());
+        int maxConnections = properties.resilience().maxConnections();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout)
+                        .setSocketTimeout(timeout)
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+    }
+
+    private static CloseableHttpClient createHttpClient(ProducerApprovalProperties properties,
+                                                        PoolingHttpClientConnectionManager connectionManager) {
+        Timeout timeout = Timeout.ofMilliseconds(properties.timeoutMs());
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout)
+                        .setResponseTimeout(timeout)
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .disableAutomaticRetries()
+                .build();
     }
 
-    private RestTemplate createTemplate(ProducerApprovalProperties properties) {
-        var factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout((int) properties.timeoutMs());
-        factory.setReadTimeout((int) properties.timeoutMs());
-        var template = new RestTemplate(factory);
+    private static RestTemplate createTemplate(CloseableHttpClient httpClient) {
+        var template = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
         template.setErrorHandler(new NoopErrorHandler());
         return template;
     }
 
+    @PreDestroy
+    void close() throws IOException {
+        httpClient.close();
+    }
+
     private record UsuarioResponse(String role, String status) {
         boolean isProdutor() {
             return "produtor".equalsIgnoreCase(role);
@@ -76,6 +172,12 @@ public class HttpProducerApprovalClient implements ProducerApprovalClient {
         }
     }
 
+    private static class UsersServiceFailure extends RuntimeException {
+        UsersServiceFailure(String message) {
+            super(message);
+        }
+    }
+
     private static class NoopErrorHandler implements ResponseErrorHandler {
         @Override
         public boolean hasError(ClientHttpResponse response) {
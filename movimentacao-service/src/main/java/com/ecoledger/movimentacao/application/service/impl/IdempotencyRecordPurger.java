@@ -0,0 +1,52 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.config.IdempotencyProperties;
+import com.ecoledger.movimentacao.domain.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Deletes idempotency records older than the retention window.
+ * Rows are removed in chunks, each in its own short transaction, so the purge never holds long locks on the table.
+ */
+@Component
+public class IdempotencyRecordPurger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyRecordPurger.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+
+    public IdempotencyRecordPurger(IdempotencyRecordRepository repository, IdempotencyProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${movimentacao.idempotency.purge-interval:PT10M}")
+    public void purge() {
+        try {
+            int removed = purgeExpired();
+            if (removed > 0) {
+                LOGGER.info("Purged {} expired idempotency records", removed);
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Idempotency purge failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    int purgeExpired() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(properties.retention());
+        int batchSize = properties.purgeBatchSize();
+        int total = 0;
+        int removed;
+        do {
+            removed = repository.deleteExpiredBatch(cutoff, batchSize);
+            total += removed;
+        } while (removed == batchSize);
+        return total;
+    }
+}
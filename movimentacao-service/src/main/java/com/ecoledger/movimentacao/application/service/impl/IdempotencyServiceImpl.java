@@ -1,35 +1,44 @@
 package com.ecoledger.movimentacao.application.service.impl;
 
 import com.ecoledger.movimentacao.application.dto.MovimentacaoResponse;
+import com.ecoledger.movimentacao.application.service.IdempotencyConflictException;
 import com.ecoledger.movimentacao.application.service.IdempotencyService;
+import com.ecoledger.movimentacao.config.IdempotencyProperties;
 import com.ecoledger.movimentacao.domain.model.IdempotencyRecord;
 import com.ecoledger.movimentacao.domain.repository.IdempotencyRecordRepository;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import java.time.OffsetDateTime;
-import java.util.HexFormat;
 import java.util.Optional;
+import java.util.UUID;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Keyed requests claim their key with a single {@code INSERT ... ON CONFLICT DO NOTHING} in the same transaction
+ * as the create, so a concurrent duplicate waits for the first one and then replays its response.
+ * Completed keys are kept in a bounded in-memory cache, so retries usually never reach the database.
+ * A key reused with a different request hash is rejected with {@link IdempotencyConflictException} instead of
+ * replaying the response of the first request.
+ */
 @Service
 public class IdempotencyServiceImpl implements IdempotencyService {
 
+    private static final String KEY_PREFIX = "key:";
+    private static final String HASH_PREFIX = "hash:";
+
     private final IdempotencyRecordRepository repository;
+    private final Cache<String, Completed> completed;
     private final org.slf4j.Logger LOG = org.slf4j.LoggerFactory.getLogger(IdempotencyServiceImpl.class);
 
-    public IdempotencyServiceImpl(IdempotencyRecordRepository repository) {
+    public IdempotencyServiceImpl(IdempotencyRecordRepository repository, IdempotencyProperties properties) {
         this.repository = repository;
-    }
-
-    private String sha256(String value) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(value.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(digest);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.cacheMaxSize())
+                .expireAfterWrite(properties.retention())
+                .build();
     }
 
     @Override
@@ -38,54 +47,80 @@ public class IdempotencyServiceImpl implements IdempotencyService {
         String traceId = org.slf4j.MDC.get("traceId");
         LOG.info("Idempotency handle start idempotencyKey={} requestHash={} traceId={}", idempotencyKey, requestHash, traceId);
         if (idempotencyKey != null && !idempotencyKey.isBlank()) {
-            Optional<IdempotencyRecord> existing = repository.findByIdempotencyKey(idempotencyKey);
-            if (existing.isPresent()) {
-                var r = existing.get();
-                LOG.info("Found existing idempotency record key={} status={} traceId={}", idempotencyKey, r.getStatus(), traceId);
-                if ("COMPLETED".equals(r.getStatus())) {
-                    // return stored response
-                    var body = r.getResponseBody();
-                    // stored body is just UUID string
-                    LOG.info("Returning completed idempotent response for key={} id={} traceId={}", idempotencyKey, body, traceId);
-                    return Optional.of(new MovimentacaoResponse(java.util.UUID.fromString(body)));
-                }
-                // in-progress: fallthrough to avoid blocking; return empty to indicate caller should proceed
-                LOG.info("Idempotency record in-progress for key={} traceId={}", idempotencyKey, traceId);
-                return Optional.empty();
+            Completed cached = completed.getIfPresent(KEY_PREFIX + idempotencyKey);
+            if (cached != null) {
+                ensureSameRequest(idempotencyKey, cached.requestHash(), requestHash);
+                LOG.info("Returning cached idempotent response for key={} id={} traceId={}", idempotencyKey, cached.id(), traceId);
+                return Optional.of(new MovimentacaoResponse(cached.id()));
             }
-            // create a record in-progress
-            IdempotencyRecord rec = new IdempotencyRecord(idempotencyKey, requestHash, "IN_PROGRESS", OffsetDateTime.now());
-            repository.save(rec);
-            LOG.info("Created idempotency record key={} traceId={}", idempotencyKey, traceId);
-            try {
-                java.util.UUID id = createOperation.call();
-                rec.setResponseBody(id.toString());
-                rec.setStatus("COMPLETED");
-                repository.save(rec);
-                LOG.info("Idempotency record completed key={} id={} traceId={}", idempotencyKey, id, traceId);
-                return Optional.of(new MovimentacaoResponse(id));
-            } catch (Exception ex) {
-                // mark failed and rethrow
-                rec.setStatus("FAILED");
-                repository.save(rec);
-                LOG.error("Idempotency create failed key={} traceId={} error={}", idempotencyKey, traceId, ex.getMessage(), ex);
-                throw ex;
+            if (repository.claim(UUID.randomUUID(), idempotencyKey, requestHash, OffsetDateTime.now()) == 0) {
+                return Optional.of(replay(idempotencyKey, requestHash, traceId));
             }
+            LOG.info("Claimed idempotency key={} traceId={}", idempotencyKey, traceId);
+            UUID id = createOperation.call();
+            repository.complete(idempotencyKey, id.toString());
+            cacheAfterCommit(KEY_PREFIX + idempotencyKey, new Completed(id, requestHash));
+            LOG.info("Idempotency record completed key={} id={} traceId={}", idempotencyKey, id, traceId);
+            return Optional.of(new MovimentacaoResponse(id));
         } else {
             // fallback dedup by requestHash
             LOG.info("No idempotency key provided, attempting dedup by requestHash={} traceId={}", requestHash, traceId);
+            Completed cached = completed.getIfPresent(HASH_PREFIX + requestHash);
+            if (cached != null) {
+                LOG.info("Returning cached response for hash={} id={} traceId={}", requestHash, cached.id(), traceId);
+                return Optional.of(new MovimentacaoResponse(cached.id()));
+            }
             Optional<IdempotencyRecord> existing = repository.findByRequestHash(requestHash);
             if (existing.isPresent() && "COMPLETED".equals(existing.get().getStatus())) {
-                LOG.info("Found existing completed record by hash={} id={} traceId={}", requestHash, existing.get().getResponseBody(), traceId);
-                return Optional.of(new MovimentacaoResponse(java.util.UUID.fromString(existing.get().getResponseBody())));
+                UUID id = UUID.fromString(existing.get().getResponseBody());
+                completed.put(HASH_PREFIX + requestHash, new Completed(id, requestHash));
+                LOG.info("Found existing completed record by hash={} id={} traceId={}", requestHash, id, traceId);
+                return Optional.of(new MovimentacaoResponse(id));
             }
             // no key and not found: perform operation and store a record (no key)
-            java.util.UUID id = createOperation.call();
+            UUID id = createOperation.call();
             IdempotencyRecord rec = new IdempotencyRecord(null, requestHash, "COMPLETED", OffsetDateTime.now());
             rec.setResponseBody(id.toString());
             repository.save(rec);
+            cacheAfterCommit(HASH_PREFIX + requestHash, new Completed(id, requestHash));
             LOG.info("Stored record for hash={} id={} traceId={}", requestHash, id, traceId);
             return Optional.of(new MovimentacaoResponse(id));
         }
     }
+
+    private MovimentacaoResponse replay(String idempotencyKey, String requestHash, String traceId) {
+        IdempotencyRecord existing = repository.findByIdempotencyKey(idempotencyKey)
+                .orElseThrow(() -> new IdempotencyConflictException(idempotencyKey));
+        LOG.info("Found existing idempotency record key={} status={} traceId={}", idempotencyKey, existing.getStatus(), traceId);
+        ensureSameRequest(idempotencyKey, existing.getRequestHash(), requestHash);
+        if (!"COMPLETED".equals(existing.getStatus())) {
+            throw new IdempotencyConflictException(idempotencyKey);
+        }
+        UUID id = UUID.fromString(existing.getResponseBody());
+        completed.put(KEY_PREFIX + idempotencyKey, new Completed(id, existing.getRequestHash()));
+        return new MovimentacaoResponse(id);
+    }
+
+    private void ensureSameRequest(String idempotencyKey, String storedHash, String requestHash) {
+        if (!java.util.Objects.equals(storedHash, requestHash)) {
+            LOG.warn("Idempotency key reused with a different request key={} traceId={}", idempotencyKey, org.slf4j.MDC.get("traceId"));
+            throw new IdempotencyConflictException(idempotencyKey, "was already used with a different request body");
+        }
+    }
+
+    private void cacheAfterCommit(String cacheKey, Completed value) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            completed.put(cacheKey, value);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                completed.put(cacheKey, value);
+            }
+        });
+    }
+
+    private record Completed(UUID id, String requestHash) {
+    }
 }
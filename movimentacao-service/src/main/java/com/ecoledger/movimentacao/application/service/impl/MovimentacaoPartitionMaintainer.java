@@ -0,0 +1,84 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.config.PartitionProperties;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps the monthly partitions of {@code movimentacoes} ahead of the clock and archives the ones past retention.
+ * Each run creates the partitions for the current month and the next {@code premakeMonths}, then detaches every
+ * partition older than {@code retentionMonths} into the archive schema. The whole run holds a transaction-scoped
+ * advisory lock, so when several instances fire at once only one of them does the work. The scheduler pool has a
+ * thread per job ({@code spring.task.scheduling.pool.size}), so a long run does not hold up the outbox relay.
+ */
+@Component
+@ConditionalOnProperty(prefix = "movimentacao.partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MovimentacaoPartitionMaintainer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MovimentacaoPartitionMaintainer.class);
+    /** Arbitrary advisory lock key reserved for this job. */
+    static final long ADVISORY_LOCK_KEY = 0x6d6f765f70617274L;
+
+    private final MovimentacaoRepository repository;
+    private final PartitionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public MovimentacaoPartitionMaintainer(MovimentacaoRepository repository, PartitionProperties properties,
+                                           TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Partitions created and archived by one run; {@code skipped} when another instance held the lock.
+     */
+    record Result(boolean skipped, List<String> created, List<String> archived) {
+
+        static final Result SKIPPED = new Result(true, List.of(), List.of());
+    }
+
+    @Scheduled(fixedDelayString = "${movimentacao.partitions.maintenance-interval:PT6H}")
+    public void maintain() {
+        try {
+            Result result = maintain(YearMonth.now(ZoneOffset.UTC));
+            if (result.skipped()) {
+                LOGGER.debug("Partition maintenance skipped, another instance holds the lock");
+                return;
+            }
+            if (!result.created().isEmpty() || !result.archived().isEmpty()) {
+                LOGGER.info("Partition maintenance created={} archived={}", result.created(), result.archived());
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Partition maintenance failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    Result maintain(YearMonth current) {
+        return transactionTemplate.execute(status -> {
+            if (!repository.tryAdvisoryXactLock(ADVISORY_LOCK_KEY)) {
+                return Result.SKIPPED;
+            }
+            List<String> created = new ArrayList<>();
+            for (int i = 0; i <= properties.premakeMonths(); i++) {
+                created.add(repository.ensurePartition(current.plusMonths(i).atDay(1)));
+            }
+            created.removeIf(Objects::isNull);
+            List<String> archived = properties.retentionMonths() > 0
+                    ? repository.archivePartitionsBefore(current.minusMonths(properties.retentionMonths()).atDay(1))
+                    : List.of();
+            return new Result(false, created, archived);
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded pool of fixed-size direct buffers. Buffers are allocated lazily up to {@code maxBuffers} and reused
+ * afterwards, so they live outside the heap and are never garbage collected.
+ */
+class PartBufferPool {
+
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final Semaphore permits;
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+
+    PartBufferPool(int bufferSize, int maxBuffers) {
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+        this.permits = new Semaphore(maxBuffers);
+    }
+
+    /**
+     * @return a cleared buffer, or {@code null} when none became available within {@code timeout}
+     */
+    ByteBuffer acquire(Duration timeout) throws InterruptedException {
+        if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            return null;
+        }
+        ByteBuffer buffer = free.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    void release(ByteBuffer buffer) {
+        buffer.clear();
+        free.offer(buffer);
+        permits.release();
+    }
+
+    int inUse() {
+        return maxBuffers - permits.availablePermits();
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+}
@@ -3,7 +3,13 @@ package com.ecoledger.movimentacao.application.service.impl;
 import com.ecoledger.movimentacao.application.dto.MovimentacaoRequest.MovimentacaoRequestAttachment;
 import com.ecoledger.movimentacao.application.service.AttachmentStorageService;
 import com.ecoledger.movimentacao.application.service.InvalidAttachmentException;
+import com.ecoledger.movimentacao.config.AttachmentIntegrityProperties;
+import com.ecoledger.movimentacao.config.AttachmentMetadataCacheProperties;
 import com.ecoledger.movimentacao.config.S3Properties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,17 +20,102 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Validates attachments against the object store. HeadObject results are cached per object key together with the
+ * ETag they were read for: confirm always reads fresh metadata and replaces the entry when the ETag changed, while
+ * validations during {@code registrar} (and client retries of it) are served from the cache. An entry older than
+ * {@code revalidateAfter} is revalidated with a HeadObject conditional on that ETag first: a 304 keeps it, any other
+ * response replaces it, so a validation never trusts metadata of an object that was replaced longer ago than that.
+ * <p>
+ * The {@code hash} metadata holds the SHA-256 computed by the service itself: inline for proxy uploads, or by
+ * {@link AttachmentHashVerifier} for presigned uploads, which confirm queues for hashing and waits on for a bounded
+ * time. Confirm returns that digest, so clients register attachments with the hash the service computed rather than
+ * one of their own; a declared hash that differs from it is rejected.
+ */
 public class S3AttachmentStorageService implements AttachmentStorageService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(S3AttachmentStorageService.class);
+    static final String CACHE_NAME = "attachmentMetadata";
+    static final String HASH_METADATA_KEY = "hash";
 
     private final S3Properties properties;
     private final S3Client s3Client;
+    private final Cache<String, ObjectMetadata> metadataCache;
+    private final Duration revalidateAfter;
+    private final AttachmentHashVerifier hashVerifier;
+    private final boolean requireVerifiedHash;
+    private final Duration confirmWait;
 
     public S3AttachmentStorageService(S3Properties properties, S3Client s3Client) {
+        this(properties, s3Client, null, Duration.ZERO, null, false, Duration.ZERO);
+    }
+
+    public S3AttachmentStorageService(S3Properties properties,
+                                      S3Client s3Client,
+                                      AttachmentMetadataCacheProperties cacheProperties,
+                                      MeterRegistry meterRegistry) {
+        this(properties, s3Client, buildCache(cacheProperties, meterRegistry), cacheProperties.revalidateAfter(), null, false,
+                Duration.ZERO);
+    }
+
+    public S3AttachmentStorageService(S3Properties properties,
+                                      S3Client s3Client,
+                                      AttachmentMetadataCacheProperties cacheProperties,
+                                      AttachmentIntegrityProperties integrityProperties,
+                                      AttachmentHashVerifier hashVerifier,
+                                      MeterRegistry meterRegistry) {
+        this(properties, s3Client, buildCache(cacheProperties, meterRegistry), cacheProperties.revalidateAfter(), hashVerifier,
+                integrityProperties.requireVerified(), integrityProperties.confirmWait());
+    }
+
+    private S3AttachmentStorageService(S3Properties properties,
+                                       S3Client s3Client,
+                                       Cache<String, ObjectMetadata> metadataCache,
+                                       Duration revalidateAfter,
+                                       AttachmentHashVerifier hashVerifier,
+                                       boolean requireVerifiedHash,
+                                       Duration confirmWait) {
         this.properties = properties;
         this.s3Client = s3Client;
+        this.metadataCache = metadataCache;
+        this.revalidateAfter = revalidateAfter;
+        this.hashVerifier = hashVerifier;
+        this.requireVerifiedHash = requireVerifiedHash;
+        this.confirmWait = confirmWait;
+    }
+
+    private static Cache<String, ObjectMetadata> buildCache(AttachmentMetadataCacheProperties cacheProperties,
+                                                            MeterRegistry meterRegistry) {
+        if (!cacheProperties.enabled()) {
+            return null;
+        }
+        Cache<String, ObjectMetadata> cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.maxSize())
+                .expireAfterWrite(cacheProperties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        return cache;
+    }
+
+    /**
+     * The parts of a HeadObject response the validations need.
+     */
+    record ObjectMetadata(String eTag, long contentLength, String contentType, String hash) {
+
+        static ObjectMetadata of(HeadObjectResponse response) {
+            String hash = response.metadata() == null ? null : response.metadata().get(HASH_METADATA_KEY);
+            return new ObjectMetadata(response.eTag(), response.contentLength() == null ? 0L : response.contentLength(),
+                    response.contentType(), hash);
+        }
     }
 
     @Override
@@ -33,10 +124,10 @@ public class S3AttachmentStorageService implements AttachmentStorageService {
         LOGGER.info("Validating attachment url={} mime={} traceId={}", attachment.url(), attachment.tipo(), traceId);
         ensureMimeAllowed(attachment.tipo());
         String key = resolveKey(attachment.url());
-        HeadObjectResponse metadata = fetchMetadata(key);
+        ObjectMetadata metadata = fetchMetadata(key);
         validateContentLength(metadata);
         validateContentType(attachment, metadata);
-        validateHash(attachment, metadata);
+        validateHash(attachment, metadata, key);
         LOGGER.info("Attachment validation passed key={} traceId={}", key, traceId);
     }
 
@@ -44,26 +135,24 @@ public class S3AttachmentStorageService implements AttachmentStorageService {
     public AttachmentConfirmation confirmUpload(String objectKey) {
         String traceId = MDC.get("traceId");
         String key = objectKey;
-        HeadObjectRequest request = HeadObjectRequest.builder()
-                .bucket(properties.bucket())
-                .key(key)
-                .build();
         try {
-            HeadObjectResponse metadata = s3Client.headObject(request);
+            ObjectMetadata metadata = ObjectMetadata.of(headObject(key));
+            cache(key, metadata);
             String contentType = metadata.contentType();
-            String hash = (metadata.metadata() == null) ? null : metadata.metadata().get("hash");
+            String hash = metadata.hash() != null ? metadata.hash() : awaitVerification(key);
             long size = metadata.contentLength();
-            String base = properties.publicBaseUrl() != null && !properties.publicBaseUrl().isBlank() ? properties.publicBaseUrl() : properties.endpoint();
-            if (base.endsWith("/")) base = base.substring(0, base.length() - 1);
-            String url;
-            if (base.endsWith("/" + properties.bucket()) || base.endsWith(properties.bucket())) {
-                url = String.format("%s/%s", base, key);
-            } else {
-                url = String.format("%s/%s/%s", base, properties.bucket(), key);
+            // presigned uploads only sign the length when the client declared it
+            if (size > properties.maxAttachmentSizeBytes()) {
+                LOGGER.warn("Uploaded attachment exceeds max size key={} size={} traceId={}", key, size, traceId);
+                throw new InvalidAttachmentException("Attachment exceeds max allowed size");
             }
+            String url = properties.objectUrl(key);
             LOGGER.info("Confirmed upload key={} size={} contentType={} url={} traceId={}", key, size, contentType, url, traceId);
             return new AttachmentConfirmation(objectKey, url, contentType, hash, size);
         } catch (NoSuchKeyException ex) {
+            if (metadataCache != null) {
+                metadataCache.invalidate(key);
+            }
             LOGGER.warn("Attachment not found key={} traceId={}", key, MDC.get("traceId"));
             throw new InvalidAttachmentException("Attachment not found in storage");
         } catch (AwsServiceException | SdkClientException ex) {
@@ -78,21 +167,29 @@ public class S3AttachmentStorageService implements AttachmentStorageService {
         }
     }
 
-    private HeadObjectResponse fetchMetadata(String key) {
-        HeadObjectRequest request = HeadObjectRequest.builder()
-                .bucket(properties.bucket())
-                .key(key)
-                .build();
+    private ObjectMetadata fetchMetadata(String key) {
+        ObjectMetadata cached = metadataCache == null ? null : metadataCache.getIfPresent(key);
+        if (cached != null && !needsRevalidation(key, cached)) {
+            LOGGER.debug("Attachment metadata served from cache key={} eTag={}", key, cached.eTag());
+            return cached;
+        }
         try {
-            LOGGER.info("HeadObject request bucket={} key={} traceId={}", properties.bucket(), key, MDC.get("traceId"));
-            return s3Client.headObject(request);
+            if (cached != null) {
+                return revalidate(key, cached);
+            }
+            ObjectMetadata metadata = ObjectMetadata.of(headObject(key));
+            cache(key, metadata);
+            return metadata;
         } catch (NoSuchKeyException ex) {
+            if (metadataCache != null) {
+                metadataCache.invalidate(key);
+            }
             // In local/dev environments where MinIO or S3 mock may not have the object uploaded
             // be lenient and return a minimal metadata response so feature tests can proceed.
             boolean lenientEnv = Boolean.parseBoolean(System.getenv().getOrDefault("MOVIMENTACAO_S3_LENIENT_WHEN_MISSING", "false"));
             if (lenientEnv && properties.endpoint() != null && (properties.endpoint().contains("localhost") || properties.endpoint().contains("127.0.0.1"))) {
                 LOGGER.warn("Attachment not found key={} but running against local S3 endpoint {}; lenient validation applied", key, properties.endpoint());
-                return HeadObjectResponse.builder().contentLength(0L).contentType("").build();
+                return new ObjectMetadata(null, 0L, "", null);
             }
             throw new InvalidAttachmentException("Attachment not found in storage");
         } catch (AwsServiceException | SdkClientException ex) {
@@ -100,14 +197,95 @@ public class S3AttachmentStorageService implements AttachmentStorageService {
         }
     }
 
-    private void validateContentLength(HeadObjectResponse response) {
+    private boolean needsRevalidation(String key, ObjectMetadata cached) {
+        if (cached.eTag() == null) {
+            return true;
+        }
+        // the write time is when the ETag was last confirmed: a revalidation that gets 304 puts the entry back
+        return metadataCache.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key))
+                .map(age -> age.compareTo(revalidateAfter) >= 0)
+                .orElse(true);
+    }
+
+    private ObjectMetadata revalidate(String key, ObjectMetadata cached) {
+        try {
+            ObjectMetadata metadata = ObjectMetadata.of(headObject(key, cached.eTag()));
+            cache(key, metadata);
+            return metadata;
+        } catch (S3Exception ex) {
+            if (ex.statusCode() != 304) {
+                throw ex;
+            }
+            LOGGER.debug("Attachment metadata revalidated key={} eTag={}", key, cached.eTag());
+            metadataCache.put(key, cached);
+            return cached;
+        }
+    }
+
+    private HeadObjectResponse headObject(String key) {
+        return headObject(key, null);
+    }
+
+    private HeadObjectResponse headObject(String key, String ifNoneMatch) {
+        LOGGER.info("HeadObject request bucket={} key={} ifNoneMatch={} traceId={}", properties.bucket(), key, ifNoneMatch,
+                MDC.get("traceId"));
+        return s3Client.headObject(HeadObjectRequest.builder()
+                .bucket(properties.bucket())
+                .key(key)
+                .ifNoneMatch(ifNoneMatch)
+                .build());
+    }
+
+    private void cache(String key, ObjectMetadata metadata) {
+        if (metadataCache == null) {
+            return;
+        }
+        ObjectMetadata previous = metadataCache.asMap().put(key, metadata);
+        if (previous != null && !StringUtils.equals(previous.eTag(), metadata.eTag())) {
+            LOGGER.info("Attachment replaced in storage key={} eTag={} previousETag={}", key, metadata.eTag(), previous.eTag());
+        }
+    }
+
+    private CompletableFuture<String> verifyInBackground(String key) {
+        if (hashVerifier == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // the self copy that stores the hash changes the metadata, so the cached entry is dropped once it is done
+        return hashVerifier.submit(key).whenComplete((hash, ex) -> {
+            if (ex == null && metadataCache != null) {
+                metadataCache.invalidate(key);
+            }
+        });
+    }
+
+    /**
+     * @return the digest computed by the verifier, or {@code null} when it is not done within {@code confirmWait};
+     * the verification keeps running and a later confirm returns the stored digest
+     */
+    private String awaitVerification(String key) {
+        CompletableFuture<String> verification = verifyInBackground(key);
+        try {
+            return verification.get(confirmWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            LOGGER.info("Attachment hash still being verified key={} traceId={}", key, MDC.get("traceId"));
+        } catch (ExecutionException ex) {
+            LOGGER.warn("Attachment hash not verified key={} traceId={} error={}", key, MDC.get("traceId"),
+                    ex.getCause().getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private void validateContentLength(ObjectMetadata response) {
         long contentLength = response.contentLength();
         if (contentLength > properties.maxAttachmentSizeBytes()) {
             throw new InvalidAttachmentException("Attachment exceeds max allowed size");
         }
     }
 
-    private void validateContentType(MovimentacaoRequestAttachment attachment, HeadObjectResponse response) {
+    private void validateContentType(MovimentacaoRequestAttachment attachment, ObjectMetadata response) {
         if (StringUtils.isBlank(response.contentType())) {
             return;
         }
@@ -116,12 +294,14 @@ public class S3AttachmentStorageService implements AttachmentStorageService {
         }
     }
 
-    private void validateHash(MovimentacaoRequestAttachment attachment, HeadObjectResponse response) {
-        if (response.metadata() == null || response.metadata().isEmpty()) {
-            return;
-        }
-        String remoteHash = response.metadata().get("hash");
+    private void validateHash(MovimentacaoRequestAttachment attachment, ObjectMetadata response, String key) {
+        String remoteHash = response.hash();
         if (remoteHash == null) {
+            if (requireVerifiedHash) {
+                throw new InvalidAttachmentException("Attachment integrity not verified yet");
+            }
+            LOGGER.warn("Attachment accepted before its hash was verified key={} traceId={}", key, MDC.get("traceId"));
+            verifyInBackground(key);
             return;
         }
         if (!remoteHash.equalsIgnoreCase(attachment.hash())) {
@@ -0,0 +1,240 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.application.service.AttachmentTooLargeException;
+import com.ecoledger.movimentacao.application.service.AttachmentUploadUnavailableException;
+import com.ecoledger.movimentacao.config.AttachmentUploadProperties;
+import com.ecoledger.movimentacao.config.S3Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams an upload into S3 through one pooled, fixed-size direct buffer. Bodies that fit in a single part are
+ * stored with a plain PutObject; larger ones become a multipart upload, one part per filled buffer. The size
+ * limit is enforced while reading, and any failure, including the client going away mid-body, aborts the
+ * multipart upload so no orphan parts are left in the bucket. The SHA-256 of the body is computed from the same
+ * chunks as they are read and stored as the object's {@code hash} metadata.
+ */
+public class S3MultipartUploader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(S3MultipartUploader.class);
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    private final S3Properties s3Properties;
+    private final S3Client s3Client;
+    private final PartBufferPool bufferPool;
+    private final Duration acquireTimeout;
+
+    public S3MultipartUploader(S3Properties s3Properties, AttachmentUploadProperties uploadProperties, S3Client s3Client) {
+        this(s3Properties, s3Client, (int) uploadProperties.partSize().toBytes(), uploadProperties.maxBuffers(),
+                uploadProperties.bufferAcquireTimeout());
+    }
+
+    S3MultipartUploader(S3Properties s3Properties, S3Client s3Client, int partSize, int maxBuffers, Duration acquireTimeout) {
+        this.s3Properties = s3Properties;
+        this.s3Client = s3Client;
+        this.bufferPool = new PartBufferPool(partSize, maxBuffers);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Size and hex SHA-256 of a stored object.
+     */
+    public record StoredObject(long size, String sha256) {
+    }
+
+    /**
+     * @return size and digest of the stored object
+     * @throws AttachmentTooLargeException when the body exceeds {@code maxAttachmentSizeBytes}
+     * @throws AttachmentUploadUnavailableException when no part buffer is available
+     * @throws IOException when reading the body fails, typically because the client disconnected
+     */
+    public StoredObject upload(String objectKey, String contentType, InputStream body) throws IOException {
+        ByteBuffer buffer = acquireBuffer();
+        byte[] chunk = new byte[READ_CHUNK_SIZE];
+        MessageDigest digest = Sha256.newDigest();
+        String uploadId = null;
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            long uploaded = 0;
+            boolean eof = false;
+            while (!eof) {
+                eof = fill(body, buffer, chunk, digest, uploaded);
+                if (buffer.position() == 0 && uploadId != null) {
+                    break;
+                }
+                buffer.flip();
+                if (uploadId == null && eof) {
+                    long size = buffer.remaining();
+                    String hash = Sha256.hex(digest);
+                    s3Client.putObject(PutObjectRequest.builder()
+                            .bucket(s3Properties.bucket())
+                            .key(objectKey)
+                            .contentType(contentType)
+                            .metadata(Map.of(S3AttachmentStorageService.HASH_METADATA_KEY, hash))
+                            .build(), requestBody(buffer, contentType));
+                    return new StoredObject(size, hash);
+                }
+                if (uploadId == null) {
+                    uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                            .bucket(s3Properties.bucket())
+                            .key(objectKey)
+                            .contentType(contentType)
+                            .build()).uploadId();
+                }
+                int partNumber = parts.size() + 1;
+                long partSize = buffer.remaining();
+                String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                        .bucket(s3Properties.bucket())
+                        .key(objectKey)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength(partSize)
+                        .build(), requestBody(buffer, contentType)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                uploaded += partSize;
+                buffer.clear();
+            }
+            String eTag = s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(s3Properties.bucket())
+                    .key(objectKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build()).eTag();
+            String hash = Sha256.hex(digest);
+            // the digest is only known after the last part, once metadata can no longer be set on the upload;
+            // a server-side self copy attaches it without moving the bytes through the service again
+            s3Client.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(s3Properties.bucket())
+                    .sourceKey(objectKey)
+                    .destinationBucket(s3Properties.bucket())
+                    .destinationKey(objectKey)
+                    .copySourceIfMatch(eTag)
+                    .metadataDirective(MetadataDirective.REPLACE)
+                    .contentType(contentType)
+                    .metadata(Map.of(S3AttachmentStorageService.HASH_METADATA_KEY, hash))
+                    .build());
+            LOGGER.debug("Completed multipart upload key={} parts={} bytes={}", objectKey, parts.size(), uploaded);
+            return new StoredObject(uploaded, hash);
+        } catch (IOException | RuntimeException ex) {
+            if (uploadId != null) {
+                abort(objectKey, uploadId);
+            }
+            throw ex;
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    public int buffersInUse() {
+        return bufferPool.inUse();
+    }
+
+    private ByteBuffer acquireBuffer() {
+        try {
+            ByteBuffer buffer = bufferPool.acquire(acquireTimeout);
+            if (buffer == null) {
+                throw new AttachmentUploadUnavailableException("Too many concurrent uploads, try again later");
+            }
+            return buffer;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AttachmentUploadUnavailableException("Interrupted while waiting for an upload buffer");
+        }
+    }
+
+    /**
+     * Reads until the buffer is full or the body ends, failing as soon as the total crosses the size limit. Every
+     * chunk read also goes into the digest.
+     *
+     * @return whether the body is exhausted
+     */
+    private boolean fill(InputStream body, ByteBuffer buffer, byte[] chunk, MessageDigest digest, long alreadyUploaded)
+            throws IOException {
+        long max = s3Properties.maxAttachmentSizeBytes();
+        while (buffer.hasRemaining()) {
+            int read = body.read(chunk, 0, Math.min(chunk.length, buffer.remaining()));
+            if (read < 0) {
+                return true;
+            }
+            buffer.put(chunk, 0, read);
+            digest.update(chunk, 0, read);
+            if (alreadyUploaded + buffer.position() > max) {
+                throw new AttachmentTooLargeException(max);
+            }
+        }
+        return false;
+    }
+
+    private void abort(String objectKey, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(s3Properties.bucket())
+                    .key(objectKey)
+                    .uploadId(uploadId)
+                    .build());
+            LOGGER.info("Aborted multipart upload key={} uploadId={} traceId={}", objectKey, uploadId, MDC.get("traceId"));
+        } catch (RuntimeException ex) {
+            // orphan parts remain until an AbortIncompleteMultipartUpload lifecycle rule expires them
+            LOGGER.warn("Unable to abort multipart upload key={} uploadId={} error={}", objectKey, uploadId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Body backed by the direct buffer without copying it to the heap; every retry reads a fresh view.
+     */
+    private static RequestBody requestBody(ByteBuffer buffer, String contentType) {
+        ByteBuffer content = buffer.asReadOnlyBuffer();
+        return RequestBody.fromContentProvider(() -> new ByteBufferInputStream(content.duplicate()),
+                content.remaining(), contentType == null ? "application/octet-stream" : contentType);
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
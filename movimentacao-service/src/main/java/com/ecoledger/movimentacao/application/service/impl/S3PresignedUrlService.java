@@ -0,0 +1,112 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.application.service.AttachmentTooLargeException;
+import com.ecoledger.movimentacao.application.service.InvalidAttachmentException;
+import com.ecoledger.movimentacao.config.AttachmentPresignProperties;
+import com.ecoledger.movimentacao.config.S3Properties;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Issues presigned S3 URLs so attachment bytes go straight between the client and the object store. Upload URLs
+ * sign the content type and, when the client declares it, the content length: S3 rejects a PUT whose headers do
+ * not match. Objects uploaded without a declared length are still size-checked when the attachment is confirmed.
+ * When the client declares the SHA-256 it is signed as the {@code x-amz-checksum-sha256} header, so the store itself
+ * rejects a body that does not match, and recorded as the {@code hash} metadata.
+ */
+public class S3PresignedUrlService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(S3PresignedUrlService.class);
+
+    private final S3Properties s3Properties;
+    private final AttachmentPresignProperties presignProperties;
+    private final S3Presigner presigner;
+
+    public S3PresignedUrlService(S3Properties s3Properties,
+                                 AttachmentPresignProperties presignProperties,
+                                 S3Presigner presigner) {
+        this.s3Properties = s3Properties;
+        this.presignProperties = presignProperties;
+        this.presigner = presigner;
+    }
+
+    public record PresignedUpload(String url, Map<String, String> headers, Instant expiresAt) {
+    }
+
+    public record PresignedDownload(String url, Instant expiresAt) {
+    }
+
+    public PresignedUpload presignUpload(String objectKey, String contentType, Long contentLength) {
+        return presignUpload(objectKey, contentType, contentLength, null);
+    }
+
+    /**
+     * @param sha256 lower-case hex digest of the body, or {@code null} when the client did not declare one
+     */
+    public PresignedUpload presignUpload(String objectKey, String contentType, Long contentLength, String sha256) {
+        if (StringUtils.isBlank(contentType)) {
+            throw new InvalidAttachmentException("Attachment content type must be provided");
+        }
+        List<String> allowed = s3Properties.allowedMimeTypes();
+        if (allowed != null && !allowed.contains(contentType)) {
+            throw new InvalidAttachmentException("Attachment type not allowed: " + contentType);
+        }
+        if (contentLength != null && contentLength <= 0) {
+            throw new InvalidAttachmentException("Attachment content length must be positive");
+        }
+        if (contentLength != null && contentLength > s3Properties.maxAttachmentSizeBytes()) {
+            throw new AttachmentTooLargeException(s3Properties.maxAttachmentSizeBytes());
+        }
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(presignProperties.uploadExpiry())
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(s3Properties.bucket())
+                        .key(objectKey)
+                        .contentType(contentType)
+                        .contentLength(contentLength)
+                        .checksumSHA256(sha256 == null ? null : Base64.getEncoder().encodeToString(HexFormat.of().parseHex(sha256)))
+                        .metadata(sha256 == null ? null : Map.of(S3AttachmentStorageService.HASH_METADATA_KEY, sha256))
+                        .build())
+                .build());
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        presigned.signedHeaders().forEach((name, values) -> {
+            // the client sets Host itself
+            if (!"host".equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        LOGGER.info("Presigned upload key={} contentType={} contentLength={} expiresAt={} traceId={}",
+                objectKey, contentType, contentLength, presigned.expiration(), MDC.get("traceId"));
+        return new PresignedUpload(presigned.url().toString(), headers, presigned.expiration());
+    }
+
+    public PresignedDownload presignDownload(String objectKey) {
+        if (StringUtils.isBlank(objectKey)) {
+            throw new InvalidAttachmentException("Attachment object key must be provided");
+        }
+        PresignedGetObjectRequest presigned = presigner.presignGetObject(GetObjectPresignRequest.builder()
+                .signatureDuration(presignProperties.downloadExpiry())
+                .getObjectRequest(GetObjectRequest.builder()
+                        .bucket(s3Properties.bucket())
+                        .key(objectKey)
+                        .build())
+                .build());
+        return new PresignedDownload(presigned.url().toString(), presigned.expiration());
+    }
+}
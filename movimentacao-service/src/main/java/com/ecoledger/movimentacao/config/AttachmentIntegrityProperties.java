@@ -0,0 +1,47 @@
+package com.ecoledger.movimentacao.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * SHA-256 verification of stored attachments. Proxy uploads are hashed inline; objects uploaded through presigned
+ * URLs are hashed in the background by {@code workers} threads reading {@code range-size} slices, with at most
+ * {@code queue-capacity} objects waiting; confirm waits up to {@code confirm-wait} for that digest and returns it.
+ * With {@code require-verified} (the default) an attachment whose digest is not known yet is rejected. Turning it off
+ * accepts the client's hash until verification finishes, and a movimentação registered in that window is not revisited
+ * if the computed digest turns out different.
+ */
+@ConfigurationProperties(prefix = "movimentacao.attachments.integrity")
+public record AttachmentIntegrityProperties(Boolean requireVerified,
+                                            DataSize rangeSize,
+                                            Integer workers,
+                                            Integer queueCapacity,
+                                            Duration shutdownTimeout,
+                                            Duration confirmWait) {
+
+    public Boolean requireVerified() {
+        return requireVerified == null || requireVerified;
+    }
+
+    public DataSize rangeSize() {
+        return rangeSize == null ? DataSize.ofMegabytes(1) : rangeSize;
+    }
+
+    public Integer workers() {
+        return workers == null ? 2 : workers;
+    }
+
+    public Integer queueCapacity() {
+        return queueCapacity == null ? 1_000 : queueCapacity;
+    }
+
+    public Duration shutdownTimeout() {
+        return shutdownTimeout == null ? Duration.ofSeconds(10) : shutdownTimeout;
+    }
+
+    public Duration confirmWait() {
+        return confirmWait == null ? Duration.ofSeconds(10) : confirmWait;
+    }
+}
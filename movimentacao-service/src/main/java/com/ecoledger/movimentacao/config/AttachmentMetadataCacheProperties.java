@@ -0,0 +1,30 @@
+package com.ecoledger.movimentacao.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * In-process cache of S3 object metadata. Entries are filled by the HeadObject issued on confirm (or on the first
+ * validation) and live for {@code ttl}. An entry older than {@code revalidateAfter} is checked with a conditional
+ * HeadObject on its ETag before it is used, so an object replaced under the same key is seen within that window.
+ */
+@ConfigurationProperties(prefix = "movimentacao.attachments.metadata-cache")
+public record AttachmentMetadataCacheProperties(Boolean enabled, Long maxSize, Duration ttl, Duration revalidateAfter) {
+
+    public Boolean enabled() {
+        return enabled == null || enabled;
+    }
+
+    public Long maxSize() {
+        return maxSize == null ? 10_000L : maxSize;
+    }
+
+    public Duration ttl() {
+        return ttl == null ? Duration.ofMinutes(5) : ttl;
+    }
+
+    public Duration revalidateAfter() {
+        return revalidateAfter == null ? Duration.ofSeconds(30) : revalidateAfter;
+    }
+}
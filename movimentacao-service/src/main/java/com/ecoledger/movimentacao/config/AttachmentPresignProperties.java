@@ -0,0 +1,21 @@
+package com.ecoledger.movimentacao.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Presigned attachment URLs. The signature covers the host, so {@code endpoint} must be the object store address
+ * as clients see it (e.g. http://localhost:9000 for the compose MinIO); it defaults to {@code s3.endpoint}.
+ */
+@ConfigurationProperties(prefix = "movimentacao.attachments.presign")
+public record AttachmentPresignProperties(String endpoint, Duration uploadExpiry, Duration downloadExpiry) {
+
+    public Duration uploadExpiry() {
+        return uploadExpiry == null ? Duration.ofMinutes(15) : uploadExpiry;
+    }
+
+    public Duration downloadExpiry() {
+        return downloadExpiry == null ? Duration.ofMinutes(5) : downloadExpiry;
+    }
+}
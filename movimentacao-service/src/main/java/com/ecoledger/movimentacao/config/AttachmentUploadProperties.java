@@ -0,0 +1,35 @@
+package com.ecoledger.movimentacao.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Upload proxy buffering. Each in-flight upload holds one off-heap part buffer, so direct memory used by uploads
+ * is bounded by {@code part-size * max-buffers}; uploads that cannot get a buffer within
+ * {@code buffer-acquire-timeout} are rejected with 503.
+ */
+@ConfigurationProperties(prefix = "movimentacao.attachments.upload")
+public record AttachmentUploadProperties(DataSize partSize, Integer maxBuffers, Duration bufferAcquireTimeout) {
+
+    /**
+     * S3 rejects multipart parts below 5 MB, except for the last one.
+     */
+    public static final DataSize MIN_PART_SIZE = DataSize.ofMegabytes(5);
+
+    public DataSize partSize() {
+        if (partSize == null || partSize.compareTo(MIN_PART_SIZE) < 0) {
+            return MIN_PART_SIZE;
+        }
+        return partSize;
+    }
+
+    public Integer maxBuffers() {
+        return maxBuffers == null ? 16 : maxBuffers;
+    }
+
+    public Duration bufferAcquireTimeout() {
+        return bufferAcquireTimeout == null ? Duration.ofSeconds(2) : bufferAcquireTimeout;
+    }
+}
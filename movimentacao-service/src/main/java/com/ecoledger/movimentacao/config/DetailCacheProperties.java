@@ -0,0 +1,26 @@
+package com.ecoledger.movimentacao.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * In-process cache of serialized movimentação detail responses, and the {@code max-age} clients may keep them for.
+ * Movimentações never change after creation, so entries only leave the cache by size eviction or when their partition
+ * is archived; the client {@code max-age} is shortened the same way.
+ */
+@ConfigurationProperties(prefix = "movimentacao.detail-cache")
+public record DetailCacheProperties(Boolean enabled, Long maxSize, Duration clientMaxAge) {
+
+    public Boolean enabled() {
+        return enabled == null || enabled;
+    }
+
+    public Long maxSize() {
+        return maxSize == null ? 10_000L : maxSize;
+    }
+
+    public Duration clientMaxAge() {
+        return clientMaxAge == null ? Duration.ofDays(365) : clientMaxAge;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecoledger.movimentacao.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotency settings: size of the in-memory cache of completed keys, how long records are kept and
+ * how the expired rows are purged.
+ */
+@ConfigurationProperties(prefix = "movimentacao.idempotency")
+public record IdempotencyProperties(Integer cacheMaxSize, Duration retention, Integer purgeBatchSize, Duration purgeInterval) {
+
+    public Integer cacheMaxSize() {
+        return cacheMaxSize == null ? 10_000 : cacheMaxSize;
+    }
+
+    public Duration retention() {
+        return retention == null ? Duration.ofHours(24) : retention;
+    }
+
+    public Integer purgeBatchSize() {
+        return purgeBatchSize == null ? 1000 : purgeBatchSize;
+    }
+
+    public Duration purgeInterval() {
+        return purgeInterval == null ? Duration.ofMinutes(10) : purgeInterval;
+    }
+}
@@ -1,25 +1,40 @@
 package com.ecoledger.movimentacao.config;
 
+import com.ecoledger.events.BinaryEventCodec;
+import com.ecoledger.events.FileSchemaRegistry;
 import com.ecoledger.movimentacao.application.service.AttachmentStorageService;
 import com.ecoledger.movimentacao.application.service.MovimentacaoEventPublisher;
+import com.ecoledger.movimentacao.application.service.impl.AttachmentHashVerifier;
 import com.ecoledger.movimentacao.application.service.impl.NoOpAttachmentStorageService;
 import com.ecoledger.movimentacao.application.service.impl.NoOpMovimentacaoEventPublisher;
 import com.ecoledger.movimentacao.application.service.impl.S3AttachmentStorageService;
+import com.ecoledger.movimentacao.application.service.impl.S3MultipartUploader;
+import com.ecoledger.movimentacao.application.service.impl.S3PresignedUrlService;
+import com.ecoledger.movimentacao.messaging.MovimentacaoEventSerializer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.net.URI;
 import java.util.HashMap;
@@ -41,10 +56,63 @@ public class IntegrationInfrastructureConfiguration {
                 .build();
     }
 
+    @Bean(destroyMethod = "close")
+    S3Presigner s3Presigner(S3Properties s3Properties, AttachmentPresignProperties presignProperties) {
+        String endpoint = presignProperties.endpoint() == null || presignProperties.endpoint().isBlank()
+                ? s3Properties.endpoint()
+                : presignProperties.endpoint();
+        return S3Presigner.builder()
+                .endpointOverride(URI.create(endpoint))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(s3Properties.accessKey(), s3Properties.secretKey())))
+                .region(Region.of(s3Properties.region()))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(s3Properties.usePathStyle())
+                        .build())
+                .build();
+    }
+
+    @Bean
+    S3PresignedUrlService s3PresignedUrlService(S3Properties s3Properties,
+                                                AttachmentPresignProperties presignProperties,
+                                                S3Presigner s3Presigner) {
+        return new S3PresignedUrlService(s3Properties, presignProperties, s3Presigner);
+    }
+
     @Bean
     @ConditionalOnProperty(name = "movimentacao.attachments.provider", havingValue = "s3", matchIfMissing = true)
-    AttachmentStorageService s3AttachmentStorageService(S3Properties s3Properties, S3Client s3Client) {
-        return new S3AttachmentStorageService(s3Properties, s3Client);
+    AttachmentStorageService s3AttachmentStorageService(S3Properties s3Properties,
+                                                        S3Client s3Client,
+                                                        AttachmentMetadataCacheProperties cacheProperties,
+                                                        AttachmentIntegrityProperties integrityProperties,
+                                                        AttachmentHashVerifier hashVerifier,
+                                                        MeterRegistry meterRegistry) {
+        return new S3AttachmentStorageService(s3Properties, s3Client, cacheProperties, integrityProperties, hashVerifier,
+                meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    AttachmentHashVerifier attachmentHashVerifier(S3Properties s3Properties,
+                                                  S3Client s3Client,
+                                                  AttachmentIntegrityProperties integrityProperties,
+                                                  MeterRegistry meterRegistry) {
+        AttachmentHashVerifier verifier = new AttachmentHashVerifier(s3Properties, s3Client, integrityProperties, meterRegistry);
+        Gauge.builder("movimentacao.attachments.hash.verification.queued", verifier, AttachmentHashVerifier::queued)
+                .description("Attachments waiting for background hash verification")
+                .register(meterRegistry);
+        return verifier;
+    }
+
+    @Bean
+    S3MultipartUploader s3MultipartUploader(S3Properties s3Properties,
+                                            AttachmentUploadProperties uploadProperties,
+                                            S3Client s3Client,
+                                            MeterRegistry meterRegistry) {
+        S3MultipartUploader uploader = new S3MultipartUploader(s3Properties, uploadProperties, s3Client);
+        Gauge.builder("movimentacao.upload.buffers.in-use", uploader, S3MultipartUploader::buffersInUse)
+                .description("Upload part buffers currently held by in-flight uploads")
+                .register(meterRegistry);
+        return uploader;
     }
 
     @Bean
@@ -53,15 +121,23 @@ public class IntegrationInfrastructureConfiguration {
         return new NoOpAttachmentStorageService();
     }
 
+    @Bean
+    BinaryEventCodec binaryEventCodec(KafkaProperties kafkaProperties) {
+        return new BinaryEventCodec(FileSchemaRegistry.load(kafkaProperties.events().schemaRegistryDir()));
+    }
+
     @Bean
     @ConditionalOnProperty(name = "movimentacao.kafka.enabled", havingValue = "true", matchIfMissing = true)
-    ProducerFactory<String, Object> movimentacaoProducerFactory(KafkaProperties kafkaProperties) {
+    ProducerFactory<String, Object> movimentacaoProducerFactory(KafkaProperties kafkaProperties,
+                                                               MovimentacaoEventSerializer eventSerializer,
+                                                               MeterRegistry meterRegistry) {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.bootstrapServers());
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        props.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
-        return new DefaultKafkaProducerFactory<>(props);
+        applyProducerTuning(props, kafkaProperties.producer());
+        DefaultKafkaProducerFactory<String, Object> factory =
+                new DefaultKafkaProducerFactory<>(props, new StringSerializer(), eventSerializer);
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
@@ -70,6 +146,65 @@ public class IntegrationInfrastructureConfiguration {
         return new KafkaTemplate<>(movimentacaoProducerFactory);
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "movimentacao.kafka.enabled", havingValue = "true", matchIfMissing = true)
+    ProducerFactory<String, byte[]> outboxProducerFactory(KafkaProperties kafkaProperties, MeterRegistry meterRegistry) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.bootstrapServers());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        // outbox rows already hold the serialized event
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        applyProducerTuning(props, kafkaProperties.producer());
+        DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(props);
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * Idempotent producer with acks=all always; in high-throughput mode records are also lingered into large
+     * compressed batches. Producer client metrics (batch-size-avg, compression-rate-avg, record-error-rate,
+     * request-latency-avg...) are exported through the Micrometer listener as kafka.producer.*.
+     */
+    static void applyProducerTuning(Map<String, Object> props, KafkaProperties.Producer producer) {
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, producer.idempotence());
+        props.put(ProducerConfig.ACKS_CONFIG, producer.acks());
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, producer.maxInFlightRequestsPerConnection());
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, producer.maxBlock().toMillis());
+        if (producer.highThroughput()) {
+            props.put(ProducerConfig.LINGER_MS_CONFIG, producer.lingerMs());
+            props.put(ProducerConfig.BATCH_SIZE_CONFIG, producer.batchSizeBytes());
+            props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producer.compressionType());
+            props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, producer.bufferMemoryBytes());
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "movimentacao.kafka.enabled", havingValue = "true", matchIfMissing = true)
+    KafkaTemplate<String, byte[]> outboxKafkaTemplate(ProducerFactory<String, byte[]> outboxProducerFactory) {
+        return new KafkaTemplate<>(outboxProducerFactory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "movimentacao.kafka.enabled", havingValue = "true", matchIfMissing = true)
+    ConsumerFactory<String, String> usuariosEventsConsumerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.bootstrapServers());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // cache invalidation only cares about events produced after this instance started
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "movimentacao.kafka.enabled", havingValue = "true", matchIfMissing = true)
+    ConcurrentKafkaListenerContainerFactory<String, String> usuariosEventsListenerContainerFactory(
+            ConsumerFactory<String, String> usuariosEventsConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(usuariosEventsConsumerFactory);
+        return factory;
+    }
+
     @Bean
     @ConditionalOnMissingBean(MovimentacaoEventPublisher.class)
     MovimentacaoEventPublisher movimentacaoEventPublisherFallback() {
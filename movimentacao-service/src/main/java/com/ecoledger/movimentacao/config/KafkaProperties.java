@@ -1,13 +1,97 @@
 package com.ecoledger.movimentacao.config;
 
+import com.ecoledger.events.EventFormat;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "movimentacao.kafka")
 public record KafkaProperties(boolean enabled,
                               String bootstrapServers,
-                              Topics topics) {
+                              Topics topics,
+                              Producer producer,
+                              Events events) {
+
+    public Producer producer() {
+        return producer == null ? new Producer(null, null, null, null, null, null, null, null, null, null) : producer;
+    }
+
+    public Events events() {
+        return events == null ? new Events(null, null) : events;
+    }
 
     public record Topics(String movimentacaoCriada,
-                         String movimentacaoAtualizada) {
+                         String movimentacaoAtualizada,
+                         String usuariosAprovados,
+                         String usuariosRejeitados) {
+    }
+
+    /**
+     * Producer tuning. Idempotence, acks and in-flight limits always apply; linger, batch size, compression and
+     * buffer memory only when {@code high-throughput} is on (the default), trading a few milliseconds of latency for
+     * fewer, larger and compressed requests to the brokers.
+     */
+    public record Producer(Boolean highThroughput,
+                           Boolean idempotence,
+                           String acks,
+                           Integer maxInFlightRequestsPerConnection,
+                           Integer lingerMs,
+                           Integer batchSizeBytes,
+                           String compressionType,
+                           Long bufferMemoryBytes,
+                           Duration maxBlock,
+                           Integer maxPendingSends) {
+
+        public Boolean highThroughput() {
+            return highThroughput == null || highThroughput;
+        }
+
+        public Boolean idempotence() {
+            return idempotence == null || idempotence;
+        }
+
+        public String acks() {
+            return acks == null ? "all" : acks;
+        }
+
+        public Integer maxInFlightRequestsPerConnection() {
+            return maxInFlightRequestsPerConnection == null ? 5 : maxInFlightRequestsPerConnection;
+        }
+
+        public Integer lingerMs() {
+            return lingerMs == null ? 20 : lingerMs;
+        }
+
+        public Integer batchSizeBytes() {
+            return batchSizeBytes == null ? 128 * 1024 : batchSizeBytes;
+        }
+
+        public String compressionType() {
+            return compressionType == null ? "lz4" : compressionType;
+        }
+
+        public Long bufferMemoryBytes() {
+            return bufferMemoryBytes == null ? 64L * 1024 * 1024 : bufferMemoryBytes;
+        }
+
+        public Duration maxBlock() {
+            return maxBlock == null ? Duration.ofSeconds(5) : maxBlock;
+        }
+
+        public Integer maxPendingSends() {
+            return maxPendingSends == null ? 1000 : maxPendingSends;
+        }
+    }
+
+    /**
+     * Encoding of published events. JSON stays the default until every consumer runs in dual-read mode;
+     * {@code schema-registry-dir} overrides the schemas bundled with event-contracts.
+     */
+    public record Events(EventFormat format,
+                         String schemaRegistryDir) {
+
+        public EventFormat format() {
+            return format == null ? EventFormat.JSON : format;
+        }
     }
 }
@@ -0,0 +1,30 @@
+package com.ecoledger.movimentacao.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.regex.Pattern;
+
+/**
+ * Weak ETags and {@code If-None-Match}/304 for the paged JSON listings: producer listing, resumo and commodity
+ * history. The body is still built on every request, but an unchanged page is not sent again. Streaming exports and
+ * area queries are left alone, since this filter buffers the whole response to hash it.
+ */
+@Component
+public class ListingEtagFilter extends ShallowEtagHeaderFilter {
+
+    private static final Pattern LISTINGS = Pattern.compile(
+            "/produtores/[^/]+/movimentacoes(/resumo)?|/commodities/[^/]+/historico");
+
+    public ListingEtagFilter() {
+        setWriteWeakETag(true);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean safe = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        return !safe || !LISTINGS.matcher(path).matches();
+    }
+}
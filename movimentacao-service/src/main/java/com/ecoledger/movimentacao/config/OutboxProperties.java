@@ -0,0 +1,42 @@
+package com.ecoledger.movimentacao.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "movimentacao.outbox")
+public record OutboxProperties(Boolean enabled, Integer batchSize, Integer maxInFlight, Integer maxAttempts, Duration sendTimeout,
+                               Duration pollInterval, Duration initialBackoff, Duration maxBackoff) {
+
+    public Boolean enabled() {
+        return enabled == null || enabled;
+    }
+
+    public Integer batchSize() {
+        return batchSize == null ? 500 : batchSize;
+    }
+
+    public Integer maxInFlight() {
+        return maxInFlight == null ? 100 : maxInFlight;
+    }
+
+    public Integer maxAttempts() {
+        return maxAttempts == null ? 10 : maxAttempts;
+    }
+
+    public Duration sendTimeout() {
+        return sendTimeout == null ? Duration.ofSeconds(10) : sendTimeout;
+    }
+
+    public Duration pollInterval() {
+        return pollInterval == null ? Duration.ofMillis(500) : pollInterval;
+    }
+
+    public Duration initialBackoff() {
+        return initialBackoff == null ? Duration.ofSeconds(1) : initialBackoff;
+    }
+
+    public Duration maxBackoff() {
+        return maxBackoff == null ? Duration.ofMinutes(5) : maxBackoff;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecoledger.movimentacao.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Monthly partition maintenance of {@code movimentacoes}: how many months are created ahead of time, how many months
+ * stay in the live table before their partitions are detached into the archive schema, and how often the job runs.
+ * A {@code retentionMonths} of zero or less disables archival.
+ */
+@ConfigurationProperties(prefix = "movimentacao.partitions")
+public record PartitionProperties(Boolean enabled, Integer premakeMonths, Integer retentionMonths, Duration maintenanceInterval) {
+
+    public Boolean enabled() {
+        return enabled == null || enabled;
+    }
+
+    public Integer premakeMonths() {
+        return premakeMonths == null ? 3 : premakeMonths;
+    }
+
+    public Integer retentionMonths() {
+        return retentionMonths == null ? 36 : retentionMonths;
+    }
+
+    public Duration maintenanceInterval() {
+        return maintenanceInterval == null ? Duration.ofHours(6) : maintenanceInterval;
+    }
+
+    /**
+     * Earliest instant the partition holding {@code timestamp} can be archived: the first maintenance run of the
+     * month {@code retentionMonths} after the one following it. {@code null} when archival is disabled.
+     */
+    public OffsetDateTime archivableAt(OffsetDateTime timestamp) {
+        if (!enabled() || retentionMonths() <= 0) {
+            return null;
+        }
+        return YearMonth.from(timestamp.withOffsetSameInstant(ZoneOffset.UTC))
+                .plusMonths(retentionMonths() + 1L)
+                .atDay(1)
+                .atStartOfDay()
+                .atOffset(ZoneOffset.UTC);
+    }
+}
@@ -5,7 +5,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import java.time.Duration;
 
 @ConfigurationProperties(prefix = "movimentacao.producer-approval")
-public record ProducerApprovalProperties(String baseUrl, long timeoutMs, String jwtSecret, Duration tokenTtl, String clientId, String scopes) {
+public record ProducerApprovalProperties(String baseUrl, long timeoutMs, String jwtSecret, Duration tokenTtl, String clientId, String scopes,
+                                         Cache cache, Resilience resilience) {
 
     public Duration tokenTtl() {
         return tokenTtl == null ? Duration.ofMinutes(10) : tokenTtl;
@@ -18,4 +19,81 @@ public record ProducerApprovalProperties(String baseUrl, long timeoutMs, String
     public String scopes() {
         return (scopes == null || scopes.isBlank()) ? "admin:usuarios usuarios:read" : scopes;
     }
+
+    public Cache cache() {
+        return cache == null ? new Cache(null, null, null, null) : cache;
+    }
+
+    public Resilience resilience() {
+        return resilience == null ? new Resilience(null, null, null, null, null, null, null, null) : resilience;
+    }
+
+    /**
+     * In-process cache of approval decisions. Positive decisions live for {@code ttl}; negative decisions
+     * (not approved, unknown user) only for {@code negativeTtl} so a newly approved producer
+     * is not blocked for long even if the invalidation event is missed.
+     */
+    public record Cache(Boolean enabled, Long maxSize, Duration ttl, Duration negativeTtl) {
+
+        public Boolean enabled() {
+            return enabled == null || enabled;
+        }
+
+        public Long maxSize() {
+            return maxSize == null ? 10_000L : maxSize;
+        }
+
+        public Duration ttl() {
+            return ttl == null ? Duration.ofMinutes(10) : ttl;
+        }
+
+        public Duration negativeTtl() {
+            return negativeTtl == null ? Duration.ofSeconds(5) : negativeTtl;
+        }
+    }
+
+    /**
+     * Connection pool, bulkhead and circuit breaker settings for the users-service client.
+     */
+    public record Resilience(Integer maxConnections,
+                             Integer maxConcurrentCalls,
+                             Duration maxWaitDuration,
+                             Float failureRateThreshold,
+                             Duration slowCallThreshold,
+                             Float slowCallRateThreshold,
+                             Integer slidingWindowSize,
+                             Duration openStateDuration) {
+
+        public Integer maxConnections() {
+            return maxConnections == null ? 50 : maxConnections;
+        }
+
+        public Integer maxConcurrentCalls() {
+            return maxConcurrentCalls == null ? 25 : maxConcurrentCalls;
+        }
+
+        public Duration maxWaitDuration() {
+            return maxWaitDuration == null ? Duration.ofMillis(50) : maxWaitDuration;
+        }
+
+        public Float failureRateThreshold() {
+            return failureRateThreshold == null ? 50f : failureRateThreshold;
+        }
+
+        public Duration slowCallThreshold() {
+            return slowCallThreshold == null ? Duration.ofSeconds(1) : slowCallThreshold;
+        }
+
+        public Float slowCallRateThreshold() {
+            return slowCallRateThreshold == null ? 80f : slowCallRateThreshold;
+        }
+
+        public Integer slidingWindowSize() {
+            return slidingWindowSize == null ? 20 : slidingWindowSize;
+        }
+
+        public Duration openStateDuration() {
+            return openStateDuration == null ? Duration.ofSeconds(10) : openStateDuration;
+        }
+    }
 }
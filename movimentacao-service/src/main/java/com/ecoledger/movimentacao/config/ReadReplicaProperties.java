@@ -0,0 +1,47 @@
+package com.ecoledger.movimentacao.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for {@code @Transactional(readOnly = true)} work. A replica whose replay lag exceeds {@code maxLag},
+ * or that cannot be reached, is skipped until the next lag check, and reads fall back to the primary. Clients that
+ * just wrote stay on the primary for {@code stickiness}.
+ */
+@ConfigurationProperties(prefix = "movimentacao.datasource.read-replicas")
+public record ReadReplicaProperties(Boolean enabled, List<Replica> replicas, Duration maxLag, Duration lagCheckInterval,
+                                    Duration stickiness, Duration connectionTimeout) {
+
+    public Boolean enabled() {
+        return enabled != null && enabled;
+    }
+
+    public List<Replica> replicas() {
+        return replicas == null ? List.of() : replicas;
+    }
+
+    public Duration maxLag() {
+        return maxLag == null ? Duration.ofSeconds(5) : maxLag;
+    }
+
+    public Duration lagCheckInterval() {
+        return lagCheckInterval == null ? Duration.ofSeconds(2) : lagCheckInterval;
+    }
+
+    public Duration stickiness() {
+        return stickiness == null ? Duration.ofSeconds(10) : stickiness;
+    }
+
+    public Duration connectionTimeout() {
+        return connectionTimeout == null ? Duration.ofSeconds(2) : connectionTimeout;
+    }
+
+    public record Replica(String name, String url, String username, String password, Integer maxPoolSize) {
+
+        public Integer maxPoolSize() {
+            return maxPoolSize == null ? 10 : maxPoolSize;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.ecoledger.movimentacao.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source for read-only transactions: hands out connections of a replica whose replay lag is within
+ * {@code maxLag}, round-robin, and falls back to the primary when no replica is healthy or when the current thread
+ * was pinned to the primary by {@link ReadYourWritesFilter}. Replicas start unhealthy until their first lag check.
+ *
+ * <p>Lag checks run on a dedicated daemon thread per replica rather than on Spring's shared scheduler: an unreachable
+ * replica can hold a check for the whole connection and query timeout, which would otherwise delay the outbox relay
+ * and the other {@code @Scheduled} jobs, as well as the checks of the remaining replicas.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    /**
+     * Replay lag in seconds; zero when the replica has replayed everything it received, or when the server is not in
+     * recovery at all. NULL when the WAL receiver is not streaming: a standby cut off from the primary has nothing left
+     * to replay and would otherwise report zero lag while serving ever staler data. Reading
+     * {@code pg_stat_wal_receiver.status} needs the {@code pg_monitor} (or {@code pg_read_all_stats}) role.
+     */
+    static final String LAG_QUERY = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0
+                        WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END""";
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final int lagQueryTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+    private volatile ScheduledExecutorService lagChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    Duration lagCheckTimeout, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQueryTimeoutSeconds = (int) Math.max(1, lagCheckTimeout.toSeconds());
+        this.replicas = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, reads(meterRegistry, name, "replica"));
+            Gauge.builder("movimentacao.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replay lag of the read replica; NaN while it is unreachable or not streaming")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+        });
+        this.stickyReads = reads(meterRegistry, PRIMARY, "sticky");
+        this.fallbackReads = reads(meterRegistry, PRIMARY, "fallback");
+    }
+
+    /**
+     * Routes read-only work of the current thread to the primary until {@link #release()}.
+     */
+    public static void stickToPrimary() {
+        PRIMARY_ONLY.set(Boolean.TRUE);
+    }
+
+    public static void release() {
+        PRIMARY_ONLY.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route().getConnection(username, password);
+    }
+
+    DataSource route() {
+        if (PRIMARY_ONLY.get() != null) {
+            stickyReads.increment();
+            return primary;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                replica.reads.increment();
+                return replica.dataSource;
+            }
+        }
+        fallbackReads.increment();
+        return primary;
+    }
+
+    /**
+     * Checks the lag of every replica every {@code interval}, each on its own thread. Idempotent.
+     */
+    public synchronized void startLagChecks(Duration interval) {
+        if (lagChecks != null || replicas.isEmpty()) {
+            return;
+        }
+        AtomicInteger threads = new AtomicInteger();
+        lagChecks = Executors.newScheduledThreadPool(replicas.size(), runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long delayMillis = interval.toMillis();
+        for (Replica replica : replicas) {
+            lagChecks.scheduleWithFixedDelay(() -> check(replica), 0, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Checks every replica once, sequentially, on the calling thread.
+     */
+    public void checkLag() {
+        replicas.forEach(this::check);
+    }
+
+    private void check(Replica replica) {
+        boolean wasHealthy = replica.healthy;
+        try {
+            replica.lagSeconds = lagSeconds(replica.dataSource);
+            replica.healthy = replica.lagSeconds <= maxLagSeconds;
+            if (wasHealthy && Double.isNaN(replica.lagSeconds)) {
+                LOGGER.warn("Read replica {} is not streaming from the primary, routing its reads to the primary", replica.name);
+            } else if (wasHealthy && !replica.healthy) {
+                LOGGER.warn("Read replica {} is {}s behind, routing its reads to the primary", replica.name, replica.lagSeconds);
+            }
+        } catch (SQLException | RuntimeException ex) {
+            replica.lagSeconds = Double.NaN;
+            replica.healthy = false;
+            if (wasHealthy) {
+                LOGGER.warn("Read replica {} is unreachable, routing its reads to the primary: {}", replica.name, ex.getMessage());
+            }
+        }
+        if (!wasHealthy && replica.healthy) {
+            LOGGER.info("Read replica {} is back within lag ({}s)", replica.name, replica.lagSeconds);
+        }
+    }
+
+    /**
+     * Returns NaN when the replica's WAL receiver is not streaming.
+     */
+    private double lagSeconds(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(lagQueryTimeoutSeconds);
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                double lag = rs.getDouble(1);
+                return rs.wasNull() ? Double.NaN : lag;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (lagChecks != null) {
+            lagChecks.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String route, String reason) {
+        return Counter.builder("movimentacao.datasource.reads")
+                .description("Connections handed out to read-only transactions, by target and routing reason")
+                .tag("route", route)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource, Counter reads) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+    }
+}
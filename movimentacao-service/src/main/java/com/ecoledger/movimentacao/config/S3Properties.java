@@ -18,4 +18,18 @@ public record S3Properties(
     public long maxAttachmentSizeBytes() {
         return maxAttachmentSizeKb * 1024L;
     }
+
+    /**
+     * Public URL of an object, without duplicating the bucket when {@code publicBaseUrl} already ends with it.
+     */
+    public String objectUrl(String key) {
+        String base = publicBaseUrl != null && !publicBaseUrl.isBlank() ? publicBaseUrl : endpoint;
+        if (base.endsWith("/")) {
+            base = base.substring(0, base.length() - 1);
+        }
+        if (base.endsWith("/" + bucket) || base.endsWith(bucket)) {
+            return String.format("%s/%s", base, key);
+        }
+        return String.format("%s/%s/%s", base, bucket, key);
+    }
 }
@@ -0,0 +1,13 @@
+package com.ecoledger.movimentacao.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "movimentacao.validation")
+public record ValidationProperties(Duration timeout) {
+
+    public Duration timeout() {
+        return timeout == null ? Duration.ofSeconds(3) : timeout;
+    }
+}
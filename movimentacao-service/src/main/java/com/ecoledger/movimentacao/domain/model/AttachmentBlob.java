@@ -0,0 +1,48 @@
+package com.ecoledger.movimentacao.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+
+/**
+ * One stored attachment body, addressed by its SHA-256. Every {@link MovimentacaoAnexo} with the same hash
+ * refers to the same object.
+ */
+@Entity
+@Table(name = "attachment_blobs")
+public class AttachmentBlob {
+
+    @Id
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    @Column(name = "object_key", nullable = false)
+    private String objectKey;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    protected AttachmentBlob() {}
+
+    public AttachmentBlob(String sha256, String objectKey, String contentType, long sizeBytes, OffsetDateTime createdAt) {
+        this.sha256 = sha256;
+        this.objectKey = objectKey;
+        this.contentType = contentType;
+        this.sizeBytes = sizeBytes;
+        this.createdAt = createdAt;
+    }
+
+    public String getSha256() { return sha256; }
+    public String getObjectKey() { return objectKey; }
+    public String getContentType() { return contentType; }
+    public long getSizeBytes() { return sizeBytes; }
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,144 @@
+package com.ecoledger.movimentacao.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geohash encoding of coordinates and cover of a bounding box by geohash cells. Every point inside a cell has a hash
+ * starting with the cell's prefix, so with a B-tree on the stored hash each cell of a cover is one range scan.
+ * Encoding bisects exactly like {@code movimentacoes_geohash} in the V10 migration, which backfilled existing rows.
+ */
+public final class Geohash {
+
+    /** Precision of the stored hash: cells of roughly 4.8 m x 4.8 m. */
+    public static final int STORED_PRECISION = 9;
+    /** Upper bound on the cells of a cover, and so on the range predicates of one query. */
+    public static final int MAX_COVER_CELLS = 32;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private Geohash() {
+    }
+
+    /**
+     * Latitude/longitude rectangle in degrees; does not cross the antimeridian.
+     */
+    public record Box(double minLat, double minLon, double maxLat, double maxLon) {
+
+        public boolean contains(double lat, double lon) {
+            return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+        }
+
+        /**
+         * Smallest box around the circle, clamped to the valid coordinate range.
+         */
+        public static Box around(double lat, double lon, double radiusMeters) {
+            double dLat = Math.toDegrees(radiusMeters / EARTH_RADIUS_METERS);
+            double cos = Math.cos(Math.toRadians(lat));
+            double dLon = cos < 1e-9 ? 180 : Math.min(180, dLat / cos);
+            return new Box(Math.max(-90, lat - dLat), Math.max(-180, lon - dLon),
+                    Math.min(90, lat + dLat), Math.min(180, lon + dLon));
+        }
+    }
+
+    public static String encode(double lat, double lon) {
+        return encode(lat, lon, STORED_PRECISION);
+    }
+
+    public static String encode(double lat, double lon, int precision) {
+        return fromIndices(index(lon, -180, 180, lonBits(precision)), index(lat, -90, 90, latBits(precision)), precision);
+    }
+
+    /**
+     * Cells covering the box at the finest precision that needs at most {@link #MAX_COVER_CELLS} of them.
+     */
+    public static List<String> cover(Box box) {
+        for (int precision = STORED_PRECISION; precision > 1; precision--) {
+            List<String> cells = cover(box, precision);
+            if (cells != null) {
+                return cells;
+            }
+        }
+        return cover(box, 1);
+    }
+
+    /**
+     * Haversine distance in meters.
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * @return the cells at {@code precision}, or {@code null} when there would be more than {@link #MAX_COVER_CELLS}
+     */
+    private static List<String> cover(Box box, int precision) {
+        int lonBits = lonBits(precision);
+        int latBits = latBits(precision);
+        long lonFrom = index(box.minLon(), -180, 180, lonBits);
+        long lonTo = index(box.maxLon(), -180, 180, lonBits);
+        long latFrom = index(box.minLat(), -90, 90, latBits);
+        long latTo = index(box.maxLat(), -90, 90, latBits);
+        long count = (lonTo - lonFrom + 1) * (latTo - latFrom + 1);
+        if (precision > 1 && count > MAX_COVER_CELLS) {
+            return null;
+        }
+        List<String> cells = new ArrayList<>((int) count);
+        for (long lat = latFrom; lat <= latTo; lat++) {
+            for (long lon = lonFrom; lon <= lonTo; lon++) {
+                cells.add(fromIndices(lon, lat, precision));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Cell index of {@code value} along one axis, found by bisection so boundaries fall on the same side as in SQL.
+     */
+    private static long index(double value, double min, double max, int bits) {
+        long index = 0;
+        for (int i = 0; i < bits; i++) {
+            double mid = (min + max) / 2;
+            if (value >= mid) {
+                index = (index << 1) | 1;
+                min = mid;
+            } else {
+                index <<= 1;
+                max = mid;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Interleaves the axis indices, longitude first, five bits per character.
+     */
+    private static String fromIndices(long lonIndex, long latIndex, int precision) {
+        char[] hash = new char[precision];
+        int lonShift = lonBits(precision) - 1;
+        int latShift = latBits(precision) - 1;
+        int value = 0;
+        for (int bit = 0; bit < 5 * precision; bit++) {
+            long source = bit % 2 == 0 ? lonIndex >> lonShift-- : latIndex >> latShift--;
+            value = (value << 1) | (int) (source & 1);
+            if (bit % 5 == 4) {
+                hash[bit / 5] = BASE32[value];
+                value = 0;
+            }
+        }
+        return new String(hash);
+    }
+
+    private static int lonBits(int precision) {
+        return (5 * precision + 1) / 2;
+    }
+
+    private static int latBits(int precision) {
+        return 5 * precision / 2;
+    }
+}
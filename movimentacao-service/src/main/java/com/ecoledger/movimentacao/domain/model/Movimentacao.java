@@ -41,6 +41,9 @@ public class Movimentacao {
     @Column(name = "longitude")
     private Double longitude;
 
+    @Column(name = "geohash", length = 12)
+    private String geohash;
+
     @Column(name = "criado_em", nullable = false)
     private OffsetDateTime criadoEm;
 
@@ -68,6 +71,7 @@ public class Movimentacao {
         this.timestamp = timestamp;
         this.latitude = latitude;
         this.longitude = longitude;
+        this.geohash = latitude != null && longitude != null ? Geohash.encode(latitude, longitude) : null;
         this.criadoEm = OffsetDateTime.now();
         if (anexos != null) {
             this.anexos.addAll(anexos);
@@ -117,6 +121,10 @@ public class Movimentacao {
         return longitude;
     }
 
+    public String getGeohash() {
+        return geohash;
+    }
+
     public OffsetDateTime getCriadoEm() {
         return criadoEm;
     }
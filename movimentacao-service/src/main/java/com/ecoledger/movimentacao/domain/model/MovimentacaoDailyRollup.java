@@ -0,0 +1,49 @@
+package com.ecoledger.movimentacao.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Total quantity and number of movimentações of one producer for a (commodity, tipo, unidade) on one UTC day.
+ * Rows are only written through the increment statements of the repository.
+ */
+@Entity
+@Table(name = "movimentacao_daily_rollups")
+public class MovimentacaoDailyRollup {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "quantidade_total", nullable = false, precision = 38, scale = 4)
+    private BigDecimal quantidadeTotal;
+
+    @Column(name = "movimentacoes_count", nullable = false)
+    private long movimentacoesCount;
+
+    protected MovimentacaoDailyRollup() {}
+
+    public MovimentacaoDailyRollup(Key key, BigDecimal quantidadeTotal, long movimentacoesCount) {
+        this.key = key;
+        this.quantidadeTotal = quantidadeTotal;
+        this.movimentacoesCount = movimentacoesCount;
+    }
+
+    public Key getKey() { return key; }
+    public BigDecimal getQuantidadeTotal() { return quantidadeTotal; }
+    public long getMovimentacoesCount() { return movimentacoesCount; }
+
+    @Embeddable
+    public record Key(
+            @Column(name = "producer_id", nullable = false) String producerId,
+            @Column(name = "bucket_date", nullable = false) LocalDate bucketDate,
+            @Column(name = "commodity_id", nullable = false) String commodityId,
+            @Column(name = "tipo", nullable = false) String tipo,
+            @Column(name = "unidade", nullable = false) String unidade) implements Serializable {
+    }
+}
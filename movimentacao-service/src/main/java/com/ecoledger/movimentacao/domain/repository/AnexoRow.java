@@ -0,0 +1,9 @@
+package com.ecoledger.movimentacao.domain.repository;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of an attachment, keyed by its movimentacao so a whole batch can be loaded in one query.
+ */
+public record AnexoRow(UUID movimentacaoId, String tipo, String url, String hash) {
+}
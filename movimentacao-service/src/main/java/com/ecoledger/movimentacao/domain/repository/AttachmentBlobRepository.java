@@ -0,0 +1,33 @@
+package com.ecoledger.movimentacao.domain.repository;
+
+import com.ecoledger.movimentacao.domain.model.AttachmentBlob;
+import java.time.OffsetDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, String> {
+
+    /**
+     * Records the object as the body for {@code sha256} unless one is already registered.
+     * Returns 1 when this object became the blob, 0 when another object already holds the hash.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO attachment_blobs (sha256, object_key, content_type, size_bytes, created_at)
+            VALUES (:sha256, :objectKey, :contentType, :sizeBytes, :createdAt)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int register(@Param("sha256") String sha256,
+                 @Param("objectKey") String objectKey,
+                 @Param("contentType") String contentType,
+                 @Param("sizeBytes") long sizeBytes,
+                 @Param("createdAt") OffsetDateTime createdAt);
+
+    /**
+     * Whether a live attachment row points at {@code url}. Rows of archived partitions are not consulted.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM movimentacao_anexos WHERE url = :url)", nativeQuery = true)
+    boolean isReferenced(@Param("url") String url);
+}
@@ -1,10 +1,43 @@
 package com.ecoledger.movimentacao.domain.repository;
 
 import com.ecoledger.movimentacao.domain.model.IdempotencyRecord;
+import java.time.OffsetDateTime;
 import java.util.Optional;
+import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, java.util.UUID> {
     Optional<IdempotencyRecord> findByIdempotencyKey(String key);
     Optional<IdempotencyRecord> findByRequestHash(String requestHash);
+
+    /**
+     * Claims the key with a single statement. Returns 1 when the key was free, 0 when another request already holds it;
+     * a concurrent claim of the same key waits until the holder commits or rolls back.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_records (id, idempotency_key, request_hash, status, created_at)
+            VALUES (:id, :key, :requestHash, 'IN_PROGRESS', :createdAt)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int claim(@Param("id") UUID id,
+              @Param("key") String key,
+              @Param("requestHash") String requestHash,
+              @Param("createdAt") OffsetDateTime createdAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = 'COMPLETED', r.responseBody = :responseBody WHERE r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM idempotency_records
+            WHERE id IN (SELECT id FROM idempotency_records WHERE created_at < :cutoff LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
 }
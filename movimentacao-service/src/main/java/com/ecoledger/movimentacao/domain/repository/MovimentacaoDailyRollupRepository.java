@@ -0,0 +1,78 @@
+package com.ecoledger.movimentacao.domain.repository;
+
+import com.ecoledger.movimentacao.domain.model.MovimentacaoDailyRollup;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MovimentacaoDailyRollupRepository extends JpaRepository<MovimentacaoDailyRollup, MovimentacaoDailyRollup.Key> {
+
+    /**
+     * Adds to an existing rollup row. Returns 0 when the row does not exist yet.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE movimentacao_daily_rollups
+            SET quantidade_total = quantidade_total + :quantidade, movimentacoes_count = movimentacoes_count + :count
+            WHERE producer_id = :producerId AND bucket_date = :bucketDate
+              AND commodity_id = :commodityId AND tipo = :tipo AND unidade = :unidade
+            """, nativeQuery = true)
+    int increment(@Param("producerId") String producerId,
+                  @Param("bucketDate") LocalDate bucketDate,
+                  @Param("commodityId") String commodityId,
+                  @Param("tipo") String tipo,
+                  @Param("unidade") String unidade,
+                  @Param("quantidade") BigDecimal quantidade,
+                  @Param("count") long count);
+
+    /**
+     * Creates the rollup row. Returns 0 when a concurrent transaction created it first; that insert is waited for,
+     * so a following {@link #increment} sees the row.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO movimentacao_daily_rollups (producer_id, bucket_date, commodity_id, tipo, unidade, quantidade_total, movimentacoes_count)
+            VALUES (:producerId, :bucketDate, :commodityId, :tipo, :unidade, :quantidade, :count)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("producerId") String producerId,
+                       @Param("bucketDate") LocalDate bucketDate,
+                       @Param("commodityId") String commodityId,
+                       @Param("tipo") String tipo,
+                       @Param("unidade") String unidade,
+                       @Param("quantidade") BigDecimal quantidade,
+                       @Param("count") long count);
+
+    /**
+     * Daily rows of a producer between two UTC days, inclusive; reads one row per day and key, never the movimentações.
+     */
+    @Query("""
+            select r from MovimentacaoDailyRollup r
+            where r.key.producerId = :producerId
+              and r.key.bucketDate >= :from and r.key.bucketDate <= :to
+            order by r.key.bucketDate, r.key.commodityId, r.key.tipo, r.key.unidade
+            """)
+    List<MovimentacaoDailyRollup> findForProducer(@Param("producerId") String producerId,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to);
+
+    /**
+     * Daily rows of a producer and commodity between two UTC days, inclusive. Kept apart from {@link #findForProducer}
+     * so each statement has a fixed predicate the planner can match against the primary key.
+     */
+    @Query("""
+            select r from MovimentacaoDailyRollup r
+            where r.key.producerId = :producerId
+              and r.key.bucketDate >= :from and r.key.bucketDate <= :to
+              and r.key.commodityId = :commodityId
+            order by r.key.bucketDate, r.key.tipo, r.key.unidade
+            """)
+    List<MovimentacaoDailyRollup> findForProducerAndCommodity(@Param("producerId") String producerId,
+                                                              @Param("commodityId") String commodityId,
+                                                              @Param("from") LocalDate from,
+                                                              @Param("to") LocalDate to);
+}
@@ -0,0 +1,18 @@
+package com.ecoledger.movimentacao.domain.repository;
+
+import com.ecoledger.movimentacao.domain.model.Geohash;
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Location queries on {@code movimentacoes}, built at runtime because the number of geohash ranges depends on the area.
+ */
+public interface MovimentacaoGeoRepository {
+
+    /**
+     * Server-side cursor over the rows located inside {@code box}, in no particular order. Each cell of the box's
+     * geohash cover becomes one range on {@code idx_movimentacoes_geohash_timestamp}; the exact coordinates are
+     * checked in the same query. Must be consumed and closed inside a transaction.
+     */
+    Stream<MovimentacaoRow> streamRowsWithin(Geohash.Box box, String commodityId, OffsetDateTime from, OffsetDateTime to);
+}
@@ -0,0 +1,59 @@
+package com.ecoledger.movimentacao.domain.repository;
+
+import com.ecoledger.movimentacao.domain.model.Geohash;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+
+public class MovimentacaoGeoRepositoryImpl implements MovimentacaoGeoRepository {
+
+    /** Sorts after every geohash character, so {@code [prefix, prefix + CELL_END)} holds exactly the cell. */
+    private static final String CELL_END = "~";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<MovimentacaoRow> streamRowsWithin(Geohash.Box box, String commodityId, OffsetDateTime from, OffsetDateTime to) {
+        List<String> cells = Geohash.cover(box);
+        StringBuilder jpql = new StringBuilder("""
+                select new com.ecoledger.movimentacao.domain.repository.MovimentacaoRow(
+                    m.id, m.producerId, m.commodityId, m.tipo, m.quantidade, m.unidade, m.timestamp, m.latitude, m.longitude, m.criadoEm)
+                from Movimentacao m
+                where (""");
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                jpql.append(" or ");
+            }
+            jpql.append("(m.geohash >= :cellFrom").append(i).append(" and m.geohash < :cellTo").append(i).append(')');
+        }
+        jpql.append("""
+                )
+                  and m.latitude between :minLat and :maxLat and m.longitude between :minLon and :maxLon
+                  and m.timestamp >= :from and m.timestamp <= :to""");
+        if (commodityId != null) {
+            jpql.append(" and m.commodityId = :commodityId");
+        }
+        TypedQuery<MovimentacaoRow> query = entityManager.createQuery(jpql.toString(), MovimentacaoRow.class);
+        for (int i = 0; i < cells.size(); i++) {
+            query.setParameter("cellFrom" + i, cells.get(i));
+            query.setParameter("cellTo" + i, cells.get(i) + CELL_END);
+        }
+        query.setParameter("minLat", box.minLat());
+        query.setParameter("maxLat", box.maxLat());
+        query.setParameter("minLon", box.minLon());
+        query.setParameter("maxLon", box.maxLon());
+        query.setParameter("from", from);
+        query.setParameter("to", to);
+        if (commodityId != null) {
+            query.setParameter("commodityId", commodityId);
+        }
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, Integer.parseInt(MovimentacaoRepository.EXPORT_FETCH_SIZE));
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
+    }
+}
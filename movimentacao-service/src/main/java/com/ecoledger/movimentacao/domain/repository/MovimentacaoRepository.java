@@ -1,18 +1,222 @@
 package com.ecoledger.movimentacao.domain.repository;
 
 import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface MovimentacaoRepository extends JpaRepository<Movimentacao, UUID>, MovimentacaoGeoRepository {
+    String EXPORT_FETCH_SIZE = "500";
+    /** Bounds used in place of an absent period filter, so the same query serves filtered and unfiltered reads. */
+    OffsetDateTime UNBOUNDED_FROM = OffsetDateTime.parse("1900-01-01T00:00:00Z");
+    OffsetDateTime UNBOUNDED_TO = OffsetDateTime.parse("9999-12-31T23:59:59Z");
 
-public interface MovimentacaoRepository extends JpaRepository<Movimentacao, UUID> {
     Page<Movimentacao> findByProducerId(String producerId, Pageable pageable);
     Page<Movimentacao> findByProducerIdAndCommodityId(String producerId, String commodityId, Pageable pageable);
     Page<Movimentacao> findByProducerIdAndTimestampBetween(String producerId, java.time.OffsetDateTime from, java.time.OffsetDateTime to, Pageable pageable);
     Page<Movimentacao> findByProducerIdAndTimestampAfter(String producerId, java.time.OffsetDateTime from, Pageable pageable);
     Page<Movimentacao> findByProducerIdAndTimestampBefore(String producerId, java.time.OffsetDateTime to, Pageable pageable);
-    List<Movimentacao> findByCommodityIdOrderByTimestampDesc(String commodityId);
-}
 
+    /**
+     * Commodity history page, newest first, as projections; attachments are loaded separately with
+     * {@link #findAnexoRowsByMovimentacaoIds}. Pass {@code PageRequest.of(0, size + 1)} as the limit.
+     */
+    @Query("""
+            select new com.ecoledger.movimentacao.domain.repository.MovimentacaoRow(
+                m.id, m.producerId, m.commodityId, m.tipo, m.quantidade, m.unidade, m.timestamp, m.latitude, m.longitude, m.criadoEm)
+            from Movimentacao m
+            where m.commodityId = :commodityId
+            order by m.timestamp desc, m.id desc
+            """)
+    List<MovimentacaoRow> findHistoricoFirstPage(@Param("commodityId") String commodityId, Pageable limit);
+
+    /**
+     * History page strictly after the cursor; {@code m.timestamp <= :cursorTimestamp} is the bound that seeks the
+     * commodity index, the OR only breaks ties on {@code id}.
+     */
+    @Query("""
+            select new com.ecoledger.movimentacao.domain.repository.MovimentacaoRow(
+                m.id, m.producerId, m.commodityId, m.tipo, m.quantidade, m.unidade, m.timestamp, m.latitude, m.longitude, m.criadoEm)
+            from Movimentacao m
+            where m.commodityId = :commodityId
+              and m.timestamp <= :cursorTimestamp
+              and (m.timestamp < :cursorTimestamp or (m.timestamp = :cursorTimestamp and m.id < :cursorId))
+            order by m.timestamp desc, m.id desc
+            """)
+    List<MovimentacaoRow> findHistoricoPageAfter(@Param("commodityId") String commodityId,
+                                                 @Param("cursorTimestamp") OffsetDateTime cursorTimestamp,
+                                                 @Param("cursorId") UUID cursorId,
+                                                 Pageable limit);
+
+    /**
+     * Detail projection of one movimentacao; attachments are loaded with {@link #findAnexoRowsByMovimentacaoIds}.
+     * The id alone cannot prune the partitions of {@code movimentacoes}: the lookup probes the primary key index of
+     * every monthly partition, one index probe each, because callers only know the id and not its
+     * {@code registro_timestamp}. The same holds for {@code findById}.
+     */
+    @Query("""
+            select new com.ecoledger.movimentacao.domain.repository.MovimentacaoRow(
+                m.id, m.producerId, m.commodityId, m.tipo, m.quantidade, m.unidade, m.timestamp, m.latitude, m.longitude, m.criadoEm)
+            from Movimentacao m
+            where m.id = :id
+            """)
+    Optional<MovimentacaoRow> findRowById(@Param("id") UUID id);
+
+    /**
+     * First keyset page of a producer listing, newest first, as projections. Pass {@code PageRequest.of(0, size + 1)}
+     * to detect a next page without a count query. The commodity filter has its own query rather than an
+     * {@code is null or} catch-all, so each shape gets its own plan.
+     */
+    @Query("""
+            select new com.ecoledger.movimentacao.domain.repository.MovimentacaoRow(
+                m.id, m.producerId, m.commodityId, m.tipo, m.quantidade, m.unidade, m.timestamp, m.latitude, m.longitude, m.criadoEm)
+            from Movimentacao m
+            where m.producerId = :producerId
+              and m.timestamp >= :from and m.timestamp <= :to
+            order by m.timestamp desc, m.id desc
+            """)
+    List<MovimentacaoRow> findKeysetFirstPage(@Param("producerId") String producerId,
+                                              @Param("from") OffsetDateTime from,
+                                              @Param("to") OffsetDateTime to,
+                                              Pageable limit);
+
+    @Query("""
+            select new com.ecoledger.movimentacao.domain.repository.MovimentacaoRow(
+                m.id, m.producerId, m.commodityId, m.tipo, m.quantidade, m.unidade, m.timestamp, m.latitude, m.longitude, m.criadoEm)
+            from Movimentacao m
+            where m.producerId = :producerId
+              and m.commodityId = :commodityId
+              and m.timestamp >= :from and m.timestamp <= :to
+            order by m.timestamp desc, m.id desc
+            """)
+    List<MovimentacaoRow> findKeysetFirstPageByCommodity(@Param("producerId") String producerId,
+                                                         @Param("commodityId") String commodityId,
+                                                         @Param("from") OffsetDateTime from,
+                                                         @Param("to") OffsetDateTime to,
+                                                         Pageable limit);
+
+    /**
+     * Keyset page strictly after {@code (cursorTimestamp, cursorId)}. The redundant {@code m.timestamp <= :cursorTimestamp}
+     * is the range bound the planner seeks the producer index with; the OR that breaks ties on {@code id} alone is
+     * only a filter. The scan therefore starts at the cursor and its cost does not grow with the page depth.
+     */
+    @Query("""
+            select new com.ecoledger.movimentacao.domain.repository.MovimentacaoRow(
+                m.id, m.producerId, m.commodityId, m.tipo, m.quantidade, m.unidade, m.timestamp, m.latitude, m.longitude, m.criadoEm)
+            from Movimentacao m
+            where m.producerId = :producerId
+              and m.timestamp >= :from and m.timestamp <= :to
+              and m.timestamp <= :cursorTimestamp
+              and (m.timestamp < :cursorTimestamp or (m.timestamp = :cursorTimestamp and m.id < :cursorId))
+            order by m.timestamp desc, m.id desc
+            """)
+    List<MovimentacaoRow> findKeysetPageAfter(@Param("producerId") String producerId,
+                                              @Param("from") OffsetDateTime from,
+                                              @Param("to") OffsetDateTime to,
+                                              @Param("cursorTimestamp") OffsetDateTime cursorTimestamp,
+                                              @Param("cursorId") UUID cursorId,
+                                              Pageable limit);
+
+    @Query("""
+            select new com.ecoledger.movimentacao.domain.repository.MovimentacaoRow(
+                m.id, m.producerId, m.commodityId, m.tipo, m.quantidade, m.unidade, m.timestamp, m.latitude, m.longitude, m.criadoEm)
+            from Movimentacao m
+            where m.producerId = :producerId
+              and m.commodityId = :commodityId
+              and m.timestamp >= :from and m.timestamp <= :to
+              and m.timestamp <= :cursorTimestamp
+              and (m.timestamp < :cursorTimestamp or (m.timestamp = :cursorTimestamp and m.id < :cursorId))
+            order by m.timestamp desc, m.id desc
+            """)
+    List<MovimentacaoRow> findKeysetPageAfterByCommodity(@Param("producerId") String producerId,
+                                                         @Param("commodityId") String commodityId,
+                                                         @Param("from") OffsetDateTime from,
+                                                         @Param("to") OffsetDateTime to,
+                                                         @Param("cursorTimestamp") OffsetDateTime cursorTimestamp,
+                                                         @Param("cursorId") UUID cursorId,
+                                                         Pageable limit);
+
+    @Query("""
+            select count(m) from Movimentacao m
+            where m.producerId = :producerId
+              and m.timestamp >= :from and m.timestamp <= :to
+            """)
+    long countForListing(@Param("producerId") String producerId,
+                         @Param("from") OffsetDateTime from,
+                         @Param("to") OffsetDateTime to);
+
+    @Query("""
+            select count(m) from Movimentacao m
+            where m.producerId = :producerId
+              and m.commodityId = :commodityId
+              and m.timestamp >= :from and m.timestamp <= :to
+            """)
+    long countForListingByCommodity(@Param("producerId") String producerId,
+                                    @Param("commodityId") String commodityId,
+                                    @Param("from") OffsetDateTime from,
+                                    @Param("to") OffsetDateTime to);
+
+    /**
+     * Server-side cursor over a producer's rows in {@code (registro_timestamp, id)} order.
+     * Must be consumed and closed inside a transaction; rows are fetched {@value #EXPORT_FETCH_SIZE} at a time.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.ecoledger.movimentacao.domain.repository.MovimentacaoRow(
+                m.id, m.producerId, m.commodityId, m.tipo, m.quantidade, m.unidade, m.timestamp, m.latitude, m.longitude, m.criadoEm)
+            from Movimentacao m
+            where m.producerId = :producerId and m.timestamp >= :from and m.timestamp <= :to
+            order by m.timestamp, m.id
+            """)
+    Stream<MovimentacaoRow> streamRowsByProducerId(@Param("producerId") String producerId,
+                                                   @Param("from") OffsetDateTime from,
+                                                   @Param("to") OffsetDateTime to);
+
+    @Query("""
+            select new com.ecoledger.movimentacao.domain.repository.AnexoRow(a.movimentacao.id, a.tipo, a.url, a.hash)
+            from MovimentacaoAnexo a
+            where a.movimentacao.id in :movimentacaoIds
+            """)
+    List<AnexoRow> findAnexoRowsByMovimentacaoIds(@Param("movimentacaoIds") Collection<UUID> movimentacaoIds);
+
+    /**
+     * Creates the partition for the UTC month containing {@code month}. Returns the partition name when it was created,
+     * {@code null} when it already existed. PostgreSQL only.
+     */
+    @Transactional
+    @Query(value = "SELECT movimentacoes_ensure_partition(:month)", nativeQuery = true)
+    String ensurePartition(@Param("month") LocalDate month);
+
+    /**
+     * Detaches the monthly partitions ending on or before {@code cutoff} and moves them, with their anexos, into the
+     * {@code movimentacoes_archive} schema. The anexos are moved before any partition is detached, so the ACCESS
+     * EXCLUSIVE lock the detach takes on {@code movimentacoes} only covers the catalog changes at the end of the
+     * transaction. Returns the archived partition names. PostgreSQL only.
+     */
+    @Transactional
+    @Query(value = "SELECT movimentacoes_archive_partitions_before(:cutoff)", nativeQuery = true)
+    List<String> archivePartitionsBefore(@Param("cutoff") LocalDate cutoff);
+
+    /**
+     * Takes a transaction-scoped advisory lock without waiting; {@code false} when another session holds it.
+     */
+    @Transactional
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+}
@@ -0,0 +1,21 @@
+package com.ecoledger.movimentacao.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a movimentacao row, built directly by JPQL constructor expressions so large reads
+ * never hydrate entities into the persistence context.
+ */
+public record MovimentacaoRow(UUID id,
+                              String producerId,
+                              String commodityId,
+                              String tipo,
+                              BigDecimal quantidade,
+                              String unidade,
+                              OffsetDateTime timestamp,
+                              Double latitude,
+                              Double longitude,
+                              OffsetDateTime criadoEm) {
+}
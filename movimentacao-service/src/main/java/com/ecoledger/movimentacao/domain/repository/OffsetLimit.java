@@ -0,0 +1,56 @@
+package com.ecoledger.movimentacao.domain.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Unsorted {@link Pageable} for an arbitrary offset and limit, which {@code PageRequest} cannot express: offset
+ * paging reads {@code size + 1} rows from {@code (page - 1) * size} to tell whether another page follows.
+ */
+public record OffsetLimit(long offset, int limit) implements Pageable {
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / limit);
+    }
+
+    @Override
+    public int getPageSize() {
+        return limit;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetLimit(offset + limit, limit);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return new OffsetLimit(Math.max(0, offset - limit), limit);
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetLimit(0, limit);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetLimit((long) pageNumber * limit, limit);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
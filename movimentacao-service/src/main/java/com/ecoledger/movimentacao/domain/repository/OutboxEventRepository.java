@@ -0,0 +1,30 @@
+package com.ecoledger.movimentacao.domain.repository;
+
+import com.ecoledger.movimentacao.domain.model.OutboxEvent;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Locks the oldest pending events whose retry is due; rows already locked by another relay instance are skipped.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE attempts < :maxAttempts AND next_attempt_at <= now() "
+            + "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.attempts < :maxAttempts")
+    OffsetDateTime findOldestPendingCreatedAt(@Param("maxAttempts") int maxAttempts);
+
+    long countByAttemptsLessThan(int maxAttempts);
+
+    /**
+     * Counts events that exhausted their attempts; the relay no longer picks them up, so they need an operator.
+     */
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+}
@@ -1,26 +1,60 @@
 package com.ecoledger.movimentacao.messaging;
 
+import com.ecoledger.movimentacao.application.service.EventPublishUnavailableException;
 import com.ecoledger.movimentacao.application.service.MovimentacaoEventPublisher;
 import com.ecoledger.movimentacao.config.KafkaProperties;
 import com.ecoledger.movimentacao.domain.model.Movimentacao;
 import com.ecoledger.movimentacao.domain.model.MovimentacaoAnexo;
 import com.ecoledger.movimentacao.messaging.event.MovimentacaoCriadaEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Direct Kafka publisher, used when the outbox is disabled. At most {@code max-pending-sends} records may be
+ * waiting for a broker acknowledgement; beyond that callers wait up to {@code max-block} for a slot, so a slow
+ * broker slows producers down instead of growing the client buffer without bound. When no slot frees up in time the
+ * publish fails with {@link EventPublishUnavailableException}, which rolls the registrar transaction back: the client
+ * gets a 503 and retries, rather than the movimentacao being stored without its event. The same applies when the
+ * client itself refuses the record, e.g. its buffer stays full past {@code max.block.ms} or the topic metadata is
+ * unavailable.
+ */
 @Service
 public class KafkaMovimentacaoEventPublisher implements MovimentacaoEventPublisher {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaMovimentacaoEventPublisher.class);
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final KafkaProperties kafkaProperties;
+    private final Semaphore pendingSends;
+    private final Timer sendSuccess;
+    private final Timer sendFailure;
+    private final Timer sendRejected;
 
     public KafkaMovimentacaoEventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
-                                           KafkaProperties kafkaProperties) {
+                                           KafkaProperties kafkaProperties,
+                                           MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
         this.kafkaProperties = kafkaProperties;
+        int maxPending = kafkaProperties.producer().maxPendingSends();
+        this.pendingSends = new Semaphore(maxPending);
+        String topic = kafkaProperties.topics() != null ? String.valueOf(kafkaProperties.topics().movimentacaoCriada()) : "none";
+        this.sendSuccess = sendTimer(meterRegistry, topic, "success");
+        this.sendFailure = sendTimer(meterRegistry, topic, "failure");
+        this.sendRejected = sendTimer(meterRegistry, topic, "backpressure");
+        Gauge.builder("movimentacao.kafka.pending", pendingSends, s -> maxPending - s.availablePermits())
+                .description("Records sent but not yet acknowledged by the broker")
+                .register(meterRegistry);
     }
 
     @Override
@@ -28,11 +62,51 @@ public class KafkaMovimentacaoEventPublisher implements MovimentacaoEventPublish
         if (!kafkaProperties.enabled()) {
             return;
         }
+        String topic = kafkaProperties.topics().movimentacaoCriada();
         MovimentacaoCriadaEvent event = toEvent(movimentacao);
-        kafkaTemplate.send(kafkaProperties.topics().movimentacaoCriada(), movimentacao.getId().toString(), event);
+        long start = System.nanoTime();
+        try {
+            if (!pendingSends.tryAcquire(kafkaProperties.producer().maxBlock().toMillis(), TimeUnit.MILLISECONDS)) {
+                record(sendRejected, start);
+                LOGGER.warn("Rejected movimentacao.criada for id={}: {} sends pending traceId={}", movimentacao.getId(),
+                        kafkaProperties.producer().maxPendingSends(), MDC.get("traceId"));
+                throw new EventPublishUnavailableException("Event broker is not keeping up, try again later");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            record(sendFailure, start);
+            throw new EventPublishUnavailableException("Interrupted while waiting to publish the event");
+        }
+        try {
+            kafkaTemplate.send(topic, movimentacao.getId().toString(), event)
+                    .whenComplete((result, ex) -> {
+                        pendingSends.release();
+                        record(ex == null ? sendSuccess : sendFailure, start);
+                        if (ex != null) {
+                            LOGGER.error("Failed to publish movimentacao.criada for id={} error={}", movimentacao.getId(), ex.getMessage());
+                        }
+                    });
+        } catch (Exception ex) {
+            pendingSends.release();
+            record(sendFailure, start);
+            LOGGER.error("Failed to publish event for movimentacao id={} traceId={} error={}", movimentacao.getId(), MDC.get("traceId"), ex.getMessage());
+            throw new EventPublishUnavailableException("Event broker client rejected the event, try again later", ex);
+        }
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String topic, String outcome) {
+        return Timer.builder("movimentacao.kafka.send")
+                .description("Time from send to broker acknowledgement")
+                .tags("topic", topic, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static void record(Timer timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
     }
 
-    private MovimentacaoCriadaEvent toEvent(Movimentacao movimentacao) {
+    static MovimentacaoCriadaEvent toEvent(Movimentacao movimentacao) {
         return new MovimentacaoCriadaEvent(
                 movimentacao.getId(),
                 movimentacao.getProducerId(),
@@ -48,7 +122,7 @@ public class KafkaMovimentacaoEventPublisher implements MovimentacaoEventPublish
         );
     }
 
-    private List<MovimentacaoCriadaEvent.MovimentacaoCriadaEventAnexo> mapAnexos(List<MovimentacaoAnexo> anexos) {
+    private static List<MovimentacaoCriadaEvent.MovimentacaoCriadaEventAnexo> mapAnexos(List<MovimentacaoAnexo> anexos) {
         return anexos.stream()
                 .map(anexo -> new MovimentacaoCriadaEvent.MovimentacaoCriadaEventAnexo(
                         anexo.getTipo(),
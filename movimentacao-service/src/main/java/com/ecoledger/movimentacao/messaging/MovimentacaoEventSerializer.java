@@ -0,0 +1,91 @@
+package com.ecoledger.movimentacao.messaging;
+
+import com.ecoledger.events.BinaryEventCodec;
+import com.ecoledger.events.EventFormat;
+import com.ecoledger.events.EventSubjects;
+import com.ecoledger.movimentacao.config.KafkaProperties;
+import com.ecoledger.movimentacao.messaging.event.MovimentacaoCriadaEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serializes outgoing events in the configured {@link EventFormat}. In binary mode movimentacao.criada is written
+ * with the shared event-contracts schema; anything else, and every event in JSON mode, goes through Jackson.
+ * Used both by the direct Kafka producer and by the outbox, which stores the payload exactly as it is sent.
+ */
+@Component
+public class MovimentacaoEventSerializer implements Serializer<Object> {
+
+    private final EventFormat format;
+    private final BinaryEventCodec codec;
+    private final ObjectMapper objectMapper;
+
+    public MovimentacaoEventSerializer(KafkaProperties kafkaProperties, BinaryEventCodec codec, ObjectMapper objectMapper) {
+        this.format = kafkaProperties.events().format();
+        this.codec = codec;
+        this.objectMapper = objectMapper;
+    }
+
+    public EventFormat format() {
+        return format;
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (format == EventFormat.BINARY && data instanceof MovimentacaoCriadaEvent event) {
+            return codec.encode(EventSubjects.MOVIMENTACAO_CRIADA, toRecord(event));
+        }
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException ex) {
+            throw new SerializationException("Unable to serialize " + data.getClass().getSimpleName() + " for " + topic, ex);
+        }
+    }
+
+    GenericRecord toRecord(MovimentacaoCriadaEvent event) {
+        Schema schema = codec.schema(EventSubjects.MOVIMENTACAO_CRIADA);
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("movimentacaoId", event.movimentacaoId());
+        record.put("producerId", event.producerId());
+        record.put("commodityId", event.commodityId());
+        record.put("tipo", event.tipo());
+        record.put("quantidade", event.quantidade().setScale(EventSubjects.QUANTIDADE_SCALE, RoundingMode.HALF_UP));
+        record.put("unidade", event.unidade());
+        record.put("timestamp", event.timestamp().toInstant());
+        record.put("latitude", event.latitude());
+        record.put("longitude", event.longitude());
+        record.put("criadoEm", toInstant(event.criadoEm()));
+        Schema anexoSchema = schema.getField("anexos").schema().getElementType();
+        List<GenericRecord> anexos = new ArrayList<>(event.anexos() == null ? 0 : event.anexos().size());
+        if (event.anexos() != null) {
+            for (MovimentacaoCriadaEvent.MovimentacaoCriadaEventAnexo anexo : event.anexos()) {
+                GenericRecord item = new GenericData.Record(anexoSchema);
+                item.put("tipo", anexo.tipo());
+                item.put("url", anexo.url());
+                item.put("hash", anexo.hash());
+                anexos.add(item);
+            }
+        }
+        record.put("anexos", anexos);
+        return record;
+    }
+
+    private static Instant toInstant(OffsetDateTime value) {
+        return value == null ? null : value.toInstant();
+    }
+}
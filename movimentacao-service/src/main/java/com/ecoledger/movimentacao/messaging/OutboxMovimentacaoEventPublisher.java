@@ -0,0 +1,53 @@
+package com.ecoledger.movimentacao.messaging;
+
+import com.ecoledger.movimentacao.application.service.MovimentacaoEventPublisher;
+import com.ecoledger.movimentacao.config.KafkaProperties;
+import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import com.ecoledger.movimentacao.domain.model.OutboxEvent;
+import com.ecoledger.movimentacao.domain.repository.OutboxEventRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Stores movimentacao.criada in the outbox table as part of the caller's transaction.
+ * {@link OutboxRelay} publishes the rows to Kafka after commit, so the request path never waits on the broker
+ * and rolled back movimentações never produce an event.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "movimentacao.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxMovimentacaoEventPublisher implements MovimentacaoEventPublisher {
+
+    private final OutboxEventRepository repository;
+    private final KafkaProperties kafkaProperties;
+    private final MovimentacaoEventSerializer serializer;
+
+    public OutboxMovimentacaoEventPublisher(OutboxEventRepository repository,
+                                            KafkaProperties kafkaProperties,
+                                            MovimentacaoEventSerializer serializer) {
+        this.repository = repository;
+        this.kafkaProperties = kafkaProperties;
+        this.serializer = serializer;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishCreated(Movimentacao movimentacao) {
+        if (!kafkaProperties.enabled()) {
+            return;
+        }
+        String topic = kafkaProperties.topics().movimentacaoCriada();
+        byte[] payload = serializer.serialize(topic, KafkaMovimentacaoEventPublisher.toEvent(movimentacao));
+        repository.save(new OutboxEvent(
+                movimentacao.getId(),
+                topic,
+                movimentacao.getId().toString(),
+                payload,
+                OffsetDateTime.now()));
+    }
+}
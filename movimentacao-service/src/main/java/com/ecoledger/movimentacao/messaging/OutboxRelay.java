@@ -0,0 +1,167 @@
+package com.ecoledger.movimentacao.messaging;
+
+import com.ecoledger.movimentacao.config.OutboxProperties;
+import com.ecoledger.movimentacao.domain.model.OutboxEvent;
+import com.ecoledger.movimentacao.domain.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the outbox table and publishes pending events to Kafka.
+ * Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, so several instances can relay concurrently
+ * without sending the same row twice. Sends are asynchronous, limited to {@code max-in-flight} unacknowledged
+ * records, and rows are deleted only after the broker acknowledges them. A failed row is retried after an
+ * exponential backoff capped at {@code max-backoff}; once it reaches {@code max-attempts} it is left in the table,
+ * logged at error level and counted by the {@code outbox.relay.dead} gauge so it can be alerted on and replayed.
+ */
+@Component
+@ConditionalOnProperty(name = {"movimentacao.kafka.enabled", "movimentacao.outbox.enabled"}, havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository repository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore inFlight;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer publishDelay;
+
+    public OutboxRelay(OutboxEventRepository repository,
+                       KafkaTemplate<String, byte[]> outboxKafkaTemplate,
+                       OutboxProperties properties,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.kafkaTemplate = outboxKafkaTemplate;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.inFlight = new Semaphore(properties.maxInFlight());
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest event waiting in the outbox")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.pending", pending, AtomicLong::get)
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.dead", dead, AtomicLong::get)
+                .description("Events that exhausted their attempts and are no longer relayed")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.relay.published").register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.relay.failed").register(meterRegistry);
+        this.publishDelay = Timer.builder("outbox.relay.delay")
+                .description("Time between the outbox insert and the broker acknowledgement")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${movimentacao.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> relayBatch());
+            } while (published != null && published == properties.batchSize());
+            refreshLag();
+        } catch (Exception ex) {
+            LOGGER.error("Outbox relay iteration failed error={}", ex.getMessage(), ex);
+        }
+    }
+
+    int relayBatch() {
+        List<OutboxEvent> batch = repository.lockNextBatch(properties.maxAttempts(), properties.batchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            if (!acquire()) {
+                break;
+            }
+            CompletableFuture<SendResult<String, byte[]>> send;
+            try {
+                send = kafkaTemplate.send(event.getTopic(), event.getEventKey(), event.getPayload());
+            } catch (RuntimeException ex) {
+                send = CompletableFuture.failedFuture(ex);
+            }
+            sends.add(send.whenComplete((result, ex) -> inFlight.release()));
+        }
+        List<OutboxEvent> delivered = new ArrayList<>(sends.size());
+        long deadline = System.nanoTime() + properties.sendTimeout().toNanos();
+        for (int i = 0; i < sends.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                delivered.add(event);
+                publishDelay.record(Duration.between(event.getCreatedAt(), OffsetDateTime.now()));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                markFailed(event, "interrupted");
+            } catch (Exception ex) {
+                LOGGER.warn("Failed to relay outbox event id={} topic={} attempt={} error={}", event.getId(), event.getTopic(), event.getAttempts() + 1, ex.getMessage());
+                markFailed(event, ex.getMessage());
+                failedCounter.increment();
+            }
+        }
+        repository.deleteAllInBatch(delivered);
+        publishedCounter.increment(delivered.size());
+        LOGGER.debug("Outbox relay batch locked={} delivered={}", batch.size(), delivered.size());
+        return delivered.size();
+    }
+
+    private void markFailed(OutboxEvent event, String error) {
+        event.markFailed(error, OffsetDateTime.now().plus(backoff(event.getAttempts())));
+        if (event.getAttempts() >= properties.maxAttempts()) {
+            LOGGER.error("Outbox event id={} topic={} exhausted {} attempts and will not be relayed again error={}",
+                    event.getId(), event.getTopic(), event.getAttempts(), error);
+        }
+    }
+
+    /**
+     * Delay before the next attempt: {@code initial-backoff} doubled for each earlier failure, capped at {@code max-backoff}.
+     */
+    Duration backoff(int previousAttempts) {
+        Duration delay = properties.initialBackoff().multipliedBy(1L << Math.min(previousAttempts, 20));
+        return delay.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : delay;
+    }
+
+    private boolean acquire() {
+        try {
+            inFlight.acquire();
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void refreshLag() {
+        OffsetDateTime oldest = repository.findOldestPendingCreatedAt(properties.maxAttempts());
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, OffsetDateTime.now()).toMillis()));
+        pending.set(repository.countByAttemptsLessThan(properties.maxAttempts()));
+        dead.set(repository.countByAttemptsGreaterThanEqual(properties.maxAttempts()));
+    }
+}
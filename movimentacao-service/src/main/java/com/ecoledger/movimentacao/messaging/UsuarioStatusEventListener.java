@@ -0,0 +1,61 @@
+package com.ecoledger.movimentacao.messaging;
+
+import com.ecoledger.movimentacao.application.service.impl.CachingProducerApprovalClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes the user status events emitted by users-service and evicts the cached approval
+ * decision of the affected producer. Every instance uses its own consumer group so all of
+ * them see every event.
+ */
+@Component
+@ConditionalOnProperty(name = "movimentacao.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class UsuarioStatusEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UsuarioStatusEventListener.class);
+
+    private final CachingProducerApprovalClient approvalClient;
+    private final ObjectMapper objectMapper;
+
+    public UsuarioStatusEventListener(CachingProducerApprovalClient approvalClient, ObjectMapper objectMapper) {
+        this.approvalClient = approvalClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(
+            topics = {"${movimentacao.kafka.topics.usuarios-aprovados}", "${movimentacao.kafka.topics.usuarios-rejeitados}"},
+            groupId = "movimentacao-approval-cache-${random.uuid}",
+            containerFactory = "usuariosEventsListenerContainerFactory"
+    )
+    public void onStatusChanged(String payload) {
+        String usuarioId = extractUsuarioId(payload);
+        if (usuarioId == null) {
+            LOGGER.warn("Ignoring user status event without usuarioId payload={}", payload);
+            return;
+        }
+        approvalClient.invalidate(usuarioId);
+    }
+
+    String extractUsuarioId(String payload) {
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            // users-service serializes the event to a JSON string before handing it to JsonSerializer
+            if (node != null && node.isTextual()) {
+                node = objectMapper.readTree(node.asText());
+            }
+            if (node == null || !node.hasNonNull("usuarioId")) {
+                return null;
+            }
+            return node.get("usuarioId").asText();
+        } catch (Exception ex) {
+            LOGGER.warn("Unable to parse user status event payload={} error={}", payload, ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+-- Flyway migration: geohash of the movimentacao location with a B-tree index for bounding-box and radius queries
+-- The "C" collation makes range comparisons byte-wise, so every geohash prefix maps to one index range.
+
+ALTER TABLE movimentacoes ADD COLUMN IF NOT EXISTS geohash VARCHAR(12) COLLATE "C";
+
+-- same bisection as com.ecoledger.movimentacao.domain.model.Geohash, which computes the value on insert
+CREATE OR REPLACE FUNCTION movimentacoes_geohash(p_lat DOUBLE PRECISION, p_lon DOUBLE PRECISION, p_precision INT)
+RETURNS TEXT
+LANGUAGE plpgsql IMMUTABLE AS $$
+DECLARE
+    base32 CONSTANT TEXT := '0123456789bcdefghjkmnpqrstuvwxyz';
+    lat_min DOUBLE PRECISION := -90;
+    lat_max DOUBLE PRECISION := 90;
+    lon_min DOUBLE PRECISION := -180;
+    lon_max DOUBLE PRECISION := 180;
+    mid DOUBLE PRECISION;
+    hash TEXT := '';
+    chunk INT := 0;
+    bit_index INT := 0;
+BEGIN
+    IF p_lat IS NULL OR p_lon IS NULL THEN
+        RETURN NULL;
+    END IF;
+    WHILE length(hash) < p_precision LOOP
+        IF bit_index % 2 = 0 THEN
+            mid := (lon_min + lon_max) / 2;
+            IF p_lon >= mid THEN
+                chunk := chunk * 2 + 1;
+                lon_min := mid;
+            ELSE
+                chunk := chunk * 2;
+                lon_max := mid;
+            END IF;
+        ELSE
+            mid := (lat_min + lat_max) / 2;
+            IF p_lat >= mid THEN
+                chunk := chunk * 2 + 1;
+                lat_min := mid;
+            ELSE
+                chunk := chunk * 2;
+                lat_max := mid;
+            END IF;
+        END IF;
+        bit_index := bit_index + 1;
+        IF bit_index % 5 = 0 THEN
+            hash := hash || substr(base32, chunk + 1, 1);
+            chunk := 0;
+        END IF;
+    END LOOP;
+    RETURN hash;
+END;
+$$;
+
+UPDATE movimentacoes SET geohash = movimentacoes_geohash(latitude, longitude, 9)
+WHERE latitude IS NOT NULL AND longitude IS NOT NULL AND geohash IS NULL;
+
+-- geohash is matched by prefix range, so registro_timestamp does not narrow the scan; as the second column it lets a
+-- date filter discard entries inside each cell range from the index alone, before any heap row is fetched
+CREATE INDEX IF NOT EXISTS idx_movimentacoes_geohash_timestamp ON movimentacoes (geohash, registro_timestamp)
+    WHERE geohash IS NOT NULL;
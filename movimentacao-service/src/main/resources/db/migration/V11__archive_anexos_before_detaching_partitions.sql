@@ -0,0 +1,33 @@
+-- Flyway migration: archive the anexos of expiring partitions before any partition is detached
+-- DETACH PARTITION takes an ACCESS EXCLUSIVE lock on movimentacoes that is held until the maintenance transaction
+-- commits, so every read and write of the table waits behind it. Copying and deleting the anexos of all expiring
+-- partitions first, while movimentacoes is only read, leaves the detaches and schema moves as the last statements of
+-- the transaction and keeps that lock down to catalog changes.
+
+CREATE OR REPLACE FUNCTION movimentacoes_archive_partitions_before(p_cutoff DATE) RETURNS SETOF TEXT
+LANGUAGE plpgsql AS $$
+DECLARE
+    expiring TEXT[];
+    part TEXT;
+BEGIN
+    SELECT coalesce(array_agg(c.relname ORDER BY c.relname), '{}') INTO expiring
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'movimentacoes'::REGCLASS
+      AND c.relname ~ '^movimentacoes_p\d{4}_\d{2}$'
+      AND to_date(substring(c.relname FROM '(\d{4}_\d{2})$'), 'YYYY_MM') + INTERVAL '1 month' <= p_cutoff;
+
+    FOREACH part IN ARRAY expiring LOOP
+        EXECUTE format('CREATE TABLE movimentacoes_archive.%I AS'
+                       ' SELECT a.* FROM movimentacao_anexos a JOIN %I m ON m.id = a.movimentacao_id',
+                       replace(part, 'movimentacoes_', 'movimentacao_anexos_'), part);
+        EXECUTE format('DELETE FROM movimentacao_anexos a USING %I m WHERE m.id = a.movimentacao_id', part);
+    END LOOP;
+
+    FOREACH part IN ARRAY expiring LOOP
+        EXECUTE format('ALTER TABLE movimentacoes DETACH PARTITION %I', part);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA movimentacoes_archive', part);
+        RETURN NEXT part;
+    END LOOP;
+END;
+$$;
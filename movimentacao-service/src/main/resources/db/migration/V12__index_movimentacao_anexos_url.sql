@@ -0,0 +1,3 @@
+-- Flyway migration: index movimentacao_anexos.url for the reference check done before deleting a duplicate upload
+
+CREATE INDEX IF NOT EXISTS idx_movimentacao_anexos_url ON movimentacao_anexos (url);
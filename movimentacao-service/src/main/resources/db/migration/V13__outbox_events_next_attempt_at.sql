@@ -0,0 +1,5 @@
+-- Flyway migration: schedule outbox retries with backoff instead of re-sending failed rows on every poll
+
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_next_attempt_at ON outbox_events(next_attempt_at);
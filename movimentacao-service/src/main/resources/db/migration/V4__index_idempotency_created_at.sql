@@ -0,0 +1,3 @@
+-- Flyway migration: index idempotency_records.created_at for the expired-record purge
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_created_at ON idempotency_records(created_at);
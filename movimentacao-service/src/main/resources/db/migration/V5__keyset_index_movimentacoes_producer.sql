@@ -0,0 +1,7 @@
+-- Flyway migration: keyset pagination index for producer listings, ordered by (registro_timestamp, id) newest first
+
+CREATE INDEX IF NOT EXISTS idx_movimentacoes_producer_timestamp_id
+  ON movimentacoes (producer_id, registro_timestamp DESC, id DESC);
+
+-- the new index covers every lookup the old (producer_id, registro_timestamp) index served
+DROP INDEX IF EXISTS idx_movimentacoes_producer_timestamp;
@@ -0,0 +1,9 @@
+-- Flyway migration: keyset pagination index for commodity history, ordered by (registro_timestamp, id) newest first
+
+CREATE INDEX IF NOT EXISTS idx_movimentacoes_commodity_timestamp_id
+  ON movimentacoes (commodity_id, registro_timestamp DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_movimentacoes_commodity_timestamp;
+
+-- attachments are now loaded per page with movimentacao_id IN (...)
+CREATE INDEX IF NOT EXISTS idx_movimentacao_anexos_movimentacao_id ON movimentacao_anexos (movimentacao_id);
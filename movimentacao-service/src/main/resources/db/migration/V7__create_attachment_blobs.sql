@@ -0,0 +1,13 @@
+-- Flyway migration: content-addressed attachment storage, one row per distinct SHA-256
+
+CREATE TABLE IF NOT EXISTS attachment_blobs (
+  sha256 VARCHAR(64) PRIMARY KEY,
+  object_key TEXT NOT NULL,
+  content_type VARCHAR(100),
+  size_bytes BIGINT NOT NULL,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- movimentacao_anexos.hash is the reference to attachment_blobs.sha256; kept without a foreign key because rows
+-- written before content addressing carry client-supplied hashes with no blob behind them
+CREATE INDEX IF NOT EXISTS idx_movimentacao_anexos_hash ON movimentacao_anexos (hash);
@@ -0,0 +1,118 @@
+-- Flyway migration: range-partition movimentacoes by registro_timestamp, one partition per UTC month
+-- The partition key must be part of every unique constraint, so the primary key becomes (id, registro_timestamp).
+-- A foreign key can only target a unique constraint, so movimentacao_anexos loses its FK to movimentacoes;
+-- anexos are always written together with their movimentacao and archived with it.
+
+ALTER TABLE movimentacao_anexos DROP CONSTRAINT IF EXISTS movimentacao_anexos_movimentacao_id_fkey;
+
+ALTER TABLE movimentacoes RENAME TO movimentacoes_unpartitioned;
+ALTER INDEX movimentacoes_pkey RENAME TO movimentacoes_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_movimentacoes_producer_timestamp_id;
+DROP INDEX IF EXISTS idx_movimentacoes_commodity_timestamp_id;
+
+CREATE TABLE movimentacoes (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    producer_id VARCHAR(36) NOT NULL,
+    commodity_id VARCHAR(36) NOT NULL,
+    tipo VARCHAR(40) NOT NULL,
+    quantidade NUMERIC(19,4) NOT NULL,
+    unidade VARCHAR(10) NOT NULL,
+    registro_timestamp TIMESTAMP WITH TIME ZONE NOT NULL,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    criado_em TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, registro_timestamp)
+) PARTITION BY RANGE (registro_timestamp);
+
+-- catches rows outside every monthly partition (clock skew, backfills far in the past) so inserts never fail
+CREATE TABLE movimentacoes_default PARTITION OF movimentacoes DEFAULT;
+
+CREATE SCHEMA IF NOT EXISTS movimentacoes_archive;
+
+-- Creates the partition for the month containing p_month. Rows already sitting in the default partition for that
+-- month are moved into the new partition before it is attached. Returns the partition name when it was created,
+-- NULL when it already existed.
+CREATE OR REPLACE FUNCTION movimentacoes_ensure_partition(p_month DATE) RETURNS TEXT
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start DATE := date_trunc('month', p_month)::DATE;
+    lower_bound TIMESTAMPTZ := month_start::TIMESTAMP AT TIME ZONE 'UTC';
+    upper_bound TIMESTAMPTZ := (month_start + INTERVAL '1 month')::TIMESTAMP AT TIME ZONE 'UTC';
+    partition_name TEXT := 'movimentacoes_p' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+    IF EXISTS (SELECT 1 FROM movimentacoes_default
+               WHERE registro_timestamp >= lower_bound AND registro_timestamp < upper_bound) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE movimentacoes INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+        EXECUTE format('WITH moved AS (DELETE FROM movimentacoes_default'
+                       ' WHERE registro_timestamp >= %L AND registro_timestamp < %L RETURNING *)'
+                       ' INSERT INTO %I SELECT * FROM moved', lower_bound, upper_bound, partition_name);
+        EXECUTE format('ALTER TABLE movimentacoes ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, lower_bound, upper_bound);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF movimentacoes FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, lower_bound, upper_bound);
+    END IF;
+    RETURN partition_name;
+END;
+$$;
+
+-- Detaches every monthly partition that ends on or before p_cutoff and moves it, together with the anexos of its
+-- rows, into the movimentacoes_archive schema. Returns the names of the archived partitions.
+CREATE OR REPLACE FUNCTION movimentacoes_archive_partitions_before(p_cutoff DATE) RETURNS SETOF TEXT
+LANGUAGE plpgsql AS $$
+DECLARE
+    part RECORD;
+    anexos_name TEXT;
+BEGIN
+    FOR part IN
+        SELECT c.relname AS name,
+               to_date(substring(c.relname FROM '(\d{4}_\d{2})$'), 'YYYY_MM') AS month_start
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'movimentacoes'::REGCLASS
+          AND c.relname ~ '^movimentacoes_p\d{4}_\d{2}$'
+        ORDER BY c.relname
+    LOOP
+        CONTINUE WHEN part.month_start + INTERVAL '1 month' > p_cutoff;
+        anexos_name := replace(part.name, 'movimentacoes_', 'movimentacao_anexos_');
+        EXECUTE format('ALTER TABLE movimentacoes DETACH PARTITION %I', part.name);
+        EXECUTE format('CREATE TABLE movimentacoes_archive.%I AS'
+                       ' SELECT a.* FROM movimentacao_anexos a JOIN %I m ON m.id = a.movimentacao_id',
+                       anexos_name, part.name);
+        EXECUTE format('DELETE FROM movimentacao_anexos a USING %I m WHERE m.id = a.movimentacao_id', part.name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA movimentacoes_archive', part.name);
+        RETURN NEXT part.name;
+    END LOOP;
+END;
+$$;
+
+-- partitions for every month that already has data, plus the current month and the next three
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR month_start IN
+        SELECT DISTINCT date_trunc('month', registro_timestamp AT TIME ZONE 'UTC')::DATE FROM movimentacoes_unpartitioned
+        UNION
+        SELECT generate_series(date_trunc('month', now() AT TIME ZONE 'UTC'),
+                               date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months',
+                               INTERVAL '1 month')::DATE
+    LOOP
+        PERFORM movimentacoes_ensure_partition(month_start);
+    END LOOP;
+END;
+$$;
+
+INSERT INTO movimentacoes (id, producer_id, commodity_id, tipo, quantidade, unidade, registro_timestamp, latitude,
+                           longitude, criado_em)
+SELECT id, producer_id, commodity_id, tipo, quantidade, unidade, registro_timestamp, latitude, longitude, criado_em
+FROM movimentacoes_unpartitioned;
+
+DROP TABLE movimentacoes_unpartitioned;
+
+-- created on the parent, so every current and future partition gets its own local copy
+CREATE INDEX IF NOT EXISTS idx_movimentacoes_producer_timestamp_id ON movimentacoes (producer_id, registro_timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_movimentacoes_commodity_timestamp_id ON movimentacoes (commodity_id, registro_timestamp DESC, id DESC);
@@ -0,0 +1,19 @@
+-- Flyway migration: per-producer daily rollups of quantity and count, maintained in the registrar transaction
+
+CREATE TABLE IF NOT EXISTS movimentacao_daily_rollups (
+    producer_id VARCHAR(36) NOT NULL,
+    bucket_date DATE NOT NULL,
+    commodity_id VARCHAR(36) NOT NULL,
+    tipo VARCHAR(40) NOT NULL,
+    unidade VARCHAR(10) NOT NULL,
+    quantidade_total NUMERIC(38,4) NOT NULL,
+    movimentacoes_count BIGINT NOT NULL,
+    PRIMARY KEY (producer_id, bucket_date, commodity_id, tipo, unidade)
+);
+
+-- bucket_date is the UTC day of registro_timestamp
+INSERT INTO movimentacao_daily_rollups (producer_id, bucket_date, commodity_id, tipo, unidade, quantidade_total, movimentacoes_count)
+SELECT producer_id, (registro_timestamp AT TIME ZONE 'UTC')::DATE, commodity_id, tipo, unidade, SUM(quantidade), COUNT(*)
+FROM movimentacoes
+GROUP BY producer_id, (registro_timestamp AT TIME ZONE 'UTC')::DATE, commodity_id, tipo, unidade
+ON CONFLICT DO NOTHING;
@@ -1,14 +1,29 @@
 package com.ecoledger.movimentacao.application.controller;
 
+import com.ecoledger.movimentacao.application.service.AttachmentDeduplicationService;
 import com.ecoledger.movimentacao.application.service.AttachmentStorageService;
+import com.ecoledger.movimentacao.application.service.AttachmentTooLargeException;
+import com.ecoledger.movimentacao.application.service.InvalidAttachmentException;
+import com.ecoledger.movimentacao.application.service.impl.S3MultipartUploader;
+import com.ecoledger.movimentacao.application.service.impl.S3PresignedUrlService;
+import com.ecoledger.movimentacao.config.AttachmentPresignProperties;
+import com.ecoledger.movimentacao.config.AttachmentUploadProperties;
+import com.ecoledger.movimentacao.domain.model.AttachmentBlob;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -17,53 +32,96 @@ class AnexoControllerTest {
 
     private com.ecoledger.movimentacao.config.S3Properties s3Properties;
     private AttachmentStorageService attachmentStorageService;
+    private AttachmentDeduplicationService deduplicationService;
     private S3Client s3Client;
     private AnexoController controller;
 
     @BeforeEach
     void setup() {
-        s3Properties = new com.ecoledger.movimentacao.config.S3Properties("https://s3.example.com", "mybucket", null, null, null, 1024, java.util.List.of(), null, false);
+        s3Properties = new com.ecoledger.movimentacao.config.S3Properties("https://s3.example.com", "mybucket", "us-east-1", "access", "secret", 1024, java.util.List.of("application/pdf"), null, true);
         attachmentStorageService = mock(AttachmentStorageService.class);
         s3Client = mock(S3Client.class);
-        controller = new AnexoController(s3Properties, attachmentStorageService, s3Client);
+        deduplicationService = mock(AttachmentDeduplicationService.class);
+        when(deduplicationService.deduplicate(any())).thenAnswer(inv -> inv.getArgument(0));
+        controller = new AnexoController(s3Properties, attachmentStorageService, uploader(s3Properties), presignedUrlService(s3Properties),
+                deduplicationService);
     }
 
     @Test
-    void createUploadUrl_usesEndpoint_whenPublicBaseNull_and_encodesContentType_and_includesBucket() {
-        s3Properties = new com.ecoledger.movimentacao.config.S3Properties("https://s3.example.com", "mybucket", null, null, null, 1024, java.util.List.of(), null, false);
-        controller = new AnexoController(s3Properties, attachmentStorageService, s3Client);
+    void createUploadUrl_returnsPresignedPut_withSignedContentTypeAndLength() {
+        var resp = controller.createUploadUrl(new AnexoController.SignedUploadRequest("application/pdf", 2048L, null)).getBody();
+        assertNotNull(resp);
+        assertTrue(resp.objectKey().startsWith("uploads/"));
+        assertEquals("PUT", resp.method());
+        assertTrue(resp.uploadUrl().startsWith("https://s3.example.com/mybucket/" + resp.objectKey() + "?"));
+        assertTrue(resp.uploadUrl().contains("X-Amz-Signature="));
+        assertTrue(resp.uploadUrl().contains("X-Amz-Expires=900"));
+        assertEquals("application/pdf", resp.headers().get("Content-Type"));
+        assertEquals("2048", resp.headers().get("Content-Length"));
+        assertFalse(resp.headers().keySet().stream().anyMatch("host"::equalsIgnoreCase));
+        assertNotNull(resp.expiresAt());
+    }
+
+    @Test
+    void createUploadUrl_rejectsMimeTypeOutsideAllowList() {
+        var req = new AnexoController.SignedUploadRequest("text/html", null, null);
+        assertThrows(InvalidAttachmentException.class, () -> controller.createUploadUrl(req));
+    }
+
+    @Test
+    void createUploadUrl_rejectsDeclaredLengthAboveMax() {
+        var req = new AnexoController.SignedUploadRequest("application/pdf", s3Properties.maxAttachmentSizeBytes() + 1, null);
+        assertThrows(AttachmentTooLargeException.class, () -> controller.createUploadUrl(req));
+    }
+
+    @Test
+    void createUploadUrl_skipsUpload_whenHashAlreadyStored() {
+        String sha256 = "a".repeat(64);
+        when(deduplicationService.findExisting(sha256)).thenReturn(Optional.of(
+                new AttachmentBlob(sha256, "sha256/" + sha256, "application/pdf", 2048L, OffsetDateTime.now())));
+
+        var resp = controller.createUploadUrl(new AnexoController.SignedUploadRequest("application/pdf", 2048L, sha256.toUpperCase())).getBody();
 
-        var req = new AnexoController.SignedUploadRequest("text/plain;charset=utf-8");
-        var resp = controller.createUploadUrl(req).getBody();
         assertNotNull(resp);
-        assertNotNull(resp.objectKey());
-        assertTrue(resp.uploadUrl().contains("/mybucket/"));
-        // verify encoded content type is present
-        assertTrue(resp.uploadUrl().contains("contentType="));
-        String encoded = resp.uploadUrl().split("contentType=")[1].split("&")[0];
-        String decoded = URLDecoder.decode(encoded, StandardCharsets.UTF_8);
-        assertEquals("text/plain;charset=utf-8", decoded);
+        assertTrue(resp.alreadyStored());
+        assertNull(resp.uploadUrl());
+        assertEquals("sha256/" + sha256, resp.objectKey());
     }
 
     @Test
-    void createUploadUrl_usesPublicBase_without_duplicating_bucket_when_publicBase_contains_bucket() {
-        s3Properties = new com.ecoledger.movimentacao.config.S3Properties("https://s3.example.com", "mybucket", null, null, null, 1024, java.util.List.of(), "https://cdn.example.com/mybucket", false);
-        controller = new AnexoController(s3Properties, attachmentStorageService, s3Client);
+    void createUploadUrl_usesContentKeyAndSignsChecksum_whenHashIsNew() {
+        String sha256 = "b".repeat(64);
+        when(deduplicationService.findExisting(sha256)).thenReturn(Optional.empty());
+
+        var resp = controller.createUploadUrl(new AnexoController.SignedUploadRequest("application/pdf", 2048L, sha256)).getBody();
 
-        var req = new AnexoController.SignedUploadRequest(null);
-        var resp = controller.createUploadUrl(req).getBody();
         assertNotNull(resp);
-        // should not contain double bucket
-        assertFalse(resp.uploadUrl().contains("/mybucket/mybucket"));
-        // since publicBase already contains bucket, url should be base/key?...
-        assertTrue(resp.uploadUrl().contains("cdn.example.com"));
+        assertFalse(resp.alreadyStored());
+        assertEquals("sha256/" + sha256, resp.objectKey());
+        assertTrue(resp.uploadUrl().startsWith("https://s3.example.com/mybucket/sha256/" + sha256 + "?"));
+        assertNotNull(resp.headers().get("x-amz-checksum-sha256"));
+        assertEquals(sha256, resp.headers().get("x-amz-meta-hash"));
+    }
+
+    @Test
+    void createUploadUrl_rejectsMalformedHash() {
+        var req = new AnexoController.SignedUploadRequest("application/pdf", 2048L, "not-a-hash");
+        assertThrows(InvalidAttachmentException.class, () -> controller.createUploadUrl(req));
+    }
+
+    @Test
+    void createDownloadUrl_returnsPresignedGet() {
+        var resp = controller.createDownloadUrl("k1").getBody();
+        assertNotNull(resp);
+        assertTrue(resp.downloadUrl().startsWith("https://s3.example.com/mybucket/k1?"));
+        assertTrue(resp.downloadUrl().contains("X-Amz-Expires=300"));
     }
 
     @Test
     void uploadProxy_success_returnsOk_and_callsS3Client() {
         String key = "k1";
         byte[] body = "hello".getBytes();
-        var resp = controller.uploadProxy(key, body, "text/plain");
+        var resp = controller.uploadProxy(key, request(body), "text/plain");
         assertEquals(200, resp.getStatusCode().value());
         ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
         verify(s3Client).putObject(captor.capture(), any(software.amazon.awssdk.core.sync.RequestBody.class));
@@ -75,10 +133,25 @@ class AnexoControllerTest {
     @Test
     void uploadProxy_whenS3Throws_returns500() {
         doThrow(new RuntimeException("boom")).when(s3Client).putObject(any(PutObjectRequest.class), any(software.amazon.awssdk.core.sync.RequestBody.class));
-        var resp = controller.uploadProxy("k2", null, null);
+        var resp = controller.uploadProxy("k2", request(null), null);
         assertEquals(500, resp.getStatusCode().value());
     }
 
+    @Test
+    void uploadProxy_whenBodyExceedsMax_rejectsWithoutCallingS3() {
+        var request = request(new byte[(int) s3Properties.maxAttachmentSizeBytes() + 1]);
+        assertThrows(AttachmentTooLargeException.class, () -> controller.uploadProxy("k3", request, "application/pdf"));
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    void uploadProxy_rejectsContentAddressedKeys() {
+        var request = request(new byte[]{1, 2, 3});
+        assertThrows(InvalidAttachmentException.class,
+                () -> controller.uploadProxy("sha256/" + "b".repeat(64), request, "application/pdf"));
+        verifyNoInteractions(s3Client);
+    }
+
     @Test
     void confirmUpload_returnsAttachmentConfirmation() {
         var expected = new AttachmentStorageService.AttachmentConfirmation("k", "url", "tipo", "hash", 10L);
@@ -88,5 +161,25 @@ class AnexoControllerTest {
         assertEquals(expected, resp.getBody());
     }
 
+    private S3MultipartUploader uploader(com.ecoledger.movimentacao.config.S3Properties properties) {
+        return new S3MultipartUploader(properties, new AttachmentUploadProperties(null, 1, null), s3Client);
+    }
 
+    private static S3PresignedUrlService presignedUrlService(com.ecoledger.movimentacao.config.S3Properties properties) {
+        S3Presigner presigner = S3Presigner.builder()
+                .endpointOverride(URI.create(properties.endpoint()))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(properties.accessKey(), properties.secretKey())))
+                .region(Region.of(properties.region()))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+        return new S3PresignedUrlService(properties, new AttachmentPresignProperties(null, null, null), presigner);
+    }
+
+    private static MockHttpServletRequest request(byte[] body) {
+        var request = new MockHttpServletRequest("POST", "/anexos/upload-proxy");
+        if (body != null) {
+            request.setContent(body);
+        }
+        return request;
+    }
 }
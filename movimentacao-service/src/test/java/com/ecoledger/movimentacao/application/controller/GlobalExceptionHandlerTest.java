@@ -2,6 +2,7 @@ package com.ecoledger.movimentacao.application.controller;
 
 import com.ecoledger.movimentacao.application.service.InvalidAttachmentException;
 import com.ecoledger.movimentacao.application.service.MovimentacaoNotFoundException;
+import com.ecoledger.movimentacao.application.service.ProducerApprovalUnavailableException;
 import com.ecoledger.movimentacao.application.service.ProducerNotApprovedException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
@@ -37,6 +38,20 @@ class GlobalExceptionHandlerTest {
         assertEquals("/test/prod", body.instance());
     }
 
+    @Test
+    void handleProducerApprovalUnavailable_returnsServiceUnavailableProblemDetails() {
+        var ex = new ProducerApprovalUnavailableException("p1", new RuntimeException("circuit open"));
+        HttpServletRequest req = Mockito.mock(HttpServletRequest.class);
+        when(req.getRequestURI()).thenReturn("/movimentacoes");
+
+        ResponseEntity<GlobalExceptionHandler.ProblemDetails> resp = handler.handleProducerApprovalUnavailable(ex, req);
+        assertEquals(503, resp.getStatusCode().value());
+        var body = resp.getBody();
+        assertNotNull(body);
+        assertEquals("Producer Approval Unavailable", body.title());
+        assertEquals(ex.getMessage(), body.detail());
+    }
+
     @Test
     void handleInvalidAttachment_returnsBadRequestProblemDetails() {
         var ex = new InvalidAttachmentException("bad file");
@@ -0,0 +1,136 @@
+package com.ecoledger.movimentacao.application.service;
+
+import com.ecoledger.movimentacao.application.service.AttachmentStorageService.AttachmentConfirmation;
+import com.ecoledger.movimentacao.config.S3Properties;
+import com.ecoledger.movimentacao.domain.model.AttachmentBlob;
+import com.ecoledger.movimentacao.domain.repository.AttachmentBlobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AttachmentDeduplicationServiceTest {
+
+    private static final String HASH = "c".repeat(64);
+
+    private AttachmentBlobRepository repository;
+    private S3Client s3Client;
+    private SimpleMeterRegistry meterRegistry;
+    private AttachmentDeduplicationService service;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(AttachmentBlobRepository.class);
+        s3Client = mock(S3Client.class);
+        meterRegistry = new SimpleMeterRegistry();
+        S3Properties properties = new S3Properties("http://localhost:9000", "movimentacoes", "sa-east-1", "access", "secret",
+                1024, List.of("application/pdf"), "http://localhost:9000/movimentacoes", true);
+        service = new AttachmentDeduplicationService(repository, properties, s3Client, meterRegistry);
+    }
+
+    @Test
+    void shouldRegisterFirstUploadOfAHash() {
+        when(repository.register(eq(HASH), eq("upload-1"), anyString(), anyLong(), any())).thenReturn(1);
+        var confirmation = new AttachmentConfirmation("upload-1", "http://localhost:9000/movimentacoes/upload-1", "application/pdf", HASH, 2048L);
+
+        assertThat(service.deduplicate(confirmation)).isEqualTo(confirmation);
+        verifyNoInteractions(s3Client);
+        assertThat(meterRegistry.get("movimentacao.attachments.dedup.hits").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldCollapseDuplicateOntoExistingBlobAndDeleteIt() {
+        when(repository.register(eq(HASH), eq("uploads/2"), anyString(), anyLong(), any())).thenReturn(0);
+        when(repository.findById(HASH)).thenReturn(Optional.of(
+                new AttachmentBlob(HASH, "upload-1", "application/pdf", 2048L, OffsetDateTime.now())));
+
+        var result = service.deduplicate(
+                new AttachmentConfirmation("uploads/2", "http://localhost:9000/movimentacoes/uploads/2", "application/pdf", HASH, 2048L));
+
+        assertThat(result.objectKey()).isEqualTo("upload-1");
+        assertThat(result.url()).isEqualTo("http://localhost:9000/movimentacoes/upload-1");
+        ArgumentCaptor<DeleteObjectRequest> delete = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+        verify(s3Client).deleteObject(delete.capture());
+        assertThat(delete.getValue().key()).isEqualTo("uploads/2");
+        assertThat(meterRegistry.get("movimentacao.attachments.dedup.bytes").counter().count()).isEqualTo(2048.0);
+    }
+
+    @Test
+    void shouldKeepDuplicateStillReferencedByAnAttachment() {
+        String url = "http://localhost:9000/movimentacoes/uploads/3";
+        when(repository.register(eq(HASH), eq("uploads/3"), anyString(), anyLong(), any())).thenReturn(0);
+        when(repository.findById(HASH)).thenReturn(Optional.of(
+                new AttachmentBlob(HASH, "upload-1", "application/pdf", 2048L, OffsetDateTime.now())));
+        when(repository.isReferenced(url)).thenReturn(true);
+
+        var result = service.deduplicate(new AttachmentConfirmation("uploads/3", url, "application/pdf", HASH, 2048L));
+
+        assertThat(result.objectKey()).isEqualTo("upload-1");
+        verifyNoInteractions(s3Client);
+        assertThat(meterRegistry.get("movimentacao.attachments.dedup.bytes").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldKeepDuplicateUnderAKeyItDidNotIssue() {
+        // e.g. an object stored before deduplication, confirmed again
+        when(repository.register(eq(HASH), eq("legacy-key"), anyString(), anyLong(), any())).thenReturn(0);
+        when(repository.findById(HASH)).thenReturn(Optional.of(
+                new AttachmentBlob(HASH, "upload-1", "application/pdf", 2048L, OffsetDateTime.now())));
+
+        service.deduplicate(new AttachmentConfirmation("legacy-key", "http://localhost:9000/movimentacoes/legacy-key",
+                "application/pdf", HASH, 2048L));
+
+        verifyNoInteractions(s3Client);
+        verify(repository, never()).isReferenced(anyString());
+    }
+
+    @Test
+    void shouldCountReuseOnlyWhenTheExistingKeyIsConfirmed() {
+        AttachmentBlob blob = new AttachmentBlob(HASH, "sha256/" + HASH, "application/pdf", 4096L, OffsetDateTime.now());
+        when(repository.findById(HASH)).thenReturn(Optional.of(blob));
+
+        assertThat(service.findExisting(HASH)).contains(blob);
+        assertThat(meterRegistry.get("movimentacao.attachments.dedup.hits").counter().count()).isZero();
+
+        when(repository.register(eq(HASH), eq("sha256/" + HASH), anyString(), anyLong(), any())).thenReturn(0);
+        var confirmation = new AttachmentConfirmation("sha256/" + HASH, "url", "application/pdf", HASH, 4096L);
+
+        assertThat(service.deduplicate(confirmation)).isEqualTo(confirmation);
+        assertThat(meterRegistry.get("movimentacao.attachments.dedup.hits").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("movimentacao.attachments.dedup.bytes").counter().count()).isEqualTo(4096.0);
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    void shouldLeaveUploadsWithoutVerifiedHashUntouched() {
+        var confirmation = new AttachmentConfirmation("upload-3", "url", "application/pdf", null, 10L);
+
+        assertThat(service.deduplicate(confirmation)).isEqualTo(confirmation);
+        verify(repository, never()).register(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void shouldNormalizeAndRejectMalformedHashes() {
+        assertThat(AttachmentDeduplicationService.normalize(" " + HASH.toUpperCase() + " ")).isEqualTo(HASH);
+        assertThatThrownBy(() -> AttachmentDeduplicationService.normalize("abc"))
+                .isInstanceOf(InvalidAttachmentException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecoledger.movimentacao.application.service;
+
+import com.ecoledger.movimentacao.config.ValidationProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrentValidationExecutorTest {
+
+    private final ConcurrentValidationExecutor executor = new ConcurrentValidationExecutor(new ValidationProperties(Duration.ofSeconds(2)));
+
+    @Test
+    void shouldRunValidationsConcurrently() {
+        List<Runnable> validations = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            validations.add(() -> sleep(200));
+        }
+
+        long start = System.nanoTime();
+        executor.runAll(validations);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMs).isLessThan(800);
+    }
+
+    @Test
+    void shouldRethrowFirstFailureAndCancelTheOthers() {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Runnable slow = () -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+        };
+        Runnable failing = () -> {
+            throw new InvalidAttachmentException("Attachment hash mismatch");
+        };
+
+        assertThatThrownBy(() -> executor.runAll(List.of(slow, failing)))
+                .isInstanceOf(InvalidAttachmentException.class)
+                .hasMessage("Attachment hash mismatch");
+        assertThat(await(interrupted)).isTrue();
+    }
+
+    @Test
+    void shouldFailWhenDeadlineExpires() {
+        var shortDeadline = new ConcurrentValidationExecutor(new ValidationProperties(Duration.ofMillis(100)));
+
+        assertThatThrownBy(() -> shortDeadline.runAll(List.of(() -> sleep(2_000), () -> sleep(2_000))))
+                .isInstanceOf(ValidationTimeoutException.class);
+    }
+
+    @Test
+    void shouldApplyDeadlineToASingleValidation() {
+        var shortDeadline = new ConcurrentValidationExecutor(new ValidationProperties(Duration.ofMillis(100)));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> shortDeadline.runAll(List.of(() -> sleep(2_000))))
+                .isInstanceOf(ValidationTimeoutException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1_000);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
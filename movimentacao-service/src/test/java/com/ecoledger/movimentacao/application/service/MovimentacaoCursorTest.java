@@ -0,0 +1,29 @@
+package com.ecoledger.movimentacao.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MovimentacaoCursorTest {
+
+    @Test
+    void shouldRoundTripTimestampAndId() {
+        var cursor = new MovimentacaoCursor(OffsetDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_000, ZoneOffset.ofHours(-3)), UUID.randomUUID());
+
+        var decoded = MovimentacaoCursor.decode(cursor.encode());
+
+        assertThat(decoded.id()).isEqualTo(cursor.id());
+        assertThat(decoded.timestamp().toInstant()).isEqualTo(cursor.timestamp().toInstant());
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        assertThatThrownBy(() -> MovimentacaoCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecoledger.movimentacao.application.service;
+
+import com.ecoledger.movimentacao.application.dto.MovimentacaoDetailResponse;
+import com.ecoledger.movimentacao.config.DetailCacheProperties;
+import com.ecoledger.movimentacao.config.PartitionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovimentacaoDetailCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final PartitionProperties partitions = new PartitionProperties(true, null, 36, null);
+    private MovimentacaoService service;
+
+    @BeforeEach
+    void setup() {
+        service = mock(MovimentacaoService.class);
+    }
+
+    @Test
+    void shouldSerializeOnceAndServeHitsFromMemory() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(service.buscarPorIdDto(id)).thenReturn(detail(id));
+        var cache = new MovimentacaoDetailCache(service, objectMapper, new DetailCacheProperties(true, 10L, null), partitions, new SimpleMeterRegistry());
+
+        var first = cache.get(id);
+        var second = cache.get(id);
+
+        assertThat(second).isSameAs(first);
+        assertThat(objectMapper.readTree(first.body()).get("id").asText()).isEqualTo(id.toString());
+        assertThat(first.eTag()).matches("\"[0-9a-f]{64}\"");
+        verify(service, times(1)).buscarPorIdDto(id);
+    }
+
+    @Test
+    void shouldNotCacheUnknownIds() {
+        UUID id = UUID.randomUUID();
+        when(service.buscarPorIdDto(id)).thenThrow(new MovimentacaoNotFoundException(id)).thenReturn(detail(id));
+        var cache = new MovimentacaoDetailCache(service, objectMapper, new DetailCacheProperties(true, 10L, null), partitions, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> cache.get(id)).isInstanceOf(MovimentacaoNotFoundException.class);
+        assertThat(cache.get(id).body()).isNotEmpty();
+    }
+
+    @Test
+    void shouldLoadEveryTimeWhenDisabledWithStableETag() {
+        UUID id = UUID.randomUUID();
+        when(service.buscarPorIdDto(id)).thenReturn(detail(id));
+        var cache = new MovimentacaoDetailCache(service, objectMapper, new DetailCacheProperties(false, null, null), partitions, new SimpleMeterRegistry());
+
+        assertThat(cache.get(id).eTag()).isEqualTo(cache.get(id).eTag());
+        verify(service, times(2)).buscarPorIdDto(id);
+    }
+
+    @Test
+    void shouldKeepClientMaxAgeWithinTheRetentionWindow() {
+        UUID id = UUID.randomUUID();
+        when(service.buscarPorIdDto(id)).thenReturn(detail(id));
+        var cache = new MovimentacaoDetailCache(service, objectMapper, new DetailCacheProperties(false, null, Duration.ofDays(365)),
+                partitions, new SimpleMeterRegistry());
+
+        var detail = cache.get(id);
+
+        // March 2025 is archivable from the first run of April 2028, 36 months after April 2025
+        assertThat(detail.archivableAt()).isEqualTo(OffsetDateTime.parse("2028-04-01T00:00:00Z"));
+        assertThat(cache.clientMaxAge(detail, Instant.parse("2025-03-10T12:00:00Z"))).isEqualTo(Duration.ofDays(365));
+        assertThat(cache.clientMaxAge(detail, Instant.parse("2028-03-31T00:00:00Z"))).isEqualTo(Duration.ofDays(1));
+        assertThat(cache.clientMaxAge(detail, Instant.parse("2028-05-01T00:00:00Z"))).isZero();
+    }
+
+    @Test
+    void shouldNotCacheMovimentacoesPastRetention() {
+        UUID id = UUID.randomUUID();
+        when(service.buscarPorIdDto(id)).thenReturn(detail(id, OffsetDateTime.now().minusMonths(40)));
+        var cache = new MovimentacaoDetailCache(service, objectMapper, new DetailCacheProperties(true, 10L, null), partitions, new SimpleMeterRegistry());
+
+        cache.get(id);
+        cache.get(id);
+
+        verify(service, times(2)).buscarPorIdDto(id);
+    }
+
+    @Test
+    void shouldUseConfiguredClientMaxAgeWhenArchivalIsDisabled() {
+        UUID id = UUID.randomUUID();
+        when(service.buscarPorIdDto(id)).thenReturn(detail(id));
+        var cache = new MovimentacaoDetailCache(service, objectMapper, new DetailCacheProperties(true, 10L, Duration.ofDays(365)),
+                new PartitionProperties(true, null, 0, null), new SimpleMeterRegistry());
+
+        var detail = cache.get(id);
+
+        assertThat(detail.archivableAt()).isNull();
+        assertThat(cache.clientMaxAge(detail, Instant.parse("2040-01-01T00:00:00Z"))).isEqualTo(Duration.ofDays(365));
+    }
+
+    private static MovimentacaoDetailResponse detail(UUID id) {
+        return detail(id, OffsetDateTime.parse("2025-03-10T12:00:00Z"));
+    }
+
+    private static MovimentacaoDetailResponse detail(UUID id, OffsetDateTime timestamp) {
+        return new MovimentacaoDetailResponse(id, "prod-1", "cmd-1", "COLHEITA", new BigDecimal("10.5"), "KG",
+                timestamp, null, timestamp.plusSeconds(1), List.of());
+    }
+}
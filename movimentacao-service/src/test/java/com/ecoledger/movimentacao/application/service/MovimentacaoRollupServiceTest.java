@@ -0,0 +1,112 @@
+package com.ecoledger.movimentacao.application.service;
+
+import com.ecoledger.movimentacao.application.dto.MovimentacaoResumoResponse.Granularidade;
+import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import com.ecoledger.movimentacao.domain.model.MovimentacaoDailyRollup;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoDailyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovimentacaoRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private MovimentacaoDailyRollupRepository repository;
+    private MovimentacaoRollupService service;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(MovimentacaoDailyRollupRepository.class);
+        service = new MovimentacaoRollupService(repository);
+    }
+
+    @Test
+    void shouldIncrementOncePerDistinctRollupRow() {
+        when(repository.increment(anyString(), any(), anyString(), anyString(), anyString(), any(), anyLong())).thenReturn(1);
+
+        service.registrar(List.of(
+                movimentacao("cmd-2", "1.5", "2025-03-10T08:00:00Z"),
+                movimentacao("cmd-1", "2", "2025-03-10T09:00:00Z"),
+                movimentacao("cmd-1", "3", "2025-03-10T20:00:00-03:00")));
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).increment("prod-1", DAY, "cmd-1", "COLHEITA", "KG", new BigDecimal("2"), 1);
+        order.verify(repository).increment("prod-1", DAY, "cmd-2", "COLHEITA", "KG", new BigDecimal("1.5"), 1);
+        order.verify(repository).increment("prod-1", DAY.plusDays(1), "cmd-1", "COLHEITA", "KG", new BigDecimal("3"), 1);
+        verify(repository, never()).insertIfAbsent(anyString(), any(), anyString(), anyString(), anyString(), any(), anyLong());
+    }
+
+    @Test
+    void shouldInsertMissingRowAndRetryWhenAnotherTransactionCreatedIt() {
+        when(repository.increment(anyString(), any(), anyString(), anyString(), anyString(), any(), anyLong())).thenReturn(0, 1);
+        when(repository.insertIfAbsent(anyString(), any(), anyString(), anyString(), anyString(), any(), anyLong())).thenReturn(0);
+
+        service.registrar(List.of(movimentacao("cmd-1", "2", "2025-03-10T09:00:00Z")));
+
+        verify(repository).insertIfAbsent("prod-1", DAY, "cmd-1", "COLHEITA", "KG", new BigDecimal("2"), 1);
+        verify(repository, times(2)).increment(eq("prod-1"), eq(DAY), eq("cmd-1"), eq("COLHEITA"), eq("KG"), eq(new BigDecimal("2")), eq(1L));
+    }
+
+    @Test
+    void shouldMergeDailyRowsIntoWeeklyBuckets() {
+        when(repository.findForProducer("prod-1", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31))).thenReturn(List.of(
+                rollup(LocalDate.of(2025, 3, 3), "10", 2),
+                rollup(LocalDate.of(2025, 3, 9), "5", 1),
+                rollup(LocalDate.of(2025, 3, 10), "1", 1)));
+
+        var resumo = service.resumir("prod-1", " ", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), Granularidade.SEMANA);
+
+        assertThat(resumo.periodos()).hasSize(2);
+        assertThat(resumo.periodos().get(0).inicio()).isEqualTo(LocalDate.of(2025, 3, 3));
+        assertThat(resumo.periodos().get(0).quantidadeTotal()).isEqualByComparingTo("15");
+        assertThat(resumo.periodos().get(0).totalMovimentacoes()).isEqualTo(3);
+        assertThat(resumo.periodos().get(1).inicio()).isEqualTo(LocalDate.of(2025, 3, 10));
+    }
+
+    @Test
+    void shouldFilterByCommodityWithItsOwnQuery() {
+        when(repository.findForProducerAndCommodity("prod-1", "cmd-1", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)))
+                .thenReturn(List.of(rollup(LocalDate.of(2025, 3, 3), "10", 2)));
+
+        var resumo = service.resumir("prod-1", "cmd-1", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), Granularidade.DIA);
+
+        assertThat(resumo.periodos()).singleElement()
+                .satisfies(periodo -> assertThat(periodo.commodityId()).isEqualTo("cmd-1"));
+        verify(repository, never()).findForProducer(any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectInvertedPeriod() {
+        assertThatThrownBy(() -> service.resumir("prod-1", null, LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 1), null))
+                .isInstanceOf(InvalidPeriodException.class);
+    }
+
+    private static Movimentacao movimentacao(String commodityId, String quantidade, String timestamp) {
+        return new Movimentacao("prod-1", commodityId, "COLHEITA", new BigDecimal(quantidade), "KG",
+                OffsetDateTime.parse(timestamp), null, null, List.of());
+    }
+
+    private static MovimentacaoDailyRollup rollup(LocalDate day, String quantidade, long count) {
+        return new MovimentacaoDailyRollup(new MovimentacaoDailyRollup.Key("prod-1", day, "cmd-1", "COLHEITA", "KG"),
+                new BigDecimal(quantidade), count);
+    }
+}
@@ -32,7 +32,7 @@ class MovimentacaoServiceDateFilterTest {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        service = new MovimentacaoService(repository, approvalClient, new com.ecoledger.movimentacao.config.AttachmentPolicyProperties(2, List.of("application/pdf")), attachmentStorageService, eventPublisher);
+        service = new MovimentacaoService(repository, approvalClient, new com.ecoledger.movimentacao.config.AttachmentPolicyProperties(2, List.of("application/pdf")), attachmentStorageService, eventPublisher, jakarta.validation.Validation.buildDefaultValidatorFactory().getValidator(), new ConcurrentValidationExecutor(new com.ecoledger.movimentacao.config.ValidationProperties(null)), mock(MovimentacaoRollupService.class));
     }
 
     @Test
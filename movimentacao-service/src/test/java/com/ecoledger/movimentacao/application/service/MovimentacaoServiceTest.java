@@ -2,8 +2,12 @@ package com.ecoledger.movimentacao.application.service;
 
 import com.ecoledger.movimentacao.application.dto.MovimentacaoRequest;
 import com.ecoledger.movimentacao.config.AttachmentPolicyProperties;
+import com.ecoledger.movimentacao.config.ValidationProperties;
 import com.ecoledger.movimentacao.domain.model.Movimentacao;
+import com.ecoledger.movimentacao.domain.repository.AnexoRow;
 import com.ecoledger.movimentacao.domain.repository.MovimentacaoRepository;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRow;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -14,6 +18,7 @@ import org.mockito.MockitoAnnotations;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,6 +35,8 @@ class MovimentacaoServiceTest {
     private AttachmentStorageService attachmentStorageService;
     @Mock
     private MovimentacaoEventPublisher eventPublisher;
+    @Mock
+    private MovimentacaoRollupService rollupService;
 
     private AttachmentPolicyProperties attachmentPolicyProperties;
 
@@ -44,7 +51,10 @@ class MovimentacaoServiceTest {
                 approvalClient,
                 attachmentPolicyProperties,
                 attachmentStorageService,
-                eventPublisher);
+                eventPublisher,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ConcurrentValidationExecutor(new ValidationProperties(null)),
+                rollupService);
     }
 
     @Test
@@ -68,6 +78,7 @@ class MovimentacaoServiceTest {
 
         verify(approvalClient).isApproved("prod-1");
         verify(eventPublisher).publishCreated(persisted);
+        verify(rollupService).registrar(List.of(persisted));
     }
 
     @Test
@@ -79,6 +90,7 @@ class MovimentacaoServiceTest {
 
         verify(repository, never()).save(org.mockito.Mockito.any());
         verify(eventPublisher, never()).publishCreated(org.mockito.Mockito.any());
+        verifyNoInteractions(rollupService);
     }
 
     @Test
@@ -110,6 +122,83 @@ class MovimentacaoServiceTest {
         verify(attachmentStorageService).validateAttachment(new MovimentacaoRequest.MovimentacaoRequestAttachment("application/pdf", "http://localhost:9000/movimentacoes/doc.pdf", "hash"));
     }
 
+    @Test
+    void registrarLote_shouldApproveEachProducerOnceAndSaveInSingleBatch() {
+        when(approvalClient.isApproved("prod-1")).thenReturn(true);
+        when(repository.saveAll(org.mockito.Mockito.<Movimentacao>anyList()))
+                .thenAnswer(invocation -> {
+                    List<Movimentacao> saved = invocation.getArgument(0);
+                    saved.forEach(m -> m.setId(UUID.randomUUID()));
+                    return saved;
+                });
+
+        var resultados = service.registrarLote(List.of(defaultRequest(), defaultRequest(), defaultRequest()));
+
+        assertThat(resultados).hasSize(3)
+                .allSatisfy(r -> {
+                    assertThat(r.status()).isEqualTo("CRIADO");
+                    assertThat(r.movimentacaoId()).isNotNull();
+                });
+        verify(approvalClient, times(1)).isApproved("prod-1");
+        verify(repository, times(1)).saveAll(org.mockito.Mockito.<Movimentacao>anyList());
+        verify(repository, never()).save(org.mockito.Mockito.any());
+        verify(eventPublisher, times(3)).publishCreated(org.mockito.Mockito.any());
+    }
+
+    @Test
+    void registrarLote_shouldRejectInvalidItemsAndKeepTheOthers() {
+        when(approvalClient.isApproved("prod-1")).thenReturn(true);
+        when(approvalClient.isApproved("prod-2")).thenReturn(false);
+        when(repository.saveAll(org.mockito.Mockito.<Movimentacao>anyList()))
+                .thenAnswer(invocation -> {
+                    List<Movimentacao> saved = invocation.getArgument(0);
+                    saved.forEach(m -> m.setId(UUID.randomUUID()));
+                    return saved;
+                });
+        var semQuantidade = new MovimentacaoRequest("prod-1", "cmd-1", "COLHEITA", null, "KG", OffsetDateTime.now(), null, null);
+        var naoAprovado = new MovimentacaoRequest("prod-2", "cmd-1", "COLHEITA", BigDecimal.ONE, "KG", OffsetDateTime.now(), null, null);
+
+        var resultados = service.registrarLote(List.of(semQuantidade, defaultRequest(), naoAprovado, withAttachment("image/png")));
+
+        assertThat(resultados).extracting("indice", "status")
+                .containsExactly(
+                        org.assertj.core.groups.Tuple.tuple(0, "REJEITADO"),
+                        org.assertj.core.groups.Tuple.tuple(1, "CRIADO"),
+                        org.assertj.core.groups.Tuple.tuple(2, "REJEITADO"),
+                        org.assertj.core.groups.Tuple.tuple(3, "REJEITADO"));
+        assertThat(resultados.get(0).erro()).contains("quantidade");
+        assertThat(resultados.get(2).erro()).contains("prod-2");
+        ArgumentCaptor<List<Movimentacao>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+    }
+
+    @Test
+    void buscarPorIdDto_shouldBuildResponseFromProjectionsWithoutLoadingEntity() {
+        UUID id = UUID.randomUUID();
+        var row = new MovimentacaoRow(id, "prod-1", "cmd-1", "COLHEITA", new BigDecimal("10.5"), "KG",
+                OffsetDateTime.parse("2025-03-10T12:00:00Z"), -3.1, -60.0, OffsetDateTime.parse("2025-03-10T12:00:01Z"));
+        when(repository.findRowById(id)).thenReturn(Optional.of(row));
+        when(repository.findAnexoRowsByMovimentacaoIds(List.of(id)))
+                .thenReturn(List.of(new AnexoRow(id, "application/pdf", "http://localhost:9000/movimentacoes/doc.pdf", "hash")));
+
+        var dto = service.buscarPorIdDto(id);
+
+        assertThat(dto.id()).isEqualTo(id);
+        assertThat(dto.localizacao().lat()).isEqualTo(-3.1);
+        assertThat(dto.anexos()).extracting("tipo").containsExactly("application/pdf");
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void buscarPorIdDto_shouldThrowWhenRowIsMissing() {
+        UUID id = UUID.randomUUID();
+        when(repository.findRowById(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.buscarPorIdDto(id)).isInstanceOf(MovimentacaoNotFoundException.class);
+        verify(repository, never()).findAnexoRowsByMovimentacaoIds(any());
+    }
+
     private MovimentacaoRequest defaultRequest() {
         return new MovimentacaoRequest(
                 "prod-1",
@@ -0,0 +1,53 @@
+package com.ecoledger.movimentacao.application.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestBodyDigestFilterTest {
+
+    private final RequestBodyDigestFilter filter = new RequestBodyDigestFilter();
+
+    @Test
+    void shouldExposeDigestOfRawBodyIncludingUnreadBytes() throws Exception {
+        byte[] body = "{\"producerId\":\"prod-1\"}\n\n".getBytes(StandardCharsets.UTF_8);
+        var request = new MockHttpServletRequest("POST", "/movimentacoes");
+        request.setContent(body);
+        var chain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                try {
+                    // a parser stops at the end of the JSON value and leaves trailing whitespace unread
+                    req.getInputStream().readNBytes(body.length - 2);
+                } catch (java.io.IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        var digest = (RequestBodyDigest) request.getAttribute(RequestBodyDigestFilter.REQUEST_DIGEST_ATTRIBUTE);
+        assertThat(digest).isNotNull();
+        assertThat(digest.hex()).isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body)));
+    }
+
+    @Test
+    void shouldSkipOtherEndpoints() throws Exception {
+        var request = new MockHttpServletRequest("POST", "/movimentacoes/lote");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        var chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(request.getAttribute(RequestBodyDigestFilter.REQUEST_DIGEST_ATTRIBUTE)).isNull();
+    }
+}
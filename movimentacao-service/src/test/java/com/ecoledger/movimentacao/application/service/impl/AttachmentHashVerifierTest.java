@@ -0,0 +1,100 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.config.AttachmentIntegrityProperties;
+import com.ecoledger.movimentacao.config.S3Properties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttachmentHashVerifierTest {
+
+    private static final byte[] CONTENT = "conteudo do anexo enviado por url pre-assinada".getBytes();
+
+    private S3Client s3Client;
+    private AttachmentHashVerifier verifier;
+
+    @BeforeEach
+    void setup() {
+        s3Client = mock(S3Client.class);
+        S3Properties properties = new S3Properties("http://localhost:9000", "movimentacoes", "sa-east-1", "access", "secret",
+                1024, List.of("application/pdf"), "http://localhost:9000/movimentacoes", true);
+        // 16-byte ranges so the test object spans several reads
+        verifier = new AttachmentHashVerifier(properties, s3Client,
+                new AttachmentIntegrityProperties(null, DataSize.ofBytes(16), 1, 10, null, null), new SimpleMeterRegistry());
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(inv -> {
+            String range = inv.getArgument(0, GetObjectRequest.class).range();
+            String[] bounds = range.substring("bytes=".length()).split("-");
+            byte[] slice = Arrays.copyOfRange(CONTENT, Integer.parseInt(bounds[0]), Integer.parseInt(bounds[1]) + 1);
+            return new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(slice)));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifier.close();
+    }
+
+    @Test
+    void shouldHashObjectInRangesAndStoreDigestAsMetadata() throws Exception {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .eTag("\"etag-1\"")
+                .contentLength((long) CONTENT.length)
+                .contentType("application/pdf")
+                .metadata(Map.of("origem", "presigned"))
+                .build());
+
+        String hash = verifier.submit("doc.pdf").get(5, TimeUnit.SECONDS);
+
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT));
+        assertThat(hash).isEqualTo(expected);
+        ArgumentCaptor<GetObjectRequest> ranges = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client, times((CONTENT.length + 15) / 16)).getObject(ranges.capture());
+        assertThat(ranges.getAllValues()).allSatisfy(r -> assertThat(r.ifMatch()).isEqualTo("\"etag-1\""));
+        ArgumentCaptor<CopyObjectRequest> copy = ArgumentCaptor.forClass(CopyObjectRequest.class);
+        verify(s3Client).copyObject(copy.capture());
+        assertThat(copy.getValue().metadata()).containsEntry("hash", expected).containsEntry("origem", "presigned");
+        assertThat(copy.getValue().copySourceIfMatch()).isEqualTo("\"etag-1\"");
+        assertThat(copy.getValue().contentType()).isEqualTo("application/pdf");
+    }
+
+    @Test
+    void shouldSkipObjectsThatAlreadyCarryAHash() throws Exception {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .eTag("\"etag-1\"")
+                .contentLength((long) CONTENT.length)
+                .metadata(Map.of("hash", "abc"))
+                .build());
+
+        assertThat(verifier.submit("doc.pdf").get(5, TimeUnit.SECONDS)).isEqualTo("abc");
+        verify(s3Client, never()).getObject(any(GetObjectRequest.class));
+        verify(s3Client, never()).copyObject(any(CopyObjectRequest.class));
+    }
+}
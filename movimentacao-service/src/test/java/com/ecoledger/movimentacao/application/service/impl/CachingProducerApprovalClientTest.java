@@ -0,0 +1,90 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.application.service.ProducerApprovalUnavailableException;
+import com.ecoledger.movimentacao.config.ProducerApprovalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CachingProducerApprovalClientTest {
+
+    private HttpProducerApprovalClient delegate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(HttpProducerApprovalClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldCallUsersServiceOnlyOncePerProducer() {
+        when(delegate.isApproved("prod-1")).thenReturn(true);
+        var client = new CachingProducerApprovalClient(delegate, properties(true, Duration.ofMinutes(10)), meterRegistry);
+
+        assertThat(client.isApproved("prod-1")).isTrue();
+        assertThat(client.isApproved("prod-1")).isTrue();
+        assertThat(client.isApproved("prod-1")).isTrue();
+
+        verify(delegate, times(1)).isApproved("prod-1");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "producerApproval").tag("result", "hit").functionCounter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldReloadDecisionAfterInvalidation() {
+        when(delegate.isApproved("prod-1")).thenReturn(false, true);
+        var client = new CachingProducerApprovalClient(delegate, properties(true, Duration.ofMinutes(10)), meterRegistry);
+
+        assertThat(client.isApproved("prod-1")).isFalse();
+        client.invalidate("prod-1");
+        assertThat(client.isApproved("prod-1")).isTrue();
+
+        verify(delegate, times(2)).isApproved("prod-1");
+    }
+
+    @Test
+    void shouldExpireNegativeDecisionsQuickly() throws InterruptedException {
+        when(delegate.isApproved("prod-1")).thenReturn(false, true);
+        var client = new CachingProducerApprovalClient(delegate, properties(true, Duration.ofMillis(1)), meterRegistry);
+
+        assertThat(client.isApproved("prod-1")).isFalse();
+        Thread.sleep(20);
+        assertThat(client.isApproved("prod-1")).isTrue();
+    }
+
+    @Test
+    void shouldNotCacheUnavailability() {
+        when(delegate.isApproved("prod-1"))
+                .thenThrow(new ProducerApprovalUnavailableException("prod-1", new RuntimeException("circuit open")))
+                .thenReturn(true);
+        var client = new CachingProducerApprovalClient(delegate, properties(true, Duration.ofMinutes(10)), meterRegistry);
+
+        assertThatThrownBy(() -> client.isApproved("prod-1")).isInstanceOf(ProducerApprovalUnavailableException.class);
+        assertThat(client.isApproved("prod-1")).isTrue();
+
+        verify(delegate, times(2)).isApproved("prod-1");
+    }
+
+    @Test
+    void shouldDelegateEveryCallWhenDisabled() {
+        when(delegate.isApproved("prod-1")).thenReturn(true);
+        var client = new CachingProducerApprovalClient(delegate, properties(false, Duration.ofMinutes(10)), meterRegistry);
+
+        client.isApproved("prod-1");
+        client.isApproved("prod-1");
+
+        verify(delegate, times(2)).isApproved("prod-1");
+    }
+
+    private ProducerApprovalProperties properties(boolean enabled, Duration negativeTtl) {
+        return new ProducerApprovalProperties("http://localhost", 1000, "secret", null, null, null,
+                new ProducerApprovalProperties.Cache(enabled, 100L, Duration.ofMinutes(10), negativeTtl), null);
+    }
+}
@@ -0,0 +1,143 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.application.service.ProducerApprovalUnavailableException;
+import com.ecoledger.movimentacao.config.ProducerApprovalProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the client against an in-process HTTP server standing in for users-service, with a small sliding window and a
+ * single-call bulkhead so the circuit breaker and the bulkhead reject calls without reaching the server.
+ */
+class HttpProducerApprovalClientTest {
+
+    private static final String APPROVED = "{\"role\":\"produtor\",\"status\":\"APROVADO\"}";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch received = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile int status = 200;
+    private volatile boolean hold;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private ExecutorService callers;
+    private HttpProducerApprovalClient client;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/usuarios/", this::respond);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+        callers = Executors.newSingleThreadExecutor();
+
+        var tokenProvider = mock(ProducerApprovalTokenProvider.class);
+        when(tokenProvider.currentToken()).thenReturn("token");
+        var resilience = new ProducerApprovalProperties.Resilience(null, 1, Duration.ZERO, 50f, Duration.ofSeconds(1), 100f,
+                2, Duration.ofMinutes(1));
+        var properties = new ProducerApprovalProperties("http://localhost:" + server.getAddress().getPort(), 2000,
+                "secret", null, null, null, null, resilience);
+        client = new HttpProducerApprovalClient(properties, tokenProvider, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        release.countDown();
+        client.close();
+        callers.shutdownNow();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void shouldReturnApprovalFromUsersService() {
+        assertThat(client.isApproved("prod-1")).isTrue();
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void shouldTreatClientErrorsAsNotApprovedWithoutOpeningTheCircuit() {
+        status = 404;
+
+        assertThat(client.isApproved("prod-1")).isFalse();
+        assertThat(client.isApproved("prod-1")).isFalse();
+        assertThat(client.isApproved("prod-1")).isFalse();
+
+        assertThat(requests).hasValue(3);
+    }
+
+    @Test
+    void shouldFailFastOnceTheCircuitIsOpen() {
+        status = 503;
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.isApproved("prod-1"))
+                    .isInstanceOf(ProducerApprovalUnavailableException.class)
+                    .hasMessageContaining("prod-1")
+                    .cause().hasMessageContaining("status 503");
+        }
+        status = 200;
+
+        assertThatThrownBy(() -> client.isApproved("prod-1"))
+                .isInstanceOf(ProducerApprovalUnavailableException.class)
+                .hasCauseInstanceOf(CallNotPermittedException.class);
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void shouldRejectWithoutWaitingWhenTheBulkheadIsFull() throws Exception {
+        hold = true;
+        CompletableFuture<Boolean> inFlight = CompletableFuture.supplyAsync(() -> client.isApproved("prod-1"), callers);
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> client.isApproved("prod-2"))
+                .isInstanceOf(ProducerApprovalUnavailableException.class)
+                .hasMessageContaining("prod-2")
+                .hasCauseInstanceOf(BulkheadFullException.class);
+
+        release.countDown();
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(requests).hasValue(1);
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        received.countDown();
+        if (hold) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] body = (status == 200 ? APPROVED : "{}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
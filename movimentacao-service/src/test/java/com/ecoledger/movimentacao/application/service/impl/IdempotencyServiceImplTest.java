@@ -0,0 +1,109 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.application.service.IdempotencyConflictException;
+import com.ecoledger.movimentacao.config.IdempotencyProperties;
+import com.ecoledger.movimentacao.domain.model.IdempotencyRecord;
+import com.ecoledger.movimentacao.domain.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        service = new IdempotencyServiceImpl(repository, new IdempotencyProperties(100, null, null, null));
+    }
+
+    @Test
+    void shouldClaimKeyAndServeRetriesFromCache() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(repository.claim(any(), eq("key-1"), eq("hash"), any())).thenReturn(1);
+
+        var first = service.handle("key-1", "hash", () -> id);
+        var second = service.handle("key-1", "hash", () -> UUID.randomUUID());
+
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(second.get().movimentacaoId()).isEqualTo(id);
+        verify(repository, times(1)).claim(any(), eq("key-1"), eq("hash"), any());
+        verify(repository).complete("key-1", id.toString());
+        verify(repository, never()).findByIdempotencyKey(any());
+    }
+
+    @Test
+    void shouldReplayCompletedRecordWhenKeyAlreadyClaimed() throws Exception {
+        UUID id = UUID.randomUUID();
+        var record = new IdempotencyRecord("key-1", "hash", "COMPLETED", OffsetDateTime.now());
+        record.setResponseBody(id.toString());
+        when(repository.claim(any(), eq("key-1"), eq("hash"), any())).thenReturn(0);
+        when(repository.findByIdempotencyKey("key-1")).thenReturn(Optional.of(record));
+
+        var result = service.handle("key-1", "hash", () -> {
+            throw new AssertionError("create must not run for a claimed key");
+        });
+
+        assertThat(result).isPresent();
+        assertThat(result.get().movimentacaoId()).isEqualTo(id);
+    }
+
+    @Test
+    void shouldRejectCompletedKeyReusedWithDifferentBody() {
+        var record = new IdempotencyRecord("key-1", "hash", "COMPLETED", OffsetDateTime.now());
+        record.setResponseBody(UUID.randomUUID().toString());
+        when(repository.claim(any(), eq("key-1"), eq("other-hash"), any())).thenReturn(0);
+        when(repository.findByIdempotencyKey("key-1")).thenReturn(Optional.of(record));
+
+        assertThatThrownBy(() -> service.handle("key-1", "other-hash", UUID::randomUUID))
+                .isInstanceOf(IdempotencyConflictException.class)
+                .hasMessageContaining("different request body");
+    }
+
+    @Test
+    void shouldRejectCachedKeyReusedWithDifferentBody() throws Exception {
+        when(repository.claim(any(), eq("key-1"), eq("hash"), any())).thenReturn(1);
+        service.handle("key-1", "hash", UUID::randomUUID);
+
+        assertThatThrownBy(() -> service.handle("key-1", "other-hash", UUID::randomUUID))
+                .isInstanceOf(IdempotencyConflictException.class);
+        verify(repository, never()).claim(any(), eq("key-1"), eq("other-hash"), any());
+    }
+
+    @Test
+    void shouldRejectKeyStillInProgress() {
+        when(repository.claim(any(), eq("key-1"), eq("hash"), any())).thenReturn(0);
+        when(repository.findByIdempotencyKey("key-1"))
+                .thenReturn(Optional.of(new IdempotencyRecord("key-1", "hash", "IN_PROGRESS", OffsetDateTime.now())));
+
+        assertThatThrownBy(() -> service.handle("key-1", "hash", UUID::randomUUID))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    void shouldPurgeExpiredRecordsInChunks() {
+        when(repository.deleteExpiredBatch(any(), anyInt())).thenReturn(2, 2, 1);
+        var purger = new IdempotencyRecordPurger(repository, new IdempotencyProperties(null, Duration.ofHours(1), 2, null));
+
+        assertThat(purger.purgeExpired()).isEqualTo(5);
+        verify(repository, times(3)).deleteExpiredBatch(any(), eq(2));
+    }
+}
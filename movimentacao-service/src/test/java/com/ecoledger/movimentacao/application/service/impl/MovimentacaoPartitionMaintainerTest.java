@@ -0,0 +1,72 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.config.PartitionProperties;
+import com.ecoledger.movimentacao.domain.repository.MovimentacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovimentacaoPartitionMaintainerTest {
+
+    private MovimentacaoRepository repository;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(MovimentacaoRepository.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(repository.tryAdvisoryXactLock(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void shouldCreateUpcomingPartitionsAndArchivePastRetention() {
+        when(repository.ensurePartition(LocalDate.of(2025, 3, 1))).thenReturn(null);
+        when(repository.ensurePartition(LocalDate.of(2025, 4, 1))).thenReturn(null);
+        when(repository.ensurePartition(LocalDate.of(2025, 5, 1))).thenReturn("movimentacoes_p2025_05");
+        when(repository.archivePartitionsBefore(LocalDate.of(2023, 3, 1))).thenReturn(List.of("movimentacoes_p2023_02"));
+
+        var result = maintainer(new PartitionProperties(true, 2, 24, null)).maintain(YearMonth.of(2025, 3));
+
+        assertThat(result.skipped()).isFalse();
+        assertThat(result.created()).containsExactly("movimentacoes_p2025_05");
+        assertThat(result.archived()).containsExactly("movimentacoes_p2023_02");
+    }
+
+    @Test
+    void shouldNotArchiveWhenRetentionIsDisabled() {
+        var result = maintainer(new PartitionProperties(true, 0, 0, null)).maintain(YearMonth.of(2025, 3));
+
+        verify(repository).ensurePartition(LocalDate.of(2025, 3, 1));
+        verify(repository, never()).archivePartitionsBefore(any());
+        assertThat(result.archived()).isEmpty();
+    }
+
+    @Test
+    void shouldSkipWhenAnotherInstanceHoldsTheLock() {
+        when(repository.tryAdvisoryXactLock(MovimentacaoPartitionMaintainer.ADVISORY_LOCK_KEY)).thenReturn(false);
+
+        var result = maintainer(new PartitionProperties(null, null, null, null)).maintain(YearMonth.of(2025, 3));
+
+        assertThat(result.skipped()).isTrue();
+        verify(repository, never()).ensurePartition(any());
+        verify(repository, never()).archivePartitionsBefore(any());
+    }
+
+    private MovimentacaoPartitionMaintainer maintainer(PartitionProperties properties) {
+        return new MovimentacaoPartitionMaintainer(repository, properties, transactionTemplate);
+    }
+}
@@ -2,7 +2,10 @@ package com.ecoledger.movimentacao.application.service.impl;
 
 import com.ecoledger.movimentacao.application.dto.MovimentacaoRequest;
 import com.ecoledger.movimentacao.application.service.InvalidAttachmentException;
+import com.ecoledger.movimentacao.config.AttachmentIntegrityProperties;
+import com.ecoledger.movimentacao.config.AttachmentMetadataCacheProperties;
 import com.ecoledger.movimentacao.config.S3Properties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.core.exception.SdkClientException;
@@ -10,25 +13,33 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class S3AttachmentStorageServiceTest {
 
     private S3Client s3Client;
+    private S3Properties properties;
     private S3AttachmentStorageService service;
 
     @BeforeEach
     void setup() {
         s3Client = mock(S3Client.class);
-        S3Properties properties = new S3Properties(
+        properties = new S3Properties(
                 "http://localhost:9000",
                 "movimentacoes",
                 "sa-east-1",
@@ -219,5 +230,225 @@ class S3AttachmentStorageServiceTest {
                 .isInstanceOf(InvalidAttachmentException.class)
                 .hasMessageContaining("Unable to validate attachment");
     }
-}
 
+    @Test
+    void shouldServeValidationFromMetadataCachedOnConfirm() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        S3AttachmentStorageService cached = new S3AttachmentStorageService(properties, s3Client,
+                new AttachmentMetadataCacheProperties(true, 100L, Duration.ofMinutes(1), null), meterRegistry);
+        MovimentacaoRequest.MovimentacaoRequestAttachment attachment =
+                new MovimentacaoRequest.MovimentacaoRequestAttachment("application/pdf", "http://localhost:9000/movimentacoes/doc.pdf", "abc123");
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .eTag("\"etag-1\"")
+                .contentLength(512L)
+                .contentType("application/pdf")
+                .metadata(Map.of("hash", "abc123"))
+                .build());
+
+        cached.confirmUpload("doc.pdf");
+        cached.validateAttachment(attachment);
+        cached.validateAttachment(attachment);
+
+        verify(s3Client, times(1)).headObject(any(HeadObjectRequest.class));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "attachmentMetadata").tag("result", "hit").functionCounter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldStillValidateCachedMetadataAgainstRequest() {
+        S3AttachmentStorageService cached = new S3AttachmentStorageService(properties, s3Client,
+                new AttachmentMetadataCacheProperties(true, 100L, Duration.ofMinutes(1), null), new SimpleMeterRegistry());
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .eTag("\"etag-1\"")
+                .contentLength(512L)
+                .contentType("application/pdf")
+                .metadata(Map.of("hash", "abc123"))
+                .build());
+        cached.confirmUpload("doc.pdf");
+
+        MovimentacaoRequest.MovimentacaoRequestAttachment tampered =
+                new MovimentacaoRequest.MovimentacaoRequestAttachment("application/pdf", "http://localhost:9000/movimentacoes/doc.pdf", "other");
+
+        assertThatThrownBy(() -> cached.validateAttachment(tampered))
+                .isInstanceOf(InvalidAttachmentException.class)
+                .hasMessageContaining("hash mismatch");
+        verify(s3Client, times(1)).headObject(any(HeadObjectRequest.class));
+    }
+
+    @Test
+    void shouldKeepCachedMetadataWhenRevalidationReportsTheSameETag() {
+        S3AttachmentStorageService cached = new S3AttachmentStorageService(properties, s3Client,
+                new AttachmentMetadataCacheProperties(true, 100L, Duration.ofMinutes(1), Duration.ZERO), new SimpleMeterRegistry());
+        MovimentacaoRequest.MovimentacaoRequestAttachment attachment =
+                new MovimentacaoRequest.MovimentacaoRequestAttachment("application/pdf", "http://localhost:9000/movimentacoes/doc.pdf", "abc123");
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder()
+                        .eTag("\"etag-1\"")
+                        .contentLength(512L)
+                        .contentType("application/pdf")
+                        .metadata(Map.of("hash", "abc123"))
+                        .build())
+                .thenThrow(S3Exception.builder().statusCode(304).message("Not Modified").build());
+        cached.confirmUpload("doc.pdf");
+
+        assertThatNoException().isThrownBy(() -> cached.validateAttachment(attachment));
+        verify(s3Client).headObject(argThat((HeadObjectRequest request) -> "\"etag-1\"".equals(request.ifNoneMatch())));
+    }
+
+    @Test
+    void shouldValidateAgainstReplacedObjectOnRevalidation() {
+        S3AttachmentStorageService cached = new S3AttachmentStorageService(properties, s3Client,
+                new AttachmentMetadataCacheProperties(true, 100L, Duration.ofMinutes(1), Duration.ZERO), new SimpleMeterRegistry());
+        MovimentacaoRequest.MovimentacaoRequestAttachment attachment =
+                new MovimentacaoRequest.MovimentacaoRequestAttachment("application/pdf", "http://localhost:9000/movimentacoes/doc.pdf", "abc123");
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder()
+                        .eTag("\"etag-1\"")
+                        .contentLength(512L)
+                        .contentType("application/pdf")
+                        .metadata(Map.of("hash", "abc123"))
+                        .build())
+                .thenReturn(HeadObjectResponse.builder()
+                        .eTag("\"etag-2\"")
+                        .contentLength(512L)
+                        .contentType("application/pdf")
+                        .metadata(Map.of("hash", "def456"))
+                        .build());
+        cached.confirmUpload("doc.pdf");
+
+        assertThatThrownBy(() -> cached.validateAttachment(attachment))
+                .isInstanceOf(InvalidAttachmentException.class)
+                .hasMessageContaining("hash mismatch");
+        verify(s3Client, times(2)).headObject(any(HeadObjectRequest.class));
+    }
+
+    @Test
+    void shouldDropCachedMetadataWhenRevalidationFindsNoObject() {
+        S3AttachmentStorageService cached = new S3AttachmentStorageService(properties, s3Client,
+                new AttachmentMetadataCacheProperties(true, 100L, Duration.ofMinutes(1), Duration.ZERO), new SimpleMeterRegistry());
+        MovimentacaoRequest.MovimentacaoRequestAttachment attachment =
+                new MovimentacaoRequest.MovimentacaoRequestAttachment("application/pdf", "http://localhost:9000/movimentacoes/doc.pdf", "abc123");
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder()
+                        .eTag("\"etag-1\"")
+                        .contentLength(512L)
+                        .contentType("application/pdf")
+                        .metadata(Map.of("hash", "abc123"))
+                        .build())
+                .thenThrow(NoSuchKeyException.builder().statusCode(404).message("missing").build());
+        cached.confirmUpload("doc.pdf");
+
+        assertThatThrownBy(() -> cached.validateAttachment(attachment))
+                .isInstanceOf(InvalidAttachmentException.class)
+                .hasMessageContaining("not found");
+        assertThatThrownBy(() -> cached.validateAttachment(attachment)).isInstanceOf(InvalidAttachmentException.class);
+        verify(s3Client, times(3)).headObject(any(HeadObjectRequest.class));
+        verify(s3Client, times(2)).headObject(argThat((HeadObjectRequest request) -> request.ifNoneMatch() == null));
+    }
+
+    @Test
+    void shouldNotCacheMissingObjects() {
+        S3AttachmentStorageService cached = new S3AttachmentStorageService(properties, s3Client,
+                new AttachmentMetadataCacheProperties(true, 100L, Duration.ofMinutes(1), null), new SimpleMeterRegistry());
+        MovimentacaoRequest.MovimentacaoRequestAttachment attachment =
+                new MovimentacaoRequest.MovimentacaoRequestAttachment("application/pdf", "http://localhost:9000/movimentacoes/doc.pdf", null);
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("missing").build())
+                .thenReturn(HeadObjectResponse.builder().contentLength(10L).contentType("application/pdf").build());
+
+        assertThatThrownBy(() -> cached.validateAttachment(attachment)).isInstanceOf(InvalidAttachmentException.class);
+        assertThatNoException().isThrownBy(() -> cached.validateAttachment(attachment));
+        verify(s3Client, times(2)).headObject(any(HeadObjectRequest.class));
+    }
+
+    @Test
+    void shouldQueueHashVerificationWhenConfirmedObjectHasNoHash() {
+        AttachmentHashVerifier verifier = mock(AttachmentHashVerifier.class);
+        when(verifier.submit("doc.pdf")).thenReturn(CompletableFuture.completedFuture("abc123"));
+        S3AttachmentStorageService verifying = verifyingService(verifier, false);
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .contentLength(100L)
+                .contentType("application/pdf")
+                .build());
+
+        verifying.confirmUpload("doc.pdf");
+
+        verify(verifier).submit("doc.pdf");
+    }
+
+    @Test
+    void shouldRejectUnverifiedAttachmentWhenVerifiedHashIsRequired() {
+        S3AttachmentStorageService verifying = verifyingService(mock(AttachmentHashVerifier.class), true);
+        MovimentacaoRequest.MovimentacaoRequestAttachment attachment =
+                new MovimentacaoRequest.MovimentacaoRequestAttachment("application/pdf", "http://localhost:9000/movimentacoes/doc.pdf", "abc123");
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .contentLength(100L)
+                .contentType("application/pdf")
+                .build());
+
+        assertThatThrownBy(() -> verifying.validateAttachment(attachment))
+                .isInstanceOf(InvalidAttachmentException.class)
+                .hasMessageContaining("not verified");
+    }
+
+    @Test
+    void shouldReturnVerifiedHashFromConfirm() {
+        AttachmentHashVerifier verifier = mock(AttachmentHashVerifier.class);
+        when(verifier.submit("doc.pdf")).thenReturn(CompletableFuture.completedFuture("computed"));
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .contentLength(100L)
+                .contentType("application/pdf")
+                .build());
+
+        var confirmation = verifyingService(verifier, true).confirmUpload("doc.pdf");
+
+        assertThat(confirmation.hash()).isEqualTo("computed");
+    }
+
+    @Test
+    void shouldConfirmWithoutHashWhenVerificationDoesNotFinishInTime() {
+        AttachmentHashVerifier verifier = mock(AttachmentHashVerifier.class);
+        when(verifier.submit("doc.pdf")).thenReturn(new CompletableFuture<>());
+        S3AttachmentStorageService verifying = new S3AttachmentStorageService(properties, s3Client,
+                new AttachmentMetadataCacheProperties(false, null, null, null),
+                new AttachmentIntegrityProperties(null, null, null, null, null, Duration.ofMillis(10)),
+                verifier, new SimpleMeterRegistry());
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .contentLength(100L)
+                .contentType("application/pdf")
+                .build());
+
+        assertThat(verifying.confirmUpload("doc.pdf").hash()).isNull();
+    }
+
+    @Test
+    void shouldRejectDeclaredHashThatDiffersFromVerifiedDigest() {
+        AttachmentHashVerifier verifier = mock(AttachmentHashVerifier.class);
+        when(verifier.submit("doc.pdf")).thenReturn(CompletableFuture.completedFuture("computed"));
+        S3AttachmentStorageService verifying = verifyingService(verifier, true);
+        MovimentacaoRequest.MovimentacaoRequestAttachment attachment =
+                new MovimentacaoRequest.MovimentacaoRequestAttachment("application/pdf", "http://localhost:9000/movimentacoes/doc.pdf", "declared");
+        // before verification the object has no hash metadata; the verifier's self copy then stores the digest
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(100L).contentType("application/pdf").build())
+                .thenReturn(HeadObjectResponse.builder().contentLength(100L).contentType("application/pdf")
+                        .metadata(Map.of("hash", "computed")).build());
+
+        assertThat(verifying.confirmUpload("doc.pdf").hash()).isEqualTo("computed");
+        assertThatThrownBy(() -> verifying.validateAttachment(attachment))
+                .isInstanceOf(InvalidAttachmentException.class)
+                .hasMessageContaining("hash mismatch");
+    }
+
+    @Test
+    void shouldRequireVerifiedHashByDefault() {
+        assertThat(new AttachmentIntegrityProperties(null, null, null, null, null, null).requireVerified()).isTrue();
+    }
+
+    private S3AttachmentStorageService verifyingService(AttachmentHashVerifier verifier, boolean requireVerified) {
+        return new S3AttachmentStorageService(properties, s3Client,
+                new AttachmentMetadataCacheProperties(false, null, null, null),
+                new AttachmentIntegrityProperties(requireVerified, null, null, null, null, null),
+                verifier, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecoledger.movimentacao.application.service.impl;
+
+import com.ecoledger.movimentacao.application.service.AttachmentTooLargeException;
+import com.ecoledger.movimentacao.application.service.AttachmentUploadUnavailableException;
+import com.ecoledger.movimentacao.config.S3Properties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class S3MultipartUploaderTest {
+
+    private static final int PART_SIZE = 1024;
+
+    private S3Client s3Client;
+    private S3MultipartUploader uploader;
+
+    @BeforeEach
+    void setup() {
+        s3Client = mock(S3Client.class);
+        S3Properties properties = new S3Properties("http://localhost:9000", "movimentacoes", "sa-east-1", "access", "secret",
+                4, List.of("application/pdf"), "http://localhost:9000/movimentacoes", true);
+        uploader = new S3MultipartUploader(properties, s3Client, PART_SIZE, 1, Duration.ofMillis(50));
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenAnswer(inv -> UploadPartResponse.builder()
+                        .eTag("etag-" + inv.getArgument(0, UploadPartRequest.class).partNumber()).build());
+        when(s3Client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(CompleteMultipartUploadResponse.builder().eTag("etag-final").build());
+    }
+
+    @Test
+    void shouldUseSinglePutWhenBodyFitsInOnePart() throws Exception {
+        byte[] content = new byte[100];
+        var stored = uploader.upload("doc.pdf", "application/pdf", new ByteArrayInputStream(content));
+
+        assertThat(stored.size()).isEqualTo(100);
+        assertThat(stored.sha256()).isEqualTo(sha256(content));
+        ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(request.capture(), body.capture());
+        assertThat(body.getValue().optionalContentLength()).contains(100L);
+        assertThat(request.getValue().metadata()).containsEntry("hash", sha256(content));
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void shouldStreamLargeBodyAsMultipartUpload() throws Exception {
+        byte[] content = new byte[PART_SIZE * 2 + 10];
+        content[PART_SIZE + 1] = 42;
+        var stored = uploader.upload("doc.pdf", "application/pdf", new ByteArrayInputStream(content));
+
+        assertThat(stored.size()).isEqualTo(PART_SIZE * 2 + 10);
+        verify(s3Client, times(3)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().multipartUpload().parts())
+                .extracting(p -> p.eTag())
+                .containsExactly("etag-1", "etag-2", "etag-3");
+        ArgumentCaptor<CopyObjectRequest> copy = ArgumentCaptor.forClass(CopyObjectRequest.class);
+        verify(s3Client).copyObject(copy.capture());
+        assertThat(copy.getValue().copySourceIfMatch()).isEqualTo("etag-final");
+        assertThat(copy.getValue().metadata()).containsEntry("hash", sha256(content));
+        assertThat(copy.getValue().contentType()).isEqualTo("application/pdf");
+        assertThat(uploader.buffersInUse()).isZero();
+    }
+
+    @Test
+    void shouldNotUploadEmptyTrailingPart() throws IOException {
+        uploader.upload("doc.pdf", "application/pdf", new ByteArrayInputStream(new byte[PART_SIZE * 2]));
+
+        verify(s3Client, times(2)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void shouldAbortWhenBodyExceedsMaxSize() {
+        // 4 KB limit
+        InputStream body = new ByteArrayInputStream(new byte[4 * 1024 + 1]);
+
+        assertThatThrownBy(() -> uploader.upload("doc.pdf", "application/pdf", body))
+                .isInstanceOf(AttachmentTooLargeException.class);
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        assertThat(uploader.buffersInUse()).isZero();
+    }
+
+    @Test
+    void shouldAbortWhenClientDisconnects() {
+        InputStream disconnecting = new SequenceInputStream(new ByteArrayInputStream(new byte[PART_SIZE + 10]), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset by peer");
+            }
+        });
+
+        assertThatThrownBy(() -> uploader.upload("doc.pdf", "application/pdf", disconnecting))
+                .isInstanceOf(IOException.class);
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        assertThat(uploader.buffersInUse()).isZero();
+    }
+
+    @Test
+    void shouldRejectWhenNoBufferIsAvailable() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slow = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                reading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return -1;
+            }
+        };
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> uploader.upload("first.pdf", "application/pdf", slow));
+            assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> uploader.upload("second.pdf", "application/pdf", new ByteArrayInputStream(new byte[1])))
+                    .isInstanceOf(AttachmentUploadUnavailableException.class);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
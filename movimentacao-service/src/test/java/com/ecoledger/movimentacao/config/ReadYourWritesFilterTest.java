@@ -0,0 +1,80 @@
+package com.ecoledger.movimentacao.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReadYourWritesFilterTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-10T12:00:00Z");
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(10), Clock.fixed(NOW, ZoneOffset.UTC));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(mock(DataSource.class), Map.of(),
+            Duration.ofSeconds(5), Duration.ofSeconds(1), meterRegistry);
+
+    @Test
+    void shouldSetCookieOnWrites() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/movimentacoes"), response, new MockFilterChain());
+
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getValue()).isEqualTo(Long.toString(NOW.plusSeconds(10).toEpochMilli()));
+        assertThat(cookie.getMaxAge()).isEqualTo(10);
+        assertThat(cookie.isHttpOnly()).isTrue();
+    }
+
+    @Test
+    void shouldPinReadsWhileCookieIsValidAndReleaseAfterwards() throws Exception {
+        filter.doFilter(read(NOW.plusSeconds(3)), new MockHttpServletResponse(), routingChain());
+        routing.route();
+
+        assertThat(reads("sticky")).isEqualTo(1);
+        assertThat(reads("fallback")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIgnoreExpiredOrForgedCookies() throws Exception {
+        filter.doFilter(read(NOW.minusSeconds(1)), new MockHttpServletResponse(), routingChain());
+        filter.doFilter(read(NOW.plusSeconds(3600)), new MockHttpServletResponse(), routingChain());
+
+        assertThat(reads("sticky")).isZero();
+        assertThat(reads("fallback")).isEqualTo(2);
+    }
+
+    private static MockHttpServletRequest read(Instant primaryUntil) {
+        var request = new MockHttpServletRequest("GET", "/movimentacoes/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(primaryUntil.toEpochMilli())));
+        return request;
+    }
+
+    private MockFilterChain routingChain() {
+        return new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                routing.route();
+            }
+        };
+    }
+
+    private double reads(String reason) {
+        return meterRegistry.get("movimentacao.datasource.reads").tag("reason", reason).counter().count();
+    }
+}
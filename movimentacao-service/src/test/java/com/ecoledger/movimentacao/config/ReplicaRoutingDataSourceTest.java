@@ -0,0 +1,142 @@
+package com.ecoledger.movimentacao.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setup() {
+        primary = mock(DataSource.class);
+        replicaA = mock(DataSource.class);
+        replicaB = mock(DataSource.class);
+        meterRegistry = new SimpleMeterRegistry();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("a", replicaA);
+        replicas.put("b", replicaB);
+        routing = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(5), Duration.ofSeconds(1), meterRegistry);
+    }
+
+    @AfterEach
+    void release() throws Exception {
+        ReplicaRoutingDataSource.release();
+        routing.close();
+    }
+
+    @Test
+    void shouldUsePrimaryUntilReplicasPassLagCheck() {
+        assertThat(routing.route()).isSameAs(primary);
+        assertThat(reads("primary", "fallback")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRoundRobinAcrossHealthyReplicas() throws Exception {
+        lag(replicaA, 0);
+        lag(replicaB, 1.5);
+        routing.checkLag();
+
+        assertThat(routing.route()).isNotSameAs(primary);
+        assertThat(routing.route()).isNotSameAs(primary);
+        assertThat(reads("a", "replica")).isEqualTo(1);
+        assertThat(reads("b", "replica")).isEqualTo(1);
+        assertThat(meterRegistry.get("movimentacao.datasource.replica.lag").tag("replica", "b").gauge().value()).isEqualTo(1.5);
+    }
+
+    @Test
+    void shouldSkipLaggingAndUnreachableReplicas() throws Exception {
+        lag(replicaA, 30);
+        when(replicaB.getConnection()).thenThrow(new SQLException("connection refused"));
+        routing.checkLag();
+
+        assertThat(routing.route()).isSameAs(primary);
+        assertThat(meterRegistry.get("movimentacao.datasource.replica.lag").tag("replica", "b").gauge().value()).isNaN();
+
+        lag(replicaA, 0.2);
+        routing.checkLag();
+
+        assertThat(routing.route()).isSameAs(replicaA);
+    }
+
+    @Test
+    void shouldSkipReplicaWhoseWalReceiverIsNotStreaming() throws Exception {
+        lag(replicaA, 0);
+        lag(replicaB, 0);
+        routing.checkLag();
+        assertThat(routing.route()).isNotSameAs(primary);
+
+        when(lag(replicaA, 0).wasNull()).thenReturn(true);
+        lag(replicaB, 30);
+        routing.checkLag();
+
+        assertThat(routing.route()).isSameAs(primary);
+        assertThat(meterRegistry.get("movimentacao.datasource.replica.lag").tag("replica", "a").gauge().value()).isNaN();
+    }
+
+    @Test
+    void shouldPinStickyThreadsToPrimary() throws Exception {
+        lag(replicaA, 0);
+        lag(replicaB, 0);
+        routing.checkLag();
+
+        ReplicaRoutingDataSource.stickToPrimary();
+
+        assertThat(routing.route()).isSameAs(primary);
+        assertThat(reads("primary", "sticky")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCheckLagOnItsOwnThreadsWhileAReplicaHangs() throws Exception {
+        lag(replicaA, 0);
+        when(replicaB.getConnection()).thenAnswer(invocation -> {
+            Thread.sleep(Duration.ofMinutes(1));
+            return null;
+        });
+
+        routing.startLagChecks(Duration.ofMillis(10));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.get("movimentacao.datasource.replica.lag").tag("replica", "a").gauge().value() != 0
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(routing.route()).isSameAs(replicaA);
+    }
+
+    private double reads(String route, String reason) {
+        return meterRegistry.get("movimentacao.datasource.reads").tag("route", route).tag("reason", reason).counter().count();
+    }
+
+    private static ResultSet lag(DataSource replica, double seconds) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(seconds);
+        return resultSet;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecoledger.movimentacao.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeohashTest {
+
+    @Test
+    void shouldEncodeKnownLocations() {
+        assertThat(Geohash.encode(57.64911, 10.40744)).isEqualTo("u4pruydqq");
+        assertThat(Geohash.encode(-23.5505, -46.6333)).isEqualTo("6gyf4bf8m");
+        assertThat(Geohash.encode(-23.5505, -46.6333, 5)).isEqualTo("6gyf4");
+    }
+
+    @Test
+    void coverShouldContainTheCellOfEveryPointInTheBox() {
+        var box = new Geohash.Box(-23.6, -46.7, -23.5, -46.6);
+        var cells = Geohash.cover(box);
+
+        assertThat(cells).hasSizeLessThanOrEqualTo(Geohash.MAX_COVER_CELLS);
+        for (double lat = box.minLat(); lat <= box.maxLat(); lat += 0.01) {
+            for (double lon = box.minLon(); lon <= box.maxLon(); lon += 0.01) {
+                String hash = Geohash.encode(lat, lon);
+                assertThat(cells).anyMatch(hash::startsWith);
+            }
+        }
+    }
+
+    @Test
+    void coverShouldFallBackToCoarserCellsForLargeBoxes() {
+        assertThat(Geohash.cover(new Geohash.Box(-90, -180, 90, 180))).hasSize(32).allMatch(c -> c.length() == 1);
+        assertThat(Geohash.cover(new Geohash.Box(-33.7, -73.9, 5.2, -34.8))).hasSizeLessThanOrEqualTo(Geohash.MAX_COVER_CELLS);
+    }
+
+    @Test
+    void boxAroundShouldContainTheCircle() {
+        var box = Geohash.Box.around(-23.55, -46.63, 10_000);
+
+        assertThat(Geohash.distanceMeters(-23.55, -46.63, box.maxLat(), -46.63)).isCloseTo(10_000, within(1.0));
+        assertThat(box.contains(-23.55, -46.63 + 0.09)).isTrue();
+        assertThat(box.contains(-23.55, -46.63 + 0.2)).isFalse();
+    }
+}
@@ -1,28 +1,39 @@
 package com.ecoledger.movimentacao.messaging;
 
+import com.ecoledger.movimentacao.application.service.EventPublishUnavailableException;
 import com.ecoledger.movimentacao.config.KafkaProperties;
 import com.ecoledger.movimentacao.domain.model.Movimentacao;
 import com.ecoledger.movimentacao.domain.model.MovimentacaoAnexo;
 import com.ecoledger.movimentacao.messaging.event.MovimentacaoCriadaEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.when;
 
 class KafkaMovimentacaoEventPublisherTest {
 
     private KafkaTemplate<String, Object> kafkaTemplate;
     private KafkaMovimentacaoEventPublisher publisher;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setup() {
@@ -30,13 +41,17 @@ class KafkaMovimentacaoEventPublisherTest {
         KafkaProperties properties = new KafkaProperties(
                 true,
                 "localhost:9092",
-                new KafkaProperties.Topics("movimentacao.criada", "movimentacao.atualizada"));
-        publisher = new KafkaMovimentacaoEventPublisher(kafkaTemplate, properties);
+                new KafkaProperties.Topics("movimentacao.criada", "movimentacao.atualizada", "usuarios.approved", "usuarios.rejected"),
+                null,
+                null);
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new KafkaMovimentacaoEventPublisher(kafkaTemplate, properties, meterRegistry);
     }
 
     @Test
     void shouldPublishMovimentacaoCriadaEvent() {
         Movimentacao movimentacao = buildMovimentacao();
+        when(kafkaTemplate.send(eq("movimentacao.criada"), any(String.class), any())).thenReturn(new CompletableFuture<>());
 
         publisher.publishCreated(movimentacao);
 
@@ -49,6 +64,55 @@ class KafkaMovimentacaoEventPublisherTest {
                 .containsExactly(movimentacao.getId(), movimentacao.getProducerId(), movimentacao.getCommodityId());
     }
 
+    @Test
+    void shouldRecordSendOutcomeAndReleasePendingSlot() {
+        Movimentacao movimentacao = buildMovimentacao();
+        CompletableFuture<SendResult<String, Object>> ack = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq("movimentacao.criada"), any(String.class), any())).thenReturn(ack);
+
+        publisher.publishCreated(movimentacao);
+        assertThat(meterRegistry.get("movimentacao.kafka.pending").gauge().value()).isEqualTo(1.0);
+
+        ack.complete(null);
+        assertThat(meterRegistry.get("movimentacao.kafka.pending").gauge().value()).isZero();
+        assertThat(meterRegistry.get("movimentacao.kafka.send").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailPublishWhenNoPendingSlotFreesUpInTime() {
+        KafkaProperties properties = new KafkaProperties(
+                true,
+                "localhost:9092",
+                new KafkaProperties.Topics("movimentacao.criada", "movimentacao.atualizada", "usuarios.approved", "usuarios.rejected"),
+                new KafkaProperties.Producer(null, null, null, null, null, null, null, null, Duration.ofMillis(10), 1),
+                null);
+        publisher = new KafkaMovimentacaoEventPublisher(kafkaTemplate, properties, meterRegistry);
+        when(kafkaTemplate.send(eq("movimentacao.criada"), any(String.class), any())).thenReturn(new CompletableFuture<>());
+
+        publisher.publishCreated(buildMovimentacao());
+
+        assertThatThrownBy(() -> publisher.publishCreated(buildMovimentacao()))
+                .isInstanceOf(EventPublishUnavailableException.class);
+        assertThat(meterRegistry.get("movimentacao.kafka.send").tag("outcome", "backpressure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailPublishWhenTheClientRejectsTheSend() {
+        when(kafkaTemplate.send(eq("movimentacao.criada"), any(String.class), any()))
+                .thenThrow(new KafkaException("Send failed", new TimeoutException("Topic not present in metadata after 5000 ms.")));
+
+        assertThatThrownBy(() -> publisher.publishCreated(buildMovimentacao()))
+                .isInstanceOf(EventPublishUnavailableException.class)
+                .hasCauseInstanceOf(KafkaException.class);
+        assertThat(meterRegistry.get("movimentacao.kafka.send").tag("outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("movimentacao.kafka.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldDefaultToHighThroughputProducer() {
+        assertThat(new KafkaProperties(true, null, null, null, null).producer().highThroughput()).isTrue();
+    }
+
     private Movimentacao buildMovimentacao() {
         Movimentacao movimentacao = new Movimentacao(
                 "prod-1",
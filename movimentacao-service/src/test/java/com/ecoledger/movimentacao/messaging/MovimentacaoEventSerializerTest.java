@@ -0,0 +1,76 @@
+package com.ecoledger.movimentacao.messaging;
+
+import com.ecoledger.events.BinaryEventCodec;
+import com.ecoledger.events.EventFormat;
+import com.ecoledger.events.EventSubjects;
+import com.ecoledger.events.FileSchemaRegistry;
+import com.ecoledger.movimentacao.config.KafkaProperties;
+import com.ecoledger.movimentacao.messaging.event.MovimentacaoCriadaEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovimentacaoEventSerializerTest {
+
+    private final BinaryEventCodec codec = new BinaryEventCodec(FileSchemaRegistry.fromClasspath());
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldWriteBinaryPayloadWhenBinaryFormatIsConfigured() {
+        MovimentacaoCriadaEvent event = buildEvent();
+
+        byte[] payload = serializer(EventFormat.BINARY).serialize("movimentacao.criada", event);
+        GenericRecord decoded = codec.decode(EventSubjects.MOVIMENTACAO_CRIADA, payload);
+
+        assertThat(BinaryEventCodec.isBinary(payload)).isTrue();
+        assertThat(decoded.get("movimentacaoId")).isEqualTo(event.movimentacaoId());
+        assertThat(decoded.get("quantidade")).isEqualTo(new BigDecimal("10.5000"));
+        assertThat(decoded.get("timestamp")).isEqualTo(event.timestamp().toInstant());
+        assertThat(decoded.get("latitude")).isEqualTo(-23.5);
+        assertThat(((GenericRecord) ((List<?>) decoded.get("anexos")).get(0)).get("url").toString())
+                .isEqualTo("https://s3.local/doc.pdf");
+    }
+
+    @Test
+    void shouldProduceSmallerPayloadThanJson() {
+        MovimentacaoCriadaEvent event = buildEvent();
+
+        byte[] binary = serializer(EventFormat.BINARY).serialize("movimentacao.criada", event);
+        byte[] json = serializer(EventFormat.JSON).serialize("movimentacao.criada", event);
+
+        assertThat(new String(json, StandardCharsets.UTF_8)).startsWith("{");
+        assertThat(binary.length).isLessThan(json.length);
+    }
+
+    private MovimentacaoEventSerializer serializer(EventFormat format) {
+        KafkaProperties properties = new KafkaProperties(true, "localhost:9092", null, null,
+                new KafkaProperties.Events(format, null));
+        return new MovimentacaoEventSerializer(properties, codec, objectMapper);
+    }
+
+    private MovimentacaoCriadaEvent buildEvent() {
+        OffsetDateTime now = OffsetDateTime.of(2025, 3, 10, 12, 30, 0, 0, ZoneOffset.ofHours(-3));
+        return new MovimentacaoCriadaEvent(
+                UUID.randomUUID(),
+                "prod-1",
+                "cmd-1",
+                "COLHEITA",
+                new BigDecimal("10.5"),
+                "KG",
+                now,
+                -23.5,
+                -46.6,
+                now,
+                List.of(new MovimentacaoCriadaEvent.MovimentacaoCriadaEventAnexo("application/pdf", "https://s3.local/doc.pdf", "hash")));
+    }
+}
@@ -0,0 +1,100 @@
+package com.ecoledger.movimentacao.messaging;
+
+import com.ecoledger.movimentacao.config.OutboxProperties;
+import com.ecoledger.movimentacao.domain.model.OutboxEvent;
+import com.ecoledger.movimentacao.domain.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepository repository;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        repository = mock(OutboxEventRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        var properties = new OutboxProperties(true, 10, 2, 5, Duration.ofSeconds(1), null, Duration.ofSeconds(1),
+                Duration.ofSeconds(30));
+        relay = new OutboxRelay(repository, kafkaTemplate, properties, mock(TransactionTemplate.class), meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDeleteAcknowledgedEventsAndKeepFailedOnes() {
+        var ok = event("ok");
+        var failing = event("failing");
+        when(repository.lockNextBatch(5, 10)).thenReturn(List.of(ok, failing));
+        when(kafkaTemplate.send("movimentacao.criada", "ok", ok.getPayload()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaTemplate.send("movimentacao.criada", "failing", failing.getPayload()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        int delivered = relay.relayBatch();
+
+        assertThat(delivered).isEqualTo(1);
+        ArgumentCaptor<List<OutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).deleteAllInBatch(captor.capture());
+        assertThat(captor.getValue()).containsExactly(ok);
+        assertThat(failing.getAttempts()).isEqualTo(1);
+        assertThat(failing.getLastError()).isEqualTo("broker down");
+        assertThat(failing.getNextAttemptAt()).isAfter(OffsetDateTime.now());
+        assertThat(meterRegistry.get("outbox.relay.published").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("outbox.relay.failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldNotTouchKafkaWhenOutboxIsEmpty() {
+        when(repository.lockNextBatch(anyInt(), anyInt())).thenReturn(List.of());
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verifyNoInteractions(kafkaTemplate);
+        verify(repository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void shouldDoubleTheBackoffPerAttemptUpToTheCap() {
+        assertThat(relay.backoff(0)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(relay.backoff(1)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(relay.backoff(4)).isEqualTo(Duration.ofSeconds(16));
+        assertThat(relay.backoff(5)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(relay.backoff(64)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldExposeEventsThatExhaustedTheirAttempts() {
+        when(repository.countByAttemptsLessThan(5)).thenReturn(2L);
+        when(repository.countByAttemptsGreaterThanEqual(5)).thenReturn(3L);
+
+        relay.relay();
+
+        assertThat(meterRegistry.get("outbox.relay.pending").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("outbox.relay.dead").gauge().value()).isEqualTo(3.0);
+    }
+
+    private OutboxEvent event(String key) {
+        return new OutboxEvent(UUID.randomUUID(), "movimentacao.criada", key, key.getBytes(), OffsetDateTime.now());
+    }
+}
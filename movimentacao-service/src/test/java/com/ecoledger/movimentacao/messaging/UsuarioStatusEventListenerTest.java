@@ -0,0 +1,41 @@
+package com.ecoledger.movimentacao.messaging;
+
+import com.ecoledger.movimentacao.application.service.impl.CachingProducerApprovalClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.*;
+
+class UsuarioStatusEventListenerTest {
+
+    private CachingProducerApprovalClient approvalClient;
+    private UsuarioStatusEventListener listener;
+
+    @BeforeEach
+    void setup() {
+        approvalClient = mock(CachingProducerApprovalClient.class);
+        listener = new UsuarioStatusEventListener(approvalClient, new ObjectMapper());
+    }
+
+    @Test
+    void shouldInvalidateProducerFromJsonEncodedStringPayload() {
+        listener.onStatusChanged("\"{\\\"usuarioId\\\":\\\"prod-1\\\",\\\"status\\\":\\\"APROVADO\\\"}\"");
+
+        verify(approvalClient).invalidate("prod-1");
+    }
+
+    @Test
+    void shouldInvalidateProducerFromPlainJsonPayload() {
+        listener.onStatusChanged("{\"usuarioId\":\"prod-2\",\"status\":\"REJEITADO\"}");
+
+        verify(approvalClient).invalidate("prod-2");
+    }
+
+    @Test
+    void shouldIgnoreMalformedPayload() {
+        listener.onStatusChanged("not-json");
+
+        verifyNoInteractions(approvalClient);
+    }
+}